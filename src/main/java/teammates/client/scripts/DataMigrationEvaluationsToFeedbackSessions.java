@@ -28,6 +28,7 @@ import teammates.storage.api.EvaluationsDb;
 import teammates.storage.api.FeedbackSessionsDb;
 import teammates.storage.api.SubmissionsDb;
 import teammates.storage.datastore.Datastore;
+import teammates.storage.datastore.RequestCache;
 
 import com.google.appengine.api.datastore.Text;
 
@@ -91,6 +92,17 @@ public class DataMigrationEvaluationsToFeedbackSessions extends RemoteApiClient
     }
     
     protected void convertOneEvaluationToFeedbackSession(EvaluationAttributes eval, String newFeedbackSessionName){
+        // each evaluation is migrated like one request to the server, so that the
+        // questions created can be looked up by number before queries see them
+        RequestCache.startRequest();
+        try {
+            migrateEvaluation(eval, newFeedbackSessionName);
+        } finally {
+            RequestCache.finishRequest();
+        }
+    }
+    
+    private void migrateEvaluation(EvaluationAttributes eval, String newFeedbackSessionName){
 
         if(newFeedbackSessionName == null || newFeedbackSessionName.isEmpty()){
             newFeedbackSessionName = "Migrated - " + eval.name;
@@ -1,81 +1,475 @@
 package teammates.client.scripts;
 
-import java.io.FileNotFoundException;
+import java.io.BufferedWriter;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.logging.Logger;
 
 import teammates.client.remoteapi.RemoteApiClient;
-import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.FeedbackMcqQuestionDetails;
+import teammates.common.datatransfer.FeedbackMcqResponseDetails;
+import teammates.common.datatransfer.FeedbackNumericalScaleQuestionDetails;
+import teammates.common.datatransfer.FeedbackNumericalScaleResponseDetails;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionType;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseDetails;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.datatransfer.FeedbackTextResponseDetails;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentProfileAttributes;
+import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Const;
+import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
-import teammates.logic.api.Logic;
-import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.storage.api.AccountsDb;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.api.EntitiesDb;
+import teammates.storage.api.FeedbackQuestionsDb;
+import teammates.storage.api.FeedbackResponsesDb;
+import teammates.storage.api.FeedbackSessionsDb;
+import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.StudentsDb;
 import teammates.storage.datastore.Datastore;
 import teammates.test.driver.TestProperties;
-import teammates.common.util.FileHelper;
 
-public class GenerateLargeScaledData extends RemoteApiClient{
+import com.google.appengine.api.datastore.Text;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Usage: This script generates a large course for capacity testing and profiling, e.g. 2000 students
+ * answering 30 questions, either directly into the datastore of the app in test.properties or into
+ * a data bundle file under src/test/resources/data.
+ *
+ * Notes:
+ * -Edit the sizing parameters and TARGET before use.
+ * -The data is generated from SEED only, so the same parameters always give the same data,
+ *  except for the dates of the sessions, which are set so that the sessions are open.
+ * -Entities are generated and written one batch of BATCH_SIZE at a time, so the whole data
+ *  set is never held in memory. Entities are written without checking for existing ones,
+ *  so delete the courses generated before with the same ID_PREFIX first.
+ * -Search documents of the students are not created. Students are not registered.
+ * -The data bundle file can be imported with ImportData; give it a name that is not in use.
+ */
+public class GenerateLargeScaledData extends RemoteApiClient {
+
+    private enum Target { DATASTORE, JSON }
+
+    private static final Target TARGET = Target.JSON;
+    // Data bundle file name (under src/test/resources/data folder) for the JSON target
+    private static final String OUTPUT_FILE_NAME = "LargeScaledData.json";
+
+    private static final long SEED = 1;
+    private static final int BATCH_SIZE = 500;
+
+    // Sizing parameters
+    private static final String ID_PREFIX = "LSD";
+    private static final int NUM_OF_COURSES = 1;
+    private static final int NUM_OF_SECTIONS_PER_COURSE = 10;
+    private static final int NUM_OF_TEAMS_PER_SECTION = 40;
+    private static final int NUM_OF_STUDENTS_PER_TEAM = 5;
+    private static final int NUM_OF_TEXT_QUESTIONS = 10;
+    private static final int NUM_OF_MCQ_QUESTIONS = 10;
+    private static final int NUM_OF_NUMSCALE_QUESTIONS = 10;
+    /** Chance that a student answers a question, between 0 and 1 */
+    private static final double RESPONSE_DENSITY = 0.8;
+
+    private static final String SESSION_NAME = "Large Scaled Session";
+    private static final String[] MCQ_CHOICES = {"Strongly agree", "Agree", "Neutral", "Disagree",
+                                                 "Strongly disagree"};
+
     private static Logger logger = Logger.getLogger(GenerateLargeScaledData.class.getName());
-    
+
+    private static Gson gson = Utils.getTeammatesGson();
+
+    /**
+     * Receives the generated entities, one type of entity after another.
+     */
+    private interface EntitySink {
+        void startType(String type, EntitiesDb db) throws IOException;
+        void add(String key, EntityAttributes entity) throws IOException;
+        void finishType() throws IOException;
+        /** @return the ID to use for the question in the responses to it */
+        String getQuestionId(FeedbackQuestionAttributes question);
+    }
+
     public static void main(String[] args) throws IOException {
         GenerateLargeScaledData dataGenerator = new GenerateLargeScaledData();
-        dataGenerator.doOperationRemotely();
+        if (TARGET == Target.DATASTORE) {
+            dataGenerator.doOperationRemotely();
+        } else {
+            dataGenerator.generateJsonFile(TestProperties.TEST_DATA_FOLDER + "/" + OUTPUT_FILE_NAME);
+        }
     }
-    
+
+    @Override
     protected void doOperation() {
         Datastore.initialize(); //TODO: push to parent class
-        Logic logic = new Logic();
-        DataBundle largeScaleBundle = loadDataBundle("/largeScaleTest.json");
-        
-        try{
-            int index = 0;
-            /*
-            for(StudentAttributes student : largeScaleBundle.students.values()){
-                logic.createStudent(student);
-                index++;
-                if(index % 100 == 0){
-                    logger.info("Create student " + index);
+        try {
+            generate(new DatastoreSink());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void generateJsonFile(String filePath) throws IOException {
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new FileWriter(filePath)));
+        try {
+            writer.setIndent("  ");
+            writer.beginObject();
+            generate(new JsonSink(writer));
+            writer.endObject();
+        } finally {
+            writer.close();
+        }
+        logger.info("Data bundle written to " + filePath);
+    }
+
+    /**
+     * Generates all entities in the order in which they can be persisted.
+     */
+    private void generate(EntitySink sink) throws IOException {
+        sink.startType("accounts", new AccountsDb());
+        for (int course = 1; course <= NUM_OF_COURSES; course++) {
+            AccountAttributes account = new AccountAttributes(getInstructorId(course), "Instructor of Course " + course,
+                    true, getInstructorEmail(course), "Large Scaled Institute", new StudentProfileAttributes());
+            account.studentProfile.googleId = account.googleId;
+            sink.add(account.googleId, account);
+        }
+        sink.finishType();
+
+        sink.startType("instructors", new InstructorsDb());
+        for (int course = 1; course <= NUM_OF_COURSES; course++) {
+            InstructorAttributes instructor = new InstructorAttributes(getInstructorId(course), getCourseId(course),
+                    "Instructor of Course " + course, getInstructorEmail(course));
+            sink.add(instructor.googleId, instructor);
+        }
+        sink.finishType();
+
+        sink.startType("courses", new CoursesDb());
+        for (int course = 1; course <= NUM_OF_COURSES; course++) {
+            sink.add(getCourseId(course), new CourseAttributes(getCourseId(course), "Large Scaled Course " + course));
+        }
+        sink.finishType();
+
+        sink.startType("students", new StudentsDb());
+        for (int course = 1; course <= NUM_OF_COURSES; course++) {
+            for (StudentAttributes student : getStudents(course)) {
+                sink.add(student.email, student);
+            }
+        }
+        sink.finishType();
+
+        sink.startType("feedbackSessions", new FeedbackSessionsDb());
+        for (int course = 1; course <= NUM_OF_COURSES; course++) {
+            FeedbackSessionAttributes session = getSession(course);
+            sink.add(session.courseId + "%" + session.feedbackSessionName, session);
+        }
+        sink.finishType();
+
+        sink.startType("feedbackQuestions", new FeedbackQuestionsDb());
+        for (int course = 1; course <= NUM_OF_COURSES; course++) {
+            for (FeedbackQuestionAttributes question : getQuestions(course)) {
+                sink.add(question.courseId + "%" + question.questionNumber, question);
+            }
+        }
+        sink.finishType();
+
+        sink.startType("feedbackResponses", new FeedbackResponsesDb());
+        for (int course = 1; course <= NUM_OF_COURSES; course++) {
+            addResponses(course, sink);
+        }
+        sink.finishType();
+    }
+
+    private void addResponses(int course, EntitySink sink) throws IOException {
+        // each course has its own random numbers, so that its responses do not depend on the other courses
+        Random random = new Random(SEED * 31 + course);
+        List<StudentAttributes> students = getStudents(course);
+        Map<String, List<StudentAttributes>> teams = new HashMap<String, List<StudentAttributes>>();
+        for (StudentAttributes student : students) {
+            if (!teams.containsKey(student.team)) {
+                teams.put(student.team, new ArrayList<StudentAttributes>());
+            }
+            teams.get(student.team).add(student);
+        }
+
+        for (FeedbackQuestionAttributes question : getQuestions(course)) {
+            String questionId = sink.getQuestionId(question);
+            FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+            for (StudentAttributes giver : students) {
+                if (random.nextDouble() >= RESPONSE_DENSITY) {
+                    continue;
+                }
+                List<StudentAttributes> recipients = new ArrayList<StudentAttributes>();
+                if (question.recipientType == FeedbackParticipantType.SELF) {
+                    recipients.add(giver);
+                } else {
+                    for (StudentAttributes member : teams.get(giver.team)) {
+                        if (question.recipientType == FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF
+                                || !member.email.equals(giver.email)) {
+                            recipients.add(member);
+                        }
+                    }
+                }
+                for (StudentAttributes recipient : recipients) {
+                    FeedbackResponseAttributes response = new FeedbackResponseAttributes(SESSION_NAME,
+                            question.courseId, questionId, question.questionType, giver.email, giver.section,
+                            recipient.email, recipient.section, null);
+                    response.setResponseDetails(getAnswer(questionDetails, recipient, random));
+                    sink.add(question.courseId + "%" + questionId + "%" + giver.email + "%" + recipient.email,
+                             response);
                 }
             }
-            */
-          
-            for(FeedbackResponseAttributes response : largeScaleBundle.feedbackResponses.values()){
-                logic.createFeedbackResponse(injectRealIds(response));
-                index++;
-                if(index % 100 == 0){
-                    logger.info("Create response " + index);
+        }
+    }
+
+    private FeedbackResponseDetails getAnswer(FeedbackQuestionDetails questionDetails,
+            StudentAttributes recipient, Random random) {
+        switch (questionDetails.questionType) {
+        case MCQ:
+            FeedbackMcqResponseDetails mcqAnswer = new FeedbackMcqResponseDetails();
+            mcqAnswer.extractResponseDetails(FeedbackQuestionType.MCQ, questionDetails,
+                    new String[] {MCQ_CHOICES[random.nextInt(MCQ_CHOICES.length)]});
+            return mcqAnswer;
+        case NUMSCALE:
+            FeedbackNumericalScaleResponseDetails numscaleAnswer = new FeedbackNumericalScaleResponseDetails();
+            numscaleAnswer.extractResponseDetails(FeedbackQuestionType.NUMSCALE, questionDetails,
+                    new String[] {String.valueOf(1 + random.nextInt(9) * 0.5)});
+            return numscaleAnswer;
+        default:
+            StringBuilder answer = new StringBuilder(recipient.name + " did well.");
+            for (int i = random.nextInt(10); i > 0; i--) {
+                answer.append(" They also contributed to part ").append(random.nextInt(100)).append('.');
+            }
+            return new FeedbackTextResponseDetails(answer.toString());
+        }
+    }
+
+    private List<StudentAttributes> getStudents(int course) {
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        int index = 0;
+        for (int section = 1; section <= NUM_OF_SECTIONS_PER_COURSE; section++) {
+            for (int team = 1; team <= NUM_OF_TEAMS_PER_SECTION; team++) {
+                for (int i = 1; i <= NUM_OF_STUDENTS_PER_TEAM; i++) {
+                    index++;
+                    students.add(new StudentAttributes("Section " + section, "Team " + section + "." + team,
+                            "Student " + index, "student" + index + ".course" + course + "@gmail.tmt",
+                            "", getCourseId(course)));
                 }
             }
-        } catch (Exception e){
-            e.printStackTrace();
         }
+        return students;
     }
-    
-    private FeedbackResponseAttributes injectRealIds(FeedbackResponseAttributes response) {
-        try {
-            int qnNumber = Integer.parseInt(response.feedbackQuestionId);
-        
-            response.feedbackQuestionId = 
-                FeedbackQuestionsLogic.inst().getFeedbackQuestion(
-                        response.feedbackSessionName, response.courseId,
-                        qnNumber).getId();
-        } catch (NumberFormatException e) {
-            // Correct question ID was already attached to response.
-        }
-        
-        return response;
-    }
-    
-    private static DataBundle loadDataBundle(String pathToJsonFile){
-        if(pathToJsonFile.startsWith("/")){
-            pathToJsonFile = TestProperties.TEST_DATA_FOLDER + pathToJsonFile;
-        }
-        String jsonString;
-        try {
-            jsonString = FileHelper.readFile(pathToJsonFile);
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
+
+    private FeedbackSessionAttributes getSession(int course) {
+        long day = 24 * 60 * 60 * 1000L;
+        Date now = new Date();
+        Date startTime = new Date(now.getTime() - day);
+        Date endTime = new Date(now.getTime() + 7 * day);
+        return new FeedbackSessionAttributes(SESSION_NAME, getCourseId(course), getInstructorEmail(course),
+                new Text("Please give feedback about your team."), startTime, startTime, endTime,
+                startTime, endTime, 8.0, 15, FeedbackSessionType.STANDARD,
+                true, false, false, false, false, new HashSet<String>(), new HashSet<String>());
+    }
+
+    /**
+     * @return the text questions, then the MCQ questions, then the numerical scale questions
+     */
+    private List<FeedbackQuestionAttributes> getQuestions(int course) {
+        List<FeedbackQuestionAttributes> questions = new ArrayList<FeedbackQuestionAttributes>();
+        int questionNumber = 0;
+        for (int i = 1; i <= NUM_OF_TEXT_QUESTIONS; i++) {
+            questionNumber++;
+            questions.add(createQuestion(course, questionNumber, FeedbackQuestionType.TEXT,
+                    FeedbackParticipantType.OWN_TEAM_MEMBERS,
+                    new Text("Text question " + i + ": what did this team member do well?")));
+        }
+
+        Map<String, String[]> mcqParams = new HashMap<String, String[]>();
+        mcqParams.put(Const.ParamsNames.FEEDBACK_QUESTION_GENERATEDOPTIONS,
+                      new String[] {FeedbackParticipantType.NONE.toString()});
+        mcqParams.put(Const.ParamsNames.FEEDBACK_QUESTION_NUMBEROFCHOICECREATED,
+                      new String[] {String.valueOf(MCQ_CHOICES.length)});
+        for (int i = 0; i < MCQ_CHOICES.length; i++) {
+            mcqParams.put(Const.ParamsNames.FEEDBACK_QUESTION_MCQCHOICE + "-" + i, new String[] {MCQ_CHOICES[i]});
+        }
+        for (int i = 1; i <= NUM_OF_MCQ_QUESTIONS; i++) {
+            questionNumber++;
+            FeedbackQuestionDetails details = new FeedbackMcqQuestionDetails();
+            details.extractQuestionDetails(mcqParams, FeedbackQuestionType.MCQ);
+            details.questionText = "MCQ question " + i + ": my team worked well together.";
+            FeedbackQuestionAttributes question = createQuestion(course, questionNumber, FeedbackQuestionType.MCQ,
+                    FeedbackParticipantType.SELF, null);
+            question.setQuestionDetails(details);
+            questions.add(question);
+        }
+
+        Map<String, String[]> numscaleParams = new HashMap<String, String[]>();
+        numscaleParams.put(Const.ParamsNames.FEEDBACK_QUESTION_NUMSCALE_MIN, new String[] {"1"});
+        numscaleParams.put(Const.ParamsNames.FEEDBACK_QUESTION_NUMSCALE_MAX, new String[] {"5"});
+        numscaleParams.put(Const.ParamsNames.FEEDBACK_QUESTION_NUMSCALE_STEP, new String[] {"0.5"});
+        for (int i = 1; i <= NUM_OF_NUMSCALE_QUESTIONS; i++) {
+            questionNumber++;
+            FeedbackQuestionDetails details = new FeedbackNumericalScaleQuestionDetails();
+            details.extractQuestionDetails(numscaleParams, FeedbackQuestionType.NUMSCALE);
+            details.questionText = "Numerical scale question " + i + ": rate the contribution of each member.";
+            FeedbackQuestionAttributes question = createQuestion(course, questionNumber,
+                    FeedbackQuestionType.NUMSCALE, FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF, null);
+            question.setQuestionDetails(details);
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    private FeedbackQuestionAttributes createQuestion(int course, int questionNumber,
+            FeedbackQuestionType questionType, FeedbackParticipantType recipientType, Text questionMetaData) {
+        List<FeedbackParticipantType> showTo = new ArrayList<FeedbackParticipantType>();
+        showTo.add(FeedbackParticipantType.INSTRUCTORS);
+        showTo.add(FeedbackParticipantType.RECEIVER);
+        return new FeedbackQuestionAttributes(SESSION_NAME, getCourseId(course), getInstructorEmail(course),
+                questionMetaData, questionNumber, questionType, FeedbackParticipantType.STUDENTS, recipientType,
+                Const.MAX_POSSIBLE_RECIPIENTS, showTo, showTo, new ArrayList<FeedbackParticipantType>(showTo));
+    }
+
+    private static String getCourseId(int course) {
+        return ID_PREFIX + ".course" + course;
+    }
+
+    private static String getInstructorId(int course) {
+        return ID_PREFIX + ".instr" + course;
+    }
+
+    private static String getInstructorEmail(int course) {
+        return "instructor.course" + course + "@gmail.tmt";
+    }
+
+    /**
+     * Writes the entities to the datastore in batches of {@link #BATCH_SIZE}.
+     */
+    private static class DatastoreSink implements EntitySink {
+
+        private static final int MAX_ATTEMPTS_TO_FIND_QUESTION = 10;
+
+        private final List<EntityAttributes> batch = new ArrayList<EntityAttributes>();
+        private final Map<String, String> questionIds = new HashMap<String, String>();
+        private EntitiesDb db;
+        private String type;
+        private int count;
+
+        @Override
+        public void startType(String type, EntitiesDb db) {
+            this.type = type;
+            this.db = db;
+            count = 0;
+        }
+
+        @Override
+        public void add(String key, EntityAttributes entity) {
+            batch.add(entity);
+            if (batch.size() >= BATCH_SIZE) {
+                writeBatch();
+            }
+        }
+
+        @Override
+        public void finishType() {
+            writeBatch();
+            logger.info("Created " + count + " " + type);
+        }
+
+        @Override
+        public String getQuestionId(FeedbackQuestionAttributes question) {
+            String key = question.courseId + "%" + question.questionNumber;
+            // queries may not see the questions just created at once, so retry for a while
+            for (int attempt = 0; !questionIds.containsKey(key) && attempt < MAX_ATTEMPTS_TO_FIND_QUESTION; attempt++) {
+                ThreadHelper.waitFor(attempt == 0 ? 0 : 1000);
+                for (FeedbackQuestionAttributes created : new FeedbackQuestionsDb()
+                        .getFeedbackQuestionsForSession(question.feedbackSessionName, question.courseId)) {
+                    questionIds.put(created.courseId + "%" + created.questionNumber, created.getId());
+                }
+            }
+            if (!questionIds.containsKey(key)) {
+                throw new RuntimeException("Question " + question.questionNumber + " of "
+                                           + question.courseId + " was not found after it was created");
+            }
+            return questionIds.get(key);
+        }
+
+        private void writeBatch() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                db.createEntitiesWithoutExistenceCheck(batch);
+            } catch (InvalidParametersException e) {
+                throw new RuntimeException(e);
+            }
+            count += batch.size();
+            batch.clear();
+            // start with a new persistence manager, so that the entities written are not kept in memory
+            Datastore.finishRequest();
+            logger.info("Created " + count + " " + type + " so far");
+        }
+    }
+
+    /**
+     * Writes the entities to a data bundle file as they are generated. Responses refer to
+     * their questions by question number, which is replaced by the question ID when the
+     * data bundle is persisted.
+     */
+    private static class JsonSink implements EntitySink {
+
+        private final JsonWriter writer;
+        private String type;
+        private int count;
+
+        JsonSink(JsonWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void startType(String type, EntitiesDb db) throws IOException {
+            this.type = type;
+            count = 0;
+            writer.name(type).beginObject();
+        }
+
+        @Override
+        public void add(String key, EntityAttributes entity) throws IOException {
+            writer.name(key);
+            gson.toJson(entity, entity.getClass(), writer);
+            count++;
+            if (count % BATCH_SIZE == 0) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public void finishType() throws IOException {
+            writer.endObject();
+            writer.flush();
+            logger.info("Written " + count + " " + type);
+        }
+
+        @Override
+        public String getQuestionId(FeedbackQuestionAttributes question) {
+            return String.valueOf(question.questionNumber);
         }
-        return Utils.getTeammatesGson().fromJson(jsonString, DataBundle.class);
     }
 }
@@ -0,0 +1,527 @@
+package teammates.client.scripts;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.EvaluationAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.FileHelper;
+import teammates.common.util.StringHelper;
+import teammates.common.util.Utils;
+import teammates.test.driver.BackDoor;
+import teammates.test.driver.TestProperties;
+
+/**
+ * Usage: This script puts load on the app with the URL in test.properties by replaying the flows of
+ * many instructors and students at once, without a browser. Unlike PerformanceProfiler, it can
+ * send as many concurrent requests as needed to reproduce the load near a deadline.
+ * At the end, it reports the throughput and the latency percentiles of each action.
+ *
+ * Notes:
+ * -Only works against the dev server, as it logs in through the dev server login page.
+ * -The users and their courses, sessions and evaluations are taken from the data bundle
+ *  SOURCE_FILE_NAME in src/test/resources/data, e.g. one generated by DataGenerator.
+ *  The data bundle is persisted first if IS_SEEDING_REQUIRED is true. Large data bundles
+ *  should be imported beforehand by ImportData instead.
+ * -Each virtual user repeatedly picks a random instructor or student of the data bundle and
+ *  runs through a flow of that user:
+ *      instructor: home page, enroll page, enroll save (of the students already in the course),
+ *                  feedback session results page and evaluation results page.
+ *      student: home page, feedback submission page, feedback submission save (of the form as
+ *               shown, with empty text boxes filled in), feedback results page and evaluation
+ *               submission page.
+ * -Usage: LoadGenerator [number of virtual users] [duration in seconds]
+ * -The report is also written to src/test/resources/data/LoadGeneratorReport.txt
+ */
+public class LoadGenerator {
+
+    // Data source file name (under src/test/resources/data folder) of the users to replay
+    private static final String SOURCE_FILE_NAME = "PerformanceProfilerImportData.json";
+    private static final boolean IS_SEEDING_REQUIRED = false;
+
+    private static final int DEFAULT_NUM_OF_VIRTUAL_USERS = 20;
+    private static final int DEFAULT_DURATION_SECONDS = 60;
+    private static final int THINK_TIME_MILLIS = 0; // waiting time between the requests of a user
+
+    private static final String REPORT_FILE_PATH = TestProperties.TEST_DATA_FOLDER + "/LoadGeneratorReport.txt";
+
+    private static final String[] ERROR_PAGES = {
+        Const.ViewURIs.ACTION_NOT_FOUND_PAGE, Const.ViewURIs.ENTITY_NOT_FOUND_PAGE,
+        Const.ViewURIs.UNAUTHORIZED, Const.ViewURIs.DEADLINE_EXCEEDED_ERROR_PAGE,
+        Const.ViewURIs.ERROR_PAGE, "/_ah/login"
+    };
+
+    private static final Pattern SUBMISSION_FORM = Pattern.compile(
+            "<form[^>]*name=\"form_student_submit_response\"[^>]*>(.*?)</form>", Pattern.DOTALL);
+    private static final Pattern INPUT = Pattern.compile("<input\\b([^>]*)>");
+    private static final Pattern TEXTAREA = Pattern.compile("<textarea\\b([^>]*)>(.*?)</textarea>", Pattern.DOTALL);
+    private static final Pattern SELECT = Pattern.compile("<select\\b([^>]*)>(.*?)</select>", Pattern.DOTALL);
+    private static final Pattern OPTION = Pattern.compile("<option\\b([^>]*)>");
+    private static final Pattern ATTRIBUTE = Pattern.compile("([\\w-]+)\\s*=\\s*\"([^\"]*)\"");
+
+    private final String appUrl = TestProperties.inst().TEAMMATES_URL;
+
+    private final List<InstructorAttributes> instructors = new ArrayList<InstructorAttributes>();
+    private final List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+    private final Map<String, List<StudentAttributes>> studentsByCourse = new HashMap<String, List<StudentAttributes>>();
+    private final Map<String, List<FeedbackSessionAttributes>> sessionsByCourse =
+            new HashMap<String, List<FeedbackSessionAttributes>>();
+    private final Map<String, List<EvaluationAttributes>> evaluationsByCourse =
+            new HashMap<String, List<EvaluationAttributes>>();
+
+    private final ConcurrentMap<String, String> loginCookies = new ConcurrentHashMap<String, String>();
+    private final ConcurrentMap<String, List<Long>> latenciesByAction = new ConcurrentHashMap<String, List<Long>>();
+    private final ConcurrentMap<String, AtomicInteger> errorsByAction = new ConcurrentHashMap<String, AtomicInteger>();
+
+    public static void main(String[] args) throws Exception {
+        int numOfVirtualUsers = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_OF_VIRTUAL_USERS;
+        int durationSeconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DURATION_SECONDS;
+
+        if (!TestProperties.inst().isDevServer()) {
+            System.out.println("The load generator can only log in to the dev server.");
+            return;
+        }
+
+        String jsonString = FileHelper.readFile(TestProperties.TEST_DATA_FOLDER + "/" + SOURCE_FILE_NAME);
+        DataBundle data = Utils.getTeammatesGson().fromJson(jsonString, DataBundle.class);
+        if (IS_SEEDING_REQUIRED) {
+            String status = BackDoor.restoreDataBundle(data);
+            if (!status.startsWith(Const.StatusCodes.BACKDOOR_STATUS_SUCCESS)) {
+                System.out.println("Failed to persist the data bundle: " + status);
+                return;
+            }
+        }
+
+        LoadGenerator generator = new LoadGenerator(data);
+        generator.run(numOfVirtualUsers, durationSeconds);
+        String report = generator.getReport(durationSeconds);
+        System.out.print(report);
+        generator.writeReport(report);
+    }
+
+    public LoadGenerator(DataBundle data) {
+        for (InstructorAttributes instructor : data.instructors.values()) {
+            if (instructor.googleId != null && instructor.courseId != null) {
+                instructors.add(instructor);
+            }
+        }
+        for (StudentAttributes student : data.students.values()) {
+            getOrCreateList(studentsByCourse, student.course).add(student);
+            if (student.googleId != null && !student.googleId.isEmpty()) {
+                students.add(student);
+            }
+        }
+        for (FeedbackSessionAttributes session : data.feedbackSessions.values()) {
+            getOrCreateList(sessionsByCourse, session.courseId).add(session);
+        }
+        for (EvaluationAttributes evaluation : data.evaluations.values()) {
+            getOrCreateList(evaluationsByCourse, evaluation.courseId).add(evaluation);
+        }
+    }
+
+    /**
+     * Runs the flows of random users with {@code numOfVirtualUsers} threads until
+     * {@code durationSeconds} have passed.
+     */
+    public void run(int numOfVirtualUsers, int durationSeconds) throws InterruptedException {
+        final int numOfUsers = instructors.size() + students.size();
+        if (numOfUsers == 0) {
+            System.out.println("There is no instructor or student with a Google ID in " + SOURCE_FILE_NAME);
+            return;
+        }
+        final long endTime = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(durationSeconds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(numOfVirtualUsers);
+        for (int i = 0; i < numOfVirtualUsers; i++) {
+            final Random random = new Random(i);
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    while (System.currentTimeMillis() < endTime) {
+                        int user = random.nextInt(numOfUsers);
+                        try {
+                            if (user < instructors.size()) {
+                                runInstructorFlow(instructors.get(user), random);
+                            } else {
+                                runStudentFlow(students.get(user - instructors.size()), random);
+                            }
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(durationSeconds + 600, TimeUnit.SECONDS);
+    }
+
+    private void runInstructorFlow(InstructorAttributes instructor, Random random) throws InterruptedException {
+        String userId = instructor.googleId;
+        String courseId = instructor.courseId;
+
+        send(userId, Const.ActionURIs.INSTRUCTOR_HOME_PAGE, new ArrayList<String[]>(), false);
+
+        send(userId, Const.ActionURIs.INSTRUCTOR_COURSE_ENROLL_PAGE,
+             createParams(Const.ParamsNames.COURSE_ID, courseId), false);
+        List<StudentAttributes> studentsInCourse = studentsByCourse.get(courseId);
+        if (studentsInCourse != null) {
+            send(userId, Const.ActionURIs.INSTRUCTOR_COURSE_ENROLL_SAVE,
+                 createParams(Const.ParamsNames.COURSE_ID, courseId,
+                              Const.ParamsNames.STUDENTS_ENROLLMENT_INFO, getEnrollLines(studentsInCourse)),
+                 true);
+        }
+
+        FeedbackSessionAttributes session = pickRandom(sessionsByCourse.get(courseId), random);
+        if (session != null) {
+            send(userId, Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_PAGE,
+                 createParams(Const.ParamsNames.COURSE_ID, courseId,
+                              Const.ParamsNames.FEEDBACK_SESSION_NAME, session.feedbackSessionName),
+                 false);
+        }
+
+        EvaluationAttributes evaluation = pickRandom(evaluationsByCourse.get(courseId), random);
+        if (evaluation != null) {
+            send(userId, Const.ActionURIs.INSTRUCTOR_EVAL_RESULTS_PAGE,
+                 createParams(Const.ParamsNames.COURSE_ID, courseId,
+                              Const.ParamsNames.EVALUATION_NAME, evaluation.name),
+                 false);
+        }
+    }
+
+    private void runStudentFlow(StudentAttributes student, Random random) throws InterruptedException {
+        String userId = student.googleId;
+        String courseId = student.course;
+
+        send(userId, Const.ActionURIs.STUDENT_HOME_PAGE, new ArrayList<String[]>(), false);
+
+        FeedbackSessionAttributes session = pickRandom(sessionsByCourse.get(courseId), random);
+        if (session != null) {
+            List<String[]> sessionParams = createParams(Const.ParamsNames.COURSE_ID, courseId,
+                    Const.ParamsNames.FEEDBACK_SESSION_NAME, session.feedbackSessionName);
+            String submissionPage = send(userId, Const.ActionURIs.STUDENT_FEEDBACK_SUBMISSION_EDIT_PAGE,
+                                         sessionParams, false);
+            List<String[]> formParams = getSubmissionFormParams(submissionPage, userId);
+            if (formParams != null) {
+                send(userId, Const.ActionURIs.STUDENT_FEEDBACK_SUBMISSION_EDIT_SAVE, formParams, true);
+            }
+            send(userId, Const.ActionURIs.STUDENT_FEEDBACK_RESULTS_PAGE, sessionParams, false);
+        }
+
+        EvaluationAttributes evaluation = pickRandom(evaluationsByCourse.get(courseId), random);
+        if (evaluation != null) {
+            send(userId, Const.ActionURIs.STUDENT_EVAL_SUBMISSION_EDIT_PAGE,
+                 createParams(Const.ParamsNames.COURSE_ID, courseId,
+                              Const.ParamsNames.EVALUATION_NAME, evaluation.name),
+                 false);
+        }
+    }
+
+    /**
+     * Sends a request as the given user and records its latency under the action in {@code uri}.
+     * Requests that fail, or are redirected to an error page or the login page, are counted as errors.
+     * @return the body of the response, or null if the request failed
+     */
+    private String send(String userId, String uri, List<String[]> params, boolean isPost)
+            throws InterruptedException {
+        String action = uri.substring(uri.lastIndexOf('/') + 1);
+        String body = null;
+        boolean isError = true;
+        long start = System.currentTimeMillis();
+        try {
+            String query = encodeParams(params);
+            URL url = new URL(appUrl + uri + (isPost || query.isEmpty() ? "" : "?" + query));
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setInstanceFollowRedirects(false);
+            connection.setRequestProperty("Cookie", getLoginCookie(userId));
+            if (isPost) {
+                connection.setRequestMethod("POST");
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+                OutputStream out = connection.getOutputStream();
+                out.write(query.getBytes("UTF-8"));
+                out.close();
+            }
+
+            int status = connection.getResponseCode();
+            String location = connection.getHeaderField("Location");
+            body = status < 400 ? readFully(connection.getInputStream()) : null;
+            isError = status >= 400 || isErrorPage(location);
+        } catch (IOException e) {
+            System.out.println(action + " failed: " + e.getMessage());
+        }
+        long latency = System.currentTimeMillis() - start;
+
+        getOrCreateList(latenciesByAction, action).add(latency);
+        if (isError) {
+            errorsByAction.putIfAbsent(action, new AtomicInteger());
+            errorsByAction.get(action).incrementAndGet();
+        }
+        if (THINK_TIME_MILLIS > 0) {
+            Thread.sleep(THINK_TIME_MILLIS);
+        }
+        return isError ? null : body;
+    }
+
+    /**
+     * Logs in to the dev server as the given user, once for each user.
+     * @return the cookie that identifies the user to the dev server
+     */
+    private String getLoginCookie(String userId) throws IOException {
+        String cookie = loginCookies.get(userId);
+        if (cookie != null) {
+            return cookie;
+        }
+        HttpURLConnection connection = (HttpURLConnection) new URL(appUrl + "/_ah/login").openConnection();
+        connection.setInstanceFollowRedirects(false);
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+        OutputStream out = connection.getOutputStream();
+        out.write(encodeParams(createParams("email", userId, "action", "Log In", "continue", "/"))
+                  .getBytes("UTF-8"));
+        out.close();
+        connection.getResponseCode();
+
+        cookie = "";
+        List<String> setCookies = connection.getHeaderFields().get("Set-Cookie");
+        if (setCookies != null) {
+            for (String setCookie : setCookies) {
+                cookie += (cookie.isEmpty() ? "" : "; ") + setCookie.split(";", 2)[0];
+            }
+        }
+        loginCookies.putIfAbsent(userId, cookie);
+        return cookie;
+    }
+
+    /**
+     * @return the parameters that a browser would submit with the submission form in
+     *         {@code page} if the student filled in the empty text boxes only, or null
+     *         if there is no submission form in the page.
+     */
+    private List<String[]> getSubmissionFormParams(String page, String userId) {
+        if (page == null) {
+            return null;
+        }
+        Matcher form = SUBMISSION_FORM.matcher(page);
+        if (!form.find()) {
+            return null;
+        }
+        String formHtml = form.group(1);
+        List<String[]> params = new ArrayList<String[]>();
+
+        Map<String, String> firstRadioValues = new HashMap<String, String>();
+        List<String> checkedRadioNames = new ArrayList<String>();
+        Matcher input = INPUT.matcher(formHtml);
+        while (input.find()) {
+            String attributeText = input.group(1);
+            Map<String, String> attributes = getAttributes(attributeText);
+            String name = attributes.get("name");
+            String type = attributes.containsKey("type") ? attributes.get("type").toLowerCase() : "text";
+            String value = attributes.containsKey("value") ? attributes.get("value") : "";
+            if (name == null || attributeText.contains("disabled") || type.equals("submit") || type.equals("button")) {
+                continue;
+            }
+            boolean isChecked = attributeText.contains("checked");
+            if (type.equals("radio")) {
+                if (!firstRadioValues.containsKey(name)) {
+                    firstRadioValues.put(name, value);
+                }
+                if (isChecked) {
+                    checkedRadioNames.add(name);
+                }
+            }
+            if ((type.equals("radio") || type.equals("checkbox")) && !isChecked) {
+                continue;
+            }
+            params.add(new String[] {name, value});
+        }
+        // choose the first option of the questions that have not been answered yet
+        for (Map.Entry<String, String> radio : firstRadioValues.entrySet()) {
+            if (!checkedRadioNames.contains(radio.getKey())) {
+                params.add(new String[] {radio.getKey(), radio.getValue()});
+            }
+        }
+
+        Matcher textarea = TEXTAREA.matcher(formHtml);
+        while (textarea.find()) {
+            String name = getAttributes(textarea.group(1)).get("name");
+            if (name != null) {
+                String text = textarea.group(2).trim();
+                params.add(new String[] {name, text.isEmpty() ? "Response of " + userId : text});
+            }
+        }
+
+        Matcher select = SELECT.matcher(formHtml);
+        while (select.find()) {
+            String name = getAttributes(select.group(1)).get("name");
+            String value = null;
+            Matcher option = OPTION.matcher(select.group(2));
+            while (option.find()) {
+                String optionValue = getAttributes(option.group(1)).get("value");
+                if (value == null || option.group(1).contains("selected")) {
+                    value = optionValue;
+                }
+            }
+            if (name != null && value != null) {
+                params.add(new String[] {name, value});
+            }
+        }
+        return params;
+    }
+
+    /**
+     * @return the throughput and the latency percentiles of each action
+     */
+    public String getReport(int durationSeconds) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-40s %10s %8s %10s %8s %8s %8s %8s", "Action", "Requests", "Errors",
+                                    "Req/s", "p50 ms", "p90 ms", "p99 ms", "Max ms"))
+              .append(Const.EOL);
+
+        Map<String, List<Long>> sortedLatencies = new TreeMap<String, List<Long>>(latenciesByAction);
+        for (Map.Entry<String, List<Long>> entry : sortedLatencies.entrySet()) {
+            List<Long> latencies;
+            synchronized (entry.getValue()) {
+                latencies = new ArrayList<Long>(entry.getValue());
+            }
+            Collections.sort(latencies);
+            AtomicInteger errors = errorsByAction.get(entry.getKey());
+            report.append(String.format("%-40s %10d %8d %10.2f %8d %8d %8d %8d",
+                                        entry.getKey(), latencies.size(), errors == null ? 0 : errors.get(),
+                                        (double) latencies.size() / durationSeconds,
+                                        getPercentile(latencies, 50), getPercentile(latencies, 90),
+                                        getPercentile(latencies, 99), latencies.get(latencies.size() - 1)))
+                  .append(Const.EOL);
+        }
+        return report.toString();
+    }
+
+    private void writeReport(String report) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new FileWriter(REPORT_FILE_PATH));
+        try {
+            writer.write(report);
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * @param sortedValues not empty
+     * @param percentile between 0 and 100
+     */
+    private static long getPercentile(List<Long> sortedValues, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * sortedValues.size());
+        return sortedValues.get(Math.max(rank - 1, 0));
+    }
+
+    private static String getEnrollLines(List<StudentAttributes> students) {
+        StringBuilder lines = new StringBuilder("Section|Team|Name|Email|Comment");
+        for (StudentAttributes student : students) {
+            lines.append(Const.EOL)
+                 .append(student.section == null ? Const.DEFAULT_SECTION : student.section).append('|')
+                 .append(student.team).append('|')
+                 .append(student.name).append('|')
+                 .append(student.email).append('|')
+                 .append(student.comments == null ? "" : student.comments);
+        }
+        return lines.toString();
+    }
+
+    private static Map<String, String> getAttributes(String attributeText) {
+        Map<String, String> attributes = new HashMap<String, String>();
+        Matcher attribute = ATTRIBUTE.matcher(attributeText);
+        while (attribute.find()) {
+            attributes.put(attribute.group(1).toLowerCase(),
+                           StringHelper.recoverFromSanitizedText(attribute.group(2)));
+        }
+        return attributes;
+    }
+
+    private static boolean isErrorPage(String location) {
+        if (location == null) {
+            return false;
+        }
+        for (String errorPage : ERROR_PAGES) {
+            if (location.contains(errorPage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String[]> createParams(String... namesAndValues) {
+        List<String[]> params = new ArrayList<String[]>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            params.add(new String[] {namesAndValues[i], namesAndValues[i + 1]});
+        }
+        return params;
+    }
+
+    private static String encodeParams(List<String[]> params) throws IOException {
+        StringBuilder encoded = new StringBuilder();
+        for (String[] param : params) {
+            if (encoded.length() > 0) {
+                encoded.append('&');
+            }
+            encoded.append(URLEncoder.encode(param[0], "UTF-8")).append('=')
+                   .append(URLEncoder.encode(param[1], "UTF-8"));
+        }
+        return encoded.toString();
+    }
+
+    private static String readFully(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return bytes.toString("UTF-8");
+        } finally {
+            in.close();
+        }
+    }
+
+    private static <T> T pickRandom(List<T> list, Random random) {
+        return list == null || list.isEmpty() ? null : list.get(random.nextInt(list.size()));
+    }
+
+    private static <T> List<T> getOrCreateList(Map<String, List<T>> map, String key) {
+        synchronized (map) {
+            List<T> list = map.get(key);
+            if (list == null) {
+                list = Collections.synchronizedList(new ArrayList<T>());
+                map.put(key, list);
+            }
+            return list;
+        }
+    }
+}
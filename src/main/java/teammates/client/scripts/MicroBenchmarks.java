@@ -0,0 +1,517 @@
+package teammates.client.scripts;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackMcqQuestionDetails;
+import teammates.common.datatransfer.FeedbackMcqResponseDetails;
+import teammates.common.datatransfer.FeedbackNumericalScaleQuestionDetails;
+import teammates.common.datatransfer.FeedbackNumericalScaleResponseDetails;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackResponseDetails;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionResponseStatus;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.datatransfer.FeedbackTextResponseDetails;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.FileHelper;
+import teammates.common.util.Sanitizer;
+import teammates.common.util.StringHelper;
+import teammates.common.util.Utils;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.logic.core.TeamEvalResult;
+import teammates.test.driver.TestProperties;
+
+import com.google.appengine.api.datastore.Text;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Usage: This script measures the CPU time taken by the parts of the app that do the
+ * most work per request, e.g. building and sorting the results of a feedback session,
+ * generating the CSV download and the statistics of questions. Unlike
+ * PerformanceProfiler, it needs no server, browser or datastore: it runs over a
+ * synthetic course held in memory, so the numbers can be repeated on any machine.
+ *
+ * Notes:
+ * -Run it with the same classpath as the tests, with nothing else running on the machine.
+ * -Each benchmark is run for {@link #WARMUP_ITERATIONS} iterations first, so that the
+ *  JIT compiler has compiled it, then for {@link #MEASUREMENT_ITERATIONS} measured iterations.
+ * -The results are written to src/test/resources/data/MicroBenchmarksReport.txt.
+ * -Run it with the argument "baseline" to also save the results as the baseline.
+ *  Later runs show how much each benchmark changed against the saved baseline.
+ *  Baselines are only comparable when taken on the same machine.
+ * -To run only some of the benchmarks, give the start of their names as arguments.
+ */
+public class MicroBenchmarks {
+
+    /**
+     * Marks a method as a benchmark. The method is called repeatedly; it should
+     * return what it computed, so that the computation cannot be optimized away.
+     */
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Benchmark {
+        String name();
+    }
+
+    private static final String REPORT_FILE_PATH = TestProperties.TEST_DATA_FOLDER + "/MicroBenchmarksReport.txt";
+    private static final String BASELINE_FILE_PATH = TestProperties.TEST_DATA_FOLDER + "/MicroBenchmarksBaseline.txt";
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final long ITERATION_MILLIS = 500;
+
+    // size of the synthetic course: 4 sections of 10 teams of 5 students
+    private static final int NUM_OF_SECTIONS = 4;
+    private static final int NUM_OF_TEAMS_PER_SECTION = 10;
+    private static final int NUM_OF_STUDENTS_PER_TEAM = 5;
+
+    private static final String COURSE_ID = "MicroBenchmarks.course";
+    private static final String SESSION_NAME = "Benchmark Session";
+    private static final String[] MCQ_CHOICES = {"Strongly agree", "Agree", "Neutral", "Disagree"};
+
+    private final Random random = new Random(42);
+    private final Gson gson = Utils.getTeammatesGson();
+
+    private FeedbackSessionAttributes session;
+    private CourseRoster roster;
+    private Map<String, FeedbackQuestionAttributes> questions = new HashMap<String, FeedbackQuestionAttributes>();
+    private List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+    private Map<String, String> emailNameTable = new HashMap<String, String>();
+    private Map<String, String> emailLastNameTable = new HashMap<String, String>();
+    private Map<String, String> emailTeamNameTable = new HashMap<String, String>();
+    private Map<String, boolean[]> visibilityTable = new HashMap<String, boolean[]>();
+
+    private FeedbackQuestionAttributes mcqQuestion;
+    private List<FeedbackResponseAttributes> mcqResponses = new ArrayList<FeedbackResponseAttributes>();
+    private FeedbackQuestionAttributes numscaleQuestion;
+    private List<FeedbackResponseAttributes> numscaleResponses = new ArrayList<FeedbackResponseAttributes>();
+    private List<String> texts = new ArrayList<String>();
+    private List<int[][]> teamSubmissions = new ArrayList<int[][]>();
+    private FeedbackSessionResultsBundle bundle;
+    private String csv;
+    private String responsesJson;
+
+    /** Combines the results of the benchmarks, so that they are not optimized away. */
+    private static int sink;
+
+    public static void main(String[] args) throws Exception {
+        boolean isBaseline = args.length > 0 && args[0].equals("baseline");
+        List<String> namePrefixes = new ArrayList<String>(Arrays.asList(args));
+        namePrefixes.remove("baseline");
+
+        MicroBenchmarks benchmarks = new MicroBenchmarks();
+        benchmarks.createData();
+
+        Map<String, Double> baseline = readResults(BASELINE_FILE_PATH);
+        Map<String, Double> results = new LinkedHashMap<String, Double>();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-55s %15s %15s %10s", "Benchmark", "ns/op", "error (ns/op)", "change"))
+              .append(Const.EOL);
+
+        // the order of declared methods is not fixed, so sort them to keep the report stable
+        List<Method> methods = Arrays.asList(MicroBenchmarks.class.getDeclaredMethods());
+        Collections.sort(methods, new Comparator<Method>() {
+            @Override
+            public int compare(Method m1, Method m2) {
+                return m1.getName().compareTo(m2.getName());
+            }
+        });
+        for (Method method : methods) {
+            Benchmark benchmark = method.getAnnotation(Benchmark.class);
+            if (benchmark == null || !isSelected(benchmark.name(), namePrefixes)) {
+                continue;
+            }
+            double[] nanosPerOp = benchmarks.run(method);
+            double mean = getMean(nanosPerOp);
+            results.put(benchmark.name(), mean);
+
+            Double baselineMean = baseline.get(benchmark.name());
+            String change = baselineMean == null
+                          ? ""
+                          : String.format("%+.1f%%", (mean - baselineMean) / baselineMean * 100);
+            String line = String.format("%-55s %15.0f %15.0f %10s", benchmark.name(), mean,
+                                        getStandardDeviation(nanosPerOp, mean), change);
+            System.out.println(line);
+            report.append(line).append(Const.EOL);
+        }
+
+        writeFile(REPORT_FILE_PATH, report.toString());
+        if (isBaseline) {
+            writeResults(BASELINE_FILE_PATH, results);
+        }
+        System.out.println("(" + sink + ")");
+    }
+
+    @Benchmark(name = "FeedbackSessionResultsBundle construction")
+    public Object constructBundle() {
+        return createBundle();
+    }
+
+    @Benchmark(name = "FeedbackSessionResultsBundle sort by giver")
+    public Object sortBundleByGiver() {
+        return createBundle().getResponsesSortedByGiver(true);
+    }
+
+    @Benchmark(name = "FeedbackSessionResultsBundle sort by recipient")
+    public Object sortBundleByRecipient() {
+        return createBundle().getResponsesSortedByRecipient(true);
+    }
+
+    @Benchmark(name = "FeedbackSessionResultsBundle question response map")
+    public Object getQuestionResponseMap() {
+        return createBundle().getQuestionResponseMap();
+    }
+
+    @Benchmark(name = "Results summary CSV")
+    public Object getResultsSummaryCsv() {
+        return FeedbackSessionsLogic.inst().getFeedbackSessionResultsSummaryAsCsv(createBundle(), null);
+    }
+
+    @Benchmark(name = "TeamEvalResult for every team")
+    public Object computeTeamEvalResults() {
+        int total = 0;
+        for (int[][] submissions : teamSubmissions) {
+            total += new TeamEvalResult(submissions).normalizedAveragePerceived[0];
+        }
+        return total;
+    }
+
+    @Benchmark(name = "MCQ question statistics HTML")
+    public Object getMcqStatisticsHtml() {
+        return mcqQuestion.getQuestionDetails().getQuestionResultStatisticsHtml(
+                mcqResponses, mcqQuestion, null, bundle, "question");
+    }
+
+    @Benchmark(name = "Numerical scale question statistics HTML")
+    public Object getNumscaleStatisticsHtml() {
+        return numscaleQuestion.getQuestionDetails().getQuestionResultStatisticsHtml(
+                numscaleResponses, numscaleQuestion, null, bundle, "question");
+    }
+
+    @Benchmark(name = "Sanitizer.sanitizeForHtml")
+    public Object sanitizeForHtml() {
+        int length = 0;
+        for (String text : texts) {
+            length += Sanitizer.sanitizeForHtml(text).length();
+        }
+        return length;
+    }
+
+    @Benchmark(name = "Sanitizer.sanitizeForCsv")
+    public Object sanitizeForCsv() {
+        int length = 0;
+        for (String text : texts) {
+            length += Sanitizer.sanitizeForCsv(text).length();
+        }
+        return length;
+    }
+
+    @Benchmark(name = "Sanitizer.sanitizeForJs")
+    public Object sanitizeForJs() {
+        int length = 0;
+        for (String text : texts) {
+            length += Sanitizer.sanitizeForJs(text).length();
+        }
+        return length;
+    }
+
+    @Benchmark(name = "StringHelper.recoverFromSanitizedText")
+    public Object recoverFromSanitizedText() {
+        int length = 0;
+        for (String text : texts) {
+            length += StringHelper.recoverFromSanitizedText(Sanitizer.sanitizeForHtml(text)).length();
+        }
+        return length;
+    }
+
+    @Benchmark(name = "StringHelper.csvToHtmlTable")
+    public Object csvToHtmlTable() {
+        return StringHelper.csvToHtmlTable(csv);
+    }
+
+    @Benchmark(name = "StringHelper.encrypt and decrypt")
+    public Object encryptAndDecrypt() {
+        return StringHelper.decrypt(StringHelper.encrypt(COURSE_ID + "%" + random.nextInt()));
+    }
+
+    @Benchmark(name = "FeedbackResponseAttributes to JSON")
+    public Object responsesToJson() {
+        return gson.toJson(responses);
+    }
+
+    @Benchmark(name = "FeedbackResponseAttributes from JSON")
+    public Object responsesFromJson() {
+        Type listType = new TypeToken<List<FeedbackResponseAttributes>>(){}.getType();
+        List<FeedbackResponseAttributes> parsed = gson.fromJson(responsesJson, listType);
+        return parsed;
+    }
+
+    /**
+     * Runs the benchmark for the warmup iterations, then for the measured iterations.
+     * @return the average time of one call in each measured iteration, in nanoseconds
+     */
+    private double[] run(Method method) throws IllegalAccessException, InvocationTargetException {
+        double[] nanosPerOp = new double[MEASUREMENT_ITERATIONS];
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runIteration(method);
+        }
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            nanosPerOp[i] = runIteration(method);
+        }
+        return nanosPerOp;
+    }
+
+    /**
+     * Calls the benchmark repeatedly for {@link #ITERATION_MILLIS}, at least once.
+     * @return the average time of one call, in nanoseconds
+     */
+    private double runIteration(Method method) throws IllegalAccessException, InvocationTargetException {
+        long start = System.nanoTime();
+        long end = start + ITERATION_MILLIS * 1000000;
+        long numOfOps = 0;
+        long now;
+        do {
+            sink += System.identityHashCode(method.invoke(this));
+            numOfOps++;
+            now = System.nanoTime();
+        } while (now < end);
+        return (double) (now - start) / numOfOps;
+    }
+
+    private FeedbackSessionResultsBundle createBundle() {
+        // the bundle sorts its responses in place, so each bundle is given its own list
+        return new FeedbackSessionResultsBundle(session,
+                new ArrayList<FeedbackResponseAttributes>(responses), questions,
+                emailNameTable, emailLastNameTable, emailTeamNameTable, visibilityTable,
+                new FeedbackSessionResponseStatus(), roster,
+                new HashMap<String, List<FeedbackResponseCommentAttributes>>());
+    }
+
+    /**
+     * Creates a course where every student answers a text question about each member
+     * of their team including themselves, an MCQ question about themselves, and a
+     * numerical scale question about each member of their team including themselves.
+     */
+    private void createData() {
+        session = new FeedbackSessionAttributes();
+        session.feedbackSessionName = SESSION_NAME;
+        session.courseId = COURSE_ID;
+        session.creatorEmail = "instructor@benchmark.tmt";
+        session.createdTime = new Date();
+        session.startTime = new Date();
+        session.endTime = new Date();
+        session.sessionVisibleFromTime = new Date();
+        session.resultsVisibleFromTime = new Date();
+        session.instructions = new Text("Please give feedback.");
+        session.feedbackSessionType = FeedbackSessionType.STANDARD;
+
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        Map<String, List<StudentAttributes>> teams = new LinkedHashMap<String, List<StudentAttributes>>();
+        for (int section = 1; section <= NUM_OF_SECTIONS; section++) {
+            for (int team = 1; team <= NUM_OF_TEAMS_PER_SECTION; team++) {
+                String teamName = "Team " + section + "." + team;
+                List<StudentAttributes> members = new ArrayList<StudentAttributes>();
+                for (int i = 1; i <= NUM_OF_STUDENTS_PER_TEAM; i++) {
+                    String name = "Student " + i + " of " + teamName;
+                    String email = "student" + i + ".team" + section + "." + team + "@benchmark.tmt";
+                    StudentAttributes student = new StudentAttributes("Section " + section, teamName,
+                                                                      name, email, "", COURSE_ID);
+                    members.add(student);
+                    emailNameTable.put(email, name);
+                    emailLastNameTable.put(email, "Student " + i);
+                    emailTeamNameTable.put(email, teamName);
+                }
+                students.addAll(members);
+                teams.put(teamName, members);
+            }
+        }
+        List<InstructorAttributes> instructors = new ArrayList<InstructorAttributes>();
+        instructors.add(new InstructorAttributes("MicroBenchmarks.instr", COURSE_ID, "Instructor",
+                                                 session.creatorEmail));
+        roster = new CourseRoster(students, instructors);
+
+        FeedbackQuestionAttributes textQuestion = createQuestion(1, FeedbackQuestionType.TEXT,
+                FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF, new Text("What did they do well?"));
+
+        Map<String, String[]> mcqParams = new HashMap<String, String[]>();
+        mcqParams.put(Const.ParamsNames.FEEDBACK_QUESTION_GENERATEDOPTIONS,
+                      new String[] {FeedbackParticipantType.NONE.toString()});
+        mcqParams.put(Const.ParamsNames.FEEDBACK_QUESTION_NUMBEROFCHOICECREATED,
+                      new String[] {String.valueOf(MCQ_CHOICES.length)});
+        for (int i = 0; i < MCQ_CHOICES.length; i++) {
+            mcqParams.put(Const.ParamsNames.FEEDBACK_QUESTION_MCQCHOICE + "-" + i, new String[] {MCQ_CHOICES[i]});
+        }
+        FeedbackQuestionDetails mcqDetails = new FeedbackMcqQuestionDetails();
+        mcqDetails.extractQuestionDetails(mcqParams, FeedbackQuestionType.MCQ);
+        mcqDetails.questionText = "The team worked well together.";
+        mcqQuestion = createQuestion(2, FeedbackQuestionType.MCQ, FeedbackParticipantType.SELF, null);
+        mcqQuestion.setQuestionDetails(mcqDetails);
+
+        Map<String, String[]> numscaleParams = new HashMap<String, String[]>();
+        numscaleParams.put(Const.ParamsNames.FEEDBACK_QUESTION_NUMSCALE_MIN, new String[] {"1"});
+        numscaleParams.put(Const.ParamsNames.FEEDBACK_QUESTION_NUMSCALE_MAX, new String[] {"5"});
+        numscaleParams.put(Const.ParamsNames.FEEDBACK_QUESTION_NUMSCALE_STEP, new String[] {"0.5"});
+        FeedbackQuestionDetails numscaleDetails = new FeedbackNumericalScaleQuestionDetails();
+        numscaleDetails.extractQuestionDetails(numscaleParams, FeedbackQuestionType.NUMSCALE);
+        numscaleDetails.questionText = "Rate the contribution of each member.";
+        numscaleQuestion = createQuestion(3, FeedbackQuestionType.NUMSCALE,
+                FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF, null);
+        numscaleQuestion.setQuestionDetails(numscaleDetails);
+
+        for (List<StudentAttributes> members : teams.values()) {
+            int[][] submissions = new int[members.size()][members.size()];
+            for (int giver = 0; giver < members.size(); giver++) {
+                StudentAttributes giverStudent = members.get(giver);
+
+                FeedbackMcqResponseDetails mcqAnswer = new FeedbackMcqResponseDetails();
+                mcqAnswer.extractResponseDetails(FeedbackQuestionType.MCQ, mcqDetails,
+                        new String[] {MCQ_CHOICES[random.nextInt(MCQ_CHOICES.length)]});
+                mcqResponses.add(createResponse(mcqQuestion, giverStudent, giverStudent, mcqAnswer));
+
+                for (int recipient = 0; recipient < members.size(); recipient++) {
+                    StudentAttributes recipientStudent = members.get(recipient);
+                    String text = "<p>" + recipientStudent.name + " did \"well\" & was helpful, "
+                                + "but could explain <b>more</b> of their work, e.g. the 'tests'.</p>"
+                                + StringHelper.generateStringOfLength(random.nextInt(200), 'a');
+                    texts.add(text);
+                    createResponse(textQuestion, giverStudent, recipientStudent,
+                                   new FeedbackTextResponseDetails(text));
+
+                    FeedbackNumericalScaleResponseDetails numscaleAnswer = new FeedbackNumericalScaleResponseDetails();
+                    numscaleAnswer.extractResponseDetails(FeedbackQuestionType.NUMSCALE, numscaleDetails,
+                            new String[] {String.valueOf(1 + random.nextInt(9) * 0.5)});
+                    numscaleResponses.add(createResponse(numscaleQuestion, giverStudent, recipientStudent,
+                                                         numscaleAnswer));
+
+                    submissions[giver][recipient] = 50 + random.nextInt(101);
+                }
+            }
+            teamSubmissions.add(submissions);
+        }
+
+        bundle = createBundle();
+        csv = FeedbackSessionsLogic.inst().getFeedbackSessionResultsSummaryAsCsv(createBundle(), null);
+        responsesJson = gson.toJson(responses);
+    }
+
+    private FeedbackQuestionAttributes createQuestion(int questionNumber, FeedbackQuestionType questionType,
+            FeedbackParticipantType recipientType, Text questionMetaData) {
+        List<FeedbackParticipantType> showTo = new ArrayList<FeedbackParticipantType>();
+        showTo.add(FeedbackParticipantType.INSTRUCTORS);
+        showTo.add(FeedbackParticipantType.RECEIVER);
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes(SESSION_NAME, COURSE_ID,
+                session.creatorEmail, questionMetaData, questionNumber, questionType,
+                FeedbackParticipantType.STUDENTS, recipientType, Const.MAX_POSSIBLE_RECIPIENTS,
+                showTo, showTo, showTo);
+        question.setId("question" + questionNumber);
+        questions.put(question.getId(), question);
+        return question;
+    }
+
+    private FeedbackResponseAttributes createResponse(FeedbackQuestionAttributes question,
+            StudentAttributes giver, StudentAttributes recipient,
+            FeedbackResponseDetails answer) {
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes(SESSION_NAME, COURSE_ID,
+                question.getId(), question.questionType, giver.email, giver.section,
+                recipient.email, recipient.section, null);
+        response.setResponseDetails(answer);
+        response.setId(question.getId() + "%" + giver.email + "%" + recipient.email);
+        responses.add(response);
+        visibilityTable.put(response.getId(), new boolean[] {true, true});
+        return response;
+    }
+
+    private static boolean isSelected(String name, List<String> namePrefixes) {
+        if (namePrefixes.isEmpty()) {
+            return true;
+        }
+        for (String prefix : namePrefixes) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double getMean(double[] values) {
+        double total = 0;
+        for (double value : values) {
+            total += value;
+        }
+        return total / values.length;
+    }
+
+    private static double getStandardDeviation(double[] values, double mean) {
+        double total = 0;
+        for (double value : values) {
+            total += (value - mean) * (value - mean);
+        }
+        return Math.sqrt(total / values.length);
+    }
+
+    /**
+     * Reads results written by {@link #writeResults}: one line per benchmark,
+     * with the name and the time in ns/op separated by a tab.
+     */
+    private static Map<String, Double> readResults(String filePath) throws IOException {
+        Map<String, Double> results = new HashMap<String, Double>();
+        if (!new File(filePath).exists()) {
+            return results;
+        }
+        for (String line : FileHelper.readFile(filePath).split("\\r?\\n")) {
+            String[] parts = line.split("\t");
+            if (parts.length == 2) {
+                results.put(parts[0], Double.parseDouble(parts[1]));
+            }
+        }
+        return results;
+    }
+
+    private static void writeResults(String filePath, Map<String, Double> results) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (Map.Entry<String, Double> entry : results.entrySet()) {
+            content.append(entry.getKey()).append('\t')
+                   .append(String.format("%.0f", entry.getValue())).append(Const.EOL);
+        }
+        writeFile(filePath, content.toString());
+    }
+
+    private static void writeFile(String filePath, String content) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new FileWriter(filePath));
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
+}
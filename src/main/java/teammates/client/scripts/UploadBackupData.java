@@ -48,6 +48,7 @@ import teammates.storage.api.InstructorsDb;
 import teammates.storage.api.ProfilesDb;
 import teammates.storage.api.StudentsDb;
 import teammates.storage.datastore.Datastore;
+import teammates.storage.datastore.RequestCache;
 
 
 /**
@@ -137,6 +138,9 @@ public class UploadBackupData extends RemoteApiClient {
                 System.out.println(backupFile + " already persisted.");
                 continue;
             }
+            // each file is uploaded like one request to the server, so that the
+            // questions created can be looked up by number before queries see them
+            RequestCache.startRequest();
             try {
                 String folderName = BACKUP_FOLDER + "/" + folder;
                 
@@ -186,6 +190,8 @@ public class UploadBackupData extends RemoteApiClient {
                 
             } catch (Exception e) {
                 System.out.println("Error in uploading files: " + e.getMessage());
+            } finally {
+                RequestCache.finishRequest();
             }
         }
     }
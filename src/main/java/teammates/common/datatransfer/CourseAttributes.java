@@ -53,6 +53,13 @@ public class CourseAttributes extends EntityAttributes implements Comparable<Cou
         }
     }
     
+    public CourseAttributes(CourseAttributes copy) {
+        this.id = copy.id;
+        this.name = copy.name;
+        this.createdAt = (copy.createdAt == null) ? null : new Date(copy.createdAt.getTime());
+        this.isArchived = copy.isArchived;
+    }
+    
     public List<String> getInvalidityInfo() {
         
         FieldValidator validator = new FieldValidator();
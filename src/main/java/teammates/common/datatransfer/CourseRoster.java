@@ -1,23 +1,40 @@
 package teammates.common.datatransfer;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Contains a list of students and instructors in a course. Useful for caching
  * a copy of student and instructor details of a course instead of reading 
  * them from the database multiple times.
+ * <br> The roster is indexed once when it is created: team members, teams in
+ * each section and the sorted lists of emails and teams are computed up front
+ * and handed out as read-only lists, so callers should copy a list before
+ * modifying it.
  */
 public class CourseRoster {
     
     Map<String, StudentAttributes> studentListByEmail = new HashMap<String, StudentAttributes>();
     Map<String, InstructorAttributes> instructorListByEmail = new HashMap<String, InstructorAttributes>();
     
+    private List<String> sortedStudentEmails;
+    private Map<String, Integer> studentEmailToSortedIndex = new HashMap<String, Integer>();
+    private List<String> sortedInstructorEmails;
+    private List<String> sortedTeams;
+    private Map<String, List<String>> teamToSortedMemberEmails = new HashMap<String, List<String>>();
+    private Map<String, Set<String>> sectionToTeams = new HashMap<String, Set<String>>();
+
     public CourseRoster(List<StudentAttributes> students, List<InstructorAttributes> instructors){
         populateStuentListByEmail(students);
         populateInstructorListByEmail(instructors);
+        buildIndex();
     }
     
     public List<StudentAttributes> getStudents(){
@@ -52,6 +69,90 @@ public class CourseRoster {
         return instructorListByEmail.get(email);
     }
     
+    /**
+     * @return a read-only list of student emails, sorted by section name,
+     *         then team name, then student name
+     */
+    public List<String> getSortedStudentEmails() {
+        return sortedStudentEmails;
+    }
+
+    /**
+     * @return a read-only view of {@link #getSortedStudentEmails()}
+     *         without {@code excludedEmail}
+     */
+    public List<String> getSortedStudentEmailsExcluding(String excludedEmail) {
+        // the emails are not sorted by email, so they are found through the index
+        Integer excludedIndex = studentEmailToSortedIndex.get(excludedEmail);
+        return new ExclusionListView(sortedStudentEmails, excludedIndex == null ? -1 : excludedIndex);
+    }
+
+    /**
+     * @return a read-only list of instructor emails, sorted alphabetically
+     */
+    public List<String> getSortedInstructorEmails() {
+        return sortedInstructorEmails;
+    }
+
+    /**
+     * @return a read-only view of {@link #getSortedInstructorEmails()}
+     *         without {@code excludedEmail}
+     */
+    public List<String> getSortedInstructorEmailsExcluding(String excludedEmail) {
+        return excluding(sortedInstructorEmails, excludedEmail);
+    }
+
+    /**
+     * @return a read-only list of the names of the teams in the course, sorted
+     *         alphabetically. Instructors are not present as a team.
+     */
+    public List<String> getSortedTeams() {
+        return sortedTeams;
+    }
+
+    /**
+     * @return a read-only view of {@link #getSortedTeams()} without {@code excludedTeam}
+     */
+    public List<String> getSortedTeamsExcluding(String excludedTeam) {
+        return excluding(sortedTeams, excludedTeam);
+    }
+
+    /**
+     * @return a read-only list of the emails of the students in {@code teamName},
+     *         sorted alphabetically. Empty if there is no such team.
+     */
+    public List<String> getSortedTeamMemberEmails(String teamName) {
+        List<String> teamMembers = teamToSortedMemberEmails.get(teamName);
+        if (teamMembers == null) {
+            return Collections.emptyList();
+        }
+        return teamMembers;
+    }
+
+    /**
+     * @return a read-only view of {@link #getSortedTeamMemberEmails(String)}
+     *         without {@code excludedEmail}
+     */
+    public List<String> getSortedTeamMemberEmailsExcluding(String teamName, String excludedEmail) {
+        return excluding(getSortedTeamMemberEmails(teamName), excludedEmail);
+    }
+
+    /**
+     * @return a read-only map from each team name to the sorted emails of
+     *         the students in that team
+     */
+    public Map<String, List<String>> getTeamToSortedMemberEmails() {
+        return teamToSortedMemberEmails;
+    }
+
+    /**
+     * @return a read-only map from each section name to the names of the
+     *         teams in that section
+     */
+    public Map<String, Set<String>> getSectionToTeams() {
+        return sectionToTeams;
+    }
+
     private void populateStuentListByEmail(List<StudentAttributes> students) {
         
         if (students == null){
@@ -74,4 +175,116 @@ public class CourseRoster {
         }
     }
 
+    private void buildIndex() {
+        List<StudentAttributes> students = getStudents();
+        Collections.sort(students, compareBySectionTeamName);
+
+        List<String> studentEmails = new ArrayList<String>();
+        Map<String, List<String>> teamMembers = new HashMap<String, List<String>>();
+        Map<String, Set<String>> sectionTeams = new HashMap<String, Set<String>>();
+
+        for (StudentAttributes student : students) {
+            studentEmailToSortedIndex.put(student.email, studentEmails.size());
+            studentEmails.add(student.email);
+
+            if (!teamMembers.containsKey(student.team)) {
+                teamMembers.put(student.team, new ArrayList<String>());
+            }
+            teamMembers.get(student.team).add(student.email);
+
+            if (!sectionTeams.containsKey(student.section)) {
+                sectionTeams.put(student.section, new HashSet<String>());
+            }
+            sectionTeams.get(student.section).add(student.team);
+        }
+
+        List<String> teams = new ArrayList<String>();
+        for (Map.Entry<String, List<String>> entry : teamMembers.entrySet()) {
+            Collections.sort(entry.getValue());
+            teamToSortedMemberEmails.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+            if (entry.getKey() != null) {
+                teams.add(entry.getKey());
+            }
+        }
+        Collections.sort(teams);
+
+        for (Map.Entry<String, Set<String>> entry : sectionTeams.entrySet()) {
+            sectionToTeams.put(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
+        }
+
+        List<String> instructorEmails = new ArrayList<String>(instructorListByEmail.keySet());
+        Collections.sort(instructorEmails);
+
+        sortedStudentEmails = Collections.unmodifiableList(studentEmails);
+        sortedInstructorEmails = Collections.unmodifiableList(instructorEmails);
+        sortedTeams = Collections.unmodifiableList(teams);
+        teamToSortedMemberEmails = Collections.unmodifiableMap(teamToSortedMemberEmails);
+        sectionToTeams = Collections.unmodifiableMap(sectionToTeams);
+    }
+
+    /**
+     * Same ordering as {@link StudentAttributes#sortBySectionName(List)},
+     * but tolerates students without a section, team or name and breaks
+     * ties by email so that the order does not depend on map iteration.
+     */
+    private static final Comparator<StudentAttributes> compareBySectionTeamName =
+            new Comparator<StudentAttributes>() {
+        @Override
+        public int compare(StudentAttributes student1, StudentAttributes student2) {
+            int order = compareNullable(student1.section, student2.section);
+            if (order == 0) {
+                order = compareNullable(student1.team, student2.team);
+            }
+            if (order == 0) {
+                order = compareNullable(student1.name, student2.name);
+            }
+            if (order == 0) {
+                order = compareNullable(student1.email, student2.email);
+            }
+            return order;
+        }
+    };
+
+    private static int compareNullable(String s1, String s2) {
+        if (s1 == null || s2 == null) {
+            return (s1 == null ? 0 : 1) - (s2 == null ? 0 : 1);
+        }
+        return s1.compareTo(s2);
+    }
+
+    /**
+     * @param sortedList a list sorted in natural order
+     */
+    private static List<String> excluding(List<String> sortedList, String excluded) {
+        int excludedIndex = excluded == null ? -1 : Collections.binarySearch(sortedList, excluded);
+        return new ExclusionListView(sortedList, excludedIndex);
+    }
+
+    /**
+     * A read-only view of a list with at most one element left out,
+     * which avoids copying the whole list just to remove a single element.
+     */
+    private static class ExclusionListView extends AbstractList<String> {
+        private final List<String> list;
+        private final int excludedIndex;
+
+        ExclusionListView(List<String> list, int excludedIndex) {
+            this.list = list;
+            this.excludedIndex = excludedIndex < 0 ? list.size() : excludedIndex;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return list.get(index < excludedIndex ? index : index + 1);
+        }
+
+        @Override
+        public int size() {
+            return excludedIndex < list.size() ? list.size() - 1 : list.size();
+        }
+    }
+
 }
@@ -0,0 +1,196 @@
+package teammates.common.datatransfer;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.appengine.api.datastore.Text;
+import com.google.gson.reflect.TypeToken;
+
+import teammates.common.util.Const;
+import teammates.common.util.FieldValidator;
+import teammates.common.util.Sanitizer;
+import teammates.common.util.Utils;
+import teammates.common.util.FieldValidator.FieldType;
+import teammates.storage.entity.CourseStatistics;
+
+/**
+ * The data transfer object for CourseStatistics entities. <br>
+ * Besides the totals, it keeps the number of students in each team, so that
+ * the number of teams and sections stays correct when a student is added to
+ * or removed from a team without reading the other students of the course.
+ */
+public class CourseStatisticsAttributes extends EntityAttributes {
+    
+    private static final Type TEAM_SIZES_TYPE = 
+            new TypeToken<TreeMap<String, TreeMap<String, Integer>>>() {}.getType();
+    
+    public String courseId;
+    public int studentsTotal;
+    public int unregisteredTotal;
+    public int teamsTotal;
+    /** Does not count the default section, like {@link CourseStats#sectionsTotal} */
+    public int sectionsTotal;
+    /** Number of students in each team, by section name and then team name */
+    public Map<String, Map<String, Integer>> teamSizes = new TreeMap<String, Map<String, Integer>>();
+    public Date recomputedAt;
+    
+    /**
+     * Counts the statistics of the course from all its students.
+     */
+    public CourseStatisticsAttributes(String courseId, List<StudentAttributes> students) {
+        this.courseId = courseId;
+        for (StudentAttributes student : students) {
+            addStudent(student);
+        }
+        this.recomputedAt = new Date();
+    }
+    
+    public CourseStatisticsAttributes(CourseStatistics courseStatistics) {
+        this.courseId = courseStatistics.getCourseId();
+        this.studentsTotal = courseStatistics.getStudentsTotal();
+        this.unregisteredTotal = courseStatistics.getUnregisteredTotal();
+        this.teamsTotal = courseStatistics.getTeamsTotal();
+        this.sectionsTotal = courseStatistics.getSectionsTotal();
+        this.recomputedAt = courseStatistics.getRecomputedAt();
+        
+        Text teamSizesJson = courseStatistics.getTeamSizes();
+        if (teamSizesJson != null) {
+            this.teamSizes = Utils.getTeammatesGson().fromJson(teamSizesJson.getValue(), TEAM_SIZES_TYPE);
+        }
+    }
+    
+    /**
+     * Updates the statistics for a student that was added to the course.
+     */
+    public void addStudent(StudentAttributes student) {
+        studentsTotal++;
+        if (!student.isRegistered()) {
+            unregisteredTotal++;
+        }
+        
+        String section = getSectionKey(student);
+        String team = getTeamKey(student);
+        
+        Map<String, Integer> teamsInSection = teamSizes.get(section);
+        if (teamsInSection == null) {
+            teamsInSection = new TreeMap<String, Integer>();
+            teamSizes.put(section, teamsInSection);
+            if (!section.equals(Const.DEFAULT_SECTION)) {
+                sectionsTotal++;
+            }
+        }
+        
+        Integer teamSize = teamsInSection.get(team);
+        if (teamSize == null) {
+            teamsTotal++;
+            teamSize = 0;
+        }
+        teamsInSection.put(team, teamSize + 1);
+    }
+    
+    /**
+     * Updates the statistics for a student that was removed from the course.
+     * A student that was not counted (i.e. the statistics are already out of
+     * date) does not make any total negative.
+     */
+    public void removeStudent(StudentAttributes student) {
+        studentsTotal = Math.max(0, studentsTotal - 1);
+        if (!student.isRegistered()) {
+            unregisteredTotal = Math.max(0, unregisteredTotal - 1);
+        }
+        
+        String section = getSectionKey(student);
+        String team = getTeamKey(student);
+        
+        Map<String, Integer> teamsInSection = teamSizes.get(section);
+        Integer teamSize = teamsInSection == null ? null : teamsInSection.get(team);
+        if (teamSize == null) {
+            return;
+        }
+        
+        if (teamSize > 1) {
+            teamsInSection.put(team, teamSize - 1);
+            return;
+        }
+        teamsInSection.remove(team);
+        teamsTotal--;
+        
+        if (teamsInSection.isEmpty()) {
+            teamSizes.remove(section);
+            if (!section.equals(Const.DEFAULT_SECTION)) {
+                sectionsTotal--;
+            }
+        }
+    }
+    
+    public CourseStats toCourseStats() {
+        CourseStats stats = new CourseStats();
+        stats.studentsTotal = studentsTotal;
+        stats.unregisteredTotal = unregisteredTotal;
+        stats.teamsTotal = teamsTotal;
+        stats.sectionsTotal = sectionsTotal;
+        return stats;
+    }
+    
+    /* The names are sanitized as they are when saved, so that a student counts
+     * in the same team whether it comes from the datastore or from user input. */
+    private static String getSectionKey(StudentAttributes student) {
+        return student.section == null ? Const.DEFAULT_SECTION : Sanitizer.sanitizeForHtml(student.section);
+    }
+    
+    private static String getTeamKey(StudentAttributes student) {
+        return Sanitizer.sanitizeForHtml(student.team);
+    }
+
+    public List<String> getInvalidityInfo() {
+        
+        FieldValidator validator = new FieldValidator();
+        List<String> errors = new ArrayList<String>();
+        String error;
+        
+        error= validator.getInvalidityInfo(FieldType.COURSE_ID, courseId);
+        if(!error.isEmpty()) { errors.add(error); }
+        
+        return errors;
+    }
+
+    public CourseStatistics toEntity() {
+        return new CourseStatistics(courseId, studentsTotal, unregisteredTotal, teamsTotal, sectionsTotal,
+                                    new Text(Utils.getTeammatesGson().toJson(teamSizes)), recomputedAt);
+    }
+
+    public String toString() {
+        return "[" + CourseStatisticsAttributes.class.getSimpleName() + "] courseId: " + courseId 
+                + " students: " + studentsTotal + " unregistered: " + unregisteredTotal 
+                + " teams: " + teamsTotal + " sections: " + sectionsTotal;
+    }
+
+    @Override
+    public String getIdentificationString() {
+        return this.courseId;
+    }
+
+    @Override
+    public String getEntityTypeAsString() {
+        return "CourseStatistics";
+    }
+
+    @Override
+    public String getBackupIdentifier() {
+        return Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId;
+    }
+    
+    @Override
+    public String getJsonString() {
+        return Utils.getTeammatesGson().toJson(this, CourseStatisticsAttributes.class);
+    }
+    
+    @Override
+    public void sanitizeForSaving() {
+        this.courseId = Sanitizer.sanitizeForHtml(courseId);
+    }
+}
@@ -1,5 +1,6 @@
 package teammates.common.datatransfer;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,7 +15,8 @@ import com.google.appengine.api.datastore.Text;
 import com.google.gson.Gson;
 
 public class FeedbackQuestionAttributes extends EntityAttributes
-    implements Comparable<FeedbackQuestionAttributes>{
+    implements Comparable<FeedbackQuestionAttributes>, Serializable {
+    private static final long serialVersionUID = 1L;
     private String feedbackQuestionId = null;
     public String feedbackSessionName;
     public String courseId;
@@ -33,6 +35,15 @@ public class FeedbackQuestionAttributes extends EntityAttributes
     public List<FeedbackParticipantType> showGiverNameTo;
     public List<FeedbackParticipantType> showRecipientNameTo;
     
+    /*
+     * Parsed form of questionMetaData, reused for as long as questionMetaData
+     * and questionType still refer to what it was parsed from.
+     * Transient so that it is left out of the JSON.
+     */
+    private transient FeedbackQuestionDetails questionDetails = null;
+    private transient Text questionDetailsMetaData = null;
+    private transient FeedbackQuestionType questionDetailsQuestionType = null;
+    
     public FeedbackQuestionAttributes(){
         
     }
@@ -475,10 +486,23 @@ public class FeedbackQuestionAttributes extends EntityAttributes
         }
     }
     
-    /** This method retrieves the Feedback*QuestionDetails object for this question
+    /** This method retrieves the Feedback*QuestionDetails object for this question.
+     * The details are parsed once and the same object is returned on later calls
+     * until {@link #questionMetaData} is changed, so it should not be modified by callers.
      * @return The Feedback*QuestionDetails object representing the question's details
      */
     public FeedbackQuestionDetails getQuestionDetails(){
+        if (questionDetails == null 
+                || questionDetailsMetaData != questionMetaData
+                || questionDetailsQuestionType != questionType) {
+            questionDetails = parseQuestionDetails();
+            questionDetailsMetaData = questionMetaData;
+            questionDetailsQuestionType = questionType;
+        }
+        return questionDetails;
+    }
+    
+    private FeedbackQuestionDetails parseQuestionDetails() {
         // For Text questions, the questionText simply contains the question, not a JSON
         // This is due to legacy data in the data store before there are multiple question types
         if(questionType == FeedbackQuestionType.TEXT) {
@@ -34,6 +34,15 @@ public class FeedbackResponseAttributes extends EntityAttributes {
      */
     public Text responseMetaData;
     
+    /*
+     * Parsed form of responseMetaData, kept so that the JSON is parsed only once.
+     * It is reused for as long as responseMetaData and feedbackQuestionType 
+     * still refer to what it was parsed from. Transient so that it is left out of the JSON.
+     */
+    private transient FeedbackResponseDetails responseDetails = null;
+    private transient Text responseDetailsMetaData = null;
+    private transient FeedbackQuestionType responseDetailsQuestionType = null;
+    
     public FeedbackResponseAttributes() {
         
     }
@@ -177,16 +186,29 @@ public class FeedbackResponseAttributes extends EntityAttributes {
         }
     }
     
-    /** This method retrieves the Feedback*ResponseDetails object for this response
+    /** This method retrieves the Feedback*ResponseDetails object for this response.
+     * The details are parsed once and the same object is returned on later calls
+     * until {@link #responseMetaData} is changed, so it should not be modified by callers.
      * @return The Feedback*ResponseDetails object representing the response's details
      */
     public FeedbackResponseDetails getResponseDetails(){
-        Class<? extends FeedbackResponseDetails> responseDetailsClass = getFeedbackResponseDetailsClass();
-        
         if (isMissingResponse()) {
             return null;
         }
         
+        if (responseDetails == null 
+                || responseDetailsMetaData != responseMetaData
+                || responseDetailsQuestionType != feedbackQuestionType) {
+            responseDetails = parseResponseDetails();
+            responseDetailsMetaData = responseMetaData;
+            responseDetailsQuestionType = feedbackQuestionType;
+        }
+        return responseDetails;
+    }
+    
+    private FeedbackResponseDetails parseResponseDetails() {
+        Class<? extends FeedbackResponseDetails> responseDetailsClass = getFeedbackResponseDetailsClass();
+        
         if(responseDetailsClass == FeedbackTextResponseDetails.class) {
             // For Text questions, the questionText simply contains the question, not a JSON
             // This is due to legacy data in the data store before there are multiple question types
@@ -0,0 +1,30 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents one page of feedback responses fetched using a datastore cursor.
+ * <br> Contains:
+ * <br> * {@link List} of responses in this page as {@link FeedbackResponseAttributes} objects.
+ * <br> * The continuation token to pass back to fetch the next page,
+ *        or null if there are no more responses.
+ */
+public class FeedbackResponsesPageBundle {
+
+    public List<FeedbackResponseAttributes> responses;
+    public String nextPageCursor;
+
+    public FeedbackResponsesPageBundle() {
+        this(new ArrayList<FeedbackResponseAttributes>(), null);
+    }
+
+    public FeedbackResponsesPageBundle(List<FeedbackResponseAttributes> responses, String nextPageCursor) {
+        this.responses = responses;
+        this.nextPageCursor = nextPageCursor;
+    }
+
+    public boolean hasNextPage() {
+        return nextPageCursor != null;
+    }
+}
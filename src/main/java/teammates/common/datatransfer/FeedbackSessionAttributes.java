@@ -1,5 +1,6 @@
 package teammates.common.datatransfer;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
@@ -21,7 +22,8 @@ import teammates.common.util.FieldValidator.FieldType;
 import teammates.common.util.Utils;
 import teammates.storage.entity.FeedbackSession;
 
-public class FeedbackSessionAttributes extends EntityAttributes implements SessionAttributes{
+public class FeedbackSessionAttributes extends EntityAttributes implements SessionAttributes, Serializable {
+    private static final long serialVersionUID = 1L;
     
     public String feedbackSessionName;
     public String courseId;
@@ -5,6 +5,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,11 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
     public CourseRoster roster = null;
     public Map<String, List<FeedbackResponseCommentAttributes>> responseComments = null;
     public boolean isComplete;    
+    /**
+     * Continuation token for the next page of responses if this bundle holds
+     * one page of the results, null if there are no more responses.
+     */
+    public String nextPageCursor = null;
 
     protected static Logger log = Utils.getLogger();
 	 
@@ -55,6 +61,17 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
     public Map<String, Map<String, TeamEvalResult>> contributionQuestionTeamEvalResults =
             new HashMap<String, Map<String, TeamEvalResult>>();
     
+    // Sort keys of the responses with the tables they were made from, and the
+    // sorted orders already computed. See getResponsesSortedBy() for when they are made again.
+    private Map<FeedbackResponseAttributes, ResponseSortKey> responseSortKeys = null;
+    private SortRanks sortRanks = null;
+    private boolean isSortKeysStale = true;
+    private Map<String, FeedbackQuestionAttributes> sortKeysQuestions = null;
+    private Map<String, String> sortKeysEmailNameTable = null;
+    private Map<String, String> sortKeysEmailTeamNameTable = null;
+    private Map<Comparator<FeedbackResponseAttributes>, List<FeedbackResponseAttributes>> sortedResponses = null;
+    private List<FeedbackResponseAttributes> sortedResponsesSource = null;
+    
     public FeedbackSessionResultsBundle (FeedbackSessionAttributes feedbackSession,
             List<FeedbackResponseAttributes> responses,
             Map<String, FeedbackQuestionAttributes> questions,
@@ -415,7 +432,8 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
      * 
      * @param fqa
      * @param recipientParticipantIdentifier
-     * @return a list of participant identifiers that can give a response to the recipient specified
+     * @return a list of participant identifiers that can give a response to the recipient specified.
+     *         The list can be read-only, so copy it before modifying it.
      */
     public List<String> getPossibleGivers(FeedbackQuestionAttributes fqa, 
             String recipientParticipantIdentifier) {
@@ -541,9 +559,13 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
                 possibleGivers.add(studentRecipient.email);
                 break;
             case OWN_TEAM_MEMBERS:
-                possibleGivers.retainAll(getSortedListOfTeamMembersEmailsExcludingSelf(studentRecipient));
+                possibleGivers = new ArrayList<String>(possibleGivers);
+                possibleGivers.retainAll(roster.getSortedTeamMemberEmailsExcluding(studentRecipient.team, studentRecipient.email));
+                break;
             case OWN_TEAM_MEMBERS_INCLUDING_SELF:
-                possibleGivers.retainAll(getSortedListOfTeamMembersEmails(studentRecipient));
+                possibleGivers = new ArrayList<String>(possibleGivers);
+                possibleGivers.retainAll(roster.getSortedTeamMemberEmails(studentRecipient.team));
+                break;
             default:
                 break;
         }
@@ -584,6 +606,10 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         return possibleGivers;
     }
     
+    /**
+     * @return the participant identifiers that can give a response to the question.
+     *         The list can be read-only, so copy it before modifying it.
+     */
     public List<String> getPossibleGivers(FeedbackQuestionAttributes fqa) {
         FeedbackParticipantType giverType = fqa.giverType;
         List<String> possibleGivers = new ArrayList<String>();
@@ -610,6 +636,10 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
     }
     
 
+    /**
+     * @return the participant identifiers that can receive a response to the question.
+     *         The list can be read-only, so copy it before modifying it.
+     */
     public List<String> getPossibleRecipients(FeedbackQuestionAttributes fqa) {
         FeedbackParticipantType recipientType = fqa.recipientType;
         List<String> possibleRecipients = null;
@@ -650,7 +680,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
      * @param fqa
      * @param giverParticipantIdentifier
      * @return a list of possible recipients that can receive a response from giver specified by
-     *         the participantIdentifier
+     *         the participantIdentifier. The list can be read-only, so copy it before modifying it.
      */
     public List<String> getPossibleRecipients(FeedbackQuestionAttributes fqa, 
             String giverParticipantIdentifier) {
@@ -690,8 +720,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
                 possibleRecipients = getSortedListOfStudentEmails();
                 break;
             case INSTRUCTORS:
-                possibleRecipients = getSortedListOfInstructorEmails();
-                possibleRecipients.remove(instructorGiver.email);
+                possibleRecipients = getSortedListOfInstructorEmailsExcluding(instructorGiver.email);
                 break;
             case TEAMS:
                 possibleRecipients = getSortedListOfTeams();
@@ -726,8 +755,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         List<String> possibleRecipients = new ArrayList<String>();
         switch(recipientType) {
             case STUDENTS:
-                possibleRecipients = getSortedListOfStudentEmails();
-                possibleRecipients.remove(studentGiver.email);
+                possibleRecipients = getSortedListOfStudentEmailsExcluding(studentGiver.email);
                 break;
             case OWN_TEAM_MEMBERS:
                 possibleRecipients = getSortedListOfTeamMembersEmailsExcludingSelf(studentGiver);
@@ -772,8 +800,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         
         switch(recipientType) {
             case TEAMS:
-                possibleRecipients = getSortedListOfTeams();
-                possibleRecipients.remove(givingTeam);
+                possibleRecipients = getSortedListOfTeamsExcluding(givingTeam);
                 break;
             case OWN_TEAM:
                 possibleRecipients.add(givingTeam);
@@ -803,11 +830,11 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
     }
     
     private List<String> getSortedListOfTeamsExcludingOwnTeam(StudentAttributes student) {
-        String studentTeam = student.team;
-        List<String> listOfTeams = getSortedListOfTeams();
-        listOfTeams.remove(studentTeam);
-        
-        return listOfTeams;
+        return getSortedListOfTeamsExcluding(student.team);
+    }
+    
+    private List<String> getSortedListOfTeamsExcluding(String excludedTeam) {
+        return roster.getSortedTeamsExcluding(excludedTeam);
     }
     
     /**
@@ -816,16 +843,11 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
      * Instructors are not present as a team.
      */
     private List<String> getSortedListOfTeams() {
-        List<String> teams = new ArrayList<String>(rosterTeamNameMembersTable.keySet());
-        
-        teams.remove(Const.USER_TEAM_FOR_INSTRUCTOR);
-        Collections.sort(teams);
-        
-        return teams;
+        return roster.getSortedTeams();
     }
     
     /**
-     * Get a sorted list of team members, who are in the same team as the student. <br>
+     * Get a sorted, read-only list of team members, who are in the same team as the student. <br>
      * 
      * This list includes the student.
      * @see getSortedListOfTeamMembersEmailsExcludingSelf
@@ -833,11 +855,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
      * @return a list of team members, including the original student
      */
     public List<String> getSortedListOfTeamMembersEmails(StudentAttributes student) {
-        String teamName = student.team;
-        Set<String> teamMembersEmailsToNames = rosterTeamNameMembersTable.get(teamName);
-        List<String> teamMembers = new ArrayList<String>(teamMembersEmailsToNames);
-        Collections.sort(teamMembers);
-        return teamMembers;
+        return roster.getSortedTeamMemberEmails(student.team);
     }
     
     /**
@@ -849,11 +867,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
      * @return a list of team members, excluding the original student
      */
     private List<String> getSortedListOfTeamMembersEmailsExcludingSelf(StudentAttributes student) {
-        List<String> teamMembers = getSortedListOfTeamMembersEmails(student);
-        String currentStudentEmail = student.email;
-        
-        teamMembers.remove(currentStudentEmail);
-        return teamMembers;
+        return roster.getSortedTeamMemberEmailsExcluding(student.team, student.email);
     }
     
     /**
@@ -861,15 +875,11 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
      * @return a list of student emails, sorted by section name
      */
     private List<String> getSortedListOfStudentEmails() {
-        List<String> emailList = new ArrayList<String>();
-        
-        List<StudentAttributes> students = roster.getStudents();
-        StudentAttributes.sortBySectionName(students);
-        for (StudentAttributes student : students) {
-            emailList.add(student.email);
-        }
-        
-        return emailList;
+        return roster.getSortedStudentEmails();
+    }
+    
+    private List<String> getSortedListOfStudentEmailsExcluding(String excludedEmail) {
+        return roster.getSortedStudentEmailsExcluding(excludedEmail);
     }
     
     /**
@@ -877,15 +887,11 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
      * @return a list of instructor emails, sorted alphabetically
      */
     private List<String> getSortedListOfInstructorEmails() {
-        List<String> emailList = new ArrayList<String>();
-        
-        List<InstructorAttributes> instructors = roster.getInstructors();
-        for (InstructorAttributes instructor : instructors) {
-            emailList.add(instructor.email);
-        }
-        Collections.sort(emailList);
-        
-        return emailList;
+        return roster.getSortedInstructorEmails();
+    }
+    
+    private List<String> getSortedListOfInstructorEmailsExcluding(String excludedEmail) {
+        return roster.getSortedInstructorEmailsExcluding(excludedEmail);
     }
     
    
@@ -1069,14 +1075,11 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
             sortedMap.put(question, new ArrayList<FeedbackResponseAttributes>());
         }
         
-        for(FeedbackResponseAttributes response : responses){
+        // responses are added in sorted order, so each question's list is sorted as well
+        for(FeedbackResponseAttributes response : getResponsesSortedBy(compareByGiverRecipient)){
             List<FeedbackResponseAttributes> responsesForQuestion = sortedMap.get(questions.get(response.feedbackQuestionId));
             responsesForQuestion.add(response);
         }
-
-        for(List<FeedbackResponseAttributes> responsesForQuestion : sortedMap.values()){
-            Collections.sort(responsesForQuestion, compareByGiverRecipient);
-        }
           
         return sortedMap;
               
@@ -1090,12 +1093,12 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> responsesForOneRecipient = null;
         List<FeedbackResponseAttributes> responsesForOneRecipientOneQuestion = null;
    
-        Collections.sort(responses, compareByTeamQuestionRecipientTeamGiver);
+        List<FeedbackResponseAttributes> sortedResponses = getResponsesSortedBy(compareByTeamQuestionRecipientTeamGiver);
         
         String recipientTeam = null;
         String questionId = null;
         
-        for (FeedbackResponseAttributes response : responses) {
+        for (FeedbackResponseAttributes response : sortedResponses) {
             if(recipientTeam == null ||
                     !(getTeamNameForEmail(response.recipientEmail).equals("")? getNameForEmail(response.recipientEmail).equals(recipientTeam): getTeamNameForEmail(response.recipientEmail).equals(recipientTeam))){
                 if(questionId!=null && responsesForOneRecipientOneQuestion!=null && responsesForOneRecipient!=null){
@@ -1140,12 +1143,12 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> responsesFromOneGiver = null;
         List<FeedbackResponseAttributes> responsesFromOneGiverOneQuestion = null;
         
-        Collections.sort(responses, compareByTeamQuestionGiverTeamRecipient);
+        List<FeedbackResponseAttributes> sortedResponses = getResponsesSortedBy(compareByTeamQuestionGiverTeamRecipient);
         
         String giverTeam = null;
         String questionId = null;
         
-        for (FeedbackResponseAttributes response : responses) {
+        for (FeedbackResponseAttributes response : sortedResponses) {
             if(giverTeam == null || 
                     !(getTeamNameForEmail(response.giverEmail).equals("")? getNameForEmail(response.giverEmail).equals(giverTeam) : getTeamNameForEmail(response.giverEmail).equals(giverTeam))){
                 if(questionId!=null && responsesFromOneGiverOneQuestion!=null && responsesFromOneGiver!=null){
@@ -1194,17 +1197,15 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> responsesForOneRecipient = null;
         List<FeedbackResponseAttributes> responsesForOneRecipientOneQuestion = null;
         
-        if(sortByTeam){
-            Collections.sort(responses, compareByTeamRecipientQuestionTeamGiver);
-        } else {
-            Collections.sort(responses, compareByRecipientQuestionTeamGiver);
-        }
+        List<FeedbackResponseAttributes> sortedResponses = sortByTeam
+                ? getResponsesSortedBy(compareByTeamRecipientQuestionTeamGiver)
+                : getResponsesSortedBy(compareByRecipientQuestionTeamGiver);
         
         String recipient = null;
         String questionId = null;
         String recipientName = null;
         
-        for (FeedbackResponseAttributes response : responses) {
+        for (FeedbackResponseAttributes response : sortedResponses) {
             if(recipient == null || !response.recipientEmail.equals(recipient)){
                 if(questionId!=null && responsesForOneRecipientOneQuestion!=null && responsesForOneRecipient!=null){
                     responsesForOneRecipient.put(questions.get(questionId), responsesForOneRecipientOneQuestion);
@@ -1257,11 +1258,9 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
 
-        if(sortByTeam){
-            Collections.sort(responses, compareByTeamRecipientGiverQuestion);
-        } else {
-            Collections.sort(responses, compareByRecipientGiverQuestion);
-        }  
+        List<FeedbackResponseAttributes> sortedResponses = sortByTeam
+                ? getResponsesSortedBy(compareByTeamRecipientGiverQuestion)
+                : getResponsesSortedBy(compareByRecipientGiverQuestion);
 
         String prevGiver = null;
         String prevRecipient = null;
@@ -1275,7 +1274,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         Map<String, List<FeedbackResponseAttributes>> responsesToOneRecipient =
                 new LinkedHashMap<String, List<FeedbackResponseAttributes>>();
 
-        for (FeedbackResponseAttributes response : responses) {
+        for (FeedbackResponseAttributes response : sortedResponses) {
             // New recipient, add response package to map.
             if (response.recipientEmail.equals(prevRecipient) == false
                     && prevRecipient != null) {
@@ -1314,7 +1313,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
             giverName = this.appendTeamNameToName(giverName, giverTeamName);
         }
         
-        if (responses.isEmpty() == false ) {
+        if (sortedResponses.isEmpty() == false ) {
             // Put responses for final giver
             responsesToOneRecipient.put(giverName,
                     responsesFromOneGiverToOneRecipient);
@@ -1338,17 +1337,15 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> responsesFromOneGiver = null;
         List<FeedbackResponseAttributes> responsesFromOneGiverOneQuestion = null;
         
-        if(sortByTeam){
-            Collections.sort(responses, compareByTeamGiverQuestionTeamRecipient);
-        } else {
-            Collections.sort(responses, compareByGiverQuestionTeamRecipient);
-        }
+        List<FeedbackResponseAttributes> sortedResponses = sortByTeam
+                ? getResponsesSortedBy(compareByTeamGiverQuestionTeamRecipient)
+                : getResponsesSortedBy(compareByGiverQuestionTeamRecipient);
         
         String giver = null;
         String questionId = null;
         String giverName = null;
         
-        for (FeedbackResponseAttributes response : responses) {
+        for (FeedbackResponseAttributes response : sortedResponses) {
             if(giver == null || !response.giverEmail.equals(giver)){
                 if(questionId!=null && responsesFromOneGiverOneQuestion!=null && responsesFromOneGiver!=null){
                     responsesFromOneGiver.put(questions.get(questionId), responsesFromOneGiverOneQuestion);
@@ -1399,11 +1396,9 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
 
-        if(sortByTeam){
-            Collections.sort(responses, compareByTeamGiverRecipientQuestion);
-        } else {
-            Collections.sort(responses, compareByGiverRecipientQuestion);
-        }
+        List<FeedbackResponseAttributes> sortedResponses = sortByTeam
+                ? getResponsesSortedBy(compareByTeamGiverRecipientQuestion)
+                : getResponsesSortedBy(compareByGiverRecipientQuestion);
         
         String prevRecipient = null;
         String prevGiver = null;
@@ -1417,7 +1412,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         Map<String, List<FeedbackResponseAttributes>> responsesFromOneGiver =
                 new LinkedHashMap<String, List<FeedbackResponseAttributes>>();
 
-        for (FeedbackResponseAttributes response : responses) {
+        for (FeedbackResponseAttributes response : sortedResponses) {
             // New recipient, add response package to map.
             if (response.giverEmail.equals(prevGiver) == false
                     && prevGiver != null) {
@@ -1456,7 +1451,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
             giverName = this.appendTeamNameToName(giverName, giverTeamName);
         }
         
-        if (responses.isEmpty() == false ) {
+        if (sortedResponses.isEmpty() == false ) {
             // Put responses for final recipient
             responsesFromOneGiver.put(recipientName,
                     responsesFromOneGiverToOneRecipient);
@@ -1485,52 +1480,25 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
     }
     
     private Map<String, Set<String>> getTeamNameToEmailsTableFromRoster(CourseRoster courseroster) {
-        List<StudentAttributes> students = courseroster.getStudents();
         Map<String, Set<String>> teamNameToEmails = new HashMap<String, Set<String>>();
         
-        for (StudentAttributes student : students) {
-            String studentTeam = student.team; 
-            Set<String> studentEmails;
-            
-            if (teamNameToEmails.containsKey(studentTeam)) {
-                studentEmails = teamNameToEmails.get(studentTeam);
-            } else {
-                studentEmails = new HashSet<String>();
-            }
-            
-            studentEmails.add(student.email);
-            teamNameToEmails.put(studentTeam, studentEmails);
+        for (Map.Entry<String, List<String>> team : courseroster.getTeamToSortedMemberEmails().entrySet()) {
+            teamNameToEmails.put(team.getKey(), new HashSet<String>(team.getValue()));
         }
         
-        List<InstructorAttributes> instructors = courseroster.getInstructors();
-        String instructorsTeam = Const.USER_TEAM_FOR_INSTRUCTOR;
-        Set<String> instructorEmails = new HashSet<String>();
-        
-        for (InstructorAttributes instructor : instructors) {
-            instructorEmails.add(instructor.email);
-            teamNameToEmails.put(instructorsTeam, instructorEmails);
+        List<String> instructorEmails = courseroster.getSortedInstructorEmails();
+        if (!instructorEmails.isEmpty()) {
+            teamNameToEmails.put(Const.USER_TEAM_FOR_INSTRUCTOR, new HashSet<String>(instructorEmails));
         }
         
         return teamNameToEmails;
     }
     
     private Map<String, Set<String>> getSectionToTeamNamesFromRoster(CourseRoster courseroster) {
-        List<StudentAttributes> students = courseroster.getStudents();
         Map<String, Set<String>> sectionToTeam = new HashMap<String, Set<String>>();
         
-        for (StudentAttributes student : students) {
-            String studentSection = student.section;
-            String studentTeam = student.team; 
-            Set<String> teamNames; 
-            
-            if (sectionToTeam.containsKey(studentSection)) {
-                teamNames = sectionToTeam.get(studentSection);
-            } else {
-                teamNames = new HashSet<String>();
-            }
-            
-            teamNames.add(studentTeam);
-            sectionToTeam.put(studentSection, teamNames);
+        for (Map.Entry<String, Set<String>> section : courseroster.getSectionToTeams().entrySet()) {
+            sectionToTeam.put(section.getKey(), new HashSet<String>(section.getValue()));
         }
         
         return sectionToTeam;
@@ -1545,18 +1513,15 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         @Override
         public int compare(FeedbackResponseAttributes o1,
                 FeedbackResponseAttributes o2) {
+            ResponseSortKey k1 = getSortKey(o1);
+            ResponseSortKey k2 = getSortKey(o2);
 
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            int order = compareByNames(giverName1, giverName2);
+            int order = Integer.compare(k1.giverName, k2.giverName);
             if(order != 0){
                 return order;
             }
 
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);            
-            order = compareByNames(recipientName1, recipientName2);
-            
+            order = Integer.compare(k1.recipientName, k2.recipientName);
             if(order != 0){
                 return order;
             }
@@ -1577,31 +1542,25 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         @Override
         public int compare(FeedbackResponseAttributes o1,
                 FeedbackResponseAttributes o2) {
+            ResponseSortKey k1 = getSortKey(o1);
+            ResponseSortKey k2 = getSortKey(o2);
 
-            String giverSection1 = o1.giverSection;
-            String giverSection2 = o2.giverSection;
-            int order = giverSection1.compareTo(giverSection2);
+            int order = Integer.compare(k1.giverSection, k2.giverSection);
             if(order != 0){
                 return order;
             }
 
-
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
+            order = Integer.compare(k1.giverName, k2.giverName);
             if(order != 0){
                 return order;
             }
 
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);            
-            order = compareByNames(recipientName1, recipientName2);
+            order = Integer.compare(k1.recipientName, k2.recipientName);
             if(order != 0){
                 return order;
             }
 
-            order = compareByQuestionNumber(o1, o2);
-            return order; 
+            return Integer.compare(k1.question, k2.question);
         }
     };
 
@@ -1610,37 +1569,30 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         = new Comparator<FeedbackResponseAttributes>() {
         @Override
         public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2){
+            ResponseSortKey k1 = getSortKey(o1);
+            ResponseSortKey k2 = getSortKey(o2);
             
-            String giverSection1 = o1.giverSection;
-            String giverSection2 = o2.giverSection;
-            int order = giverSection1.compareTo(giverSection2);
+            int order = Integer.compare(k1.giverSection, k2.giverSection);
             if(order != 0){
                 return order;
             }
 
-            String t1 = getTeamNameForEmail(o1.giverEmail).equals("")?getNameForEmail(o1.giverEmail):getTeamNameForEmail(o1.giverEmail);
-            String t2 = getTeamNameForEmail(o2.giverEmail).equals("")?getNameForEmail(o2.giverEmail):getTeamNameForEmail(o2.giverEmail);
-            order = t1.compareTo(t2);
+            order = Integer.compare(k1.giverTeam, k2.giverTeam);
             if(order != 0){
                 return order;
             }
 
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
+            order = Integer.compare(k1.giverName, k2.giverName);
             if(order != 0){
                 return order;
             }
 
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);            
-            order = compareByNames(recipientName1, recipientName2);
+            order = Integer.compare(k1.recipientName, k2.recipientName);
             if(order != 0){
                 return order;
             }
 
-            order = compareByQuestionNumber(o1, o2);
-            return order; 
+            return Integer.compare(k1.question, k2.question);
         }
         
     };
@@ -1651,30 +1603,25 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         @Override
         public int compare(FeedbackResponseAttributes o1,
                 FeedbackResponseAttributes o2) {
+            ResponseSortKey k1 = getSortKey(o1);
+            ResponseSortKey k2 = getSortKey(o2);
 
-            String recipientSection1 = o1.recipientSection;
-            String recipientSection2 = o2.recipientSection;
-            int order = recipientSection1.compareTo(recipientSection2);
+            int order = Integer.compare(k1.recipientSection, k2.recipientSection);
             if(order != 0){
                 return order;
             }
 
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
+            order = Integer.compare(k1.recipientName, k2.recipientName);
             if(order != 0){
                 return order;
             }
 
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
+            order = Integer.compare(k1.giverName, k2.giverName);
             if(order != 0){
                 return order;
             }
 
-            order = compareByQuestionNumber(o1, o2);
-            return order;
+            return Integer.compare(k1.question, k2.question);
         }
     };
 
@@ -1684,37 +1631,30 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         @Override
         public int compare(FeedbackResponseAttributes o1,
                 FeedbackResponseAttributes o2) {
+            ResponseSortKey k1 = getSortKey(o1);
+            ResponseSortKey k2 = getSortKey(o2);
             
-            String recipientSection1 = o1.recipientSection;
-            String recipientSection2 = o2.recipientSection;
-            int order = recipientSection1.compareTo(recipientSection2);
+            int order = Integer.compare(k1.recipientSection, k2.recipientSection);
             if(order != 0){
                 return order;
             }
 
-            String t1 = getTeamNameForEmail(o1.recipientEmail).equals("")?getNameForEmail(o1.recipientEmail):getTeamNameForEmail(o1.recipientEmail);
-            String t2 = getTeamNameForEmail(o2.recipientEmail).equals("")?getNameForEmail(o2.recipientEmail):getTeamNameForEmail(o2.recipientEmail);
-            order = t1.compareTo(t2);
+            order = Integer.compare(k1.recipientTeam, k2.recipientTeam);
             if(order != 0){
                 return order;
             }
             
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
+            order = Integer.compare(k1.recipientName, k2.recipientName);
             if(order != 0){
                 return order;
             }
 
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
+            order = Integer.compare(k1.giverName, k2.giverName);
             if(order != 0){
                 return order;
             }
 
-            order = compareByQuestionNumber(o1, o2);
-            return order;
+            return Integer.compare(k1.question, k2.question);
         }
     };
     
@@ -1724,37 +1664,30 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         @Override
         public int compare(FeedbackResponseAttributes o1,
                 FeedbackResponseAttributes o2) {
+            ResponseSortKey k1 = getSortKey(o1);
+            ResponseSortKey k2 = getSortKey(o2);
             
-            String giverSection1 = o1.giverSection;
-            String giverSection2 = o2.giverSection;
-            int order = giverSection1.compareTo(giverSection2);
+            int order = Integer.compare(k1.giverSection, k2.giverSection);
             if(order != 0){
                 return order;
             }
 
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
+            order = Integer.compare(k1.giverName, k2.giverName);
             if(order != 0){
                 return order;
             }
             
-            order = compareByQuestionNumber(o1, o2);
+            order = Integer.compare(k1.question, k2.question);
             if(order != 0){
                 return order;
             }
             
-            String t1 = getTeamNameForEmail(o1.recipientEmail).equals("")?getNameForEmail(o1.recipientEmail):getTeamNameForEmail(o1.recipientEmail);
-            String t2 = getTeamNameForEmail(o2.recipientEmail).equals("")?getNameForEmail(o2.recipientEmail):getTeamNameForEmail(o2.recipientEmail);
-            order = t1.compareTo(t2);
+            order = Integer.compare(k1.recipientTeam, k2.recipientTeam);
             if(order != 0){
                 return order;
             }
             
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            return order;
+            return Integer.compare(k1.recipientName, k2.recipientName);
         }
     };
     
@@ -1764,44 +1697,35 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         @Override
         public int compare(FeedbackResponseAttributes o1,
                 FeedbackResponseAttributes o2) {
+            ResponseSortKey k1 = getSortKey(o1);
+            ResponseSortKey k2 = getSortKey(o2);
 
-            String giverSection1 = o1.giverSection;
-            String giverSection2 = o2.giverSection;
-            int order = giverSection1.compareTo(giverSection2);
+            int order = Integer.compare(k1.giverSection, k2.giverSection);
             if(order != 0){
                 return order;
             }
 
-            String giverTeam1 = getTeamNameForEmail(o1.giverEmail).equals("")?getNameForEmail(o1.giverEmail):getTeamNameForEmail(o1.giverEmail);
-            String giverTeam2 = getTeamNameForEmail(o2.giverEmail).equals("")?getNameForEmail(o2.giverEmail):getTeamNameForEmail(o2.giverEmail);
-            order = giverTeam1.compareTo(giverTeam2);
+            order = Integer.compare(k1.giverTeam, k2.giverTeam);
             if(order != 0){
                 return order;
             }
             
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
+            order = Integer.compare(k1.giverName, k2.giverName);
             if(order != 0){
                 return order;
             }
             
-            order = compareByQuestionNumber(o1, o2);
+            order = Integer.compare(k1.question, k2.question);
             if(order != 0){
                 return order;
             }
             
-            String receiverTeam1 = getTeamNameForEmail(o1.recipientEmail).equals("")?getNameForEmail(o1.recipientEmail):getTeamNameForEmail(o1.recipientEmail);
-            String receiverTeam2 = getTeamNameForEmail(o2.recipientEmail).equals("")?getNameForEmail(o2.recipientEmail):getTeamNameForEmail(o2.recipientEmail);
-            order = receiverTeam1.compareTo(receiverTeam2);
+            order = Integer.compare(k1.recipientTeam, k2.recipientTeam);
             if(order != 0){
                 return order;
             }
             
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            return order;
+            return Integer.compare(k1.recipientName, k2.recipientName);
         }
     };
     
@@ -1811,37 +1735,30 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         @Override
         public int compare(FeedbackResponseAttributes o1,
                 FeedbackResponseAttributes o2) {
+            ResponseSortKey k1 = getSortKey(o1);
+            ResponseSortKey k2 = getSortKey(o2);
 
-            String recipientSection1 = o1.recipientSection;
-            String recipientSection2 = o2.recipientSection;
-            int order = recipientSection1.compareTo(recipientSection2);
+            int order = Integer.compare(k1.recipientSection, k2.recipientSection);
             if(order != 0){
                 return order;
             }
 
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
+            order = Integer.compare(k1.recipientName, k2.recipientName);
             if(order != 0){
                 return order;
             }
             
-            order = compareByQuestionNumber(o1, o2);
+            order = Integer.compare(k1.question, k2.question);
             if(order != 0){
                 return order;
             }
             
-            String t1 = getTeamNameForEmail(o1.giverEmail).equals("")?getNameForEmail(o1.giverEmail):getTeamNameForEmail(o1.giverEmail);
-            String t2 = getTeamNameForEmail(o2.giverEmail).equals("")?getNameForEmail(o2.giverEmail):getTeamNameForEmail(o2.giverEmail);
-            order = t1.compareTo(t2);
+            order = Integer.compare(k1.giverTeam, k2.giverTeam);
             if(order != 0){
                 return order;
             }
             
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
-            return order;
+            return Integer.compare(k1.giverName, k2.giverName);
         }
     };
     
@@ -1851,44 +1768,35 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         @Override
         public int compare(FeedbackResponseAttributes o1,
                 FeedbackResponseAttributes o2) {
+            ResponseSortKey k1 = getSortKey(o1);
+            ResponseSortKey k2 = getSortKey(o2);
 
-            String recipientSection1 = o1.recipientSection;
-            String recipientSection2 = o2.recipientSection;
-            int order = recipientSection1.compareTo(recipientSection2);
+            int order = Integer.compare(k1.recipientSection, k2.recipientSection);
             if(order != 0){
                 return order;
             }
             
-            String recipientTeam1 = getTeamNameForEmail(o1.recipientEmail).equals("")?getNameForEmail(o1.recipientEmail):getTeamNameForEmail(o1.recipientEmail);
-            String recipientTeam2 = getTeamNameForEmail(o2.recipientEmail).equals("")?getNameForEmail(o2.recipientEmail):getTeamNameForEmail(o2.recipientEmail);
-            order = recipientTeam1.compareTo(recipientTeam2);
+            order = Integer.compare(k1.recipientTeam, k2.recipientTeam);
             if(order != 0){
                 return order;
             }
             
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
+            order = Integer.compare(k1.recipientName, k2.recipientName);
             if(order != 0){
                 return order;
             }
             
-            order = compareByQuestionNumber(o1, o2);
+            order = Integer.compare(k1.question, k2.question);
             if(order != 0){
                 return order;
             }
             
-            String giverTeam1 = getTeamNameForEmail(o1.giverEmail).equals("")?getNameForEmail(o1.giverEmail):getTeamNameForEmail(o1.giverEmail);
-            String giverTeam2 = getTeamNameForEmail(o2.giverEmail).equals("")?getNameForEmail(o2.giverEmail):getTeamNameForEmail(o2.giverEmail);
-            order = giverTeam1.compareTo(giverTeam2);
+            order = Integer.compare(k1.giverTeam, k2.giverTeam);
             if(order != 0){
                 return order;
             }
             
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
-            return order;
+            return Integer.compare(k1.giverName, k2.giverName);
         }
     };
     
@@ -1898,36 +1806,30 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         @Override
         public int compare(FeedbackResponseAttributes o1,
                 FeedbackResponseAttributes o2) {
-            String recipientTeam1 = getTeamNameForEmail(o1.recipientEmail).equals("")?getNameForEmail(o1.recipientEmail):getTeamNameForEmail(o1.recipientEmail);
-            String recipientTeam2 = getTeamNameForEmail(o2.recipientEmail).equals("")?getNameForEmail(o2.recipientEmail):getTeamNameForEmail(o2.recipientEmail);
-            int order = recipientTeam1.compareTo(recipientTeam2);
+            ResponseSortKey k1 = getSortKey(o1);
+            ResponseSortKey k2 = getSortKey(o2);
+            
+            int order = Integer.compare(k1.recipientTeam, k2.recipientTeam);
             if(order != 0){
                 return order;
             }
             
-            order = compareByQuestionNumber(o1, o2);
+            order = Integer.compare(k1.question, k2.question);
             if(order != 0){
                 return order;
             }
             
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
+            order = Integer.compare(k1.recipientName, k2.recipientName);
             if(order != 0){
                 return order;
             }
             
-            String giverTeam1 = getTeamNameForEmail(o1.giverEmail).equals("")?getNameForEmail(o1.giverEmail):getTeamNameForEmail(o1.giverEmail);
-            String giverTeam2 = getTeamNameForEmail(o2.giverEmail).equals("")?getNameForEmail(o2.giverEmail):getTeamNameForEmail(o2.giverEmail);
-            order = giverTeam1.compareTo(giverTeam2);
+            order = Integer.compare(k1.giverTeam, k2.giverTeam);
             if(order != 0){
                 return order;
             }
             
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
-            return order;
+            return Integer.compare(k1.giverName, k2.giverName);
         }
     };
     
@@ -1937,36 +1839,30 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         @Override
         public int compare(FeedbackResponseAttributes o1,
                 FeedbackResponseAttributes o2) {
-            String giverTeam1 = getTeamNameForEmail(o1.giverEmail).equals("")?getNameForEmail(o1.giverEmail):getTeamNameForEmail(o1.giverEmail);
-            String giverTeam2 = getTeamNameForEmail(o2.giverEmail).equals("")?getNameForEmail(o2.giverEmail):getTeamNameForEmail(o2.giverEmail);
-            int order = giverTeam1.compareTo(giverTeam2);
+            ResponseSortKey k1 = getSortKey(o1);
+            ResponseSortKey k2 = getSortKey(o2);
+            
+            int order = Integer.compare(k1.giverTeam, k2.giverTeam);
             if(order != 0){
                 return order;
             }
             
-            order = compareByQuestionNumber(o1, o2);
+            order = Integer.compare(k1.question, k2.question);
             if(order != 0){
                 return order;
             }
             
-            String giverName1 = emailNameTable.get(o1.giverEmail);
-            String giverName2 = emailNameTable.get(o2.giverEmail);
-            order = compareByNames(giverName1, giverName2);
+            order = Integer.compare(k1.giverName, k2.giverName);
             if(order != 0){
                 return order;
             }
             
-            String receiverTeam1 = getTeamNameForEmail(o1.recipientEmail).equals("")?getNameForEmail(o1.recipientEmail):getTeamNameForEmail(o1.recipientEmail);
-            String receiverTeam2 = getTeamNameForEmail(o2.recipientEmail).equals("")?getNameForEmail(o2.recipientEmail):getTeamNameForEmail(o2.recipientEmail);
-            order = receiverTeam1.compareTo(receiverTeam2);
+            order = Integer.compare(k1.recipientTeam, k2.recipientTeam);
             if(order != 0){
                 return order;
             }
             
-            String recipientName1 = emailNameTable.get(o1.recipientEmail);
-            String recipientName2 = emailNameTable.get(o2.recipientEmail);
-            order = compareByNames(recipientName1, recipientName2);
-            return order;
+            return Integer.compare(k1.recipientName, k2.recipientName);
         }
     };
     
@@ -2059,4 +1955,273 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle{
         int order = Integer.compare(n1Priority, n2Priority);
         return order == 0 ? n1.compareTo(n2) : order; 
     }
+    
+    private final Comparator<String> compareNames = new Comparator<String>() {
+        @Override
+        public int compare(String n1, String n2) {
+            return compareByNames(n1, n2);
+        }
+    };
+    
+    /**
+     * Returns the responses sorted by the given comparator. The sorted order is
+     * computed once and reused by later calls with the same comparator, so
+     * switching between views of the same bundle does not sort again. <br>
+     * The sort keys are made again if the questions or the name and team tables
+     * were replaced since they were made, or if a response has a value that
+     * was not ranked. The sorted orders are made again if the responses list
+     * or the order of its responses changed.
+     * Changes made to the questions or the name and team tables in place are
+     * not seen by the sort keys.
+     * The returned list should not be modified.
+     */
+    private List<FeedbackResponseAttributes> getResponsesSortedBy(
+            Comparator<FeedbackResponseAttributes> comparator) {
+        if (!isSortKeysUpToDate()) {
+            buildSortKeys(null);
+        }
+        if (!isSameResponses(sortedResponsesSource, responses)) {
+            sortedResponsesSource = new ArrayList<FeedbackResponseAttributes>(responses);
+            sortedResponses = new HashMap<Comparator<FeedbackResponseAttributes>, List<FeedbackResponseAttributes>>();
+        }
+
+        List<FeedbackResponseAttributes> sorted = sortedResponses.get(comparator);
+        if (sorted == null) {
+            // make all the keys before sorting so that they are not made again during the sort
+            if (!hasSortKeys(responses)) {
+                buildSortKeys(null);
+            }
+            sorted = new ArrayList<FeedbackResponseAttributes>(responses);
+            Collections.sort(sorted, comparator);
+            sortedResponses.put(comparator, sorted);
+        }
+        return sorted;
+    }
+
+    private boolean isSortKeysUpToDate() {
+        return !isSortKeysStale
+                && questions == sortKeysQuestions
+                && emailNameTable == sortKeysEmailNameTable
+                && emailTeamNameTable == sortKeysEmailTeamNameTable;
+    }
+
+    private boolean hasSortKeys(List<FeedbackResponseAttributes> responsesToCheck) {
+        for (FeedbackResponseAttributes response : responsesToCheck) {
+            ResponseSortKey key = responseSortKeys.get(response);
+            if (key == null || !key.isMadeFrom(response)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSameResponses(List<FeedbackResponseAttributes> list1,
+            List<FeedbackResponseAttributes> list2) {
+        if (list1 == null || list1.size() != list2.size()) {
+            return false;
+        }
+        for (int i = 0; i < list1.size(); i++) {
+            if (list1.get(i) != list2.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ResponseSortKey getSortKey(FeedbackResponseAttributes response) {
+        if (!isSortKeysUpToDate()) {
+            buildSortKeys(null);
+        }
+
+        ResponseSortKey key = responseSortKeys.get(response);
+        if (key == null || !key.isMadeFrom(response)) {
+            // the response was added to the bundle or changed after the keys were made
+            key = makeSortKey(response);
+            if (key == null) {
+                isSortKeysStale = true;
+                buildSortKeys(response);
+                key = responseSortKeys.get(response);
+            } else {
+                responseSortKeys.put(response, key);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Maps each response to the ranks of its section, team, name and question,
+     * so that comparing two responses only needs integer comparisons.
+     * Ranks follow the orders used by the comparators: names are ordered
+     * by {@link #compareByNames}, questions by question number and
+     * sections and teams by their natural order. <br>
+     * If {@code extraResponse} is not null, the keys are made for it and for
+     * the responses that already have keys as well, so that a sort that
+     * meets them does not make the keys again for each of them.
+     */
+    private void buildSortKeys(FeedbackResponseAttributes extraResponse) {
+        Map<FeedbackResponseAttributes, ResponseSortKey> keys =
+                new IdentityHashMap<FeedbackResponseAttributes, ResponseSortKey>();
+        for (FeedbackResponseAttributes response : responses) {
+            keys.put(response, null);
+        }
+        if (extraResponse != null) {
+            if (responseSortKeys != null) {
+                for (FeedbackResponseAttributes response : responseSortKeys.keySet()) {
+                    keys.put(response, null);
+                }
+            }
+            keys.put(extraResponse, null);
+        }
+
+        sortRanks = new SortRanks(compareNames);
+        for (FeedbackResponseAttributes response : keys.keySet()) {
+            sortRanks.sections.add(response.giverSection);
+            sortRanks.sections.add(response.recipientSection);
+            sortRanks.teams.add(getTeamOrNameForEmail(response.giverEmail));
+            sortRanks.teams.add(getTeamOrNameForEmail(response.recipientEmail));
+            sortRanks.names.add(emailNameTable.get(response.giverEmail));
+            sortRanks.names.add(emailNameTable.get(response.recipientEmail));
+            sortRanks.questions.add(questions.get(response.feedbackQuestionId));
+        }
+        sortRanks.assignRanks();
+
+        for (Map.Entry<FeedbackResponseAttributes, ResponseSortKey> entry : keys.entrySet()) {
+            entry.setValue(makeSortKey(entry.getKey()));
+        }
+        responseSortKeys = keys;
+
+        isSortKeysStale = false;
+        sortKeysQuestions = questions;
+        sortKeysEmailNameTable = emailNameTable;
+        sortKeysEmailTeamNameTable = emailTeamNameTable;
+        sortedResponsesSource = null;
+    }
+
+    /**
+     * Makes the key of a response from the current ranks.
+     * Returns null if a value of the response was not ranked.
+     */
+    private ResponseSortKey makeSortKey(FeedbackResponseAttributes response) {
+        ResponseSortKey key = new ResponseSortKey(response);
+        Integer giverSection = sortRanks.sections.get(response.giverSection);
+        Integer recipientSection = sortRanks.sections.get(response.recipientSection);
+        Integer giverTeam = sortRanks.teams.get(getTeamOrNameForEmail(response.giverEmail));
+        Integer recipientTeam = sortRanks.teams.get(getTeamOrNameForEmail(response.recipientEmail));
+        Integer giverName = sortRanks.names.get(emailNameTable.get(response.giverEmail));
+        Integer recipientName = sortRanks.names.get(emailNameTable.get(response.recipientEmail));
+        Integer question = sortRanks.questions.get(questions.get(response.feedbackQuestionId));
+        if (giverSection == null || recipientSection == null || giverTeam == null || recipientTeam == null
+                || giverName == null || recipientName == null || question == null) {
+            return null;
+        }
+        key.giverSection = giverSection;
+        key.recipientSection = recipientSection;
+        key.giverTeam = giverTeam;
+        key.recipientTeam = recipientTeam;
+        key.giverName = giverName;
+        key.recipientName = recipientName;
+        key.question = question;
+        return key;
+    }
+
+    private String getTeamOrNameForEmail(String email) {
+        String teamName = getTeamNameForEmail(email);
+        return teamName.equals("") ? getNameForEmail(email) : teamName;
+    }
+
+    private static boolean isSameValue(String value1, String value2) {
+        return value1 == null ? value2 == null : value1.equals(value2);
+    }
+
+    /**
+     * Ranks of the values of the fields that responses are sorted on.
+     */
+    private static class SortRanks {
+        final FieldRanks<String> sections = new FieldRanks<String>(null);
+        final FieldRanks<String> teams = new FieldRanks<String>(null);
+        final FieldRanks<String> names;
+        final FieldRanks<FeedbackQuestionAttributes> questions = new FieldRanks<FeedbackQuestionAttributes>(null);
+
+        SortRanks(Comparator<String> nameComparator) {
+            names = new FieldRanks<String>(nameComparator);
+        }
+
+        void assignRanks() {
+            sections.assignRanks();
+            teams.assignRanks();
+            names.assignRanks();
+            questions.assignRanks();
+        }
+    }
+
+    /**
+     * Ranks of the values of one field, in the order of the given comparator
+     * (or the natural order if it is null). The distinct values are collected
+     * first and ranked once by {@link #assignRanks()}. Values that compare as
+     * equal share a rank, and null is ranked before all values.
+     */
+    private static class FieldRanks<T> {
+        static final Integer NONE = -1;
+
+        private final TreeMap<T, Integer> ranks;
+
+        FieldRanks(Comparator<? super T> comparator) {
+            ranks = new TreeMap<T, Integer>(comparator);
+        }
+
+        void add(T value) {
+            if (value != null && !ranks.containsKey(value)) {
+                ranks.put(value, null);
+            }
+        }
+
+        /** Ranks the values added so far by their index in the sorted order. */
+        void assignRanks() {
+            int rank = 0;
+            for (Map.Entry<T, Integer> entry : ranks.entrySet()) {
+                entry.setValue(rank++);
+            }
+        }
+
+        /** Returns the rank of the value, or null if it was not ranked. */
+        Integer get(T value) {
+            return value == null ? NONE : ranks.get(value);
+        }
+    }
+
+    /**
+     * Ranks of the fields that responses are sorted on, and the fields of the
+     * response that they were made from.
+     */
+    private static class ResponseSortKey {
+        final String giverEmail;
+        final String recipientEmail;
+        final String giverSectionName;
+        final String recipientSectionName;
+        final String feedbackQuestionId;
+
+        int giverSection;
+        int recipientSection;
+        int giverTeam;
+        int recipientTeam;
+        int giverName;
+        int recipientName;
+        int question;
+
+        ResponseSortKey(FeedbackResponseAttributes response) {
+            giverEmail = response.giverEmail;
+            recipientEmail = response.recipientEmail;
+            giverSectionName = response.giverSection;
+            recipientSectionName = response.recipientSection;
+            feedbackQuestionId = response.feedbackQuestionId;
+        }
+
+        boolean isMadeFrom(FeedbackResponseAttributes response) {
+            return isSameValue(giverEmail, response.giverEmail)
+                    && isSameValue(recipientEmail, response.recipientEmail)
+                    && isSameValue(giverSectionName, response.giverSection)
+                    && isSameValue(recipientSectionName, response.recipientSection)
+                    && isSameValue(feedbackQuestionId, response.feedbackQuestionId);
+        }
+    }
 }
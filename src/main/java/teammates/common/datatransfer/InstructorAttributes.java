@@ -1,5 +1,8 @@
 package teammates.common.datatransfer;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,7 +18,8 @@ import teammates.storage.entity.Instructor;
 /**
  * The data transfer class for Instructor entities.
  */
-public class InstructorAttributes extends EntityAttributes {
+public class InstructorAttributes extends EntityAttributes implements Serializable {
+    private static final long serialVersionUID = 1L;
     
     private static Gson gson = Utils.getTeammatesGson();
     
@@ -154,6 +158,20 @@ public class InstructorAttributes extends EntityAttributes {
         this.privileges = this.getInstructorPrivilegesFromText();
     }
     
+    public InstructorAttributes(InstructorAttributes copy) {
+        this.googleId = copy.googleId;
+        this.courseId = copy.courseId;
+        this.isArchived = copy.isArchived;
+        this.name = copy.name;
+        this.email = copy.email;
+        this.key = copy.key;
+        this.role = copy.role;
+        this.isDisplayedToStudents = copy.isDisplayedToStudents;
+        this.displayedName = copy.displayedName;
+        this.instructorPrivilegesAsText = copy.instructorPrivilegesAsText;
+        this.privileges = this.getInstructorPrivilegesFromText();
+    }
+    
     @Deprecated
     public InstructorAttributes() {
         
@@ -163,6 +181,15 @@ public class InstructorAttributes extends EntityAttributes {
         return gson.toJson(privileges, InstructorPrivileges.class);
     }
     
+    /**
+     * {@link #privileges} is not serialized, so it is rebuilt from
+     * {@link #instructorPrivilegesAsText} when the object is read back.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.privileges = this.getInstructorPrivilegesFromText();
+    }
+    
     public InstructorPrivileges getInstructorPrivilegesFromText() {
         return gson.fromJson(instructorPrivilegesAsText, InstructorPrivileges.class);
     }
@@ -2,6 +2,7 @@ package teammates.common.datatransfer;
 
 import static teammates.common.util.Const.EOL;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -18,7 +19,8 @@ import teammates.common.util.FieldValidator.FieldType;
 import teammates.common.util.Url;
 import teammates.storage.entity.Student;
 
-public class StudentAttributes extends EntityAttributes {
+public class StudentAttributes extends EntityAttributes implements Serializable {
+    private static final long serialVersionUID = 1L;
     
     //=========================================================================
     public enum UpdateStatus {
@@ -116,6 +118,20 @@ public class StudentAttributes extends EntityAttributes {
         // null as unregistered.
     }
     
+    public StudentAttributes(StudentAttributes copy) {
+        this();
+        this.googleId = copy.googleId;
+        this.name = copy.name;
+        this.lastName = copy.lastName;
+        this.email = copy.email;
+        this.course = copy.course;
+        this.comments = copy.comments;
+        this.team = copy.team;
+        this.section = copy.section;
+        this.key = copy.key;
+        this.updateStatus = copy.updateStatus;
+    }
+    
     public String toEnrollmentString() {
         String enrollmentString = "";
         String enrollmentStringSeparator = "|";
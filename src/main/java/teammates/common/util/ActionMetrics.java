@@ -0,0 +1,171 @@
+package teammates.common.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latency and datastore use of the requests served by this instance, per
+ * action. <br>
+ * Latencies are counted in buckets that grow by half each time, so
+ * percentiles are approximate: a percentile is the upper bound of the bucket
+ * it falls in. The metrics are kept in memory only, and are lost when the
+ * instance shuts down.
+ */
+public class ActionMetrics {
+
+    /** Upper bounds of the latency buckets, in milliseconds. The last bucket has no bound. */
+    private static final long[] BUCKET_BOUNDS;
+
+    static {
+        List<Long> bounds = new ArrayList<Long>();
+        for (double bound = 5; bound < 60 * 1000; bound *= 1.5) {
+            bounds.add(Math.round(bound));
+        }
+        BUCKET_BOUNDS = new long[bounds.size()];
+        for (int i = 0; i < bounds.size(); i++) {
+            BUCKET_BOUNDS[i] = bounds.get(i);
+        }
+    }
+
+    private static final ConcurrentMap<String, ActionMetrics> metricsByAction =
+            new ConcurrentHashMap<String, ActionMetrics>();
+
+    private final String actionName;
+    private final long[] bucketCounts = new long[BUCKET_BOUNDS.length + 1];
+    private long numberOfRequests;
+    private long totalMillis;
+    private long maxMillis;
+    private long totalRenderMillis;
+    private long totalDatastoreCalls;
+    private long totalDatastoreMillis;
+    private int maxDatastoreCalls;
+
+    private ActionMetrics(String actionName) {
+        this.actionName = actionName;
+    }
+
+    /**
+     * Records a request to the given action.
+     * @param millis time taken by the whole request
+     * @param renderMillis part of {@code millis} spent sending the result
+     * @param datastoreCalls number of datastore calls made by the request
+     * @param datastoreMillis part of {@code millis} spent waiting for the datastore
+     */
+    public static void record(String actionName, long millis, long renderMillis,
+            int datastoreCalls, long datastoreMillis) {
+        ActionMetrics metrics = metricsByAction.get(actionName);
+        if (metrics == null) {
+            metricsByAction.putIfAbsent(actionName, new ActionMetrics(actionName));
+            metrics = metricsByAction.get(actionName);
+        }
+        metrics.add(millis, renderMillis, datastoreCalls, datastoreMillis);
+    }
+
+    /**
+     * @return a copy of the metrics of every action that was requested,
+     *         the actions that took the most time in total first.
+     */
+    public static List<ActionMetrics> getAll() {
+        List<ActionMetrics> all = new ArrayList<ActionMetrics>();
+        for (ActionMetrics metrics : metricsByAction.values()) {
+            all.add(metrics.copy());
+        }
+        Collections.sort(all, new Comparator<ActionMetrics>() {
+            @Override
+            public int compare(ActionMetrics m1, ActionMetrics m2) {
+                return Long.compare(m2.totalMillis, m1.totalMillis);
+            }
+        });
+        return all;
+    }
+
+    public static void reset() {
+        metricsByAction.clear();
+    }
+
+    public String getActionName() {
+        return actionName;
+    }
+
+    public long getNumberOfRequests() {
+        return numberOfRequests;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the time in milliseconds within which the given percentage of
+     *         the requests finished, or 0 if there was no request.
+     */
+    public long getPercentileMillis(double percentile) {
+        long rank = (long) Math.ceil(percentile / 100 * numberOfRequests);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(BUCKET_BOUNDS[i], maxMillis);
+            }
+        }
+        return maxMillis;
+    }
+
+    public long getAverageMillis() {
+        return numberOfRequests == 0 ? 0 : totalMillis / numberOfRequests;
+    }
+
+    public long getAverageRenderMillis() {
+        return numberOfRequests == 0 ? 0 : totalRenderMillis / numberOfRequests;
+    }
+
+    public double getAverageDatastoreCalls() {
+        return numberOfRequests == 0 ? 0 : (double) totalDatastoreCalls / numberOfRequests;
+    }
+
+    public int getMaxDatastoreCalls() {
+        return maxDatastoreCalls;
+    }
+
+    public long getAverageDatastoreMillis() {
+        return numberOfRequests == 0 ? 0 : totalDatastoreMillis / numberOfRequests;
+    }
+
+    private synchronized void add(long millis, long renderMillis, int datastoreCalls,
+            long datastoreMillis) {
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS.length && millis > BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        bucketCounts[bucket]++;
+        numberOfRequests++;
+        totalMillis += millis;
+        maxMillis = Math.max(maxMillis, millis);
+        totalRenderMillis += renderMillis;
+        totalDatastoreCalls += datastoreCalls;
+        totalDatastoreMillis += datastoreMillis;
+        maxDatastoreCalls = Math.max(maxDatastoreCalls, datastoreCalls);
+    }
+
+    private synchronized ActionMetrics copy() {
+        ActionMetrics copy = new ActionMetrics(actionName);
+        System.arraycopy(bucketCounts, 0, copy.bucketCounts, 0, bucketCounts.length);
+        copy.numberOfRequests = numberOfRequests;
+        copy.totalMillis = totalMillis;
+        copy.maxMillis = maxMillis;
+        copy.totalRenderMillis = totalRenderMillis;
+        copy.totalDatastoreCalls = totalDatastoreCalls;
+        copy.totalDatastoreMillis = totalDatastoreMillis;
+        copy.maxDatastoreCalls = maxDatastoreCalls;
+        return copy;
+    }
+}
@@ -52,6 +52,8 @@ public class Const {
         public static final String FEEDBACK_REMIND_EMAIL_TASK_QUEUE = "feedback-remind-email-queue";
         public static final String FEEDBACK_REMIND_EMAIL_PARTICULAR_USERS_TASK_QUEUE = "feedback-remind-email-particular-users-queue";
         public static final String SEND_EMAIL_TASK_QUEUE = "send-email-queue";
+        public static final String SEARCH_DOCUMENT_TASK_QUEUE = "search-document";
+        public static final String COURSE_STATISTICS_TASK_QUEUE = "course-statistics-queue";
         
         public static final String QUEUE_XML_PATH = "src/main/webapp/WEB-INF/queue.xml";
         public static final String DEFAULT_PROFILE_PICTURE_PATH = "/images/profile_picture_default.png";
@@ -344,6 +346,7 @@ public class Const {
         
         public static final String ADMIN_SEARCH_KEY = "searchkey";
         public static final String ADMIN_SEARCH_BUTTON_HIT = "searchbuttonhit";
+        public static final String ADMIN_PERFORMANCE_RESET = "reset";
         
         public static final String ADMIN_EMAIL_CONTENT = "emailcontent";
         public static final String ADMIN_EMAIL_SUBJECT = "emailsubject";
@@ -453,6 +456,7 @@ public class Const {
         public static final String FEEDBACK_RESULTS_SHOWSTATS = "frshowstats";
         public static final String FEEDBACK_RESULTS_NEED_AJAX = "frneedajax";
         public static final String FEEDBACK_RESULTS_MAIN_INDEX ="frmainindex";
+        public static final String FEEDBACK_RESULTS_CURSOR = "frcursor";
 
         public static final String PREVIEWAS = "previewas";
         
@@ -514,6 +518,8 @@ public class Const {
         public static final String EMAIL_SENDER = "sender";
         public static final String EMAIL_SUBJECT = "subject";
         public static final String EMAIL_REPLY_TO_ADDRESS = "reply";
+        public static final String EMAIL_BATCH = "emailbatch";
+        public static final String EMAIL_BATCH_ATTEMPT = "emailbatchattempt";
         
         public static final String COMMENT_EDITTYPE = "commentedittype";
         public static final String COMMENT_ID = "commentid";
@@ -705,6 +711,7 @@ public class Const {
         public static final String ADMIN_ACTIVITY_LOG_PAGE = "/admin/adminActivityLogPage";
         public static final String ADMIN_SESSIONS_PAGE = "/admin/adminSessionsPage";
         public static final String ADMIN_SEARCH_PAGE = "/admin/adminSearchPage";
+        public static final String ADMIN_PERFORMANCE_PAGE = "/admin/adminPerformancePage";
         public static final String ADMIN_EMAIL_COMPOSE_PAGE = "/admin/adminEmailComposePage";
         public static final String ADMIN_EMAIL_COMPOSE_SAVE = "/admin/adminEmailComposeSave";
         public static final String ADMIN_EMAIL_COMPOSE_SEND = "/admin/adminEmailComposeSend";
@@ -748,6 +755,8 @@ public class Const {
         public static final String FEEDBACK_REMIND_EMAIL_PARTICULAR_USERS_WORKER = 
                                     "/feedbackRemindEmailParticularUsersWorker";
         public static final String SEND_EMAIL_WORKER = "/sendEmailWorker";
+        public static final String COURSE_SEARCH_DOCUMENTS_WORKER = "/courseSearchDocumentsWorker";
+        public static final String COURSE_STATISTICS_WORKER = "/courseStatisticsWorker";
     }
     
     public class AutomatedActionNames{
@@ -764,6 +773,7 @@ public class Const {
         public static final String AUTOMATED_FEEDBACK_OPENING_REMINDERS = "feedbackSessionOpeningReminders";
         public static final String AUTOMATED_FEEDBACK_CLOSING_REMINDERS = "feedbackSessionClosingReminders";
         public static final String AUTOMATED_FEEDBACK_PUBLISHED_REMINDERS = "feedbackSessionPublishedReminders";
+        public static final String AUTOMATED_COURSE_STATISTICS_RECOMPUTE = "courseStatisticsRecompute";
     }
     
     public class PublicActionNames{
@@ -827,6 +837,7 @@ public class Const {
         public static final String ADMIN_ACCOUNT_DETAILS = "/jsp/adminAccountDetails.jsp";
         public static final String ADMIN_SESSIONS = "/jsp/adminSessions.jsp";
         public static final String ADMIN_EMAIL_LOG = "/jsp/adminEmailLog.jsp";
+        public static final String ADMIN_PERFORMANCE = "/jsp/adminPerformance.jsp";
         
         public static final String LOGOUT = "/logout.jsp"; 
         
@@ -0,0 +1,218 @@
+package teammates.common.util;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.google.apphosting.api.ApiProxy;
+import com.google.apphosting.api.ApiProxy.ApiConfig;
+import com.google.apphosting.api.ApiProxy.ApiProxyException;
+import com.google.apphosting.api.ApiProxy.Delegate;
+import com.google.apphosting.api.ApiProxy.Environment;
+import com.google.apphosting.api.ApiProxy.LogRecord;
+
+/**
+ * Counts the calls made to the datastore by the current thread, and the time
+ * spent waiting for them, by wrapping the {@link ApiProxy} delegate that every
+ * App Engine API call goes through. Queries, lookups and writes made through
+ * JDO are all counted, one per round trip to the datastore. <br>
+ * Calls are only counted between {@link #startCounting()} and
+ * {@link #stopCounting()}, e.g. during a request to the {@code ControllerServlet}.
+ * A {@link CallListener} given to {@link #startCounting(CallListener)} is also
+ * told about each call counted, e.g. so that tests can see which calls were made.
+ */
+public class DatastoreCallCounter implements Delegate<Environment> {
+
+    private static final String DATASTORE_PACKAGE = "datastore_v3";
+
+    private static final ThreadLocal<Count> PER_THREAD_COUNT = new ThreadLocal<Count>();
+
+    private final Delegate<Environment> delegate;
+
+    private DatastoreCallCounter(Delegate<Environment> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wraps the current delegate, unless it is already wrapped. Needs to be
+     * called again whenever the delegate is replaced, as the test helpers do.
+     */
+    @SuppressWarnings("unchecked")
+    public static void install() {
+        Delegate<?> current = ApiProxy.getDelegate();
+        if (current == null || current instanceof DatastoreCallCounter) {
+            return;
+        }
+        ApiProxy.setDelegate(new DatastoreCallCounter((Delegate<Environment>) current));
+    }
+
+    public static void startCounting() {
+        startCounting(null);
+    }
+
+    /**
+     * Same as {@link #startCounting()}, and also tells {@code listener} about
+     * each datastore call counted.
+     */
+    public static void startCounting(CallListener listener) {
+        PER_THREAD_COUNT.set(new Count(listener));
+    }
+
+    public static void stopCounting() {
+        PER_THREAD_COUNT.remove();
+    }
+
+    /**
+     * @return the number of datastore calls made since {@link #startCounting()},
+     *         or 0 if the calls are not being counted.
+     */
+    public static int getNumberOfCalls() {
+        Count count = PER_THREAD_COUNT.get();
+        return count == null ? 0 : count.calls;
+    }
+
+    /**
+     * @return the time spent waiting for datastore calls since
+     *         {@link #startCounting()}, or 0 if the calls are not being counted.
+     *         Calls that overlap are counted separately.
+     */
+    public static long getMillis() {
+        Count count = PER_THREAD_COUNT.get();
+        return count == null ? 0 : TimeUnit.NANOSECONDS.toMillis(count.nanos);
+    }
+
+    @Override
+    public byte[] makeSyncCall(Environment environment, String packageName,
+            String methodName, byte[] request) throws ApiProxyException {
+        Count count = getCountFor(packageName);
+        if (count == null) {
+            return delegate.makeSyncCall(environment, packageName, methodName, request);
+        }
+        count.add(methodName, request);
+        long start = System.nanoTime();
+        try {
+            return delegate.makeSyncCall(environment, packageName, methodName, request);
+        } finally {
+            count.nanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public Future<byte[]> makeAsyncCall(Environment environment, String packageName,
+            String methodName, byte[] request, ApiConfig apiConfig) {
+        Count count = getCountFor(packageName);
+        Future<byte[]> result = delegate.makeAsyncCall(environment, packageName, methodName,
+                                                       request, apiConfig);
+        if (count == null) {
+            return result;
+        }
+        count.add(methodName, request);
+        return new TimedFuture(result, count);
+    }
+
+    @Override
+    public void log(Environment environment, LogRecord record) {
+        delegate.log(environment, record);
+    }
+
+    @Override
+    public void flushLogs(Environment environment) {
+        delegate.flushLogs(environment);
+    }
+
+    @Override
+    public List<Thread> getRequestThreads(Environment environment) {
+        return delegate.getRequestThreads(environment);
+    }
+
+    private static Count getCountFor(String packageName) {
+        return DATASTORE_PACKAGE.equals(packageName) ? PER_THREAD_COUNT.get() : null;
+    }
+
+    /**
+     * Is told about each datastore call counted for the thread that started
+     * counting with it.
+     */
+    public interface CallListener {
+        /**
+         * @param methodName e.g. "RunQuery", "Get", "Put" or "Delete"
+         * @param request the serialized request sent to the datastore
+         */
+        void onCall(String methodName, byte[] request);
+    }
+
+    private static class Count {
+        final CallListener listener;
+        int calls;
+        long nanos;
+
+        Count(CallListener listener) {
+            this.listener = listener;
+        }
+
+        void add(String methodName, byte[] request) {
+            calls++;
+            if (listener != null) {
+                listener.onCall(methodName, request);
+            }
+        }
+    }
+
+    /**
+     * Adds the time from the start of an asynchronous call until its result is
+     * first received to the count of the thread that made the call.
+     */
+    private static class TimedFuture implements Future<byte[]> {
+
+        private final Future<byte[]> future;
+        private final Count count;
+        private final long start = System.nanoTime();
+        private boolean isTimed = false;
+
+        TimedFuture(Future<byte[]> future, Count count) {
+            this.future = future;
+            this.count = count;
+        }
+
+        @Override
+        public byte[] get() throws InterruptedException, ExecutionException {
+            try {
+                return future.get();
+            } finally {
+                recordTime();
+            }
+        }
+
+        @Override
+        public byte[] get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            byte[] result = future.get(timeout, unit);
+            recordTime();
+            return result;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return future.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return future.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        private synchronized void recordTime() {
+            if (!isTimed) {
+                isTimed = true;
+                count.nanos += System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -15,6 +15,14 @@ import javax.crypto.spec.SecretKeySpec;
  */
 public class StringHelper {
 
+    /**
+     * Ciphers are not thread-safe, but setting one up costs more than using it,
+     * so each thread keeps its own. A cipher is reset after every doFinal, and
+     * dropped if it fails, so that a broken one is not reused.
+     */
+    private static final ThreadLocal<Cipher> encryptCipher = new ThreadLocal<Cipher>();
+    private static final ThreadLocal<Cipher> decryptCipher = new ThreadLocal<Cipher>();
+
     public static String generateStringOfLength(int length) {
         return StringHelper.generateStringOfLength(length, 'a');
     }
@@ -96,29 +104,39 @@ public class StringHelper {
 
     public static String encrypt(String value) {
         try {
-            SecretKeySpec sks = new SecretKeySpec(
-                    hexStringToByteArray(Config.ENCRYPTION_KEY), "AES");
-            Cipher cipher = Cipher.getInstance("AES");
-            cipher.init(Cipher.ENCRYPT_MODE, sks, cipher.getParameters());
-            byte[] encrypted = cipher.doFinal(value.getBytes());
+            byte[] encrypted = getCipher(encryptCipher, Cipher.ENCRYPT_MODE).doFinal(value.getBytes());
             return byteArrayToHexString(encrypted);
         } catch (Exception e) {
+            encryptCipher.remove();
             throw new RuntimeException(e);
         }
     }
 
     public static String decrypt(String message) {
         try {
-            SecretKeySpec sks = new SecretKeySpec(
-                    hexStringToByteArray(Config.ENCRYPTION_KEY), "AES");
-            Cipher cipher = Cipher.getInstance("AES");
-            cipher.init(Cipher.DECRYPT_MODE, sks);
-            byte[] decrypted = cipher.doFinal(hexStringToByteArray(message));
+            byte[] decrypted = getCipher(decryptCipher, Cipher.DECRYPT_MODE).doFinal(hexStringToByteArray(message));
             return new String(decrypted);
         } catch (Exception e) {
+            decryptCipher.remove();
             throw new RuntimeException(e);
         }
     }
+
+    private static Cipher getCipher(ThreadLocal<Cipher> cache, int mode) throws Exception {
+        Cipher cipher = cache.get();
+        if (cipher == null) {
+            SecretKeySpec sks = new SecretKeySpec(
+                    hexStringToByteArray(Config.ENCRYPTION_KEY), "AES");
+            cipher = Cipher.getInstance("AES");
+            if (mode == Cipher.ENCRYPT_MODE) {
+                cipher.init(mode, sks, cipher.getParameters());
+            } else {
+                cipher.init(mode, sks);
+            }
+            cache.set(cipher);
+        }
+        return cipher;
+    }
     
     /**
      * Concatenates a list of strings to a single string, separated by line breaks.
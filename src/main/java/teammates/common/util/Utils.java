@@ -20,18 +20,24 @@ public class Utils {
     }
 
     /**
-     * This creates a Gson object that can handle the Date format we use in the
+     * Gson instances are immutable and thread-safe, so a single instance is
+     * shared instead of building a new one for every conversion.
+     */
+    private static final Gson teammatesGson = new GsonBuilder()
+            .setDateFormat(DateFormat.FULL)
+            .setDateFormat(SystemParams.DEFAULT_DATE_TIME_FORMAT)
+            .setPrettyPrinting()
+            .create();
+
+    /**
+     * This returns a Gson object that can handle the Date format we use in the
      * Json file and also reformat the Json string in pretty-print format. <br>
      * Technique found in <a href=
      * "http://code.google.com/p/google-gson/source/browse/trunk/gson/src/test/java/com/google/gson/functional/DefaultTypeAdaptersTest.java?spec=svn327&r=327"
      * >here </a>
      */
     public static Gson getTeammatesGson() {
-        return new GsonBuilder()
-                .setDateFormat(DateFormat.FULL)
-                .setDateFormat(SystemParams.DEFAULT_DATE_TIME_FORMAT)
-                .setPrettyPrinting()
-                .create();
+        return teammatesGson;
     }
 
 }
@@ -1,5 +1,7 @@
 package teammates.logic.api;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -1538,6 +1540,34 @@ public class Logic {
         return coursesLogic.getCourseStudentListAsCsv(courseId, googleId);
     }
     
+    /**
+     * Writes the student list of the course in CSV format to {@code writer}. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null. <br>
+     */
+    public void writeCourseStudentListAsCsv(String courseId, String googleId, Writer writer)
+            throws EntityDoesNotExistException, IOException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, writer);
+        
+        coursesLogic.writeCourseStudentListAsCsv(courseId, googleId, writer);
+    }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null. <br>
+     */
+    public String getCourseStudentListAsHtmlTable(String courseId, String googleId)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleId);
+        
+        return coursesLogic.getCourseStudentListAsHtmlTable(courseId, googleId);
+    }
+    
     public List<EvaluationAttributes> getEvaluationsForCourse(String courseId) {
         
         Assumption.assertNotNull(courseId);
@@ -1960,6 +1990,25 @@ public class Logic {
         return feedbackSessionsLogic.getFeedbackSessionResultsSummaryInSectionAsCsv(feedbackSessionName, courseId, instructorEmail, section);
     }
     
+    /**
+     * Writes summary results (without comments) in CSV format to {@code writer}, 
+     * one question at a time. There is no limit on the number of responses. <br>
+     * Preconditions: <br>
+     * * All parameters except {@code section} are non-null. <br>
+     * @param section the section to write results for, or null for all sections
+     */
+    public void writeFeedbackSessionResultSummaryAsCsv(String courseId, String feedbackSessionName, String instructorEmail, 
+            String section, Writer writer) 
+            throws EntityDoesNotExistException, IOException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, instructorEmail);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, writer);
+
+        feedbackSessionsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(feedbackSessionName, courseId, instructorEmail, section, writer);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -2371,6 +2420,70 @@ public class Logic {
                         feedbackSessionName, courseId, userEmail, section, range);
     }
 
+    /**
+     * Returns true if {@code cursor} is well-formed, i.e. it can be passed to the
+     * methods that get one page of the results of a session.
+     */
+    public boolean isValidFeedbackResponsesPageCursor(String cursor) {
+        return feedbackResponsesLogic.isValidPageCursor(cursor);
+    }
+    
+    /**
+     * Gets one page of a question+response bundle for questions with responses that
+     * is visible to the instructor for a feedback session.
+     * Pass back the {@code nextPageCursor} of the returned bundle to get the next page.
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorPageFromView(
+            String feedbackSessionName, String courseId, String userEmail, 
+            String cursor, int pageSize, String viewType)
+                    throws UnauthorizedAccessException, EntityDoesNotExistException{
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, userEmail);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, viewType);
+       
+        return feedbackSessionsLogic.getFeedbackSessionResultsForInstructorPageFromView(
+                                        feedbackSessionName, courseId, userEmail, cursor, pageSize, viewType);
+    }
+    
+    /**
+     * Gets one page of a question+response bundle for questions with responses that
+     * is visible to the instructor for a feedback session from a section.
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorFromSectionPage(
+            String feedbackSessionName, String courseId, String userEmail,
+            String section, String cursor, int pageSize)
+            throws UnauthorizedAccessException, EntityDoesNotExistException {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, userEmail);
+
+        return feedbackSessionsLogic.getFeedbackSessionResultsForInstructorFromSectionPage(
+                        feedbackSessionName, courseId, userEmail, section, cursor, pageSize);
+    }
+    
+    /**
+     * Gets one page of a question+response bundle for questions with responses that
+     * is visible to the instructor for a feedback session to a section.
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorToSectionPage(
+            String feedbackSessionName, String courseId, String userEmail,
+            String section, String cursor, int pageSize)
+            throws UnauthorizedAccessException, EntityDoesNotExistException {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, userEmail);
+
+        return feedbackSessionsLogic.getFeedbackSessionResultsForInstructorToSectionPage(
+                        feedbackSessionName, courseId, userEmail, section, cursor, pageSize);
+    }
+
     /**
      * Gets a question+response bundle for questions with responses that
      * is visible to the instructor for a feedback session from a given question number
@@ -2547,6 +2660,27 @@ public class Logic {
         feedbackResponsesLogic.deleteFeedbackResponseAndCascade(feedbackResponse);
     }
     
+    /**
+     * Saves all the responses submitted by a giver for a session in one batch.
+     * See {@link FeedbackResponsesLogic#saveFeedbackResponsesFromGiver}. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return messages describing the responses that were not saved.
+     */
+    public List<String> saveFeedbackResponsesFromGiver(String giverEmail, String feedbackSessionName,
+            String courseId, List<FeedbackResponseAttributes> responsesToSave,
+            List<FeedbackResponseAttributes> responsesToDelete) {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, giverEmail);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, responsesToSave);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, responsesToDelete);
+
+        return feedbackResponsesLogic.saveFeedbackResponsesFromGiver(giverEmail, feedbackSessionName, courseId,
+                                                                     responsesToSave, responsesToDelete);
+    }
+    
     @SuppressWarnings("unused")
     private void ____FEEDBACK_RESPONSE_COMMENT_level_methods_____________________________() {
     }
@@ -2609,6 +2743,19 @@ public class Logic {
         return feedbackResponseCommentsLogic.getFeedbackResponseCommentsForSendingState(courseId, state);
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the number of response comments in the state, counted without loading them.
+     * @throws EntityDoesNotExistException when the course with given courseId doesn't exist
+     */
+    public int getNumberOfFeedbackResponseCommentsForSendingState(String courseId, CommentSendingState state) 
+            throws EntityDoesNotExistException {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, state);
+        return feedbackResponseCommentsLogic.getNumberOfFeedbackResponseCommentsForSendingState(courseId, state);
+    }
+    
     /**
      * Create or update document for the given FeedbackResponseComment
      * @param comment to be put into documents
@@ -2865,6 +3012,18 @@ public class Logic {
         return commentsLogic.getCommentsForSendingState(courseId, sendingState);
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the number of comments in the state, counted without loading them.
+     * @throws EntityDoesNotExistException when the course with given courseId doesn't exist
+     */
+    public int getNumberOfCommentsForSendingState(String courseId, CommentSendingState sendingState) throws EntityDoesNotExistException{
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, sendingState);
+        return commentsLogic.getNumberOfCommentsForSendingState(courseId, sendingState);
+    }
+    
     
     /**
      * This method is not scalable. Not to be used unless for admin features.
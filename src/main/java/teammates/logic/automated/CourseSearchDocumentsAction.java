@@ -0,0 +1,61 @@
+package teammates.logic.automated;
+
+import java.util.HashMap;
+
+import javax.servlet.http.HttpServletRequest;
+
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.Assumption;
+import teammates.common.util.HttpRequestHelper;
+import teammates.common.util.Const.ParamsNames;
+import teammates.logic.core.CommentsLogic;
+import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.FeedbackResponseCommentsLogic;
+import teammates.logic.core.InstructorsLogic;
+import teammates.logic.core.StudentsLogic;
+
+/**
+ * Puts the search documents of the students, instructors and comments of a
+ * course again, in batches. Used to rebuild the search indexes course by
+ * course, e.g. after the content of the documents changed.
+ */
+public class CourseSearchDocumentsAction extends TaskQueueWorkerAction {
+    private String courseId;
+    
+    public CourseSearchDocumentsAction(HttpServletRequest request) {
+        super(request);
+        
+        this.courseId = HttpRequestHelper
+                .getValueFromRequestParameterMap(request, ParamsNames.COURSE_ID);
+        Assumption.assertNotNull(courseId);
+    }
+
+    public CourseSearchDocumentsAction(HashMap<String, String> paramMap) {
+        super(null);
+        
+        this.courseId = paramMap.get(ParamsNames.COURSE_ID);
+        Assumption.assertNotNull(courseId);
+    }
+    
+    @Override
+    public boolean execute() {
+        
+        if (!CoursesLogic.inst().isCoursePresent(courseId)) {
+            log.warning("Not rebuilding search documents of deleted course : " + courseId);
+            return true;
+        }
+        
+        log.info("Rebuilding search documents of course : " + courseId);
+        try {
+            StudentsLogic.inst().putDocumentsForCourse(courseId);
+            InstructorsLogic.inst().putDocumentsForCourse(courseId);
+            CommentsLogic.inst().putDocumentsForCourse(courseId);
+            FeedbackResponseCommentsLogic.inst().putDocumentsForCourse(courseId);
+        } catch (Exception e) {
+            log.severe("Error encountered while rebuilding search documents of course : " + courseId
+                       + "\n" + TeammatesException.toStringWithStackTrace(e));
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@SuppressWarnings("serial")
+public class CourseSearchDocumentsWorkerServlet extends WorkerServlet {
+    
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        
+        CourseSearchDocumentsAction action = new CourseSearchDocumentsAction(req);
+        boolean isExecuteSuccessful = action.execute();
+        if (!isExecuteSuccessful) {
+            //Retry task if failed
+            resp.setStatus(100);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package teammates.logic.automated;
+
+import java.util.HashMap;
+
+import javax.servlet.http.HttpServletRequest;
+
+import teammates.common.datatransfer.CourseStatisticsAttributes;
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.Assumption;
+import teammates.common.util.HttpRequestHelper;
+import teammates.common.util.Const.ParamsNames;
+import teammates.logic.core.CourseStatisticsLogic;
+import teammates.logic.core.CoursesLogic;
+
+/**
+ * Counts the statistics of a course from all its students again, replacing
+ * the statistics that were updated as students changed.
+ */
+public class CourseStatisticsRecomputeAction extends TaskQueueWorkerAction {
+    private String courseId;
+    
+    public CourseStatisticsRecomputeAction(HttpServletRequest request) {
+        super(request);
+        
+        this.courseId = HttpRequestHelper
+                .getValueFromRequestParameterMap(request, ParamsNames.COURSE_ID);
+        Assumption.assertNotNull(courseId);
+    }
+
+    public CourseStatisticsRecomputeAction(HashMap<String, String> paramMap) {
+        super(null);
+        
+        this.courseId = paramMap.get(ParamsNames.COURSE_ID);
+        Assumption.assertNotNull(courseId);
+    }
+    
+    @Override
+    public boolean execute() {
+        
+        if (!CoursesLogic.inst().isCoursePresent(courseId)) {
+            log.warning("Not recomputing statistics of deleted course : " + courseId);
+            CourseStatisticsLogic.inst().deleteCourseStatistics(courseId);
+            return true;
+        }
+        
+        try {
+            CourseStatisticsAttributes courseStatistics = 
+                    CourseStatisticsLogic.inst().recomputeCourseStatistics(courseId);
+            log.info("Recomputed statistics of course : " + courseStatistics);
+        } catch (Exception e) {
+            log.severe("Error encountered while recomputing statistics of course : " + courseId
+                       + "\n" + TeammatesException.toStringWithStackTrace(e));
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.util.Const;
+import teammates.logic.core.CourseStatisticsLogic;
+import teammates.logic.core.CoursesLogic;
+
+/**
+ * Schedules one task per course to count the statistics of the course
+ * again, repairing any drift of the statistics updated since the last time.
+ */
+@SuppressWarnings("serial")
+public class CourseStatisticsRecomputeServlet extends AutomatedRemindersServlet {
+    
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = Const.AutomatedActionNames.AUTOMATED_COURSE_STATISTICS_RECOMPUTE;
+        action = "recompute course statistics";
+        
+        String message = "Scheduling the recomputation of the statistics of all courses.";
+        logMessage(req, message);
+        
+        for (CourseAttributes course : CoursesLogic.inst().getAllCourses()) {
+            CourseStatisticsLogic.inst().scheduleCourseStatisticsRecompute(course.id);
+        }
+    }
+
+}
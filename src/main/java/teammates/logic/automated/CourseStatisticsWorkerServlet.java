@@ -0,0 +1,18 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@SuppressWarnings("serial")
+public class CourseStatisticsWorkerServlet extends WorkerServlet {
+    
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        
+        CourseStatisticsRecomputeAction action = new CourseStatisticsRecomputeAction(req);
+        boolean isExecuteSuccessful = action.execute();
+        if (!isExecuteSuccessful) {
+            //Retry task if failed
+            resp.setStatus(100);
+        }
+    }
+}
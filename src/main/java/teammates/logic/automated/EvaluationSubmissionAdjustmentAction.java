@@ -2,6 +2,7 @@ package teammates.logic.automated;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -17,6 +18,11 @@ import teammates.logic.core.StudentsLogic;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
+/**
+ * Adjusts the submissions of an evaluation after students are enrolled.
+ * When no evaluation name is given, the submissions of every evaluation of
+ * the course are adjusted.
+ */
 public class EvaluationSubmissionAdjustmentAction extends TaskQueueWorkerAction {
     private String courseId;
     private String evalName;
@@ -32,7 +38,6 @@ public class EvaluationSubmissionAdjustmentAction extends TaskQueueWorkerAction
         
         this.evalName = HttpRequestHelper
                 .getValueFromRequestParameterMap(request, ParamsNames.EVALUATION_NAME);
-        Assumption.assertNotNull(evalName);
         
         this.enrollmentDetails = HttpRequestHelper
                 .getValueFromRequestParameterMap(request,ParamsNames.ENROLLMENT_DETAILS);
@@ -46,7 +51,6 @@ public class EvaluationSubmissionAdjustmentAction extends TaskQueueWorkerAction
         Assumption.assertNotNull(courseId);
         
         this.evalName = paramMap.get(ParamsNames.EVALUATION_NAME);
-        Assumption.assertNotNull(evalName);
         
         this.enrollmentDetails = paramMap.get(ParamsNames.ENROLLMENT_DETAILS);
         Assumption.assertNotNull(enrollmentDetails);
@@ -60,27 +64,36 @@ public class EvaluationSubmissionAdjustmentAction extends TaskQueueWorkerAction
                 .fromJson(enrollmentDetails, new TypeToken<ArrayList<StudentEnrollDetails>>(){}
                 .getType());
         
-        log.info("Adjusting submissions for evaluation :" + evalName +
-                 "in course : " + courseId);
-        
-        EvaluationAttributes evaluation = EvaluationsLogic.inst()
-                .getEvaluation(courseId, evalName);
-        StudentsLogic stLogic = StudentsLogic.inst();
         String errorString = "Error encountered while adjusting evaluation submission " +
                 "of %s in course : %s : %s";
         
-        if(evaluation != null) {
+        List<EvaluationAttributes> evaluations;
+        if (evalName == null) {
+            log.info("Adjusting submissions for all evaluations in course : " + courseId);
+            evaluations = EvaluationsLogic.inst().getEvaluationsForCourse(courseId);
+        } else {
+            log.info("Adjusting submissions for evaluation :" + evalName +
+                     "in course : " + courseId);
+            EvaluationAttributes evaluation = EvaluationsLogic.inst()
+                    .getEvaluation(courseId, evalName);
+            if (evaluation == null) {
+                log.severe(String.format(errorString, evalName, courseId, "evaluation is null"));
+                return false;
+            }
+            evaluations = new ArrayList<EvaluationAttributes>();
+            evaluations.add(evaluation);
+        }
+        
+        StudentsLogic stLogic = StudentsLogic.inst();
+        for (EvaluationAttributes evaluation : evaluations) {
             try {
-                stLogic.adjustSubmissionsForEnrollments(enrollmentList,evaluation);
-                return true;
+                stLogic.adjustSubmissionsForEnrollments(enrollmentList, evaluation);
             } catch (Exception e) {
-                log.severe(String.format(errorString, evalName, courseId, e.getMessage()));
+                log.severe(String.format(errorString, evaluation.name, courseId, e.getMessage()));
                 return false;
             }
-        } else {
-            log.severe(String.format(errorString, evalName, courseId, "evaluation is null"));
-            return false;
         }
+        return true;
     }
 
 }
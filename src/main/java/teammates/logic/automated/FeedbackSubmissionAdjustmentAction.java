@@ -2,11 +2,9 @@ package teammates.logic.automated;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 
-import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.util.ActivityLogEntry;
@@ -16,11 +14,16 @@ import teammates.common.util.Utils;
 import teammates.common.util.Const.ParamsNames;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
-import teammates.logic.core.StudentsLogic;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
+/**
+ * Adjusts the responses of a feedback session after students are enrolled.
+ * When no session name is given, the responses of every session of the course
+ * are adjusted. Only the responses of the students whose team or section
+ * changed are read.
+ */
 public class FeedbackSubmissionAdjustmentAction extends TaskQueueWorkerAction {
     private String courseId;
     private String sessionName;
@@ -36,7 +39,6 @@ public class FeedbackSubmissionAdjustmentAction extends TaskQueueWorkerAction {
         
         this.sessionName = HttpRequestHelper
                 .getValueFromRequestParameterMap(request, ParamsNames.FEEDBACK_SESSION_NAME);
-        Assumption.assertNotNull(sessionName);
         
         this.enrollmentDetails = HttpRequestHelper
                 .getValueFromRequestParameterMap(request, ParamsNames.ENROLLMENT_DETAILS);
@@ -50,7 +52,6 @@ public class FeedbackSubmissionAdjustmentAction extends TaskQueueWorkerAction {
         Assumption.assertNotNull(courseId);
         
         this.sessionName = paramMap.get(ParamsNames.FEEDBACK_SESSION_NAME);
-        Assumption.assertNotNull(sessionName);
         
         this.enrollmentDetails = paramMap.get(ParamsNames.ENROLLMENT_DETAILS);
         Assumption.assertNotNull(enrollmentDetails);
@@ -64,34 +65,31 @@ public class FeedbackSubmissionAdjustmentAction extends TaskQueueWorkerAction {
                 .fromJson(enrollmentDetails, new TypeToken<ArrayList<StudentEnrollDetails>>(){}
                 .getType());
         
-        log.info("Adjusting submissions for feedback session :" + sessionName +
-                 "in course : " + courseId);
-        
-        FeedbackSessionAttributes feedbackSession = FeedbackSessionsLogic.inst()
-                .getFeedbackSession(sessionName, courseId);
-        StudentsLogic stLogic = StudentsLogic.inst();
         String errorString = "Error encountered while adjusting feedback session responses " +
                 "of %s in course : %s : %s\n%s";
         
-        if(feedbackSession != null) {
-            List<FeedbackResponseAttributes> allResponses = FeedbackResponsesLogic.inst()
-                    .getFeedbackResponsesForSession(feedbackSession.feedbackSessionName,
-                            feedbackSession.courseId);
-            
-            for (FeedbackResponseAttributes response : allResponses) {
-                try {
-                    stLogic.adjustFeedbackResponseForEnrollments(enrollmentList, response);
-                } catch (Exception e) {
-                    log.severe(String.format(errorString, sessionName, courseId, e.getMessage(),
-                            ActivityLogEntry.generateServletActionFailureLogMessage(request, e)));
-                    return false;
-                }
-            } 
-            return true;
+        if (sessionName == null) {
+            log.info("Adjusting submissions for all feedback sessions in course : " + courseId);
         } else {
-            log.severe(String.format(errorString, sessionName, courseId, "feedback session is null", ""));
+            log.info("Adjusting submissions for feedback session :" + sessionName +
+                     "in course : " + courseId);
+            FeedbackSessionAttributes feedbackSession = FeedbackSessionsLogic.inst()
+                    .getFeedbackSession(sessionName, courseId);
+            if (feedbackSession == null) {
+                log.severe(String.format(errorString, sessionName, courseId, "feedback session is null", ""));
+                return false;
+            }
+        }
+        
+        try {
+            FeedbackResponsesLogic.inst().adjustFeedbackResponsesForEnrollments(
+                    courseId, sessionName, enrollmentList);
+        } catch (Exception e) {
+            log.severe(String.format(errorString, sessionName, courseId, e.getMessage(),
+                    ActivityLogEntry.generateServletActionFailureLogMessage(request, e)));
             return false;
-        }    
+        }
+        return true;
     }
 
 }
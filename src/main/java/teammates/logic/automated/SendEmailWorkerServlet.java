@@ -1,12 +1,8 @@
 package teammates.logic.automated;
 
-import java.util.Properties;
+import java.util.HashMap;
 
-import javax.mail.Address;
-import javax.mail.Message;
 import javax.mail.MessagingException;
-import javax.mail.Session;
-import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -20,6 +16,16 @@ import teammates.logic.core.Emails;
 public class SendEmailWorkerServlet extends WorkerServlet {
     
     public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        String emailBatch = HttpRequestHelper
+                .getValueFromRequestParameterMap(req, ParamsNames.EMAIL_BATCH);
+        if (emailBatch != null) {
+            String attempt = HttpRequestHelper
+                    .getValueFromRequestParameterMap(req, ParamsNames.EMAIL_BATCH_ATTEMPT);
+            // messages that cannot be sent are queued again by Emails, so the task is never retried
+            new Emails().sendAndLogEmailBatch(emailBatch, attempt == null ? 1 : Integer.parseInt(attempt));
+            return;
+        }
+        
         //Sets an arbitrary retry code outside of the range 200-299 so GAE will automatically retry upon failure
         int responseCodeForRetry = 100;
         try {
@@ -43,15 +49,13 @@ public class SendEmailWorkerServlet extends WorkerServlet {
                     .getValueFromRequestParameterMap(req, ParamsNames.EMAIL_REPLY_TO_ADDRESS);
             Assumption.assertNotNull(emailReply);
             
-            Session session = Session.getDefaultInstance(new Properties(), null);
-            MimeMessage message = new MimeMessage(session);
-    
-            message.addRecipient(Message.RecipientType.TO, new InternetAddress(
-                    emailReceiver));
-            message.setFrom(new InternetAddress(emailSender));
-            message.setContent(emailContent, "text/html");
-            message.setSubject(emailSubject);
-            message.setReplyTo(new Address[] { new InternetAddress(emailReply) });
+            HashMap<String, String> emailParams = new HashMap<String, String>();
+            emailParams.put(ParamsNames.EMAIL_SUBJECT, emailSubject);
+            emailParams.put(ParamsNames.EMAIL_CONTENT, emailContent);
+            emailParams.put(ParamsNames.EMAIL_SENDER, emailSender);
+            emailParams.put(ParamsNames.EMAIL_RECEIVER, emailReceiver);
+            emailParams.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, emailReply);
+            MimeMessage message = Emails.createEmailFromParams(emailParams);
             
             Emails emailManager = new Emails();
             emailManager.sendAndLogEmail(message);
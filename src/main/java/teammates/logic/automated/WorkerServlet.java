@@ -10,6 +10,7 @@ import javax.servlet.http.HttpServletResponse;
 import teammates.common.util.ActivityLogEntry;
 import teammates.common.util.HttpRequestHelper;
 import teammates.common.util.Utils;
+import teammates.logic.core.TaskQueuesLogic;
 
 
 /**
@@ -32,6 +33,15 @@ public abstract class WorkerServlet extends HttpServlet{
         } catch(Exception e) {
             log.severe("Exception occured while performing " + servletName + e.getMessage());
         }
+        
+        // Adds the tasks of the worker before its status is sent, and fails the
+        // worker if they cannot be added, so that the task queue retries it.
+        try {
+            TaskQueuesLogic.flushBufferedTasks();
+        } catch (Exception e) {
+            log.severe("Could not add the tasks of " + servletName + ", to be retried: " + e.getMessage());
+            resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
     }
     
     public abstract void doGet(HttpServletRequest req, HttpServletResponse resp);
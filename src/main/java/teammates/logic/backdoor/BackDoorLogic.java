@@ -10,6 +10,7 @@ import java.util.logging.Logger;
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.CommentAttributes;
 import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.CourseStatisticsAttributes;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.EvaluationAttributes;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
@@ -31,8 +32,10 @@ import teammates.common.util.GoogleCloudStorageHelper;
 import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
 import teammates.logic.api.Logic;
+import teammates.logic.core.CourseStatisticsLogic;
 import teammates.storage.api.AccountsDb;
 import teammates.storage.api.CommentsDb;
+import teammates.storage.api.CourseStatisticsDb;
 import teammates.storage.api.CoursesDb;
 import teammates.storage.api.EvaluationsDb;
 import teammates.storage.api.FeedbackQuestionsDb;
@@ -42,6 +45,7 @@ import teammates.storage.api.FeedbackSessionsDb;
 import teammates.storage.api.InstructorsDb;
 import teammates.storage.api.StudentsDb;
 import teammates.storage.api.SubmissionsDb;
+import teammates.storage.datastore.RequestCache;
 
 import com.google.appengine.api.blobstore.BlobKey;
 import com.google.appengine.api.blobstore.BlobstoreFailureException;
@@ -51,6 +55,7 @@ public class BackDoorLogic extends Logic {
     private static Logger log = Utils.getLogger();
     private static final AccountsDb accountsDb = new AccountsDb();
     private static final CoursesDb coursesDb = new CoursesDb();
+    private static final CourseStatisticsDb courseStatisticsDb = new CourseStatisticsDb();
     private static final CommentsDb commentsDb = new CommentsDb();
     private static final StudentsDb studentsDb = new StudentsDb();
     private static final InstructorsDb instructorsDb = new InstructorsDb();
@@ -86,6 +91,23 @@ public class BackDoorLogic extends Logic {
 
     public String persistDataBundle(DataBundle dataBundle)
             throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
+        // The questions created are looked up by number to fill in the question
+        // IDs of responses, which only sees them for sure within a request scope.
+        boolean isOwnRequestScope = !RequestCache.isActive();
+        if (isOwnRequestScope) {
+            RequestCache.startRequest();
+        }
+        try {
+            return persistDataBundleInRequest(dataBundle);
+        } finally {
+            if (isOwnRequestScope) {
+                RequestCache.finishRequest();
+            }
+        }
+    }
+    
+    private String persistDataBundleInRequest(DataBundle dataBundle)
+            throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
         
         if (dataBundle == null) {
             throw new InvalidParametersException(
@@ -136,6 +158,28 @@ public class BackDoorLogic extends Logic {
         }
         accountsDb.createAccounts(studentAccounts, false);
         studentsDb.createStudentsWithoutSearchability(students.values());
+        
+        // the statistics of the new courses are counted from their students in the
+        // bundle; other courses that got students are counted again in the background
+        HashMap<String, List<StudentAttributes>> studentsByCourse = new HashMap<String, List<StudentAttributes>>();
+        for (StudentAttributes student : students.values()) {
+            List<StudentAttributes> studentsOfCourse = studentsByCourse.get(student.course);
+            if (studentsOfCourse == null) {
+                studentsOfCourse = new ArrayList<StudentAttributes>();
+                studentsByCourse.put(student.course, studentsOfCourse);
+            }
+            studentsOfCourse.add(student);
+        }
+        for (CourseAttributes course : courses.values()) {
+            List<StudentAttributes> studentsOfCourse = studentsByCourse.remove(course.id);
+            if (studentsOfCourse == null) {
+                studentsOfCourse = new ArrayList<StudentAttributes>();
+            }
+            courseStatisticsDb.putCourseStatistics(new CourseStatisticsAttributes(course.id, studentsOfCourse));
+        }
+        for (String courseId : studentsByCourse.keySet()) {
+            CourseStatisticsLogic.inst().scheduleCourseStatisticsRecompute(courseId);
+        }
 
         HashMap<String, EvaluationAttributes> evaluations = dataBundle.evaluations;
         for (EvaluationAttributes evaluation : evaluations.values()) {
@@ -491,6 +535,7 @@ public class BackDoorLogic extends Logic {
             coursesDb.deleteEntities(courses);
             instructorsDb.deleteInstructorsForCourses(courseIds);
             studentsDb.deleteStudentsForCourses(courseIds);
+            courseStatisticsDb.deleteCourseStatisticsForCourses(courseIds);
             commentsDb.deleteCommentsForCourses(courseIds);
             evaluationsDb.deleteEvaluationsForCourses(courseIds);
             submissionsDb.deleteSubmissionsForCourses(courseIds);
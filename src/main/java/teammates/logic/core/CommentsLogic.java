@@ -101,6 +101,12 @@ public class CommentsLogic {
         return commentsDb.getCommentsForSendingState(courseId, sendingState);
     }
     
+    public int getNumberOfCommentsForSendingState(String courseId, CommentSendingState sendingState)
+            throws EntityDoesNotExistException {
+        verifyIsCoursePresent(courseId, "get");
+        return commentsDb.getNumberOfCommentsForSendingState(courseId, sendingState);
+    }
+    
     public void updateCommentsSendingState(String courseId, CommentSendingState oldState, CommentSendingState newState) throws EntityDoesNotExistException{
         verifyIsCoursePresent(courseId, "clear pending");
         commentsDb.updateComments(courseId, oldState, newState);
@@ -179,6 +185,14 @@ public class CommentsLogic {
         commentsDb.putDocument(comment);
     }
     
+    /**
+     * Create or update documents for all comments in the course
+     * @param courseId
+     */
+    public void putDocumentsForCourse(String courseId){
+        commentsDb.putDocuments(commentsDb.getCommentsForCourse(courseId));
+    }
+    
     public CommentSearchResultBundle searchComment(String queryString, String googleId, String cursorString){
         return commentsDb.search(queryString, googleId, cursorString);
     }
@@ -0,0 +1,114 @@
+package teammates.logic.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import teammates.common.datatransfer.CourseStatisticsAttributes;
+import teammates.common.datatransfer.CourseStats;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.api.CourseStatisticsDb;
+import teammates.storage.api.StudentsDb;
+
+/**
+ * Handles operations related to the statistics of courses (number of 
+ * students, unregistered students, teams and sections). <br>
+ * The statistics of a course are created, empty, with the course, and then 
+ * updated as students are added, changed and removed. Changes the updates 
+ * miss can make them drift, so they are also counted again by a background 
+ * task (see {@link #scheduleCourseStatisticsRecompute}).
+ */
+public class CourseStatisticsLogic {
+    //The API of this class doesn't have header comments because it sits behind
+    //  the API of the logic class. Those who use this class is expected to be
+    //  familiar with the its code and Logic's code. Hence, no need for header 
+    //  comments.
+    
+    private static CourseStatisticsLogic instance = null;
+    
+    private static final CourseStatisticsDb courseStatisticsDb = new CourseStatisticsDb();
+    
+    /* The students are read from the storage layer directly, as StudentsLogic
+     * updates the statistics whenever it changes students. */
+    private static final StudentsDb studentsDb = new StudentsDb();
+    
+    public static CourseStatisticsLogic inst() {
+        if (instance == null) {
+            instance = new CourseStatisticsLogic();
+        }
+        return instance;
+    }
+    
+    /**
+     * Creates the empty statistics of a new course.
+     */
+    public void createCourseStatistics(String courseId) {
+        putCourseStatistics(new CourseStatisticsAttributes(courseId, new ArrayList<StudentAttributes>()));
+    }
+    
+    /**
+     * @return the statistics of the course. The course is assumed to exist. 
+     *         For a course created before statistics were kept, they are 
+     *         counted by a background task, and are empty until then.
+     */
+    public CourseStats getCourseStats(String courseId) {
+        CourseStatisticsAttributes courseStatistics = courseStatisticsDb.getCourseStatistics(courseId);
+        if (courseStatistics == null) {
+            scheduleCourseStatisticsRecompute(courseId);
+            return new CourseStatisticsAttributes(courseId, new ArrayList<StudentAttributes>()).toCourseStats();
+        }
+        return courseStatistics.toCourseStats();
+    }
+    
+    /**
+     * Counts the statistics of the course from all its students again, and saves them.
+     */
+    public CourseStatisticsAttributes recomputeCourseStatistics(String courseId) {
+        List<StudentAttributes> students = studentsDb.getStudentsForCourse(courseId);
+        CourseStatisticsAttributes courseStatistics = new CourseStatisticsAttributes(courseId, students);
+        putCourseStatistics(courseStatistics);
+        return courseStatistics;
+    }
+    
+    /**
+     * Updates the statistics of the course after students were changed. 
+     * A student whose team, section or registration changed is both in 
+     * {@code studentsRemoved} (as it was) and in {@code studentsAdded} (as it is now). <br>
+     * If the course has no statistics (it was created before statistics were 
+     * kept), they are counted by a background task instead.
+     */
+    public void updateCourseStatistics(String courseId, List<StudentAttributes> studentsRemoved,
+            List<StudentAttributes> studentsAdded) {
+        if (!courseStatisticsDb.updateCourseStatistics(courseId, studentsRemoved, studentsAdded)) {
+            scheduleCourseStatisticsRecompute(courseId);
+        }
+    }
+    
+    public void deleteCourseStatistics(String courseId) {
+        courseStatisticsDb.deleteCourseStatistics(courseId);
+    }
+    
+    /**
+     * Schedules a task that counts the statistics of the course from its
+     * students again, to repair any drift of the updated statistics.
+     */
+    public void scheduleCourseStatisticsRecompute(String courseId) {
+        HashMap<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(Const.ParamsNames.COURSE_ID, courseId);
+        
+        TaskQueuesLogic.inst().createAndAddTask(Const.SystemParams.COURSE_STATISTICS_TASK_QUEUE,
+                Const.ActionURIs.COURSE_STATISTICS_WORKER, paramMap);
+    }
+    
+    private void putCourseStatistics(CourseStatisticsAttributes courseStatistics) {
+        try {
+            courseStatisticsDb.putCourseStatistics(courseStatistics);
+        } catch (InvalidParametersException e) {
+            // The statistics are only kept for existing, hence valid, courses
+            Assumption.fail("Invalid course statistics: " + e.getMessage());
+        }
+    }
+}
@@ -2,7 +2,11 @@ package teammates.logic.core;
 
 import static teammates.common.util.Const.EOL;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -65,6 +69,7 @@ public class CoursesLogic {
     private static final AccountsLogic accountsLogic = AccountsLogic.inst();
     private static final FeedbackSessionsLogic feedbackSessionsLogic = FeedbackSessionsLogic.inst();
     private static final CommentsLogic commentsLogic = CommentsLogic.inst();
+    private static final CourseStatisticsLogic courseStatisticsLogic = CourseStatisticsLogic.inst();
 
     
     public static CoursesLogic inst() {
@@ -78,6 +83,7 @@ public class CoursesLogic {
         
         CourseAttributes courseToAdd = new CourseAttributes(courseId, courseName);
         coursesDb.createEntity(courseToAdd);
+        courseStatisticsLogic.createCourseStatistics(courseId);
     }
     
     /**
@@ -118,6 +124,23 @@ public class CoursesLogic {
         return coursesDb.getCourse(courseId);
     }
 
+    @SuppressWarnings("deprecation")
+    public List<CourseAttributes> getAllCourses() {
+        return coursesDb.getAllCourses();
+    }
+
+    /**
+     * Schedules a task that puts the search documents of the students,
+     * instructors and comments of the course again, in batches.
+     */
+    public void scheduleSearchDocumentsRebuild(String courseId) {
+        HashMap<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(Const.ParamsNames.COURSE_ID, courseId);
+        
+        TaskQueuesLogic.inst().createAndAddTask(Const.SystemParams.SEARCH_DOCUMENT_TASK_QUEUE,
+                Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER, paramMap);
+    }
+
     public boolean isCoursePresent(String courseId) {
         return coursesDb.getCourse(courseId) != null;
     }
@@ -425,37 +448,23 @@ public class CoursesLogic {
     }
 
     public int getNumberOfSections(String courseID) throws EntityDoesNotExistException {
-
-        List<String> sectionNameList = getSectionsNameForCourse(courseID);
-
-        return sectionNameList.size();
+        verifyCourseIsPresent(courseID);
+        return courseStatisticsLogic.getCourseStats(courseID).sectionsTotal;
     }
 
     public int getNumberOfTeams(String courseID) throws EntityDoesNotExistException {
-
         verifyCourseIsPresent(courseID);
-        List<StudentAttributes> studentDataList = 
-                studentsLogic.getStudentsForCourse(courseID);
-
-        List<String> teamNameList = new ArrayList<String>();
-
-        for (StudentAttributes sd : studentDataList) {
-            if (!teamNameList.contains(sd.team)) {
-                teamNameList.add(sd.team);
-            }
-        }
-
-        return teamNameList.size();
+        return courseStatisticsLogic.getCourseStats(courseID).teamsTotal;
     }
 
     public int getTotalEnrolledInCourse(String courseId) throws EntityDoesNotExistException {
         verifyCourseIsPresent(courseId);
-        return studentsLogic.getStudentsForCourse(courseId).size();
+        return courseStatisticsLogic.getCourseStats(courseId).studentsTotal;
     }
 
     public int getTotalUnregisteredInCourse(String courseId) throws EntityDoesNotExistException {
         verifyCourseIsPresent(courseId);
-        return studentsLogic.getUnregisteredStudentsForCourse(courseId).size();
+        return courseStatisticsLogic.getCourseStats(courseId).unregisteredTotal;
     }
 
     public CourseDetailsBundle getCourseSummary(String courseId)
@@ -547,10 +556,13 @@ public class CoursesLogic {
     /**
      * Gets course summaries for instructor.<br>
      * Omits archived courses if omitArchived == true<br>
+     * The statistics of each course are read from its course statistics,
+     * without loading its students.
      * 
      * @param googleId
      * @return HashMap with courseId as key, and CourseDetailsBundle as value.
-     * Does not include details within the course, such as feedback sessions.
+     * Does not include details within the course, such as feedback sessions, 
+     * sections and teams.
      */
     public HashMap<String, CourseDetailsBundle> getCourseSummariesForInstructor(
             String googleId, boolean omitArchived) throws EntityDoesNotExistException {
@@ -565,14 +577,11 @@ public class CoursesLogic {
         for (InstructorAttributes ia : instructorAttributesList) {
             CourseAttributes course = coursesDb.getCourse(ia.courseId);
             
-            try {
-                if (course != null) {
-                    courseSummaryList.put(course.id, getCourseSummary(course.id));
-                } else {
-                    log.warning("Course was deleted but the Instructor still exists: "+Const.EOL 
-                            + ia.toString());
-                }
-            } catch (EntityDoesNotExistException e) {
+            if (course != null) {
+                CourseDetailsBundle courseSummary = new CourseDetailsBundle(course);
+                courseSummary.stats = courseStatisticsLogic.getCourseStats(course.id);
+                courseSummaryList.put(course.id, courseSummary);
+            } else {
                 log.warning("Course was deleted but the Instructor still exists: "+Const.EOL 
                         + ia.toString());
             }
@@ -717,49 +726,141 @@ public class CoursesLogic {
     
     public String getCourseStudentListAsCsv(String courseId, String googleId) throws EntityDoesNotExistException {
 
-        HashMap<String, CourseDetailsBundle> courses = getCourseSummariesForInstructor(googleId, false);
-        CourseDetailsBundle course = courses.get(courseId);
-        boolean hasSection = hasIndicatedSections(courseId);
-        
-        String export = "";
-        export += "Course ID" + "," + Sanitizer.sanitizeForCsv(courseId) + Const.EOL + 
-                  "Course Name" + "," + Sanitizer.sanitizeForCsv(course.course.name) + Const.EOL + 
-                  Const.EOL + Const.EOL;
-        if(hasSection){
-            export += "Section" + ",";
-        }
-        export  += "Team,Full Name,Last Name,Status,Email" + Const.EOL;
-        
-        for (SectionDetailsBundle section : course.sections) {
-            for (TeamDetailsBundle team  :   section.teams) {
-                for(StudentAttributes student : team.students){
-                    String studentStatus = null;
-                    if(student.googleId == null || student.googleId.equals("")){
-                        studentStatus = Const.STUDENT_COURSE_STATUS_YET_TO_JOIN;
-                    } else {
-                        studentStatus = Const.STUDENT_COURSE_STATUS_JOINED;
-                    }
-                    
-                    if(hasSection){
-                        export += Sanitizer.sanitizeForCsv(section.name) + ",";
-                    }
-
-                    export += Sanitizer.sanitizeForCsv(StringHelper.recoverFromSanitizedText(team.name)) + "," + 
-                        Sanitizer.sanitizeForCsv(StringHelper.recoverFromSanitizedText(StringHelper.removeExtraSpace(student.name))) + "," +
-                        Sanitizer.sanitizeForCsv(StringHelper.recoverFromSanitizedText(StringHelper.removeExtraSpace(student.lastName))) + "," +
-                        Sanitizer.sanitizeForCsv(studentStatus) + "," +
-                        Sanitizer.sanitizeForCsv(student.email) + Const.EOL;
+        StringWriter writer = new StringWriter();
+        try {
+            writeCourseStudentListAsCsv(courseId, googleId, writer);
+        } catch (IOException e) {
+            Assumption.fail("StringWriter should not throw IOException");
+        }
+        return writer.toString();
+    }
+    
+    /**
+     * Writes the student list of a course in CSV format to {@code writer}, 
+     * one student at a time. <br>
+     * Only the given course and its students are loaded, however many 
+     * other courses the instructor has.
+     */
+    public void writeCourseStudentListAsCsv(String courseId, String googleId, Writer writer)
+            throws EntityDoesNotExistException, IOException {
+        
+        CourseAttributes course = getCourseForStudentList(courseId, googleId);
+        List<StudentAttributes> students = getStudentsForStudentList(courseId);
+        boolean hasSection = hasIndicatedSections(students);
+        
+        writer.append("Course ID" + "," + Sanitizer.sanitizeForCsv(courseId) + Const.EOL + 
+                      "Course Name" + "," + Sanitizer.sanitizeForCsv(course.name) + Const.EOL + 
+                      Const.EOL + Const.EOL);
+        writer.append(StringHelper.toString(getStudentListHeader(hasSection), ",") + Const.EOL);
+        
+        for (StudentAttributes student : students) {
+            List<String> row = getStudentListRow(student, hasSection);
+            for (int i = 0; i < row.size(); i++) {
+                if (i > 0) {
+                    writer.append(",");
                 }
+                writer.append(Sanitizer.sanitizeForCsv(row.get(i)));
             }
+            writer.append(Const.EOL);
+        }
+        writer.flush();
+    }
+    
+    /**
+     * @return the student list of a course as an HTML table, with the same rows 
+     *         as {@link #getCourseStudentListAsCsv}. The table is generated directly 
+     *         from the students instead of being converted from the CSV.
+     */
+    public String getCourseStudentListAsHtmlTable(String courseId, String googleId) 
+            throws EntityDoesNotExistException {
+        
+        CourseAttributes course = getCourseForStudentList(courseId, googleId);
+        List<StudentAttributes> students = getStudentsForStudentList(courseId);
+        boolean hasSection = hasIndicatedSections(students);
+        
+        StringBuilder rows = new StringBuilder();
+        appendHtmlTableRow(rows, Arrays.asList("Course ID", courseId));
+        appendHtmlTableRow(rows, Arrays.asList("Course Name", course.name));
+        appendHtmlTableRow(rows, getStudentListHeader(hasSection));
+        for (StudentAttributes student : students) {
+            appendHtmlTableRow(rows, getStudentListRow(student, hasSection));
+        }
+        
+        return String.format("<table class=\"table table-bordered table-striped table-condensed\">\n%s</table>",
+                             rows.toString());
+    }
+    
+    private CourseAttributes getCourseForStudentList(String courseId, String googleId) 
+            throws EntityDoesNotExistException {
+        
+        instructorsLogic.verifyInstructorExists(googleId);
+        
+        CourseAttributes course = getCourse(courseId);
+        if (course == null) {
+            throw new EntityDoesNotExistException("Course does not exist: " + courseId);
         }
-        return export;
+        return course;
+    }
+    
+    /**
+     * @return the students of the course in the order of the student list, 
+     *         i.e. by section, then team, then name.
+     */
+    private List<StudentAttributes> getStudentsForStudentList(String courseId) {
+        List<StudentAttributes> students = studentsLogic.getStudentsForCourse(courseId);
+        StudentAttributes.sortBySectionName(students);
+        return students;
+    }
+    
+    private List<String> getStudentListHeader(boolean hasSection) {
+        List<String> header = new ArrayList<String>();
+        if (hasSection) {
+            header.add("Section");
+        }
+        header.addAll(Arrays.asList("Team", "Full Name", "Last Name", "Status", "Email"));
+        return header;
+    }
+    
+    /**
+     * @return the values shown for the student in the student list, not yet 
+     *         sanitized for CSV or HTML.
+     */
+    private List<String> getStudentListRow(StudentAttributes student, boolean hasSection) {
+        String studentStatus = null;
+        if(student.googleId == null || student.googleId.equals("")){
+            studentStatus = Const.STUDENT_COURSE_STATUS_YET_TO_JOIN;
+        } else {
+            studentStatus = Const.STUDENT_COURSE_STATUS_JOINED;
+        }
+        
+        List<String> row = new ArrayList<String>();
+        if(hasSection){
+            row.add(student.section);
+        }
+        row.add(StringHelper.recoverFromSanitizedText(student.team));
+        row.add(StringHelper.recoverFromSanitizedText(StringHelper.removeExtraSpace(student.name)));
+        row.add(StringHelper.recoverFromSanitizedText(StringHelper.removeExtraSpace(student.lastName)));
+        row.add(studentStatus);
+        row.add(student.email);
+        return row;
+    }
+    
+    private void appendHtmlTableRow(StringBuilder rows, List<String> cells) {
+        rows.append("<tr>");
+        for (String cell : cells) {
+            rows.append(String.format("<td>%s</td>\n", Sanitizer.sanitizeForHtml(cell)));
+        }
+        rows.append("</tr>");
     }
 
     public boolean hasIndicatedSections(String courseId) throws EntityDoesNotExistException{
 
         verifyCourseIsPresent(courseId);
         
-        List<StudentAttributes> studentList = studentsLogic.getStudentsForCourse(courseId);
+        return hasIndicatedSections(studentsLogic.getStudentsForCourse(courseId));
+    }
+    
+    private boolean hasIndicatedSections(List<StudentAttributes> studentList) {
         for(StudentAttributes student : studentList) {
             if(!student.section.equals(Const.DEFAULT_SECTION)){
                 return true;
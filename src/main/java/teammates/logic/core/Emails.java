@@ -27,6 +27,7 @@ import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.TeammatesException;
+import teammates.common.util.CompiledTemplate;
 import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.Const.ParamsNames;
@@ -38,6 +39,8 @@ import teammates.common.util.TimeHelper;
 import teammates.common.util.Url;
 import teammates.common.util.Utils;
 
+import com.google.gson.reflect.TypeToken;
+
 /**
  * Handles operations related to sending e-mails.
  */
@@ -69,6 +72,13 @@ public class Emails {
         PENDING_COMMENT_CLEARED
     };
     
+    /** Most messages sent by one send-email task. */
+    private static final int EMAIL_BATCH_SIZE = 20;
+    /** Most characters of content in one batch, to keep its task well below the task size limit. */
+    private static final int EMAIL_BATCH_MAX_CONTENT_LENGTH = 80000;
+    private static final int EMAIL_BATCH_MAX_ATTEMPTS = 5;
+    private static final long EMAIL_BATCH_RETRY_DELAY_MILLIS = 30 * 1000;
+
     private String senderEmail;
     private String senderName;
     private String replyTo;
@@ -286,21 +296,20 @@ public class Emails {
                 .format("${subjectPrefix} [Course: %s][Evaluation: %s]",
                         c.name, e.name));
 
-        String emailBody = template;
-
+        Map<String, String> values = new HashMap<String, String>();
         if (isYetToJoinCourse(s)) {
-            emailBody = fillUpStudentJoinFragment(s, emailBody);
+            String joinFragment = fillUpStudentJoinFragment(s, "${joinFragment}");
+            values.put("joinFragment", joinFragment.replace("${courseName}", c.name));
         } else {
-            emailBody = emailBody.replace("${joinFragment}", "");
+            values.put("joinFragment", "");
         }
 
-        emailBody = emailBody.replace("${userName}", s.name);
-        emailBody = emailBody.replace("${instructorFragment}", "");
-        emailBody = emailBody.replace("${courseName}", c.name);
-        emailBody = emailBody.replace("${courseId}", c.id);
-        emailBody = emailBody.replace("${evaluationName}", e.name);
-        emailBody = emailBody.replace("${deadline}",
-                TimeHelper.formatTime(e.endTime));
+        values.put("userName", s.name);
+        values.put("instructorFragment", "");
+        values.put("courseName", c.name);
+        values.put("courseId", c.id);
+        values.put("evaluationName", e.name);
+        values.put("deadline", TimeHelper.formatTime(e.endTime));
 
         String submitUrl = Config.APP_URL
                 + Const.ActionURIs.STUDENT_EVAL_SUBMISSION_EDIT_PAGE;
@@ -308,7 +317,7 @@ public class Emails {
                 c.id);
         submitUrl = Url.addParamToUrl(submitUrl,
                 Const.ParamsNames.EVALUATION_NAME, e.name);
-        emailBody = emailBody.replace("${submitUrl}", submitUrl);
+        values.put("submitUrl", submitUrl);
 
         String reportUrl = Config.APP_URL
                 + Const.ActionURIs.STUDENT_EVAL_RESULTS_PAGE;
@@ -316,7 +325,9 @@ public class Emails {
                 c.id);
         reportUrl = Url.addParamToUrl(reportUrl,
                 Const.ParamsNames.EVALUATION_NAME, e.name);
-        emailBody = emailBody.replace("${reportUrl}", reportUrl);
+        values.put("reportUrl", reportUrl);
+
+        String emailBody = CompiledTemplate.of(template).fill(values);
 
         message.setContent(emailBody, "text/html");
 
@@ -336,18 +347,16 @@ public class Emails {
                 .format("${subjectPrefix} [Course: %s][Evaluation: %s]",
                         c.name, e.name));
 
-        String emailBody = template;
-
-        emailBody = emailBody.replace("${userName}", i.name);
-        emailBody = emailBody.replace("${joinFragment}", "");
-        emailBody = emailBody.replace("${instructorFragment}",
-                    "The email below has been sent to students of course: "+c.id+".<br/>");
+        Map<String, String> values = new HashMap<String, String>();
+        values.put("userName", i.name);
+        values.put("joinFragment", "");
+        values.put("instructorFragment",
+                   "The email below has been sent to students of course: "+c.id+".<br/>");
         
-        emailBody = emailBody.replace("${courseName}", c.name);
-        emailBody = emailBody.replace("${courseId}", c.id);
-        emailBody = emailBody.replace("${evaluationName}", e.name);
-        emailBody = emailBody.replace("${deadline}",
-                TimeHelper.formatTime(e.endTime));
+        values.put("courseName", c.name);
+        values.put("courseId", c.id);
+        values.put("evaluationName", e.name);
+        values.put("deadline", TimeHelper.formatTime(e.endTime));
 
         String submitUrl = Config.APP_URL
                 + Const.ActionURIs.STUDENT_EVAL_SUBMISSION_EDIT_PAGE;
@@ -355,7 +364,7 @@ public class Emails {
                 c.id);
         submitUrl = Url.addParamToUrl(submitUrl,
                 Const.ParamsNames.EVALUATION_NAME, e.name);
-        emailBody = emailBody.replace("${submitUrl}", submitUrl);
+        values.put("submitUrl", submitUrl);
 
         String reportUrl = Config.APP_URL
                 + Const.ActionURIs.STUDENT_EVAL_RESULTS_PAGE;
@@ -363,7 +372,9 @@ public class Emails {
                 c.id);
         reportUrl = Url.addParamToUrl(reportUrl,
                 Const.ParamsNames.EVALUATION_NAME, e.name);
-        emailBody = emailBody.replace("${reportUrl}", reportUrl);
+        values.put("reportUrl", reportUrl);
+
+        String emailBody = CompiledTemplate.of(template).fill(values);
 
         message.setContent(emailBody, "text/html");
 
@@ -610,32 +621,34 @@ public class Emails {
                 .format("${subjectPrefix} [Course: %s][Feedback Session: %s]",
                         c.name, fs.feedbackSessionName));
 
-        String emailBody = template;
-
-        emailBody = emailBody.replace("${userName}", s.name);
-        emailBody = emailBody.replace("${courseName}", c.name);
-        emailBody = emailBody.replace("${courseId}", c.id);
-        emailBody = emailBody.replace("${feedbackSessionName}", fs.feedbackSessionName);
-        emailBody = emailBody.replace("${joinFragment}", "");
-        emailBody = emailBody.replace("${deadline}",
-                TimeHelper.formatTime(fs.endTime));
-        emailBody = emailBody.replace("${instructorFragment}", "");
+        Map<String, String> values = new HashMap<String, String>();
+        values.put("userName", s.name);
+        values.put("courseName", c.name);
+        values.put("courseId", c.id);
+        values.put("feedbackSessionName", fs.feedbackSessionName);
+        values.put("joinFragment", "");
+        values.put("deadline", TimeHelper.formatTime(fs.endTime));
+        values.put("instructorFragment", "");
         
+        String encryptedKey = StringHelper.encrypt(s.key);
+
         String submitUrl = new Url(Config.APP_URL + Const.ActionURIs.STUDENT_FEEDBACK_SUBMISSION_EDIT_PAGE)
                             .withCourseId(c.id)
                             .withSessionName(fs.feedbackSessionName)
-                            .withRegistrationKey(StringHelper.encrypt(s.key))
+                            .withRegistrationKey(encryptedKey)
                             .withStudentEmail(s.email)
                             .toString();
-        emailBody = emailBody.replace("${submitUrl}", submitUrl);
+        values.put("submitUrl", submitUrl);
 
         String reportUrl = new Url(Config.APP_URL + Const.ActionURIs.STUDENT_FEEDBACK_RESULTS_PAGE)
                             .withCourseId(c.id)
                             .withSessionName(fs.feedbackSessionName)
-                            .withRegistrationKey(StringHelper.encrypt(s.key))
+                            .withRegistrationKey(encryptedKey)
                             .withStudentEmail(s.email)
                             .toString();
-        emailBody = emailBody.replace("${reportUrl}", reportUrl);
+        values.put("reportUrl", reportUrl);
+
+        String emailBody = CompiledTemplate.of(template).fill(values);
 
         message.setContent(emailBody, "text/html");
 
@@ -655,22 +668,19 @@ public class Emails {
                 .format("${subjectPrefix} [Course: %s][Feedback Session: %s]",
                         c.name, fs.feedbackSessionName));
 
-        String emailBody = template;
-
-        emailBody = emailBody.replace("${joinFragment}", "");
-        emailBody = emailBody.replace("${userName}", i.name);
-        emailBody = emailBody.replace("${courseName}", c.name);
-        emailBody = emailBody.replace("${courseId}", c.id);
-        emailBody = emailBody.replace("${feedbackSessionName}", fs.feedbackSessionName);
-        emailBody = emailBody.replace("${deadline}",
-                TimeHelper.formatTime(fs.endTime));
-        emailBody = emailBody.replace("${instructorFragment}", "The email below has been sent to students of course: "+c.id+".<p/><br/>");
+        Map<String, String> values = new HashMap<String, String>();
+        values.put("joinFragment", "");
+        values.put("userName", i.name);
+        values.put("courseName", c.name);
+        values.put("courseId", c.id);
+        values.put("feedbackSessionName", fs.feedbackSessionName);
+        values.put("deadline", TimeHelper.formatTime(fs.endTime));
+        values.put("instructorFragment", "The email below has been sent to students of course: "+c.id+".<p/><br/>");
         
-        String submitUrl = "{The student's unique submission url appears here}";
-        emailBody = emailBody.replace("${submitUrl}", submitUrl);
+        values.put("submitUrl", "{The student's unique submission url appears here}");
+        values.put("reportUrl", "{The student's unique results url appears here}");
 
-        String reportUrl = "{The student's unique results url appears here}";
-        emailBody = emailBody.replace("${reportUrl}", reportUrl);
+        String emailBody = CompiledTemplate.of(template).fill(values);
 
         message.setContent(emailBody, "text/html");
 
@@ -690,16 +700,14 @@ public class Emails {
                 .format("${subjectPrefix} [Course: %s][Feedback Session: %s]",
                         c.name, fs.feedbackSessionName));
 
-        String emailBody = template;
-
-        emailBody = emailBody.replace("${joinFragment}", "");
-        emailBody = emailBody.replace("${userName}", i.name);
-        emailBody = emailBody.replace("${courseName}", c.name);
-        emailBody = emailBody.replace("${courseId}", c.id);
-        emailBody = emailBody.replace("${feedbackSessionName}", fs.feedbackSessionName);
-        emailBody = emailBody.replace("${deadline}",
-                TimeHelper.formatTime(fs.endTime));
-        emailBody = emailBody.replace("${instructorFragment}", "");
+        Map<String, String> values = new HashMap<String, String>();
+        values.put("joinFragment", "");
+        values.put("userName", i.name);
+        values.put("courseName", c.name);
+        values.put("courseId", c.id);
+        values.put("feedbackSessionName", fs.feedbackSessionName);
+        values.put("deadline", TimeHelper.formatTime(fs.endTime));
+        values.put("instructorFragment", "");
         
         String submitUrl = Config.APP_URL
                 + Const.ActionURIs.INSTRUCTOR_FEEDBACK_SUBMISSION_EDIT_PAGE;
@@ -707,7 +715,7 @@ public class Emails {
                 c.id);
         submitUrl = Url.addParamToUrl(submitUrl,
                 Const.ParamsNames.FEEDBACK_SESSION_NAME, fs.feedbackSessionName);
-        emailBody = emailBody.replace("${submitUrl}", submitUrl);
+        values.put("submitUrl", submitUrl);
 
         String reportUrl = Config.APP_URL
                 + Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_PAGE;
@@ -715,7 +723,9 @@ public class Emails {
                 c.id);
         reportUrl = Url.addParamToUrl(reportUrl,
                 Const.ParamsNames.FEEDBACK_SESSION_NAME, fs.feedbackSessionName);
-        emailBody = emailBody.replace("${reportUrl}", reportUrl);
+        values.put("reportUrl", reportUrl);
+
+        String emailBody = CompiledTemplate.of(template).fill(values);
 
         message.setContent(emailBody, "text/html");
 
@@ -877,40 +887,60 @@ public class Emails {
         return message;
     }
     
+    /**
+     * Queues the messages to be sent in batches, spread out over at most an hour.
+     * Each batch is sent by a single task, see {@link #sendAndLogEmailBatch(String, int)}.
+     */
     public void sendEmails(List<MimeMessage> messages) {
         if (messages.isEmpty()) {
             return;
         }
         
-        // Equally spread out the emails to be sent over 1 hour
-        int numberOfEmailsSent = 0;
-        int emailIntervalMillis = (1000 * 60 * 60) / messages.size();
-
-        // Sets interval to a maximum of 5 seconds if the interval is too large
-        int maxIntervalMillis = 5000;
-        emailIntervalMillis = emailIntervalMillis > maxIntervalMillis ? maxIntervalMillis : emailIntervalMillis;
-
+        List<List<HashMap<String, String>>> batches = new ArrayList<List<HashMap<String, String>>>();
+        List<HashMap<String, String>> batch = new ArrayList<HashMap<String, String>>();
+        int batchContentLength = 0;
+        
         for (MimeMessage m : messages) {
             try {
-                long emailDelayTimer = numberOfEmailsSent * emailIntervalMillis;
-                addEmailToTaskQueue(m, emailDelayTimer);
-                numberOfEmailsSent++;
-            } catch (MessagingException e) {
+                HashMap<String, String> emailParams = getEmailParams(m);
+                int contentLength = emailParams.get(ParamsNames.EMAIL_CONTENT).length();
+                
+                if (!batch.isEmpty() && (batch.size() == EMAIL_BATCH_SIZE
+                        || batchContentLength + contentLength > EMAIL_BATCH_MAX_CONTENT_LENGTH)) {
+                    batches.add(batch);
+                    batch = new ArrayList<HashMap<String, String>>();
+                    batchContentLength = 0;
+                }
+                batch.add(emailParams);
+                batchContentLength += contentLength;
+            } catch (Exception e) {
                 log.severe("Error in sending : " + m.toString()
                         + " Cause : " + e.getMessage());
             }
         }
+        
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        if (batches.isEmpty()) {
+            return;
+        }
+        
+        // Equally spread out the batches to be sent over 1 hour
+        int batchIntervalMillis = (1000 * 60 * 60) / batches.size();
 
+        // Sets interval to a maximum of 5 seconds if the interval is too large
+        int maxIntervalMillis = 5000;
+        batchIntervalMillis = batchIntervalMillis > maxIntervalMillis ? maxIntervalMillis : batchIntervalMillis;
+
+        for (int i = 0; i < batches.size(); i++) {
+            addEmailBatchToTaskQueue(batches.get(i), i * batchIntervalMillis, 1);
+        }
     }
 
     public void addEmailToTaskQueue(MimeMessage message, long emailDelayTimer) throws MessagingException {
         try {
-            HashMap<String, String> paramMap = new HashMap<String, String>();
-            paramMap.put(ParamsNames.EMAIL_SUBJECT, message.getSubject());
-            paramMap.put(ParamsNames.EMAIL_CONTENT, message.getContent().toString());
-            paramMap.put(ParamsNames.EMAIL_SENDER, message.getFrom()[0].toString());
-            paramMap.put(ParamsNames.EMAIL_RECEIVER, message.getRecipients(Message.RecipientType.TO)[0].toString());
-            paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, message.getReplyTo()[0].toString());
+            HashMap<String, String> paramMap = getEmailParams(message);
             
             TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
             taskQueueLogic.createAndAddDeferredTask(SystemParams.SEND_EMAIL_TASK_QUEUE,
@@ -920,6 +950,51 @@ public class Emails {
         } 
         
     }
+    
+    private void addEmailBatchToTaskQueue(List<HashMap<String, String>> batch, long emailDelayTimer,
+                                          int attempt) {
+        try {
+            HashMap<String, String> paramMap = new HashMap<String, String>();
+            paramMap.put(ParamsNames.EMAIL_BATCH, Utils.getTeammatesGson().toJson(batch));
+            paramMap.put(ParamsNames.EMAIL_BATCH_ATTEMPT, String.valueOf(attempt));
+            
+            TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
+            taskQueueLogic.createAndAddDeferredTask(SystemParams.SEND_EMAIL_TASK_QUEUE,
+                    Const.ActionURIs.SEND_EMAIL_WORKER, paramMap, emailDelayTimer);
+        } catch (Exception e) {
+            log.severe("Error when adding " + batch.size() + " emails to task queue: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * @return the parts of the message needed to send it from a task, 
+     *         see {@link #createEmailFromParams(Map)}
+     */
+    private HashMap<String, String> getEmailParams(MimeMessage message)
+            throws MessagingException, IOException {
+        HashMap<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.EMAIL_SUBJECT, message.getSubject());
+        paramMap.put(ParamsNames.EMAIL_CONTENT, message.getContent().toString());
+        paramMap.put(ParamsNames.EMAIL_SENDER, message.getFrom()[0].toString());
+        paramMap.put(ParamsNames.EMAIL_RECEIVER, message.getRecipients(Message.RecipientType.TO)[0].toString());
+        paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, message.getReplyTo()[0].toString());
+        return paramMap;
+    }
+    
+    public static MimeMessage createEmailFromParams(Map<String, String> emailParams)
+            throws MessagingException {
+        Session session = Session.getDefaultInstance(new Properties(), null);
+        MimeMessage message = new MimeMessage(session);
+
+        message.addRecipient(Message.RecipientType.TO, new InternetAddress(
+                emailParams.get(ParamsNames.EMAIL_RECEIVER)));
+        message.setFrom(new InternetAddress(emailParams.get(ParamsNames.EMAIL_SENDER)));
+        message.setContent(emailParams.get(ParamsNames.EMAIL_CONTENT), "text/html");
+        message.setSubject(emailParams.get(ParamsNames.EMAIL_SUBJECT));
+        message.setReplyTo(new Address[] { 
+                new InternetAddress(emailParams.get(ParamsNames.EMAIL_REPLY_TO_ADDRESS)) });
+        return message;
+    }
 
     public void sendEmail(MimeMessage message) throws MessagingException {
         log.info(getEmailInfo(message));
@@ -935,16 +1010,77 @@ public class Emails {
     public void sendAndLogEmail(MimeMessage message) throws MessagingException {
         log.info(getEmailInfo(message));
         Transport.send(message);
+        logEmail(message);
+    }
+    
+    /**
+     * Sends and logs a batch of messages queued by {@link #sendEmails(List)},
+     * using a single connection to the mail service. <br>
+     * Messages that could not be sent are queued again as a new batch, instead
+     * of failing the task, so that the messages already sent are not sent twice.
+     * @param attempt the number of times the messages were tried so far, 
+     *        including this one
+     */
+    public void sendAndLogEmailBatch(String emailBatch, int attempt) {
+        List<HashMap<String, String>> batch = Utils.getTeammatesGson().fromJson(emailBatch,
+                new TypeToken<List<HashMap<String, String>>>() {}.getType());
+        List<HashMap<String, String>> unsent = new ArrayList<HashMap<String, String>>();
+        
+        Transport transport = null;
+        try {
+            transport = Session.getDefaultInstance(new Properties(), null).getTransport("smtp");
+            transport.connect();
+        } catch (MessagingException e) {
+            log.severe("Error while connecting to the mail service: " + e.getMessage());
+            transport = null;
+        }
+        
+        if (transport == null) {
+            unsent.addAll(batch);
+        } else {
+            try {
+                for (HashMap<String, String> emailParams : batch) {
+                    MimeMessage message;
+                    try {
+                        message = createEmailFromParams(emailParams);
+                        log.info(getEmailInfo(message));
+                        transport.sendMessage(message, message.getAllRecipients());
+                    } catch (MessagingException e) {
+                        log.severe("Error while sending email to " + emailParams.get(ParamsNames.EMAIL_RECEIVER)
+                                   + ": " + e.getMessage());
+                        unsent.add(emailParams);
+                        continue;
+                    }
+                    logEmail(message);
+                }
+            } finally {
+                try {
+                    transport.close();
+                } catch (MessagingException e) {
+                    log.warning("Error while closing the connection to the mail service: " + e.getMessage());
+                }
+            }
+        }
         
+        if (unsent.isEmpty()) {
+            return;
+        }
+        if (attempt < EMAIL_BATCH_MAX_ATTEMPTS) {
+            addEmailBatchToTaskQueue(unsent, EMAIL_BATCH_RETRY_DELAY_MILLIS, attempt + 1);
+        } else {
+            log.severe("Gave up sending " + unsent.size() + " emails after " + attempt + " attempts");
+        }
+    }
+    
+    private void logEmail(MimeMessage message) {
         try {
             EmailLogEntry newEntry = new EmailLogEntry(message);
             String emailLogInfo = newEntry.generateLogMessage();
             log.log(Level.INFO, emailLogInfo);
         } catch (Exception e) {
-            log.severe("Failed to generate log for email: " + getEmailInfo(message));
+            log.severe("Failed to generate log for email: " + e.getMessage());
             e.printStackTrace();
         }
-        
     }
     
     public MimeMessage sendErrorReport(String path, String params, Throwable error) {
@@ -298,6 +298,14 @@ public class FeedbackQuestionsLogic {
         return questions;
     }
     
+    /**
+     * Checks for questions for students (or teams) without loading them.
+     */
+    public boolean hasFeedbackQuestionsForStudents(String feedbackSessionName, String courseId) {
+        return fqDb.hasFeedbackQuestionsForGiverType(feedbackSessionName, courseId, STUDENTS)
+               || fqDb.hasFeedbackQuestionsForGiverType(feedbackSessionName, courseId, TEAMS);
+    }
+    
     /**
      * Gets a given {@code FeedbackQuestion} and its previously filled {@code FeedbackResponses}
      * for a student.
@@ -475,17 +483,14 @@ public class FeedbackQuestionsLogic {
     }
     
     public boolean isQuestionHasResponses(String feedbackQuestionId) {
-        return (frLogic.getFeedbackResponsesForQuestionWithinRange(feedbackQuestionId, 1).isEmpty() == false);
+        return frLogic.hasResponsesForQuestion(feedbackQuestionId);
     }
     
     public boolean isQuestionAnsweredByUser(FeedbackQuestionAttributes question, String email) 
             throws EntityDoesNotExistException {
         
-        int numberOfResponsesGiven = 
-                frLogic.getFeedbackResponsesFromGiverForQuestion(question.getId(), email).size();
-        
         // As long as a user has responded, we count the question as answered.
-        return numberOfResponsesGiven > 0 ? true : false;
+        return frLogic.hasGiverRespondedForQuestion(email, question.getId());
     }
     
     public boolean isQuestionAnsweredByUser(FeedbackQuestionAttributes question, String email,
@@ -135,6 +135,20 @@ public class FeedbackResponseCommentsLogic {
         return frcList;
     }
     
+    public int getNumberOfFeedbackResponseCommentsForSendingState(String courseId, CommentSendingState state) 
+            throws EntityDoesNotExistException{
+        verifyIsCoursePresent(courseId);
+        
+        int numberOfComments = 0;
+        List<FeedbackSessionAttributes> feedbackSessions = fsLogic.getFeedbackSessionsForCourse(courseId);
+        for(FeedbackSessionAttributes fs:feedbackSessions){
+            if(fs.isPublished()){
+                numberOfComments += frcDb.getNumberOfFeedbackResponseCommentsForSendingState(courseId, fs.feedbackSessionName, state);
+            }
+        }
+        return numberOfComments;
+    }
+    
     public void updateFeedbackResponseCommentsSendingState(
             String courseId, CommentSendingState oldState, CommentSendingState newState) throws EntityDoesNotExistException {
         verifyIsCoursePresent(courseId);
@@ -155,6 +169,14 @@ public class FeedbackResponseCommentsLogic {
         frcDb.putDocument(comment);
     }
     
+    /**
+     * Create or update documents for all response comments in the course
+     * @param courseId
+     */
+    public void putDocumentsForCourse(String courseId){
+        frcDb.putDocuments(frcDb.getFeedbackResponseCommentsForCourse(courseId));
+    }
+    
     public List<FeedbackResponseCommentAttributes> getFeedbackResponseCommentsForGiver(String courseId, String giverEmail){
         return frcDb.getFeedbackResponseCommentForGiver(courseId, giverEmail);
     }
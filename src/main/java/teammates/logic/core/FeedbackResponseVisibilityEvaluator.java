@@ -0,0 +1,262 @@
+package teammates.logic.core;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.UserType;
+import teammates.common.datatransfer.UserType.Role;
+import teammates.common.util.Const;
+
+/**
+ * Decides which feedback responses, and which giver/recipient names in them,
+ * a particular user can see.
+ * <br> The visibility settings of each question are compiled into bitmasks
+ * of {@link FeedbackParticipantType}s the first time the question is seen,
+ * and the facts about the viewer (role, team, section privileges) are
+ * looked up once, so checking a response only needs a few bit tests and
+ * string comparisons. An instance is meant to be used for a single request
+ * by a single user, for the responses of a single feedback session.
+ */
+public class FeedbackResponseVisibilityEvaluator {
+
+    private static final int NAME_VISIBILITY_TYPES = maskOf(
+            FeedbackParticipantType.INSTRUCTORS,
+            FeedbackParticipantType.OWN_TEAM_MEMBERS,
+            FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF,
+            FeedbackParticipantType.RECEIVER,
+            FeedbackParticipantType.RECEIVER_TEAM_MEMBERS,
+            FeedbackParticipantType.STUDENTS);
+
+    private static final int GIVER_TEAM_MEMBERS = maskOf(
+            FeedbackParticipantType.OWN_TEAM_MEMBERS,
+            FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF);
+
+    private static final int ANY_STUDENT_IF_TEAM_RECIPIENT = maskOf(
+            FeedbackParticipantType.RECEIVER,
+            FeedbackParticipantType.RECEIVER_TEAM_MEMBERS,
+            FeedbackParticipantType.STUDENTS);
+
+    private final String userEmail;
+    private final Role role;
+    private final StudentAttributes student;
+    private final Set<String> studentsEmailInTeam;
+    private final InstructorAttributes instructor;
+    private final String feedbackSessionName;
+    private final CourseRoster roster;
+
+    private final StudentAttributes userAsStudentInRoster;
+    private final boolean isUserInstructorInRoster;
+    private final int roleMask;
+
+    private final Map<String, CompiledQuestion> compiledQuestions = new HashMap<String, CompiledQuestion>();
+    private final Map<String, Boolean> isAllowedToViewSection = new HashMap<String, Boolean>();
+
+    /**
+     * @param student the student viewing the responses, if {@code role} is
+     *        {@link Role#STUDENT}. Can be null.
+     * @param studentsEmailInTeam emails of the members of {@code student}'s team.
+     * @param instructor the instructor viewing the responses, whose section
+     *        privileges limit the responses shown. Can be null.
+     * @param roster roster of the course the session belongs to.
+     */
+    public FeedbackResponseVisibilityEvaluator(String userEmail, UserType.Role role,
+            StudentAttributes student, Set<String> studentsEmailInTeam,
+            InstructorAttributes instructor, String feedbackSessionName,
+            CourseRoster roster) {
+        this.userEmail = userEmail;
+        this.role = role;
+        this.student = student;
+        this.studentsEmailInTeam = studentsEmailInTeam == null
+                                   ? new HashSet<String>()
+                                   : studentsEmailInTeam;
+        this.instructor = instructor;
+        this.feedbackSessionName = feedbackSessionName;
+        this.roster = roster;
+
+        this.userAsStudentInRoster = roster.getStudentForEmail(userEmail);
+        this.isUserInstructorInRoster = roster.getInstructorForEmail(userEmail) != null;
+        if (role == Role.INSTRUCTOR) {
+            roleMask = maskOf(FeedbackParticipantType.INSTRUCTORS);
+        } else if (role == Role.STUDENT) {
+            roleMask = maskOf(FeedbackParticipantType.STUDENTS);
+        } else {
+            roleMask = 0;
+        }
+    }
+
+    /**
+     * @return true if the user can see {@code response}, taking into account
+     *         the instructor's section privileges if an instructor was given.
+     */
+    public boolean isResponseVisible(FeedbackResponseAttributes response,
+            FeedbackQuestionAttributes question) {
+        CompiledQuestion compiled = compile(question);
+
+        boolean isVisibleResponse = false;
+        if (compiled.isResponseVisibleToUserRole
+                || response.giverEmail.equals(userEmail)
+                || (compiled.isShownTo(compiled.showResponsesTo, FeedbackParticipantType.RECEIVER)
+                        && response.recipientEmail.equals(userEmail))) {
+            isVisibleResponse = true;
+        } else if (role == Role.STUDENT
+                && ((compiled.isTeamRecipientVisibleToReceiver
+                        && student != null
+                        && response.recipientEmail.equals(student.team))
+                    || (compiled.isVisibleToGiverTeamMembers
+                        && studentsEmailInTeam.contains(response.giverEmail))
+                    || (compiled.isShownTo(compiled.showResponsesTo, FeedbackParticipantType.RECEIVER_TEAM_MEMBERS)
+                        && studentsEmailInTeam.contains(response.recipientEmail)))) {
+            isVisibleResponse = true;
+        }
+
+        if (isVisibleResponse && instructor != null && compiled.isSectionPrivilegeNeeded) {
+            isVisibleResponse = isAllowedToViewSection(response.giverSection)
+                                && isAllowedToViewSection(response.recipientSection);
+        }
+        return isVisibleResponse;
+    }
+
+    /**
+     * Same as {@link FeedbackResponsesLogic#isNameVisibleTo}, for the user
+     * and role this evaluator was created for.
+     */
+    public boolean isNameVisible(FeedbackResponseAttributes response,
+            FeedbackQuestionAttributes question, boolean isGiverName) {
+        if (question == null) {
+            return false;
+        }
+
+        // Giver can always see giver and recipient.
+        if (response.giverEmail.equals(userEmail)) {
+            return true;
+        }
+
+        CompiledQuestion compiled = compile(question);
+        int showNameTo = isGiverName ? compiled.showGiverNameTo : compiled.showRecipientNameTo;
+
+        if ((showNameTo & ~NAME_VISIBILITY_TYPES) != 0) {
+            // let the original check report the invalid visibility setting
+            return FeedbackResponsesLogic.inst().isNameVisibleTo(
+                    question, response, userEmail, role, isGiverName, roster);
+        }
+
+        if (compiled.isShownTo(showNameTo, FeedbackParticipantType.INSTRUCTORS)
+                && isUserInstructorInRoster && role == Role.INSTRUCTOR) {
+            return true;
+        }
+        if ((showNameTo & GIVER_TEAM_MEMBERS) != 0
+                && isInSameTeamAsUser(response.giverEmail)) {
+            return true;
+        }
+        if (compiled.isRecipientTeam) {
+            // for responses to a team, being shown to the receiver (or its team)
+            // makes the name visible to every student in the course
+            return (showNameTo & ANY_STUDENT_IF_TEAM_RECIPIENT) != 0
+                   && userAsStudentInRoster != null;
+        }
+        return (compiled.isShownTo(showNameTo, FeedbackParticipantType.RECEIVER)
+                        && response.recipientEmail.equals(userEmail))
+               || (compiled.isShownTo(showNameTo, FeedbackParticipantType.RECEIVER_TEAM_MEMBERS)
+                        && isInSameTeamAsUser(response.recipientEmail))
+               || (compiled.isShownTo(showNameTo, FeedbackParticipantType.STUDENTS)
+                        && userAsStudentInRoster != null);
+    }
+
+    /**
+     * @return an array indexed by {@link Const#VISIBILITY_TABLE_GIVER} and
+     *         {@link Const#VISIBILITY_TABLE_RECIPIENT}, as used by the
+     *         visibility table of a results bundle.
+     */
+    public boolean[] getNameVisibility(FeedbackResponseAttributes response,
+            FeedbackQuestionAttributes question) {
+        boolean[] visibility = new boolean[2];
+        visibility[Const.VISIBILITY_TABLE_GIVER] = isNameVisible(response, question, true);
+        visibility[Const.VISIBILITY_TABLE_RECIPIENT] = isNameVisible(response, question, false);
+        return visibility;
+    }
+
+    private boolean isInSameTeamAsUser(String email) {
+        if (userAsStudentInRoster == null) {
+            return false;
+        }
+        StudentAttributes other = roster.getStudentForEmail(email);
+        return other != null && other.team != null
+               && other.team.equals(userAsStudentInRoster.team);
+    }
+
+    private boolean isAllowedToViewSection(String sectionName) {
+        Boolean isAllowed = isAllowedToViewSection.get(sectionName);
+        if (isAllowed == null) {
+            isAllowed = instructor.isAllowedForPrivilege(sectionName, feedbackSessionName,
+                    Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS);
+            isAllowedToViewSection.put(sectionName, isAllowed);
+        }
+        return isAllowed;
+    }
+
+    private CompiledQuestion compile(FeedbackQuestionAttributes question) {
+        CompiledQuestion compiled = compiledQuestions.get(question.getId());
+        if (compiled == null) {
+            compiled = new CompiledQuestion(question, roleMask);
+            compiledQuestions.put(question.getId(), compiled);
+        }
+        return compiled;
+    }
+
+    private static int maskOf(FeedbackParticipantType... types) {
+        int mask = 0;
+        for (FeedbackParticipantType type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        return mask;
+    }
+
+    private static int maskOf(List<FeedbackParticipantType> types) {
+        return types == null ? 0 : maskOf(types.toArray(new FeedbackParticipantType[types.size()]));
+    }
+
+    /**
+     * Visibility settings of a question, reduced to bitmasks and to the
+     * flags that do not depend on the response being checked.
+     */
+    private static class CompiledQuestion {
+        final int showResponsesTo;
+        final int showGiverNameTo;
+        final int showRecipientNameTo;
+
+        final boolean isRecipientTeam;
+        final boolean isResponseVisibleToUserRole;
+        final boolean isTeamRecipientVisibleToReceiver;
+        final boolean isVisibleToGiverTeamMembers;
+        final boolean isSectionPrivilegeNeeded;
+
+        CompiledQuestion(FeedbackQuestionAttributes question, int roleMask) {
+            showResponsesTo = maskOf(question.showResponsesTo);
+            showGiverNameTo = maskOf(question.showGiverNameTo);
+            showRecipientNameTo = maskOf(question.showRecipientNameTo);
+
+            isRecipientTeam = question.recipientType.isTeam();
+            isResponseVisibleToUserRole = (showResponsesTo & roleMask) != 0;
+            isTeamRecipientVisibleToReceiver = question.recipientType == FeedbackParticipantType.TEAMS
+                    && isShownTo(showResponsesTo, FeedbackParticipantType.RECEIVER);
+            isVisibleToGiverTeamMembers = question.giverType == FeedbackParticipantType.TEAMS
+                    || isShownTo(showResponsesTo, FeedbackParticipantType.OWN_TEAM_MEMBERS);
+            isSectionPrivilegeNeeded = !(question.recipientType == FeedbackParticipantType.NONE
+                    || question.recipientType == FeedbackParticipantType.INSTRUCTORS
+                    || question.recipientType == FeedbackParticipantType.STUDENTS);
+        }
+
+        boolean isShownTo(int mask, FeedbackParticipantType type) {
+            return (mask & (1 << type.ordinal())) != 0;
+        }
+    }
+}
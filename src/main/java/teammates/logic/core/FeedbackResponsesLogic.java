@@ -12,6 +12,7 @@ import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponsesPageBundle;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.UserType;
@@ -141,6 +142,48 @@ public class FeedbackResponsesLogic {
         }
     }
 
+    public FeedbackResponsesPageBundle getFeedbackResponsesForSessionPage(
+            String feedbackSessionName, String courseId, String cursor, int pageSize) {
+        return frDb.getFeedbackResponsesForSessionPage(
+                feedbackSessionName, courseId, cursor, pageSize);
+    }
+
+    public FeedbackResponsesPageBundle getFeedbackResponsesForSessionInSectionPage(
+            String feedbackSessionName, String courseId, String section,
+            String cursor, int pageSize) {
+        if (section == null) {
+            return getFeedbackResponsesForSessionPage(
+                    feedbackSessionName, courseId, cursor, pageSize);
+        } else {
+            return frDb.getFeedbackResponsesForSessionInSectionPage(
+                    feedbackSessionName, courseId, section, cursor, pageSize);
+        }
+    }
+
+    public FeedbackResponsesPageBundle getFeedbackResponsesForSessionFromSectionPage(
+            String feedbackSessionName, String courseId, String section,
+            String cursor, int pageSize) {
+        if (section == null) {
+            return getFeedbackResponsesForSessionPage(
+                    feedbackSessionName, courseId, cursor, pageSize);
+        } else {
+            return frDb.getFeedbackResponsesForSessionFromSectionPage(
+                    feedbackSessionName, courseId, section, cursor, pageSize);
+        }
+    }
+
+    public FeedbackResponsesPageBundle getFeedbackResponsesForSessionToSectionPage(
+            String feedbackSessionName, String courseId, String section,
+            String cursor, int pageSize) {
+        if (section == null) {
+            return getFeedbackResponsesForSessionPage(
+                    feedbackSessionName, courseId, cursor, pageSize);
+        } else {
+            return frDb.getFeedbackResponsesForSessionToSectionPage(
+                    feedbackSessionName, courseId, section, cursor, pageSize);
+        }
+    }
+
     public List<FeedbackResponseAttributes> getFeedbackResponsesForQuestion(String feedbackQuestionId) {
         return frDb.getFeedbackResponsesForQuestion(feedbackQuestionId);
     }
@@ -187,14 +230,36 @@ public class FeedbackResponsesLogic {
                     feedbackQuestionId, userEmail, section);
     }
 
+    public List<FeedbackResponseAttributes> getFeedbackResponsesFromGiverForSession(
+            String giverEmail, String feedbackSessionName, String courseId) {
+        return frDb.getFeedbackResponsesFromGiverForSession(giverEmail, feedbackSessionName, courseId);
+    }
+
     public List<FeedbackResponseAttributes> getFeedbackResponsesFromGiverForSessionWithinRange(
             String giverEmail, String feedbackSessionName, String courseId, long range) {
         return frDb.getFeedbackResponsesFromGiverForSessionWithinRange(giverEmail, feedbackSessionName, courseId, range);
     }
 
+    public boolean isValidPageCursor(String cursor) {
+        return frDb.isValidPageCursor(cursor);
+    }
+
+    public FeedbackResponsesPageBundle getFeedbackResponsesFromGiverForSessionPage(
+            String giverEmail, String feedbackSessionName, String courseId, String cursor, int pageSize) {
+        return frDb.getFeedbackResponsesFromGiverForSessionPage(giverEmail, feedbackSessionName, courseId, cursor, pageSize);
+    }
+
     public boolean hasGiverRespondedForSession(String userEmail, String feedbackSessionName, String courseId){
 
-        return getFeedbackResponsesFromGiverForSessionWithinRange(userEmail, feedbackSessionName, courseId, 1).size() > 0;
+        return frDb.hasFeedbackResponsesFromGiverForSession(userEmail, feedbackSessionName, courseId);
+    }
+
+    public boolean hasGiverRespondedForQuestion(String userEmail, String feedbackQuestionId) {
+        return frDb.hasFeedbackResponsesFromGiverForQuestion(feedbackQuestionId, userEmail);
+    }
+
+    public boolean hasResponsesForQuestion(String feedbackQuestionId) {
+        return frDb.hasFeedbackResponsesForQuestion(feedbackQuestionId);
     }
 
     public List<FeedbackResponseAttributes> getFeedbackResponsesForReceiverForCourse(
@@ -417,6 +482,94 @@ public class FeedbackResponsesLogic {
         }
     }
 
+    /**
+     * Saves the responses submitted by a giver for a session. <br>
+     * The giver's existing responses are read once and all the creates,
+     * updates and deletes are then written in batches. A response with an ID
+     * replaces the existing response with that ID, which is recreated if the
+     * recipient changed. Responses that are invalid, or that would take the
+     * recipient of another response of the giver that is kept, are not saved.
+     * @param responsesToSave responses with an answer and a recipient.
+     * @param responsesToDelete existing responses to delete (with their
+     *        comments). Only the giver's own responses are deleted.
+     * @return messages describing the responses that were not saved,
+     *         or an empty list if all were saved.
+     */
+    public List<String> saveFeedbackResponsesFromGiver(String giverEmail,
+            String feedbackSessionName, String courseId,
+            List<FeedbackResponseAttributes> responsesToSave,
+            List<FeedbackResponseAttributes> responsesToDelete) {
+
+        List<String> errors = new ArrayList<String>();
+        List<FeedbackResponse> existingResponses = frDb.getFeedbackResponseEntitiesFromGiverForSessionOptimized(
+                giverEmail, feedbackSessionName, courseId);
+        Set<String> existingResponseIds = new HashSet<String>();
+        for (FeedbackResponse existingResponse : existingResponses) {
+            existingResponseIds.add(existingResponse.getId());
+        }
+
+        Set<String> responseIdsToDelete = new HashSet<String>();
+        for (FeedbackResponseAttributes response : responsesToDelete) {
+            if (existingResponseIds.contains(response.getId())) {
+                responseIdsToDelete.add(response.getId());
+            }
+        }
+        Set<String> commentedResponseIdsToDelete = new HashSet<String>(responseIdsToDelete);
+
+        // IDs of existing responses that are being deleted or moved to another recipient,
+        // which other responses in this submission are free to take
+        Set<String> releasedResponseIds = new HashSet<String>(responseIdsToDelete);
+        for (FeedbackResponseAttributes response : responsesToSave) {
+            if (existingResponseIds.contains(response.getId())) {
+                releasedResponseIds.add(response.getId());
+            }
+        }
+
+        Map<String, FeedbackResponseAttributes> newResponses = new HashMap<String, FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : responsesToSave) {
+            FeedbackResponseAttributes newResponse = new FeedbackResponseAttributes(response);
+            newResponse.sanitizeForSaving();
+            if (!newResponse.isValid()) {
+                errors.addAll(newResponse.getInvalidityInfo());
+                continue;
+            }
+
+            String newId = ((FeedbackResponse) newResponse.toEntity()).getId();
+            boolean isRecipientChanged = response.getId() != null && !response.getId().equals(newId);
+            boolean isIdTaken = newResponses.containsKey(newId)
+                                || isRecipientChanged && existingResponseIds.contains(newId)
+                                   && !releasedResponseIds.contains(newId);
+            if (isIdTaken) {
+                log.warning("Trying to update an existing response to one that already exists.");
+                errors.add(Const.StatusMessages.FEEDBACK_RESPONSE_RECIPIENT_ALREADY_EXISTS);
+                continue;
+            }
+
+            newResponse.setId(newId);
+            newResponses.put(newId, newResponse);
+            if (isRecipientChanged && existingResponseIds.contains(response.getId())) {
+                // Recreate response to prevent possible future id conflict.
+                responseIdsToDelete.add(response.getId());
+            }
+        }
+        responseIdsToDelete.removeAll(newResponses.keySet());
+        commentedResponseIdsToDelete.removeAll(newResponses.keySet());
+
+        try {
+            frDb.saveFeedbackResponsesOptimized(new ArrayList<FeedbackResponseAttributes>(newResponses.values()),
+                                                existingResponses, responseIdsToDelete);
+        } catch (InvalidParametersException e) {
+            // responses were validated above
+            Assumption.fail("Invalid response after validation: " + e.getMessage());
+        }
+
+        for (String responseId : commentedResponseIdsToDelete) {
+            frcLogic.deleteFeedbackResponseCommentsForResponse(responseId);
+        }
+
+        return errors;
+    }
+
     /**
      * Updates responses for a student when his team changes. This is done by
      * deleting responses that are no longer relevant to him in his new team.
@@ -483,55 +636,86 @@ public class FeedbackResponsesLogic {
 
     }
 
-    public boolean updateFeedbackResponseForChangingTeam(
-            StudentEnrollDetails enrollment,
-            FeedbackResponseAttributes response) {
-
-        FeedbackQuestionAttributes question = fqLogic
-                .getFeedbackQuestion(response.feedbackQuestionId);
-
-        boolean isGiverSameForResponseAndEnrollment = response.giverEmail
-                .equals(enrollment.email);
-        boolean isReceiverSameForResponseAndEnrollment = response.recipientEmail
-                .equals(enrollment.email);
-
-        boolean shouldDeleteByChangeOfGiver = (isGiverSameForResponseAndEnrollment && (question.giverType == FeedbackParticipantType.TEAMS
-                || question.recipientType == FeedbackParticipantType.OWN_TEAM_MEMBERS));
-        boolean shouldDeleteByChangeOfRecipient = (isReceiverSameForResponseAndEnrollment
-                && question.recipientType == FeedbackParticipantType.OWN_TEAM_MEMBERS);
-
-        boolean shouldDeleteResponse = shouldDeleteByChangeOfGiver
-                || shouldDeleteByChangeOfRecipient;
+    /**
+     * Adjusts the responses of the students whose team or section was changed
+     * by an enrollment. A team change deletes the responses the student gave
+     * for their team or about their team members, and the responses they
+     * received as a team member. A section change moves the other responses
+     * given by or to the student to the new section. Only the responses
+     * given by or to those students are read, and they are deleted or updated
+     * in batches.
+     * @param feedbackSessionName the session whose responses are adjusted,
+     *        or null to adjust the responses of all sessions of the course.
+     */
+    public void adjustFeedbackResponsesForEnrollments(String courseId, String feedbackSessionName,
+            List<StudentEnrollDetails> enrollmentList)
+            throws InvalidParametersException, EntityDoesNotExistException {
 
-        if (shouldDeleteResponse) {
-            frDb.deleteEntity(response);
+        Map<String, StudentEnrollDetails> teamChanges = new HashMap<String, StudentEnrollDetails>();
+        Map<String, StudentEnrollDetails> sectionChanges = new HashMap<String, StudentEnrollDetails>();
+        for (StudentEnrollDetails enrollment : enrollmentList) {
+            if (enrollment.updateStatus != StudentAttributes.UpdateStatus.MODIFIED) {
+                continue;
+            }
+            if (isChanged(enrollment.oldTeam, enrollment.newTeam)) {
+                teamChanges.put(enrollment.email, enrollment);
+            }
+            if (isChanged(enrollment.oldSection, enrollment.newSection)) {
+                sectionChanges.put(enrollment.email, enrollment);
+            }
         }
         
-        return shouldDeleteResponse;
-    }
-    
-    public void updateFeedbackResponseForChangingSection(
-            StudentEnrollDetails enrollment,
-            FeedbackResponseAttributes response) throws InvalidParametersException, EntityDoesNotExistException {
-
-        FeedbackResponse feedbackResponse = frDb.getFeedbackResponseEntityOptimized(response);
-        boolean isGiverSameForResponseAndEnrollment = feedbackResponse.getGiverEmail()
-                .equals(enrollment.email);
-        boolean isReceiverSameForResponseAndEnrollment = feedbackResponse.getRecipientEmail()
-                .equals(enrollment.email);
-        
-        if(isGiverSameForResponseAndEnrollment){
-            feedbackResponse.setGiverSection(enrollment.newSection);
+        Set<String> changedEmails = new HashSet<String>(teamChanges.keySet());
+        changedEmails.addAll(sectionChanges.keySet());
+        if (changedEmails.isEmpty()) {
+            return;
         }
         
-        if(isReceiverSameForResponseAndEnrollment){
-            feedbackResponse.setRecipientSection(enrollment.newSection);  
+        Map<String, FeedbackQuestionAttributes> questions = new HashMap<String, FeedbackQuestionAttributes>();
+        List<FeedbackResponse> responsesToDelete = new ArrayList<FeedbackResponse>();
+        List<String> updatedResponseIds = new ArrayList<String>();
+        
+        for (FeedbackResponse response : frDb.getFeedbackResponseEntitiesForUsersInCourseOptimized(
+                courseId, changedEmails)) {
+            if (feedbackSessionName != null 
+                    && !feedbackSessionName.equals(response.getFeedbackSessionName())) {
+                continue;
+            }
+            
+            FeedbackQuestionAttributes question = questions.get(response.getFeedbackQuestionId());
+            if (question == null) {
+                question = fqLogic.getFeedbackQuestion(response.getFeedbackQuestionId());
+                questions.put(response.getFeedbackQuestionId(), question);
+            }
+            
+            boolean shouldDeleteByChangeOfGiver = teamChanges.containsKey(response.getGiverEmail())
+                    && (question.giverType == FeedbackParticipantType.TEAMS
+                        || question.recipientType == FeedbackParticipantType.OWN_TEAM_MEMBERS);
+            boolean shouldDeleteByChangeOfRecipient = teamChanges.containsKey(response.getRecipientEmail())
+                    && question.recipientType == FeedbackParticipantType.OWN_TEAM_MEMBERS;
+            if (shouldDeleteByChangeOfGiver || shouldDeleteByChangeOfRecipient) {
+                responsesToDelete.add(response);
+                continue;
+            }
+            
+            StudentEnrollDetails giverChange = sectionChanges.get(response.getGiverEmail());
+            StudentEnrollDetails recipientChange = sectionChanges.get(response.getRecipientEmail());
+            if (giverChange != null) {
+                response.setGiverSection(giverChange.newSection);
+            }
+            if (recipientChange != null) {
+                response.setRecipientSection(recipientChange.newSection);
+            }
+            if (giverChange != null || recipientChange != null) {
+                updatedResponseIds.add(response.getId());
+            }
         }
         
+        frDb.deleteFeedbackResponseEntitiesOptimized(responsesToDelete);
         frDb.commitOutstandingChanges();
         
-        if(isGiverSameForResponseAndEnrollment || isReceiverSameForResponseAndEnrollment){      
-            frcLogic.updateFeedbackResponseCommentsForResponse(response.getId());
+        for (String responseId : updatedResponseIds) {
+            frcLogic.updateFeedbackResponseCommentsForResponse(responseId);
         }
     }
 
@@ -663,6 +847,11 @@ public class FeedbackResponsesLogic {
         }
     }
 
+    private boolean isChanged(String originalValue, String newValue) {
+        return (newValue != null) && (originalValue != null)
+                && (!originalValue.equals(newValue));
+    }
+
     private List<FeedbackResponseAttributes> getFeedbackResponsesFromTeamForQuestion(
             String feedbackQuestionId, String courseId, String teamName) {
 
@@ -0,0 +1,103 @@
+package teammates.logic.core;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+
+/**
+ * Tells which users have completed a feedback session, i.e. have answered
+ * at least one of the questions they are supposed to answer, from the
+ * questions of the session and the responses given in it. <br>
+ * The index only knows about the responses it was given: build it from all
+ * the responses of the session to check many users (e.g. for reminders), or
+ * from the responses of a single giver to check that giver.
+ */
+public class FeedbackSessionCompletionIndex {
+
+    private final String sessionCreatorEmail;
+
+    private final Set<String> studentQuestionIds = new HashSet<String>();
+    private final Set<String> instructorQuestionIds = new HashSet<String>();
+    private final Set<String> creatorQuestionIds = new HashSet<String>();
+
+    private final Set<String> studentQuestionGivers = new HashSet<String>();
+    private final Set<String> instructorQuestionGivers = new HashSet<String>();
+    private final Set<String> creatorQuestionGivers = new HashSet<String>();
+
+    /**
+     * @param questions all the questions of {@code session}
+     * @param responses responses given in {@code session}. Responses to
+     *        questions not in {@code questions} are ignored.
+     */
+    public FeedbackSessionCompletionIndex(FeedbackSessionAttributes session,
+            List<FeedbackQuestionAttributes> questions,
+            List<FeedbackResponseAttributes> responses) {
+        this.sessionCreatorEmail = session.creatorEmail;
+
+        for (FeedbackQuestionAttributes question : questions) {
+            if (question.giverType == FeedbackParticipantType.STUDENTS
+                    || question.giverType == FeedbackParticipantType.TEAMS) {
+                studentQuestionIds.add(question.getId());
+            } else if (question.giverType == FeedbackParticipantType.INSTRUCTORS) {
+                instructorQuestionIds.add(question.getId());
+            } else if (question.giverType == FeedbackParticipantType.SELF) {
+                creatorQuestionIds.add(question.getId());
+            }
+        }
+
+        for (FeedbackResponseAttributes response : responses) {
+            if (studentQuestionIds.contains(response.feedbackQuestionId)) {
+                studentQuestionGivers.add(response.giverEmail);
+            } else if (instructorQuestionIds.contains(response.feedbackQuestionId)) {
+                instructorQuestionGivers.add(response.giverEmail);
+            } else if (creatorQuestionIds.contains(response.feedbackQuestionId)) {
+                creatorQuestionGivers.add(response.giverEmail);
+            }
+        }
+    }
+
+    public boolean hasQuestionForStudents() {
+        return !studentQuestionIds.isEmpty();
+    }
+
+    /**
+     * @return true if the session has no question for students, or if the
+     *         student answered at least one of them.
+     */
+    public boolean isCompletedByStudent(String studentEmail) {
+        return !hasQuestionForStudents() || studentQuestionGivers.contains(studentEmail);
+    }
+
+    /**
+     * @param isInstructorOfCourse whether {@code userEmail} belongs to an
+     *        instructor of the course, who has to answer the questions for
+     *        instructors. The creator of the session has to answer the
+     *        questions for the creator in any case.
+     * @return true if the session has no question for the user, or if the
+     *         user answered at least one of them.
+     */
+    public boolean isCompletedByInstructor(String userEmail, boolean isInstructorOfCourse) {
+        boolean hasQuestionsToAnswer = false;
+
+        if (isInstructorOfCourse && !instructorQuestionIds.isEmpty()) {
+            if (instructorQuestionGivers.contains(userEmail)) {
+                return true;
+            }
+            hasQuestionsToAnswer = true;
+        }
+
+        if (userEmail.equals(sessionCreatorEmail) && !creatorQuestionIds.isEmpty()) {
+            if (creatorQuestionGivers.contains(userEmail)) {
+                return true;
+            }
+            hasQuestionsToAnswer = true;
+        }
+
+        return !hasQuestionsToAnswer;
+    }
+}
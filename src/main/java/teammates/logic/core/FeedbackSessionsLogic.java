@@ -1,5 +1,7 @@
 package teammates.logic.core;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
@@ -22,6 +24,7 @@ import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackQuestionDetails;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackResponsesPageBundle;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
 import teammates.common.datatransfer.FeedbackSessionQuestionsBundle;
@@ -499,6 +502,88 @@ public class FeedbackSessionsLogic {
         return getFeedbackSessionResultsForUserWithParams(feedbackSessionName, courseId, userEmail, UserType.Role.INSTRUCTOR, roster, params);
     }
     
+    /**
+     * Gets one page of results of a feedback session to show to an instructor.
+     * The next page can be obtained by passing back the 
+     * {@link FeedbackSessionResultsBundle#nextPageCursor} of this page.
+     * @param cursor null to get the first page
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorPageFromView(
+            String feedbackSessionName, String courseId, String userEmail, 
+            String cursor, int pageSize, String viewType)
+            throws EntityDoesNotExistException{
+        
+        return getFeedbackSessionResultsForInstructorInSectionPageFromView(
+                feedbackSessionName, courseId, userEmail, null, cursor, pageSize, viewType);
+    }
+
+    /**
+     * Gets one page of results of a feedback session in a section to show to an instructor.
+     * @param cursor null to get the first page
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorInSectionPageFromView(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            String cursor, int pageSize, String viewType)
+            throws EntityDoesNotExistException{
+        
+        Map<String, String> params = getPageParams(section, cursor, pageSize);
+        params.put("inSection", "true");
+        params.put("viewType", viewType);
+        
+        return getFeedbackSessionResultsForUserWithParams(feedbackSessionName, courseId, userEmail, 
+                UserType.Role.INSTRUCTOR, getCourseRoster(courseId), params);
+    }
+
+    /**
+     * Gets one page of results of a feedback session from a section to show to an instructor.
+     * @param cursor null to get the first page
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorFromSectionPage(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            String cursor, int pageSize)
+            throws EntityDoesNotExistException{
+        
+        Map<String, String> params = getPageParams(section, cursor, pageSize);
+        params.put("fromSection", "true");
+        
+        return getFeedbackSessionResultsForUserWithParams(feedbackSessionName, courseId, userEmail, 
+                UserType.Role.INSTRUCTOR, getCourseRoster(courseId), params);
+    }
+
+    /**
+     * Gets one page of results of a feedback session to a section to show to an instructor.
+     * @param cursor null to get the first page
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorToSectionPage(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            String cursor, int pageSize)
+            throws EntityDoesNotExistException{
+        
+        Map<String, String> params = getPageParams(section, cursor, pageSize);
+        params.put("toSection", "true");
+        
+        return getFeedbackSessionResultsForUserWithParams(feedbackSessionName, courseId, userEmail, 
+                UserType.Role.INSTRUCTOR, getCourseRoster(courseId), params);
+    }
+    
+    private Map<String, String> getPageParams(String section, String cursor, int pageSize) {
+        Map<String, String> params = new HashMap<String, String>();
+        params.put("isIncludeResponseStatus", "true");
+        params.put("inSection", "false");
+        params.put("fromSection", "false");
+        params.put("toSection", "false");
+        params.put("section", section);
+        params.put("cursor", cursor);
+        params.put("pageSize", String.valueOf(pageSize));
+        return params;
+    }
+    
+    private CourseRoster getCourseRoster(String courseId) {
+        return new CourseRoster(
+                new StudentsDb().getStudentsForCourse(courseId),
+                new InstructorsDb().getInstructorsForCourse(courseId));
+    }
+    
     /**
      * Gets results of a feedback session to show to an instructor.
      */
@@ -634,27 +719,151 @@ public class FeedbackSessionsLogic {
         if(!results.isComplete){
             throw new ExceedingRangeException("Number of responses exceeds the limited range");
         }
+        return getFeedbackSessionResultsSummaryAsCsv(results, section);
+    }
+
+    /**
+     * Formats the summary results (without comments) in {@code results} in CSV format.
+     * The responses of {@code results} are sorted by giver, recipient and question number.
+     * @param section the section the results were retrieved for, or null for all sections
+     */
+    public String getFeedbackSessionResultsSummaryAsCsv(
+            FeedbackSessionResultsBundle results, String section) {
+        
         // sort responses by giver > recipient > qnNumber
         Collections.sort(results.responses,
                 results.compareByGiverRecipientQuestion);
         
+        StringBuilder exportBuilder = getFeedbackSessionResultsHeaderInCsvFormat(
+                results.feedbackSession, section);
+
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry : results
+                .getQuestionResponseMap().entrySet()) {
+            exportBuilder.append(getFeedbackSessionResultsForQuestionInCsvFormat(results, entry));
+        }
+        return exportBuilder.toString();
+    }
+
+    /**
+     * Writes the summary results (without comments) of a feedback session in CSV format
+     * to {@code writer}, one question at a time. <br>
+     * Unlike {@link #getFeedbackSessionResultsSummaryInSectionAsCsv}, the responses of 
+     * the whole session are never held in memory at once, so there is no limit on the
+     * number of responses that can be exported. The writer is flushed after each question.
+     * @param section the section to export, or null to export all sections
+     */
+    public void writeFeedbackSessionResultsSummaryInSectionAsCsv(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            Writer writer)
+            throws EntityDoesNotExistException, IOException {
+        
+        FeedbackSessionAttributes session = fsDb.getFeedbackSession(
+                courseId, feedbackSessionName);
+
+        if (session == null) {
+            throw new EntityDoesNotExistException(
+                    "Trying to view non-existent feedback session.");
+        }
+        
+        // Load details of students and instructors once and reuse them for every question
+        CourseRoster roster = new CourseRoster(
+                new StudentsDb().getStudentsForCourse(courseId),
+                new InstructorsDb().getInstructorsForCourse(courseId));
+        InstructorAttributes instructor = roster.getInstructorForEmail(userEmail);
+        FeedbackResponseVisibilityEvaluator visibility = new FeedbackResponseVisibilityEvaluator(
+                userEmail, Role.INSTRUCTOR, null, null, instructor, feedbackSessionName, roster);
+        List<FeedbackQuestionAttributes> allQuestions =
+                fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        
+        writer.append(getFeedbackSessionResultsHeaderInCsvFormat(session, section));
+        writer.flush();
+        
+        for (FeedbackQuestionAttributes question : allQuestions) {
+            FeedbackSessionResultsBundle results = getFeedbackSessionResultsForInstructorForQuestionInSection(
+                    session, question, userEmail, section, roster, visibility);
+            
+            for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry : results
+                    .getQuestionResponseMap().entrySet()) {
+                writer.append(getFeedbackSessionResultsForQuestionInCsvFormat(results, entry));
+            }
+            writer.flush();
+        }
+    }
+    
+    /**
+     * Gets the results of a single question to show to an instructor, 
+     * for responses where either the giver or the recipient is in {@code section}.
+     * This will not retrieve the list of comments for the question.
+     */
+    private FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorForQuestionInSection(
+            FeedbackSessionAttributes session, FeedbackQuestionAttributes question,
+            String userEmail, String section, CourseRoster roster,
+            FeedbackResponseVisibilityEvaluator visibility)
+            throws EntityDoesNotExistException {
+        
+        List<FeedbackResponseAttributes> responses =
+                new ArrayList<FeedbackResponseAttributes>();
+        Map<String, FeedbackQuestionAttributes> relevantQuestions =
+                new HashMap<String, FeedbackQuestionAttributes>();
+        Map<String, String> emailNameTable =
+                new HashMap<String, String>();
+        Map<String, String> emailLastNameTable =
+                new HashMap<String, String>();
+        Map<String, String> emailTeamNameTable =
+                new HashMap<String, String>();
+        Map<String, boolean[]> visibilityTable =
+                new HashMap<String, boolean[]>();
+        Map<String, List<FeedbackResponseCommentAttributes>> responseComments =
+                new HashMap<String, List<FeedbackResponseCommentAttributes>>();
+        
+        relevantQuestions.put(question.getId(), question);
+        
+        boolean isPrivateSessionNotCreatedByThisUser = session
+                .isPrivateSession() && !session.isCreator(userEmail);
+        List<FeedbackResponseAttributes> responsesForThisQn = isPrivateSessionNotCreatedByThisUser
+                ? new ArrayList<FeedbackResponseAttributes>()
+                : frLogic.getFeedbackResponsesForQuestion(question.getId());
+        
+        for (FeedbackResponseAttributes response : responsesForThisQn) {
+            boolean isInSection = section == null 
+                    || response.giverSection.equals(section)
+                    || response.recipientSection.equals(section);
+            boolean isVisibleResponse = isInSection 
+                    && visibility.isResponseVisible(response, question);
+            if (isVisibleResponse) {
+                responses.add(response);
+                addEmailNamePairsToTable(emailNameTable, response,
+                        question, roster);
+                addEmailLastNamePairsToTable(emailLastNameTable, response,
+                        question, roster);
+                addEmailTeamNamePairsToTable(emailTeamNameTable, response,
+                        question, roster);
+                addVisibilityToTable(visibilityTable, question,
+                        response, visibility);
+            }
+        }
+        
+        return new FeedbackSessionResultsBundle(
+                session, responses, relevantQuestions,
+                emailNameTable, emailLastNameTable, emailTeamNameTable,
+                visibilityTable, null, roster, responseComments);
+    }
+    
+    private StringBuilder getFeedbackSessionResultsHeaderInCsvFormat(
+            FeedbackSessionAttributes session, String section) {
+        
         StringBuilder exportBuilder = new StringBuilder();
 
-        exportBuilder.append("Course" + "," + Sanitizer.sanitizeForCsv(results.feedbackSession.courseId) + Const.EOL
-                + "Session Name" + "," + Sanitizer.sanitizeForCsv(results.feedbackSession.feedbackSessionName) + Const.EOL);
+        exportBuilder.append("Course" + "," + Sanitizer.sanitizeForCsv(session.courseId) + Const.EOL
+                + "Session Name" + "," + Sanitizer.sanitizeForCsv(session.feedbackSessionName) + Const.EOL);
         
         if(section != null){
             exportBuilder.append("Section Name" + "," + Sanitizer.sanitizeForCsv(section) + Const.EOL);
         }
 
         exportBuilder.append(Const.EOL + Const.EOL);
-
-        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry : results
-                .getQuestionResponseMap().entrySet()) {
-            exportBuilder.append(getFeedbackSessionResultsForQuestionInCsvFormat(results, entry));
-        }
-        return exportBuilder.toString();
         
+        return exportBuilder;
     }
 
     private StringBuilder getFeedbackSessionResultsForQuestionInCsvFormat(
@@ -680,7 +889,7 @@ public class FeedbackSessionsLogic {
         
         exportBuilder.append(questionDetails.getCsvDetailedResponsesHeader());
 
-        List<String> possibleGiversWithoutResponses = fsrBundle.getPossibleGivers(question);
+        List<String> possibleGiversWithoutResponses = new ArrayList<String>(fsrBundle.getPossibleGivers(question));
         List<String> possibleRecipientsForGiver = new ArrayList<String>();
         String prevGiver = "";
         
@@ -708,7 +917,8 @@ public class FeedbackSessionsLogic {
                                     fsrBundle.getFullNameFromRoster(response.giverEmail):
                                     response.giverEmail;
                 
-                possibleRecipientsForGiver = fsrBundle.getPossibleRecipients(question, giverIdentifier);
+                possibleRecipientsForGiver = new ArrayList<String>(
+                        fsrBundle.getPossibleRecipients(question, giverIdentifier));
             }
             
             removeParticipantIdentifierFromList(question.recipientType, possibleRecipientsForGiver, response.recipientEmail, fsrBundle);
@@ -889,11 +1099,7 @@ public class FeedbackSessionsLogic {
                     "Trying to check a feedback session that does not exist.");
         }
 
-        List<FeedbackQuestionAttributes> allQuestions =
-                fqLogic.getFeedbackQuestionsForStudents(feedbackSessionName,
-                        courseId);
-
-        return !allQuestions.isEmpty();
+        return fqLogic.hasFeedbackQuestionsForStudents(feedbackSessionName, courseId);
     }
 
     public boolean isFeedbackSessionCompletedByStudent(
@@ -901,27 +1107,8 @@ public class FeedbackSessionsLogic {
             String courseId, String userEmail)
             throws EntityDoesNotExistException {
 
-        if (isFeedbackSessionExists(feedbackSessionName, courseId) == false) {
-            throw new EntityDoesNotExistException(
-                    "Trying to check a feedback session that does not exist.");
-        }
-
-        List<FeedbackQuestionAttributes> allQuestions =
-                fqLogic.getFeedbackQuestionsForStudents(feedbackSessionName,
-                        courseId);
-
-        if (allQuestions.isEmpty()) {
-            // if there is no question for students, session is complete
-            return true;
-        }
-
-        for (FeedbackQuestionAttributes question : allQuestions) {
-            if (fqLogic.isQuestionAnsweredByUser(question, userEmail)) {
-                // If any question is answered, session is complete.
-                return true;
-            }
-        }
-        return false;
+        return getCompletionIndexForGiver(feedbackSessionName, courseId, userEmail)
+                .isCompletedByStudent(userEmail);
     }
 
     public boolean isFeedbackSessionCompletedByInstructor(
@@ -929,27 +1116,52 @@ public class FeedbackSessionsLogic {
             String courseId, String userEmail)
             throws EntityDoesNotExistException {
 
-        if (isFeedbackSessionExists(feedbackSessionName, courseId) == false) {
+        FeedbackSessionCompletionIndex completionIndex =
+                getCompletionIndexForGiver(feedbackSessionName, courseId, userEmail);
+        boolean isInstructorOfCourse =
+                instructorsLogic.getInstructorForEmail(courseId, userEmail) != null;
+        
+        return completionIndex.isCompletedByInstructor(userEmail, isInstructorOfCourse);
+    }
+
+    /**
+     * Builds a {@link FeedbackSessionCompletionIndex} from all the responses
+     * of the session, to check which users have completed it with a single
+     * query instead of one query per user and question.
+     */
+    public FeedbackSessionCompletionIndex getCompletionIndex(
+            String feedbackSessionName, String courseId)
+            throws EntityDoesNotExistException {
+        
+        FeedbackSessionAttributes session = getFeedbackSession(feedbackSessionName, courseId);
+        if (session == null) {
             throw new EntityDoesNotExistException(
                     "Trying to check a feedback session that does not exist.");
         }
+        
+        return new FeedbackSessionCompletionIndex(session,
+                fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId),
+                frLogic.getFeedbackResponsesForSession(feedbackSessionName, courseId));
+    }
 
-        List<FeedbackQuestionAttributes> allQuestions =
-                fqLogic.getFeedbackQuestionsForInstructor(feedbackSessionName,
-                        courseId, userEmail);
-
-        if (allQuestions.isEmpty()) {
-            // if there is no question for instructor, session is complete
-            return true;
-        }
-
-        for (FeedbackQuestionAttributes question : allQuestions) {
-            if (fqLogic.isQuestionAnsweredByUser(question, userEmail)) {
-                // If any question is answered, session is complete.
-                return true;
-            }
+    /**
+     * Same as {@link #getCompletionIndex(String, String)}, but only reads the
+     * responses given by {@code giverEmail}, so it can only be used to check
+     * the completion of that user.
+     */
+    private FeedbackSessionCompletionIndex getCompletionIndexForGiver(
+            String feedbackSessionName, String courseId, String giverEmail)
+            throws EntityDoesNotExistException {
+        
+        FeedbackSessionAttributes session = getFeedbackSession(feedbackSessionName, courseId);
+        if (session == null) {
+            throw new EntityDoesNotExistException(
+                    "Trying to check a feedback session that does not exist.");
         }
-        return false;
+        
+        return new FeedbackSessionCompletionIndex(session,
+                fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId),
+                frLogic.getFeedbackResponsesFromGiverForSession(giverEmail, feedbackSessionName, courseId));
     }
 
     // This method is for manual adding of additional responses to a FS.
@@ -1296,12 +1508,13 @@ public class FeedbackSessionsLogic {
         List<InstructorAttributes> instructorList = instructorsLogic
                 .getInstructorsForCourse(courseId);
 
+        FeedbackSessionCompletionIndex completionIndex = getCompletionIndex(
+                session.feedbackSessionName, session.courseId);
+
         // Filter out students who have submitted the feedback session
         List<StudentAttributes> studentsToRemindList = new ArrayList<StudentAttributes>();
         for (StudentAttributes student : studentList) {
-            if (!isFeedbackSessionCompletedByStudent(
-                    session.feedbackSessionName, session.courseId,
-                    student.email)) {
+            if (!completionIndex.isCompletedByStudent(student.email)) {
                 studentsToRemindList.add(student);
             }
         }
@@ -1309,9 +1522,7 @@ public class FeedbackSessionsLogic {
         // Filter out instructors who have submitted the feedback session
         List<InstructorAttributes> instructorsToRemindList = new ArrayList<InstructorAttributes>();
         for (InstructorAttributes instructor : instructorList) {
-            if (!isFeedbackSessionCompletedByInstructor(
-                    session.feedbackSessionName, session.courseId,
-                    instructor.email)) {
+            if (!completionIndex.isCompletedByInstructor(instructor.email, true)) {
                 instructorsToRemindList.add(instructor);
             }
         }
@@ -1473,11 +1684,25 @@ public class FeedbackSessionsLogic {
         sessionToDelete.courseId = courseId;
 
         fsDb.deleteEntity(sessionToDelete);
+        fsDb.deleteRespondantsForSession(feedbackSessionName, courseId);
 
     }
 
     public FeedbackSessionDetailsBundle getFeedbackSessionDetails(
             FeedbackSessionAttributes fsa) throws EntityDoesNotExistException {
+        
+        int numberOfRespondants = fsa.feedbackSessionType == FeedbackSessionType.STANDARD
+                                  ? fsDb.getNumberOfRespondants(fsa)
+                                  : 0;
+        return getFeedbackSessionDetails(fsa, numberOfRespondants);
+    }
+    
+    /**
+     * @param numberOfRespondants the number of students and instructors who 
+     *         responded to the session, used if it is a standard session
+     */
+    private FeedbackSessionDetailsBundle getFeedbackSessionDetails(
+            FeedbackSessionAttributes fsa, int numberOfRespondants) throws EntityDoesNotExistException {
 
         FeedbackSessionDetailsBundle details =
                 new FeedbackSessionDetailsBundle(fsa);
@@ -1510,7 +1735,7 @@ public class FeedbackSessionsLogic {
                 }
             }
             
-            details.stats.submittedTotal += fsa.respondingStudentList.size() + fsa.respondingInstructorList.size();
+            details.stats.submittedTotal += numberOfRespondants;
 
             break;
 
@@ -1595,6 +1820,8 @@ public class FeedbackSessionsLogic {
                     visibilityTable, responseStatus, roster, responseComments);
         }
 
+        FeedbackResponseVisibilityEvaluator visibility = new FeedbackResponseVisibilityEvaluator(
+                userEmail, role, null, null, null, feedbackSessionName, roster);
         Map<String, FeedbackResponseAttributes> relevantResponse = new HashMap<String, FeedbackResponseAttributes>();
         for (FeedbackQuestionAttributes question : allQuestions) {
 
@@ -1624,7 +1851,7 @@ public class FeedbackSessionsLogic {
                     addEmailTeamNamePairsToTable(emailTeamNameTable, response,
                             question, roster);
                     addVisibilityToTable(visibilityTable, question, response,
-                            userEmail, role, roster);
+                            visibility);
                 }
             }
         }
@@ -1742,7 +1969,14 @@ public class FeedbackSessionsLogic {
                     visibilityTable, responseStatus, roster, responseComments);
         }
         
+        InstructorAttributes instructor = null;
+        if (role == Role.INSTRUCTOR) {
+            instructor = instructorsLogic.getInstructorForEmail(courseId, userEmail);
+        }
+        
         if (params.get("questionNum") != null) {
+            FeedbackResponseVisibilityEvaluator visibility = new FeedbackResponseVisibilityEvaluator(
+                    userEmail, role, null, null, instructor, feedbackSessionName, roster);
             int questionNumber = Integer.parseInt(params.get("questionNum"));
             FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(
                     feedbackSessionName, courseId, questionNumber);
@@ -1766,32 +2000,7 @@ public class FeedbackSessionsLogic {
                     relevantQuestions.put(question.getId(),
                             question);
                     for (FeedbackResponseAttributes response : responsesForThisQn) {
-                        boolean isVisibleResponse = false;
-                        if ((response.giverEmail.equals(userEmail))
-                                || (response.recipientEmail.equals(userEmail) && question
-                                        .isResponseVisibleTo(FeedbackParticipantType.RECEIVER))
-                                || (role == Role.INSTRUCTOR && question
-                                        .isResponseVisibleTo(FeedbackParticipantType.INSTRUCTORS))
-                                || (role == Role.STUDENT && question
-                                        .isResponseVisibleTo(FeedbackParticipantType.STUDENTS))) {
-                            isVisibleResponse = true;
-                        }
-                        InstructorAttributes instructor = null;
-                        if (role == Role.INSTRUCTOR) {
-                            instructor = instructorsLogic.getInstructorForEmail(courseId, userEmail);
-                        }
-                        if (isVisibleResponse && instructor != null) {
-                            boolean needCheckPrivilege = !(question.recipientType == FeedbackParticipantType.NONE ||
-                                    question.recipientType == FeedbackParticipantType.INSTRUCTORS ||
-                                            question.recipientType == FeedbackParticipantType.STUDENTS);
-                            boolean isNotAllowedForInstructor = !(instructor.isAllowedForPrivilege(response.giverSection,
-                                    response.feedbackSessionName, Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS))
-                                    || !(instructor.isAllowedForPrivilege(response.recipientSection,
-                                            response.feedbackSessionName, Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS));
-                            if (needCheckPrivilege && isNotAllowedForInstructor) {
-                                isVisibleResponse = false;
-                            }
-                        }
+                        boolean isVisibleResponse = visibility.isResponseVisible(response, question);
                         if (isVisibleResponse) {
                             responses.add(response);
                             addEmailNamePairsToTable(emailNameTable, response,
@@ -1802,9 +2011,8 @@ public class FeedbackSessionsLogic {
                                     response,
                                     question, roster);
                             addVisibilityToTable(visibilityTable, question,
-                                    response, userEmail, role, roster);
+                                    response, visibility);
                         }
-                        isVisibleResponse = false;
                     }
 
                 }
@@ -1829,7 +2037,26 @@ public class FeedbackSessionsLogic {
             allQuestionsMap.put(qn.getId(), qn);
         }
         List<FeedbackResponseAttributes> allResponses = new ArrayList<FeedbackResponseAttributes>();
-        if(params.get("range") != null){
+        String nextPageCursor = null;
+        if (params.get("pageSize") != null) {
+            int pageSize = Integer.parseInt(params.get("pageSize"));
+            String cursor = params.get("cursor");
+            FeedbackResponsesPageBundle page = null;
+            if (isInSection) {
+                page = frLogic.getFeedbackResponsesForSessionInSectionPage(feedbackSessionName,
+                            courseId, section, cursor, pageSize);
+            } else if (isFromSection) {
+                page = frLogic.getFeedbackResponsesForSessionFromSectionPage(feedbackSessionName,
+                            courseId, section, cursor, pageSize);
+            } else if (isToSection) {
+                page = frLogic.getFeedbackResponsesForSessionToSectionPage(feedbackSessionName,
+                            courseId, section, cursor, pageSize);
+            } else {
+                Assumption.fail("Client did not indicate the origin of the responses");
+            }
+            allResponses = page.responses;
+            nextPageCursor = page.nextPageCursor;
+        } else if(params.get("range") != null){
             long range = Long.parseLong(params.get("range"));
             if(isInSection){
                 allResponses = frLogic.getFeedbackResponsesForSessionInSectionWithinRange(feedbackSessionName,
@@ -1887,19 +2114,14 @@ public class FeedbackSessionsLogic {
             }
         }
         
-        InstructorAttributes instructor = null;
-        if (role == Role.INSTRUCTOR) {
-            instructor = instructorsLogic.getInstructorForEmail(courseId, userEmail);
-        }
-        
+        FeedbackResponseVisibilityEvaluator visibility = new FeedbackResponseVisibilityEvaluator(
+                userEmail, role, student, studentsEmailInTeam, instructor, feedbackSessionName, roster);
         Map<String, FeedbackResponseAttributes> relevantResponse = new HashMap<String, FeedbackResponseAttributes>();
         for (FeedbackResponseAttributes response : allResponses) {
             FeedbackQuestionAttributes relatedQuestion = allQuestionsMap
                     .get(response.feedbackQuestionId);
             if (relatedQuestion != null) {
-                boolean isVisibleResponse = isResponseVisibleForUser(userEmail, courseId,
-                        role, section, student, studentsEmailInTeam, response,
-                        relatedQuestion, instructor);
+                boolean isVisibleResponse = visibility.isResponseVisible(response, relatedQuestion);
                 if (isVisibleResponse) {
                     responses.add(response);
                     relevantResponse.put(response.getId(), response);
@@ -1912,7 +2134,7 @@ public class FeedbackSessionsLogic {
                     addEmailTeamNamePairsToTable(emailTeamNameTable, response,
                             relatedQuestion, roster);
                     addVisibilityToTable(visibilityTable, relatedQuestion,
-                            response, userEmail, role, roster);
+                            response, visibility);
                 }
                 isVisibleResponse = false;
             }
@@ -1959,48 +2181,11 @@ public class FeedbackSessionsLogic {
                         session, responses, relevantQuestions,
                         emailNameTable, emailLastNameTable, emailTeamNameTable,
                         visibilityTable, responseStatus, roster, responseComments, isComplete);
+        results.nextPageCursor = nextPageCursor;
 
         return results;
     }
 
-    private boolean isResponseVisibleForUser(String userEmail, String courseId,
-            UserType.Role role, String section, StudentAttributes student,
-            Set<String> studentsEmailInTeam,
-            FeedbackResponseAttributes response,
-            FeedbackQuestionAttributes relatedQuestion, InstructorAttributes instructor) {
-        
-        boolean isVisibleResponse = false;
-        if ((role == Role.INSTRUCTOR && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.INSTRUCTORS))
-                || (response.recipientEmail.equals(userEmail) && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.RECEIVER))
-                || (response.giverEmail.equals(userEmail))
-                || (role == Role.STUDENT && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.STUDENTS))) {
-            isVisibleResponse = true;
-        } else if (role == Role.STUDENT 
-                && ((relatedQuestion.recipientType == FeedbackParticipantType.TEAMS
-                        && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.RECEIVER)
-                        && response.recipientEmail.equals(student.team))
-                    || ((relatedQuestion.giverType == FeedbackParticipantType.TEAMS
-                        || relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.OWN_TEAM_MEMBERS))
-                            && studentsEmailInTeam.contains(response.giverEmail))
-                    || (relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS)
-                && studentsEmailInTeam.contains(response.recipientEmail)))) {
-            isVisibleResponse = true;
-        }
-        if (isVisibleResponse && instructor != null) {
-            boolean needCheckPrivilege = !(relatedQuestion.recipientType == FeedbackParticipantType.NONE ||
-                    relatedQuestion.recipientType == FeedbackParticipantType.INSTRUCTORS ||
-                            relatedQuestion.recipientType == FeedbackParticipantType.STUDENTS);
-            boolean isNotAllowedForInstructor = !(instructor.isAllowedForPrivilege(response.giverSection,
-                    response.feedbackSessionName, Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS))
-                    || !(instructor.isAllowedForPrivilege(response.recipientSection,
-                            response.feedbackSessionName, Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS));
-            if (needCheckPrivilege && isNotAllowedForInstructor) {
-                isVisibleResponse = false;
-            }
-        }
-        return isVisibleResponse;
-    }
-
     private class ResponseCommentCreationDateComparator implements
             Comparator<FeedbackResponseCommentAttributes> {
         @Override
@@ -2013,15 +2198,8 @@ public class FeedbackSessionsLogic {
     private void addVisibilityToTable(Map<String, boolean[]> visibilityTable,
             FeedbackQuestionAttributes question,
             FeedbackResponseAttributes response,
-            String userEmail,
-            UserType.Role role,
-            CourseRoster roster) {
-        boolean[] visibility = new boolean[2];
-        visibility[Const.VISIBILITY_TABLE_GIVER] = frLogic.isNameVisibleTo(
-                question, response, userEmail, role, true, roster);
-        visibility[Const.VISIBILITY_TABLE_RECIPIENT] = frLogic.isNameVisibleTo(
-                question, response, userEmail, role, false, roster);
-        visibilityTable.put(response.getId(), visibility);
+            FeedbackResponseVisibilityEvaluator visibility) {
+        visibilityTable.put(response.getId(), visibility.getNameVisibility(response, question));
     }
 
     private void addEmailNamePairsToTable(Map<String, String> emailNameTable,
@@ -2084,10 +2262,14 @@ public class FeedbackSessionsLogic {
                 new ArrayList<FeedbackSessionDetailsBundle>();
         List<FeedbackSessionAttributes> fsInCourse =
                 fsDb.getFeedbackSessionsForCourse(courseId);
+        // one query for the respondants of all sessions, instead of one per session
+        Map<String, Integer> numberOfRespondants =
+                fsDb.getNumberOfRespondantsForCourse(courseId, fsInCourse);
 
         for (FeedbackSessionAttributes fsa : fsInCourse) {
             if ((fsa.isPrivateSession() && !fsa.isCreator(instructorEmail)) == false)
-                fsDetailsWithoutPrivate.add(getFeedbackSessionDetails(fsa));
+                fsDetailsWithoutPrivate.add(getFeedbackSessionDetails(fsa,
+                        numberOfRespondants.get(fsa.feedbackSessionName)));
         }
 
         return fsDetailsWithoutPrivate;
@@ -2130,7 +2312,9 @@ public class FeedbackSessionsLogic {
                 responseStatus.emailTeamNameTable.put(student.email, student.team);
             }
         }
-        studentNoResponses.removeAll(fsa.respondingStudentList);
+        if (!studentNoResponses.isEmpty()) {
+            studentNoResponses.removeAll(fsDb.getStudentRespondants(fsa));
+        }
 
 
         for (InstructorAttributes instructor : instructors) {
@@ -2144,7 +2328,9 @@ public class FeedbackSessionsLogic {
                 }
             }
         }
-        instructorNoResponses.removeAll(fsa.respondingInstructorList);
+        if (!instructorNoResponses.isEmpty()) {
+            instructorNoResponses.removeAll(fsDb.getInstructorRespondants(fsa));
+        }
 
         responseStatus.noResponse.addAll(studentNoResponses);
         responseStatus.noResponse.addAll(instructorNoResponses);
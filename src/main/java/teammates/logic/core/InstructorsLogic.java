@@ -55,6 +55,10 @@ public class InstructorsLogic {
         instructorsDb.putDocument(instructor);
     }
     
+    public void putDocumentsForCourse(String courseId){
+        instructorsDb.putDocuments(instructorsDb.getInstructorsForCourse(courseId));
+    }
+    
     public void deleteDocument(InstructorAttributes instructor){
         instructorsDb.deleteDocument(instructor);
     }
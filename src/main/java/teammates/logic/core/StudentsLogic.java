@@ -1,8 +1,12 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import javax.mail.internet.MimeMessage;
@@ -11,8 +15,6 @@ import com.google.gson.Gson;
 
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.EvaluationAttributes;
-import teammates.common.datatransfer.FeedbackResponseAttributes;
-import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentAttributesFactory;
 import teammates.common.datatransfer.StudentEnrollDetails;
@@ -55,6 +57,7 @@ public class StudentsLogic {
     private FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
     private AccountsLogic accLogic = AccountsLogic.inst();
     private CommentsLogic commentsLogic = CommentsLogic.inst();
+    private CourseStatisticsLogic courseStatisticsLogic = CourseStatisticsLogic.inst();
     
     private static Logger log = Utils.getLogger();
     
@@ -93,6 +96,8 @@ public class StudentsLogic {
     public void createStudentCascadeWithSubmissionAdjustmentScheduled(StudentAttributes studentData, boolean hasDocument) 
             throws InvalidParametersException, EntityAlreadyExistsException {    
         studentsDb.createStudent(studentData, hasDocument);
+        courseStatisticsLogic.updateCourseStatistics(studentData.course, 
+                new ArrayList<StudentAttributes>(), Arrays.asList(studentData));
     }
 
     @SuppressWarnings("deprecation")
@@ -281,6 +286,7 @@ public class StudentsLogic {
         }
         
         studentsDb.updateStudent(student.course, originalEmail, student.name, student.team, student.section, student.email, student.googleId, student.comments, hasDocument);    
+        updateCourseStatisticsForChangedStudent(originalStudent, student);
         
         // cascade email change, if any
         if (!originalEmail.equals(student.email)) {
@@ -299,6 +305,7 @@ public class StudentsLogic {
     
         studentsDb.verifyStudentExists(courseId, originalEmail);        
         StudentAttributes originalStudent = getStudentForEmail(courseId, originalEmail);
+        StudentAttributes registeredStudent = new StudentAttributes(originalStudent);
         originalStudent.googleId = null;
         
         if(!originalStudent.isValid()) {
@@ -307,6 +314,7 @@ public class StudentsLogic {
         studentsDb.updateStudent(originalStudent.course, originalEmail, originalStudent.name, 
                                  originalStudent.team, originalStudent.section, originalStudent.email, 
                                  originalStudent.googleId, originalStudent.comments, hasDocument);  
+        updateCourseStatisticsForChangedStudent(registeredStudent, originalStudent);
     }
 
     public List<StudentAttributes> enrollStudents(String enrollLines,
@@ -361,43 +369,53 @@ public class StudentsLogic {
         }
 
         verifyIsWithinSizeLimitPerEnrollment(studentList);
-        validateSections(studentList, courseId);
+        
+        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
+        validateSections(studentList, studentsInCourse);
 
-        // TODO: can we use a batch persist operation here?
-        // enroll all students
+        Map<String, StudentAttributes> existingStudents = new HashMap<String, StudentAttributes>();
+        for (StudentAttributes student : studentsInCourse) {
+            existingStudents.put(student.email, student);
+        }
+        
+        List<StudentAttributes> studentsToCreate = new ArrayList<StudentAttributes>();
+        List<StudentAttributes> studentsToUpdate = new ArrayList<StudentAttributes>();
+        List<StudentAttributes> studentsBeforeUpdate = new ArrayList<StudentAttributes>();
+        List<StudentAttributes> studentsAfterUpdate = new ArrayList<StudentAttributes>();
         for (StudentAttributes student : studentList) {
-            StudentEnrollDetails enrollmentDetails;
-            
-            enrollmentDetails = enrollStudent(student, hasDocument);
+            StudentAttributes existingStudent = existingStudents.get(student.email);
+            StudentEnrollDetails enrollmentDetails = getEnrollmentDetails(student, existingStudent);
             student.updateStatus = enrollmentDetails.updateStatus;
             
-            enrollmentList.add(enrollmentDetails);
+            if (enrollmentDetails.updateStatus == UpdateStatus.NEW) {
+                studentsToCreate.add(student);
+            } else if (enrollmentDetails.updateStatus == UpdateStatus.MODIFIED) {
+                studentsToUpdate.add(student);
+                // only the team and section of the existing student are changed
+                StudentAttributes updatedStudent = new StudentAttributes(existingStudent);
+                updatedStudent.team = student.team;
+                updatedStudent.section = student.section;
+                studentsBeforeUpdate.add(existingStudent);
+                studentsAfterUpdate.add(updatedStudent);
+            }
+            if (enrollmentDetails.updateStatus != UpdateStatus.UNMODIFIED) {
+                enrollmentList.add(enrollmentDetails);
+            }
             returnList.add(student);
         }
         
-        //Adjust submissions for each evaluation within the course
-        List<EvaluationAttributes> evaluations = evaluationsLogic
-                .getEvaluationsForCourse(courseId);
+        studentsDb.createAndUpdateStudents(courseId, studentsToCreate, studentsToUpdate, hasDocument);
+        studentsAfterUpdate.addAll(studentsToCreate);
+        courseStatisticsLogic.updateCourseStatistics(courseId, studentsBeforeUpdate, studentsAfterUpdate);
         
-        for(EvaluationAttributes eval : evaluations) {
-            //Schedule adjustment of submissions for evaluation in course
-            scheduleSubmissionAdjustmentForEvaluationInCourse(enrollmentList,courseId,eval.name);
-        }
-        
-        //Adjust submissions for all feedback responses within the course
-        List<FeedbackSessionAttributes> feedbackSessions = FeedbackSessionsLogic.inst()
-                .getFeedbackSessionsForCourse(courseId);
-        
-        for (FeedbackSessionAttributes session : feedbackSessions) {
-            //Schedule adjustment of submissions for feedback session in course
-            scheduleSubmissionAdjustmentForFeedbackInCourse(enrollmentList,courseId,
-                    session.feedbackSessionName);
+        if (!enrollmentList.isEmpty()) {
+            scheduleSubmissionAdjustmentForCourse(enrollmentList, courseId);
         }
 
         // add to return list students not included in the enroll list.
-        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
+        Set<String> enrolledEmails = getLowerCaseEmails(studentList);
         for (StudentAttributes student : studentsInCourse) {
-            if (!isInEnrollList(student, returnList)) {
+            if (!enrolledEmails.contains(student.email.toLowerCase())) {
                 student.updateStatus = StudentAttributes.UpdateStatus.NOT_IN_ENROLL_LIST;
                 returnList.add(student);
             }
@@ -413,16 +431,17 @@ public class StudentsLogic {
     }
 
     public void validateSections(List<StudentAttributes> studentList, String courseId) throws EntityDoesNotExistException, EnrollException {
+        validateSections(studentList, getStudentsForCourse(courseId));
+    }
 
-        List<StudentAttributes> mergedList = new ArrayList<StudentAttributes>();
-        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
-        
-        for(StudentAttributes student : studentList) {
-            mergedList.add(student);
-        }
+    private void validateSections(List<StudentAttributes> studentList,
+            List<StudentAttributes> studentsInCourse) throws EnrollException {
+
+        List<StudentAttributes> mergedList = new ArrayList<StudentAttributes>(studentList);
+        Set<String> enrolledEmails = getLowerCaseEmails(studentList);
 
         for(StudentAttributes student : studentsInCourse) {
-            if(!isInEnrollList(student, mergedList)){
+            if(!enrolledEmails.contains(student.email.toLowerCase())){
                 mergedList.add(student);
             }
         }
@@ -508,38 +527,31 @@ public class StudentsLogic {
         return errorMessage;
     }
 
-    private void scheduleSubmissionAdjustmentForFeedbackInCourse(
-            ArrayList<StudentEnrollDetails> enrollmentList, String courseId, String sessionName) {
-        // private methods -- should I test this?
-        HashMap<String, String> paramMap = new HashMap<String, String>();
-        
-        paramMap.put(ParamsNames.COURSE_ID, courseId);
-        paramMap.put(ParamsNames.FEEDBACK_SESSION_NAME, sessionName);
-        
-        Gson gsonBuilder = Utils.getTeammatesGson();
-        String enrollmentDetails = gsonBuilder.toJson(enrollmentList);
-        paramMap.put(ParamsNames.ENROLLMENT_DETAILS, enrollmentDetails);
-        
-        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
-        taskQueueLogic.createAndAddTask(SystemParams.FEEDBACK_SUBMISSION_ADJUSTMENT_TASK_QUEUE,
-                Const.ActionURIs.FEEDBACK_SUBMISSION_ADJUSTMENT_WORKER, paramMap);
-        
-    }
-
-    private void scheduleSubmissionAdjustmentForEvaluationInCourse(
-            ArrayList<StudentEnrollDetails> enrollmentList, String courseId, String evalName) {
+    /**
+     * Schedules one task to adjust the submissions of all the evaluations of
+     * the course and one task to adjust the responses of all its feedback
+     * sessions. No session or evaluation name is given to the tasks, which
+     * makes them adjust every session or evaluation of the course.
+     */
+    private void scheduleSubmissionAdjustmentForCourse(
+            ArrayList<StudentEnrollDetails> enrollmentList, String courseId) {
         HashMap<String, String> paramMap = new HashMap<String, String>();
         
         paramMap.put(ParamsNames.COURSE_ID, courseId);
-        paramMap.put(ParamsNames.EVALUATION_NAME, evalName);
         
         Gson gsonBuilder = Utils.getTeammatesGson();
         String enrollmentDetails = gsonBuilder.toJson(enrollmentList);
         paramMap.put(ParamsNames.ENROLLMENT_DETAILS, enrollmentDetails);
         
         TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
-        taskQueueLogic.createAndAddTask(SystemParams.EVAL_SUBMISSION_ADJUSTMENT_TASK_QUEUE,
-                Const.ActionURIs.EVAL_SUBMISSION_ADJUSTMENT_WORKER, paramMap);
+        if (!evaluationsLogic.getEvaluationsForCourse(courseId).isEmpty()) {
+            taskQueueLogic.createAndAddTask(SystemParams.EVAL_SUBMISSION_ADJUSTMENT_TASK_QUEUE,
+                    Const.ActionURIs.EVAL_SUBMISSION_ADJUSTMENT_WORKER, paramMap);
+        }
+        if (!fsLogic.getFeedbackSessionsForCourse(courseId).isEmpty()) {
+            taskQueueLogic.createAndAddTask(SystemParams.FEEDBACK_SUBMISSION_ADJUSTMENT_TASK_QUEUE,
+                    Const.ActionURIs.FEEDBACK_SUBMISSION_ADJUSTMENT_WORKER, paramMap);
+        }
     }
 
     public MimeMessage sendRegistrationInviteToStudent(String courseId, String studentEmail) 
@@ -626,8 +638,13 @@ public class StudentsLogic {
         frLogic.deleteFeedbackResponsesForStudentAndCascade(courseId, studentEmail);
         SubmissionsLogic.inst().deleteAllSubmissionsForStudent(courseId, studentEmail);
         commentsLogic.deleteCommentsForStudent(courseId, studentEmail);
-        fsLogic.deleteStudentFromRespondantsList(getStudentForEmail(courseId, studentEmail));
+        StudentAttributes student = getStudentForEmail(courseId, studentEmail);
+        fsLogic.deleteStudentFromRespondantsList(student);
         studentsDb.deleteStudent(courseId, studentEmail, hasDocument);
+        if (student != null) {
+            courseStatisticsLogic.updateCourseStatistics(courseId, 
+                    Arrays.asList(student), new ArrayList<StudentAttributes>());
+        }
     }
 
     public void deleteStudentsForGoogleId(String googleId) {
@@ -636,6 +653,7 @@ public class StudentsLogic {
             fsLogic.deleteStudentFromRespondantsList(student);
         }
         studentsDb.deleteStudentsForGoogleId(googleId);
+        updateCourseStatisticsForDeletedStudents(students);
     }
 
     public void deleteStudentsForGoogleIdWithoutDocument(String googleId) {
@@ -644,6 +662,7 @@ public class StudentsLogic {
             fsLogic.deleteStudentFromRespondantsList(student);
         }
         studentsDb.deleteStudentsForGoogleIdWithoutDocument(googleId);
+        updateCourseStatisticsForDeletedStudents(students);
     }
     
     public void deleteStudentsForGoogleIdAndCascade(String googleId) {
@@ -657,10 +676,30 @@ public class StudentsLogic {
 
     public void deleteStudentsForCourse(String courseId) {
         studentsDb.deleteStudentsForCourse(courseId);
+        courseStatisticsLogic.deleteCourseStatistics(courseId);
     }
 
     public void deleteStudentsForCourseWithoutDocument(String courseId) {
         studentsDb.deleteStudentsForCourseWithoutDocument(courseId);
+        courseStatisticsLogic.deleteCourseStatistics(courseId);
+    }
+    
+    private void updateCourseStatisticsForChangedStudent(StudentAttributes originalStudent, 
+            StudentAttributes updatedStudent) {
+        boolean isCountedDifferently = isTeamChanged(originalStudent.team, updatedStudent.team)
+                || isSectionChanged(originalStudent.section, updatedStudent.section)
+                || originalStudent.isRegistered() != updatedStudent.isRegistered();
+        if (isCountedDifferently) {
+            courseStatisticsLogic.updateCourseStatistics(updatedStudent.course, 
+                    Arrays.asList(originalStudent), Arrays.asList(updatedStudent));
+        }
+    }
+    
+    private void updateCourseStatisticsForDeletedStudents(List<StudentAttributes> students) {
+        for (StudentAttributes student : students) {
+            courseStatisticsLogic.updateCourseStatistics(student.course, 
+                    Arrays.asList(student), new ArrayList<StudentAttributes>());
+        }
     }
     
     public void adjustSubmissionsForEnrollments(
@@ -680,32 +719,22 @@ public class StudentsLogic {
         }
     }
     
-    public void adjustFeedbackResponseForEnrollments(
-            ArrayList<StudentEnrollDetails> enrollmentList,
-            FeedbackResponseAttributes response) throws InvalidParametersException, EntityDoesNotExistException {
-        for(StudentEnrollDetails enrollment : enrollmentList) {
-            boolean isResponseDeleted = false;
-            if(enrollment.updateStatus == UpdateStatus.MODIFIED &&
-                    isTeamChanged(enrollment.oldTeam, enrollment.newTeam)) {
-                isResponseDeleted = frLogic.updateFeedbackResponseForChangingTeam(enrollment, response);
-            }
-        
-            if(!isResponseDeleted && enrollment.updateStatus == UpdateStatus.MODIFIED &&
-                    isSectionChanged(enrollment.oldSection, enrollment.newSection)){
-                frLogic.updateFeedbackResponseForChangingSection(enrollment, response);
-            }
-        }
-    }
-    
     public void putDocument(StudentAttributes student){
         studentsDb.putDocument(student);
     }
     
-    private StudentEnrollDetails enrollStudent(StudentAttributes validStudentAttributes, Boolean hasDocument) 
-            throws InvalidParametersException, EntityDoesNotExistException, EntityAlreadyExistsException {
-        StudentAttributes originalStudentAttributes = getStudentForEmail(
-                validStudentAttributes.course, validStudentAttributes.email);
-        
+    public void putDocumentsForCourse(String courseId){
+        studentsDb.putDocuments(studentsDb.getStudentsForCourse(courseId));
+    }
+    
+    /**
+     * Also fills in the fields of {@code validStudentAttributes} that the
+     * enroll line leaves out from {@code originalStudentAttributes}.
+     * @param originalStudentAttributes the existing student with the same
+     *        email, or null if there is none.
+     */
+    private StudentEnrollDetails getEnrollmentDetails(StudentAttributes validStudentAttributes,
+            StudentAttributes originalStudentAttributes) {
         StudentEnrollDetails enrollmentDetails = new StudentEnrollDetails();
         enrollmentDetails.course = validStudentAttributes.course;
         enrollmentDetails.email = validStudentAttributes.email;
@@ -715,7 +744,7 @@ public class StudentsLogic {
         if (validStudentAttributes.isEnrollInfoSameAs(originalStudentAttributes)) {
             enrollmentDetails.updateStatus = UpdateStatus.UNMODIFIED;
         } else if (originalStudentAttributes != null) {
-            updateStudentCascadeWithSubmissionAdjustmentScheduled(originalStudentAttributes.email, validStudentAttributes, true);
+            validStudentAttributes.updateWithExistingRecord(originalStudentAttributes);
             enrollmentDetails.updateStatus = UpdateStatus.MODIFIED;
             
             if(!originalStudentAttributes.team.equals(validStudentAttributes.team)) {
@@ -725,7 +754,6 @@ public class StudentsLogic {
                 enrollmentDetails.oldSection = originalStudentAttributes.section;
             }
         } else {
-            createStudentCascadeWithSubmissionAdjustmentScheduled(validStudentAttributes, hasDocument);
             enrollmentDetails.updateStatus = UpdateStatus.NEW;
         }
 
@@ -785,14 +813,12 @@ public class StudentsLogic {
         return isEmailDuplicated;
     }
     
-    private boolean isInEnrollList(StudentAttributes student,
-            List<StudentAttributes> studentInfoList) {
-        for (StudentAttributes studentInfo : studentInfoList) {
-            if (studentInfo.email.equalsIgnoreCase(student.email)) {
-                return true;
-            }
+    private Set<String> getLowerCaseEmails(List<StudentAttributes> students) {
+        Set<String> emails = new HashSet<String>();
+        for (StudentAttributes student : students) {
+            emails.add(student.email.toLowerCase());
         }
-        return false;
+        return emails;
     }
     
     private boolean isTeamChanged(String originalTeam, String newTeam) {
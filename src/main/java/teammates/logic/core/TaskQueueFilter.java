@@ -0,0 +1,46 @@
+package teammates.logic.core;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+/**
+ * Servlet Filter that collects the tasks added during a request, and adds
+ * them to their queues together at the end of the request.
+ * See {@link TaskQueuesLogic}.
+ */
+public final class TaskQueueFilter implements javax.servlet.Filter {
+
+    @Override
+    public void init(FilterConfig config) {
+    }
+
+    public void doFilter(ServletRequest request, ServletResponse response,
+            FilterChain chain) throws IOException, ServletException {
+        TaskQueuesLogic.startBuffering();
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException | Error e) {
+            // Tasks added before a failure are still added, as they would be
+            // without the buffer, but the failure of the request is the one reported.
+            try {
+                TaskQueuesLogic.flushBufferedTasks();
+            } catch (RuntimeException flushFailure) {
+                // already logged by flushBufferedTasks
+            }
+            throw e;
+        }
+        // ControllerServlet and WorkerServlet flush before sending their response,
+        // so that a failed flush fails the request. This flushes for the other
+        // servlets (e.g. cron jobs), whose response is not sent before they return.
+        TaskQueuesLogic.flushBufferedTasks();
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
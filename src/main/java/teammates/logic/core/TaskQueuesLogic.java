@@ -1,17 +1,39 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.Utils;
 
 import com.google.appengine.api.taskqueue.Queue;
+import com.google.appengine.api.taskqueue.QueueConstants;
 import com.google.appengine.api.taskqueue.QueueFactory;
 import com.google.appengine.api.taskqueue.TaskOptions;
 
 /**
- * Handles  operations related to Task Queues.
+ * Handles  operations related to Task Queues. <br>
+ * Between {@link #startBuffering()} and {@link #flushBufferedTasks()} (called
+ * by {@link TaskQueueFilter} around every request, or earlier by the servlet),
+ * tasks are not added right away but collected, and added together at the end
+ * of the request. Adding the
+ * same task (same queue, worker URL, countdown and parameters) more than once
+ * in a request then only adds it once. Outside a request (e.g. in tests) tasks are
+ * added right away.
  */
 public class TaskQueuesLogic {
 
+    private static Logger log = Utils.getLogger();
+
+    /** Tasks to add at the end of the current request, by queue and then by their content. */
+    private static final ThreadLocal<Map<String, LinkedHashMap<String, TaskOptions>>> PER_THREAD_TASKS =
+            new ThreadLocal<Map<String, LinkedHashMap<String, TaskOptions>>>();
+
     private static TaskQueuesLogic instance = null;
     public static TaskQueuesLogic inst() {
         if (instance == null){
@@ -20,9 +42,53 @@ public class TaskQueuesLogic {
         return instance;
     }
     
+    public static void startBuffering() {
+        PER_THREAD_TASKS.set(new LinkedHashMap<String, LinkedHashMap<String, TaskOptions>>());
+    }
+    
+    public static boolean isBuffering() {
+        return PER_THREAD_TASKS.get() != null;
+    }
+    
+    /**
+     * Adds the tasks collected since {@link #startBuffering()} to their queues,
+     * as few calls to the task queue as possible, and stops collecting tasks.
+     * A batch that fails to be added is logged and the remaining batches and
+     * queues are still added, then the first failure is thrown, so this should
+     * be called before the response of the request is sent.
+     */
+    public static void flushBufferedTasks() {
+        Map<String, LinkedHashMap<String, TaskOptions>> tasksByQueue = PER_THREAD_TASKS.get();
+        PER_THREAD_TASKS.remove();
+        if (tasksByQueue == null) {
+            return;
+        }
+        
+        RuntimeException firstFailure = null;
+        for (Map.Entry<String, LinkedHashMap<String, TaskOptions>> entry : tasksByQueue.entrySet()) {
+            String queueName = entry.getKey();
+            List<TaskOptions> tasks = new ArrayList<TaskOptions>(entry.getValue().values());
+            int batchSize = QueueConstants.maxTasksPerAdd();
+            for (int i = 0; i < tasks.size(); i += batchSize) {
+                List<TaskOptions> batch = tasks.subList(i, Math.min(i + batchSize, tasks.size()));
+                try {
+                    QueueFactory.getQueue(queueName).add(batch);
+                } catch (RuntimeException e) {
+                    log.severe("Error when adding " + batch.size() + " tasks to task queue " + queueName
+                               + ": " + TeammatesException.toStringWithStackTrace(e));
+                    if (firstFailure == null) {
+                        firstFailure = e;
+                    }
+                }
+            }
+        }
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+    }
+    
     public void createAndAddTask(String queueName, 
             String workerUrl, HashMap<String, String> paramMap) {
-        Queue requiredQueue = QueueFactory.getQueue(queueName);
         TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(workerUrl);
         
         for(Map.Entry<String, String> entry : paramMap.entrySet()) {
@@ -32,13 +98,12 @@ public class TaskQueuesLogic {
             taskToBeAdded = taskToBeAdded.param(name, value);
         }
         
-        requiredQueue.add(taskToBeAdded);
+        addTask(queueName, taskToBeAdded, workerUrl, paramMap, 0);
     }
     
-    // TODO Combine this and createAndAddTask and modify task schedulers accordingly?
+    
     public void createAndAddTaskMultisetParam(String queueName, 
             String workerUrl, HashMap<String, String[]> paramMap) {
-        Queue requiredQueue = QueueFactory.getQueue(queueName);
         TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(workerUrl);
         
         for(Map.Entry<String, String[]> entry : paramMap.entrySet()) {
@@ -50,12 +115,11 @@ public class TaskQueuesLogic {
             }
         }
         
-        requiredQueue.add(taskToBeAdded);
+        addTask(queueName, taskToBeAdded, workerUrl, paramMap, 0);
     }
     
     public void createAndAddDeferredTask(String queueName, 
             String workerUrl, HashMap<String, String> paramMap, long countdownTime) {
-        Queue requiredQueue = QueueFactory.getQueue(queueName);
         TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(workerUrl);
         taskToBeAdded.countdownMillis(countdownTime);
         
@@ -66,6 +130,54 @@ public class TaskQueuesLogic {
             taskToBeAdded = taskToBeAdded.param(name, value);
         }
         
-        requiredQueue.add(taskToBeAdded);
+        addTask(queueName, taskToBeAdded, workerUrl, paramMap, countdownTime);
+    }
+    
+    private void addTask(String queueName, TaskOptions task, String workerUrl, Map<String, ?> paramMap,
+            long countdownTime) {
+        Map<String, LinkedHashMap<String, TaskOptions>> tasksByQueue = PER_THREAD_TASKS.get();
+        if (tasksByQueue == null) {
+            QueueFactory.getQueue(queueName).add(task);
+            return;
+        }
+        
+        LinkedHashMap<String, TaskOptions> tasks = tasksByQueue.get(queueName);
+        if (tasks == null) {
+            tasks = new LinkedHashMap<String, TaskOptions>();
+            tasksByQueue.put(queueName, tasks);
+        }
+        String content = getTaskContent(workerUrl, paramMap, countdownTime);
+        if (!tasks.containsKey(content)) {
+            tasks.put(content, task);
+        }
+    }
+    
+    /**
+     * @return a string that is the same for two tasks exactly when they have
+     *         the same worker URL, countdown and parameters, in any order.
+     */
+    private String getTaskContent(String workerUrl, Map<String, ?> paramMap, long countdownTime) {
+        StringBuilder content = new StringBuilder();
+        content.append(countdownTime).append('|');
+        appendPart(content, workerUrl);
+        for (Map.Entry<String, ?> entry : new TreeMap<String, Object>(paramMap).entrySet()) {
+            appendPart(content, entry.getKey());
+            Object value = entry.getValue();
+            if (value instanceof String[]) {
+                String[] values = (String[]) value;
+                content.append(values.length).append('#');
+                for (String v : values) {
+                    appendPart(content, v);
+                }
+            } else {
+                appendPart(content, (String) value);
+            }
+        }
+        return content.toString();
+    }
+    
+    private void appendPart(StringBuilder content, String part) {
+        // the length prefix keeps ("a|b", "c") and ("a", "b|c") apart
+        content.append(part == null ? -1 : part.length()).append('|').append(part).append('|');
     }
 }
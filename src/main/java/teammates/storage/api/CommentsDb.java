@@ -219,6 +219,21 @@ public class CommentsDb extends EntitiesDb{
         return commentAttributesList;
     }
     
+    /*
+     * Count comments in the sending state (SENT|SENDING|PENDING) without loading them
+     */
+    public int getNumberOfCommentsForSendingState(String courseId, CommentSendingState state){
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, state);
+        
+        Query q = getPM().newQuery(Comment.class);
+        q.declareParameters("String courseIdParam, String sendingStateParam");
+        q.setFilter("courseId == courseIdParam && sendingState == sendingStateParam");
+        q.setResult("count(this)");
+        
+        return ((Number) q.execute(courseId, state.toString())).intValue();
+    }
+    
     /*
      * Get comments for a course
      */
@@ -464,6 +479,14 @@ public class CommentsDb extends EntitiesDb{
         putDocument(Const.SearchIndex.COMMENT, new CommentSearchDocument(comment));
     }
     
+    public void putDocuments(List<CommentAttributes> comments){
+        List<CommentSearchDocument> documents = new ArrayList<CommentSearchDocument>();
+        for (CommentAttributes comment : comments) {
+            documents.add(new CommentSearchDocument(comment));
+        }
+        putDocuments(Const.SearchIndex.COMMENT, documents);
+    }
+    
     /**
      * Search for comments
      * @return {@link CommentSearchResultBundle}
@@ -0,0 +1,214 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.logging.Logger;
+
+import javax.jdo.JDOException;
+import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.Transaction;
+
+import teammates.common.datatransfer.CourseStatisticsAttributes;
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.Utils;
+import teammates.storage.entity.CourseStatistics;
+
+/**
+ * Handles CRUD Operations for course statistics entities.
+ * The API uses data transfer classes (i.e. *Attributes) instead of presistable classes.
+ */
+public class CourseStatisticsDb extends EntitiesDb {
+    
+    private static final Logger log = Utils.getLogger();
+    
+    /* how many times an update that conflicts with a concurrent update is tried */
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null. 
+     * @return Null if not found, e.g. for a course created before statistics
+     *         were kept.
+     */
+    public CourseStatisticsAttributes getCourseStatistics(String courseId) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        CourseStatistics courseStatistics = getCourseStatisticsEntity(courseId);
+        
+        if (courseStatistics == null) {
+            return null;
+        }
+        
+        return new CourseStatisticsAttributes(courseStatistics);
+    }
+    
+    /**
+     * Creates the statistics of the course, or replaces them if they already exist. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null. 
+     */
+    public void putCourseStatistics(CourseStatisticsAttributes courseStatistics) 
+            throws InvalidParametersException {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseStatistics);
+        
+        courseStatistics.sanitizeForSaving();
+        
+        if (!courseStatistics.isValid()) {
+            throw new InvalidParametersException(courseStatistics.getInvalidityInfo());
+        }
+        
+        CourseStatistics entityToUpdate = getCourseStatisticsEntity(courseStatistics.courseId);
+        
+        if (entityToUpdate == null) {
+            createEntityWithoutExistenceCheck(courseStatistics);
+            return;
+        }
+        
+        setValues(entityToUpdate, courseStatistics);
+        
+        log.info(courseStatistics.getBackupIdentifier());
+        getPM().close();
+    }
+    
+    /**
+     * Updates the statistics of the course after students were changed, 
+     * reading and writing them in one transaction so that concurrent updates 
+     * are not lost. An update that conflicts with a concurrent one is tried again. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null. 
+     * @return false if there are no statistics for the course, in which case
+     *         nothing is updated.
+     */
+    public boolean updateCourseStatistics(String courseId, List<StudentAttributes> studentsRemoved,
+            List<StudentAttributes> studentsAdded) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, studentsRemoved);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, studentsAdded);
+        
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return updateCourseStatisticsInTransaction(courseId, studentsRemoved, studentsAdded);
+            } catch (ConcurrentModificationException e) {
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+            } catch (JDOException e) {
+                if (attempt >= MAX_UPDATE_ATTEMPTS || !isCausedByConcurrentModification(e)) {
+                    throw e;
+                }
+            }
+            log.info("Retrying the update of the statistics of course " + courseId 
+                     + " after a concurrent update");
+        }
+    }
+    
+    /**
+     * Fails silently if there are no statistics for the course. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null. 
+     */
+    public void deleteCourseStatistics(String courseId) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        CourseStatisticsAttributes entityToDelete = new CourseStatisticsAttributes(
+                courseId, new ArrayList<StudentAttributes>());
+        deleteEntity(entityToDelete);
+    }
+    
+    /**
+     * Fails silently for courses without statistics. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null. 
+     */
+    public void deleteCourseStatisticsForCourses(List<String> courseIds) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+        
+        List<CourseStatisticsAttributes> entitiesToDelete = new ArrayList<CourseStatisticsAttributes>();
+        for (String courseId : courseIds) {
+            entitiesToDelete.add(new CourseStatisticsAttributes(
+                    courseId, new ArrayList<StudentAttributes>()));
+        }
+        deleteEntities(entitiesToDelete);
+    }
+    
+    private boolean updateCourseStatisticsInTransaction(String courseId, 
+            List<StudentAttributes> studentsRemoved, List<StudentAttributes> studentsAdded) {
+        
+        Transaction tx = getPM().currentTransaction();
+        tx.begin();
+        try {
+            CourseStatistics entityToUpdate = getCourseStatisticsEntity(courseId);
+            if (entityToUpdate == null) {
+                return false;
+            }
+            // reads the entity in the transaction, rather than the copy this
+            // PersistenceManager may have read before it
+            getPM().refresh(entityToUpdate);
+            
+            CourseStatisticsAttributes courseStatistics = new CourseStatisticsAttributes(entityToUpdate);
+            for (StudentAttributes student : studentsRemoved) {
+                courseStatistics.removeStudent(student);
+            }
+            for (StudentAttributes student : studentsAdded) {
+                courseStatistics.addStudent(student);
+            }
+            setValues(entityToUpdate, courseStatistics);
+            
+            tx.commit();
+            log.info(courseStatistics.getBackupIdentifier());
+            return true;
+        } finally {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+        }
+    }
+    
+    private boolean isCausedByConcurrentModification(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConcurrentModificationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void setValues(CourseStatistics entityToUpdate, CourseStatisticsAttributes courseStatistics) {
+        CourseStatistics newValues = courseStatistics.toEntity();
+        entityToUpdate.setStudentsTotal(newValues.getStudentsTotal());
+        entityToUpdate.setUnregisteredTotal(newValues.getUnregisteredTotal());
+        entityToUpdate.setTeamsTotal(newValues.getTeamsTotal());
+        entityToUpdate.setSectionsTotal(newValues.getSectionsTotal());
+        entityToUpdate.setTeamSizes(newValues.getTeamSizes());
+        entityToUpdate.setRecomputedAt(newValues.getRecomputedAt());
+    }
+    
+    @Override
+    protected Object getEntity(EntityAttributes attributes) {
+        
+        return getCourseStatisticsEntity(((CourseStatisticsAttributes) attributes).courseId);
+    }
+    
+    private CourseStatistics getCourseStatisticsEntity(String courseId) {
+        
+        try {
+            CourseStatistics courseStatistics = getPM().getObjectById(CourseStatistics.class, courseId);
+            return JDOHelper.isDeleted(courseStatistics) ? null : courseStatistics;
+        } catch (JDOObjectNotFoundException je) {
+            return null;
+        } catch (IllegalArgumentException iae) {
+            return null;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.logging.Logger;
 
 import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
 import javax.jdo.Query;
 
 import teammates.common.datatransfer.CourseAttributes;
@@ -15,6 +16,7 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Utils;
+import teammates.storage.datastore.RequestCache;
 import teammates.storage.entity.Course;
 
 /**
@@ -30,6 +32,9 @@ public class CoursesDb extends EntitiesDb {
 
     public static final String ERROR_UPDATE_NON_EXISTENT_COURSE = "Trying to update a Course that doesn't exist: ";
     
+    /** Same as {@link CourseAttributes#getEntityTypeAsString()} */
+    private static final String CACHE_KIND = "Course";
+    
     @SuppressWarnings("unused")
     private static final Logger log = Utils.getLogger();
     
@@ -57,13 +62,20 @@ public class CoursesDb extends EntitiesDb {
         
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
+        CourseAttributes cachedCourse = RequestCache.get(CACHE_KIND, courseId);
+        if (cachedCourse != null) {
+            return new CourseAttributes(cachedCourse);
+        }
+        
         Course c = getCourseEntity(courseId);
 
         if (c == null) {
             return null;
         }
 
-        return new CourseAttributes(c);
+        CourseAttributes course = new CourseAttributes(c);
+        RequestCache.put(CACHE_KIND, courseId, course);
+        return new CourseAttributes(course);
     }
     
     
@@ -111,6 +123,7 @@ public class CoursesDb extends EntitiesDb {
         }
         
         courseEntityToUpdate.setArchiveStatus(Boolean.valueOf(courseToUpdate.isArchived));
+        RequestCache.invalidate(CACHE_KIND);
         
         log.info(courseToUpdate.getBackupIdentifier());
         getPM().close();
@@ -142,17 +155,15 @@ public class CoursesDb extends EntitiesDb {
 
     private Course getCourseEntity(String courseId) {
         
-        Query q = getPM().newQuery(Course.class);
-        q.declareParameters("String courseIdParam");
-        q.setFilter("ID == courseIdParam");
-        
-        @SuppressWarnings("unchecked")
-        List<Course> courseList = (List<Course>) q.execute(courseId);
-        
-        if (courseList.isEmpty() || JDOHelper.isDeleted(courseList.get(0))) {
+        // Looked up by key rather than queried, so that a course is found
+        // as soon as it has been created.
+        try {
+            Course course = getPM().getObjectById(Course.class, courseId);
+            return JDOHelper.isDeleted(course) ? null : course;
+        } catch (JDOObjectNotFoundException je) {
+            return null;
+        } catch (IllegalArgumentException iae) {
             return null;
         }
-    
-        return courseList.get(0);
     }
 }
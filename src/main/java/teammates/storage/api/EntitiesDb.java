@@ -2,11 +2,17 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import javax.jdo.PersistenceManager;
 
+import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
 import com.google.appengine.api.search.SearchQueryException;
@@ -14,15 +20,16 @@ import com.google.appengine.api.blobstore.BlobKey;
 import com.google.appengine.api.blobstore.BlobstoreFailureException;
 import com.google.appengine.api.blobstore.BlobstoreServiceFactory;
 
+import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
-import teammates.common.util.Config;
 import teammates.common.util.Const;
-import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
 import teammates.storage.datastore.Datastore;
+import teammates.storage.datastore.RequestCache;
+import teammates.storage.datastore.SharedCache;
 import teammates.storage.search.SearchDocument;
 import teammates.storage.search.SearchManager;
 import teammates.storage.search.SearchQuery;
@@ -44,6 +51,9 @@ public abstract class EntitiesDb {
     private static final Logger log = Utils.getLogger();
     
     /**
+     * The new entity can be read back in the same request without waiting
+     * for the datastore: subclasses look up entities by key where the key is
+     * known, which is strongly consistent. <br>
      * Preconditions: 
      * <br> * {@code entityToAdd} is not null and has valid data.
      */
@@ -71,27 +81,9 @@ public abstract class EntitiesDb {
         Object entity = entityToAdd.toEntity();
         getPM().makePersistent(entity);
         getPM().flush();
+        RequestCache.invalidate(entityToAdd.getEntityTypeAsString());
+        invalidateSharedCache(entityToAdd);
 
-        // Wait for the operation to persist
-        int elapsedTime = 0;
-        Object createdEntity = getEntity(entityToAdd);
-        if(Config.PERSISTENCE_CHECK_DURATION > 0){
-            while ((createdEntity == null)
-                    && (elapsedTime < Config.PERSISTENCE_CHECK_DURATION)) {
-                ThreadHelper.waitBriefly();
-                createdEntity = getEntity(entityToAdd);
-                //check before incrementing to avoid boundary case problem
-                if (createdEntity == null) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                log.severe("Operation did not persist in time: create"
-                        + entityToAdd.getEntityTypeAsString() + "->"
-                        + entityToAdd.getIdentificationString());
-            }
-        }
-        
         log.info(entityToAdd.getBackupIdentifier());
         
         return entity;
@@ -123,6 +115,10 @@ public abstract class EntitiesDb {
        
         getPM().makePersistentAll(entities);
         getPM().flush();
+        for(EntityAttributes entityAdded : entitiesToAdd){
+            RequestCache.invalidate(entityAdded.getEntityTypeAsString());
+        }
+        invalidateSharedCache(entitiesToAdd);
  
         return entitiesToUpdate;
 
@@ -134,8 +130,9 @@ public abstract class EntitiesDb {
      * adding of the new entity to fail due to EntityAlreadyExists exception
      * Preconditions: 
      * <br> * {@code entityToAdd} is not null and has valid data.
+     * @return the entity written
      */
-    public void createEntityWithoutExistenceCheck(EntityAttributes entityToAdd) 
+    public Object createEntityWithoutExistenceCheck(EntityAttributes entityToAdd) 
             throws InvalidParametersException {
         
         Assumption.assertNotNull(
@@ -150,27 +147,44 @@ public abstract class EntitiesDb {
         Object entity = entityToAdd.toEntity();
         getPM().makePersistent(entity);
         getPM().flush();
+        RequestCache.invalidate(entityToAdd.getEntityTypeAsString());
+        invalidateSharedCache(entityToAdd);
 
-        // Wait for the operation to persist
-        if(Config.PERSISTENCE_CHECK_DURATION > 0){
-            int elapsedTime = 0;
-            Object entityCheck = getEntity(entityToAdd);
-            while ((entityCheck == null)
-                    && (elapsedTime < Config.PERSISTENCE_CHECK_DURATION)) {
-                ThreadHelper.waitBriefly();
-                entityCheck = getEntity(entityToAdd);
-                //check before incrementing to avoid boundary case problem
-                if (entityCheck == null) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                log.severe("Operation did not persist in time: create"
-                        + entityToAdd.getEntityTypeAsString() + "->"
-                        + entityToAdd.getIdentificationString());
+        log.info(entityToAdd.getBackupIdentifier());
+        
+        return entity;
+    }
+    
+    /**
+     * Creates the entities with one batch write, e.g. to generate large amounts of data. <br>
+     * Warning: Existing entities with the same keys are overwritten, as there is no check
+     * for existing entities.
+     * Preconditions: 
+     * <br> * {@code entitiesToAdd} is not null and has valid data.
+     */
+    public void createEntitiesWithoutExistenceCheck(Collection<? extends EntityAttributes> entitiesToAdd) 
+            throws InvalidParametersException {
+        
+        Assumption.assertNotNull(
+                Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesToAdd);
+        
+        List<Object> entities = new ArrayList<Object>();
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            entityToAdd.sanitizeForSaving();
+            
+            if (!entityToAdd.isValid()) {
+                throw new InvalidParametersException(entityToAdd.getInvalidityInfo());
             }
+            
+            entities.add(entityToAdd.toEntity());
         }
-        log.info(entityToAdd.getBackupIdentifier());
+        
+        getPM().makePersistentAll(entities);
+        getPM().flush();
+        for (EntityAttributes entityAdded : entitiesToAdd) {
+            RequestCache.invalidate(entityAdded.getEntityTypeAsString());
+        }
+        invalidateSharedCache(entitiesToAdd);
     }
     
     // TODO: use this method for subclasses.
@@ -191,26 +205,9 @@ public abstract class EntitiesDb {
 
         getPM().deletePersistent(entity);
         getPM().flush();
+        RequestCache.invalidate(entityToDelete.getEntityTypeAsString());
+        invalidateSharedCache(entityToDelete);
         
-        // wait for the operation to persist
-        if(Config.PERSISTENCE_CHECK_DURATION > 0){
-            int elapsedTime = 0;
-            Object entityCheck = getEntity(entityToDelete);
-            while ((entityCheck != null)
-                    && (elapsedTime < Config.PERSISTENCE_CHECK_DURATION)) {
-                ThreadHelper.waitBriefly();
-                entityCheck = getEntity(entityToDelete);
-                //check before incrementing to avoid boundary case problem
-                if (entityCheck == null) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                log.severe("Operation did not persist in time: delete"
-                        + entityToDelete.getEntityTypeAsString() + "->"
-                        + entityToDelete.getIdentificationString());
-            }
-        }
         log.info(entityToDelete.getBackupIdentifier());
     }
     
@@ -228,6 +225,10 @@ public abstract class EntitiesDb {
         
         getPM().deletePersistentAll(entities);
         getPM().flush();
+        for(EntityAttributes entityToDelete : entitiesToDelete){
+            RequestCache.invalidate(entityToDelete.getEntityTypeAsString());
+        }
+        invalidateSharedCache(entitiesToDelete);
     }
     
     public void commitOutstandingChanges() {
@@ -265,6 +266,35 @@ public abstract class EntitiesDb {
      */
     protected abstract Object getEntity(EntityAttributes attributes) ;
     
+    /**
+     * Subclasses that keep what they read in the {@link SharedCache} override
+     * this to tell which part of the cache a write of {@code attributes} makes
+     * out of date.
+     * @return the {@link SharedCache} scope (usually the course ID) of the
+     *         entity, or null if entities of this kind are not cached.
+     */
+    protected String getSharedCacheScope(EntityAttributes attributes) {
+        return null;
+    }
+    
+    /**
+     * Invalidates the {@link SharedCache} scope of each of the given entities,
+     * once per scope. Call this after the changes have been written.
+     */
+    protected void invalidateSharedCache(Collection<? extends EntityAttributes> changedEntities) {
+        Set<String> invalidatedScopes = new HashSet<String>();
+        for (EntityAttributes changedEntity : changedEntities) {
+            String scope = getSharedCacheScope(changedEntity);
+            if (scope != null && invalidatedScopes.add(scope)) {
+                SharedCache.invalidate(changedEntity.getEntityTypeAsString(), scope);
+            }
+        }
+    }
+    
+    protected void invalidateSharedCache(EntityAttributes changedEntity) {
+        invalidateSharedCache(Collections.singletonList(changedEntity));
+    }
+    
     protected PersistenceManager getPM() {
         return Datastore.getPersistenceManager();
     }
@@ -278,6 +308,28 @@ public abstract class EntitiesDb {
         }
     }
     
+    /**
+     * Builds the documents, reading each course they need only once, and puts
+     * them in batches. Documents that cannot be built are left out.
+     */
+    protected void putDocuments(String indexName, List<? extends SearchDocument> documents){
+        Map<String, CourseAttributes> courses = new HashMap<String, CourseAttributes>();
+        List<Document> builtDocuments = new ArrayList<Document>();
+        for (SearchDocument document : documents) {
+            try {
+                builtDocuments.add(document.build(courses));
+            } catch (Exception e) {
+                log.info("Failed to build searchable document in " + indexName + " for " + document.toString());
+            }
+        }
+        
+        try {
+            SearchManager.putDocuments(indexName, builtDocuments);
+        } catch (Exception e) {
+            log.info("Failed to put " + builtDocuments.size() + " searchable documents in " + indexName);
+        }
+    }
+    
     protected void getDocument(String indexName, String documentId) {
         SearchManager.getDocument(indexName, documentId);
     }
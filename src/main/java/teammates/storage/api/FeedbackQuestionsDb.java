@@ -2,10 +2,14 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Logger;
 
+import javax.jdo.JDOFatalUserException;
 import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
 import javax.jdo.Query;
 
 import teammates.common.datatransfer.EntityAttributes;
@@ -16,6 +20,8 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Utils;
+import teammates.storage.datastore.RequestCache;
+import teammates.storage.datastore.SharedCache;
 import teammates.storage.entity.FeedbackQuestion;
 
 public class FeedbackQuestionsDb extends EntitiesDb {
@@ -23,10 +29,47 @@ public class FeedbackQuestionsDb extends EntitiesDb {
     public static final String ERROR_UPDATE_NON_EXISTENT = "Trying to update non-existent Feedback Question : ";
     private static final Logger log = Utils.getLogger();
     
+    /** Same as {@link FeedbackQuestionAttributes#getEntityTypeAsString()} */
+    private static final String CACHE_KIND = "Feedback Question";
+    
+    /**
+     * Kind under which the keys of the questions created in the current request
+     * are remembered, by session. Not invalidated by writes, unlike {@link #CACHE_KIND}.
+     */
+    private static final String CREATED_CACHE_KIND = "Feedback Question.created";
+    
+    /**
+     * Creates the questions that do not exist yet with one batch write, and
+     * updates the others. Also remembers the keys of the new questions for the
+     * rest of the request, see {@link #createEntityWithoutExistenceCheck}.
+     */
     public void createFeedbackQuestions(Collection<FeedbackQuestionAttributes> questionsToAdd) throws InvalidParametersException{
-        List<EntityAttributes> questionsToUpdate = createEntities(questionsToAdd);
-        for(EntityAttributes entity : questionsToUpdate){
-            FeedbackQuestionAttributes question = (FeedbackQuestionAttributes) entity;
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, questionsToAdd);
+        
+        List<FeedbackQuestionAttributes> questionsToUpdate = new ArrayList<FeedbackQuestionAttributes>();
+        List<FeedbackQuestion> createdQuestions = new ArrayList<FeedbackQuestion>();
+        for (FeedbackQuestionAttributes questionToAdd : questionsToAdd) {
+            questionToAdd.sanitizeForSaving();
+            if (!questionToAdd.isValid()) {
+                throw new InvalidParametersException(questionToAdd.getInvalidityInfo());
+            }
+            if (getEntity(questionToAdd) != null) {
+                questionsToUpdate.add(questionToAdd);
+            } else {
+                createdQuestions.add(questionToAdd.toEntity());
+            }
+            log.info(questionToAdd.getBackupIdentifier());
+        }
+        
+        getPM().makePersistentAll(createdQuestions);
+        getPM().flush();
+        for (FeedbackQuestion question : createdQuestions) {
+            rememberCreatedQuestion(question);
+        }
+        RequestCache.invalidate(CACHE_KIND);
+        invalidateSharedCache(questionsToAdd);
+        
+        for (FeedbackQuestionAttributes question : questionsToUpdate) {
             try {
                 updateFeedbackQuestion(question);
             } catch (EntityDoesNotExistException e) {
@@ -37,6 +80,21 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         }
     }
     
+    /**
+     * Also remembers the key of the new question for the rest of the request.
+     * Questions have generated keys, so they are found by querying, and a query
+     * may not see a question created moments ago; the remembered key lets the
+     * lookups by session and by question number find the question anyway,
+     * e.g. so that the next question created in the session gets the next number.
+     */
+    @Override
+    public Object createEntityWithoutExistenceCheck(EntityAttributes entityToAdd)
+            throws InvalidParametersException {
+        FeedbackQuestion question = (FeedbackQuestion) super.createEntityWithoutExistenceCheck(entityToAdd);
+        rememberCreatedQuestion(question);
+        return question;
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null. 
@@ -91,13 +149,20 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
+        String cacheKey = SharedCache.makeKey(CACHE_KIND, courseId, "questionsForSession|" + feedbackSessionName);
+        ArrayList<FeedbackQuestionAttributes> cachedQuestions = SharedCache.get(cacheKey);
+        if (cachedQuestions != null) {
+            return cachedQuestions;
+        }
+        
         List<FeedbackQuestion> questions = getFeedbackQuestionEntitiesForSession(
                 feedbackSessionName, courseId);
-        List<FeedbackQuestionAttributes> fqList = new ArrayList<FeedbackQuestionAttributes>();
+        ArrayList<FeedbackQuestionAttributes> fqList = new ArrayList<FeedbackQuestionAttributes>();
 
         for (FeedbackQuestion question : questions) {
             fqList.add(new FeedbackQuestionAttributes(question));
         }
+        SharedCache.put(cacheKey, fqList);
         return fqList;
     }
     
@@ -123,6 +188,35 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         return fqList;
     }
     
+    /**
+     * Checks for questions with a keys-only query, without loading any of them.
+     * Preconditions: <br>
+     * * All parameters are non-null. 
+     */
+    public boolean hasFeedbackQuestionsForGiverType(
+            String feedbackSessionName, String courseId, FeedbackParticipantType giverType) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverType);
+
+        Query q = getPM().newQuery(FeedbackQuestion.class);
+        q.declareParameters("String feedbackSessionNameParam, " +
+                "String courseIdParam, " +
+                "FeedbackParticipantType giverTypeParam");
+        q.declareImports("import teammates.common.datatransfer.FeedbackParticipantType");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && " +
+                "courseId == courseIdParam && " +
+                "giverType == giverTypeParam ");
+        // selecting only the key makes it a keys-only query
+        q.setResult("feedbackQuestionId");
+        q.setRange(0, 1);
+
+        List<?> keys = (List<?>) q.execute(feedbackSessionName, courseId, giverType);
+
+        return !keys.isEmpty();
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null. 
@@ -179,6 +273,7 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         
         log.info(newAttributes.getBackupIdentifier());
         getPM().close();
+        invalidateSharedCache(newAttributes);
         
     }
     
@@ -189,6 +284,9 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         
         getPM().deletePersistentAll(feedbackQuestionList);
         getPM().flush();
+        for (String courseId : courseIds) {
+            SharedCache.invalidate(CACHE_KIND, courseId);
+        }
     }
     
     private List<FeedbackQuestion> getFeedbackQuestionEntitiesForCourses(List<String> courseIds) {
@@ -205,6 +303,19 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
 
+        // The key lookup also finds questions created moments ago, e.g. the
+        // source of a copy made in the same request.
+        try {
+            FeedbackQuestion question = getPM().getObjectById(FeedbackQuestion.class, feedbackQuestionId);
+            return JDOHelper.isDeleted(question) ? null : question;
+        } catch (JDOObjectNotFoundException je) {
+            return null;
+        } catch (JDOFatalUserException fue) {
+            // not an encoded key; fall back to the query
+        } catch (IllegalArgumentException iae) {
+            // not an encoded key; fall back to the query
+        }
+
         Query q = getPM().newQuery(FeedbackQuestion.class);
         q.declareParameters("String feedbackQuestionIdParam");
         q.setFilter("feedbackQuestionId == feedbackQuestionIdParam");
@@ -223,6 +334,12 @@ public class FeedbackQuestionsDb extends EntitiesDb {
     private FeedbackQuestion getFeedbackQuestionEntity (
             String feedbackSessionName, String courseId, int questionNumber) {
         
+        for (FeedbackQuestion createdQuestion : getCreatedQuestionEntities(feedbackSessionName, courseId)) {
+            if (createdQuestion.getQuestionNumber() == questionNumber) {
+                return createdQuestion;
+            }
+        }
+        
         Query q = getPM().newQuery(FeedbackQuestion.class);
         q.declareParameters("String feedbackSessionNameParam, String courseIdParam, int questionNumberParam");
         q.setFilter("feedbackSessionName == feedbackSessionNameParam && " +
@@ -248,7 +365,58 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         List<FeedbackQuestion> feedbackQuestionList = 
             (List<FeedbackQuestion>) q.execute(feedbackSessionName, courseId);
         
-        return feedbackQuestionList;
+        List<FeedbackQuestion> createdQuestions = getCreatedQuestionEntities(feedbackSessionName, courseId);
+        if (createdQuestions.isEmpty()) {
+            return feedbackQuestionList;
+        }
+        
+        // the query may not see the questions created in this request yet
+        List<FeedbackQuestion> allQuestions = new ArrayList<FeedbackQuestion>(feedbackQuestionList);
+        Set<String> foundIds = new HashSet<String>();
+        for (FeedbackQuestion question : feedbackQuestionList) {
+            foundIds.add(question.getId());
+        }
+        for (FeedbackQuestion createdQuestion : createdQuestions) {
+            if (!foundIds.contains(createdQuestion.getId())) {
+                allQuestions.add(createdQuestion);
+            }
+        }
+        return allQuestions;
+    }
+    
+    private void rememberCreatedQuestion(FeedbackQuestion question) {
+        String cacheKey = RequestCache.makeKey(question.getCourseId(), question.getFeedbackSessionName());
+        ArrayList<String> createdIds = RequestCache.get(CREATED_CACHE_KIND, cacheKey);
+        createdIds = createdIds == null ? new ArrayList<String>() : new ArrayList<String>(createdIds);
+        createdIds.add(question.getId());
+        RequestCache.put(CREATED_CACHE_KIND, cacheKey, createdIds);
+    }
+    
+    /**
+     * @return the questions created in the session during the current request
+     *         that still exist and are still in the session, looked up by key.
+     */
+    private List<FeedbackQuestion> getCreatedQuestionEntities(String feedbackSessionName, String courseId) {
+        List<FeedbackQuestion> createdQuestions = new ArrayList<FeedbackQuestion>();
+        List<String> createdIds = RequestCache.get(CREATED_CACHE_KIND,
+                                                   RequestCache.makeKey(courseId, feedbackSessionName));
+        if (createdIds == null) {
+            return createdQuestions;
+        }
+        
+        for (String createdId : createdIds) {
+            try {
+                FeedbackQuestion question = getPM().getObjectById(FeedbackQuestion.class, createdId);
+                if (!JDOHelper.isDeleted(question)
+                        && feedbackSessionName.equals(question.getFeedbackSessionName())
+                        && courseId.equals(question.getCourseId())) {
+                    createdQuestions.add(question);
+                }
+            } catch (JDOObjectNotFoundException je) {
+                // the question was deleted after it was created
+            }
+        }
+        return createdQuestions;
     }
     
     private List<FeedbackQuestion> getFeedbackQuestionEntitiesForCourse(String courseId) {
@@ -294,5 +462,9 @@ public class FeedbackQuestionsDb extends EntitiesDb {
                     feedbackQuestionToGet.questionNumber);
         }
     }
-
+    
+    @Override
+    protected String getSharedCacheScope(EntityAttributes attributes) {
+        return ((FeedbackQuestionAttributes) attributes).courseId;
+    }
 }
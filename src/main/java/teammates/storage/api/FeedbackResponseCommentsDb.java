@@ -363,6 +363,23 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         return resultList;  
     }
     
+    /*
+     * Count response comments in a sending state (SENT|SENDING|PENDING) without loading them
+     */
+    public int getNumberOfFeedbackResponseCommentsForSendingState(String courseId, String sessionName,
+            CommentSendingState state){
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, sessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, state);
+        
+        Query q = getPM().newQuery(FeedbackResponseComment.class);
+        q.declareParameters("String courseIdParam, String fsNameParam, String sendingStateParam");
+        q.setFilter("courseId == courseIdParam && feedbackSessionName == fsNameParam && sendingState == sendingStateParam");
+        q.setResult("count(this)");
+        
+        return ((Number) q.execute(courseId, sessionName, state.toString())).intValue();
+    }
+    
     /*
      * Update response comments from old state to new state
      */
@@ -387,6 +404,14 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         putDocument(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT, new FeedbackResponseCommentSearchDocument(comment));
     }
     
+    public void putDocuments(List<FeedbackResponseCommentAttributes> comments){
+        List<FeedbackResponseCommentSearchDocument> documents = new ArrayList<FeedbackResponseCommentSearchDocument>();
+        for (FeedbackResponseCommentAttributes comment : comments) {
+            documents.add(new FeedbackResponseCommentSearchDocument(comment));
+        }
+        putDocuments(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT, documents);
+    }
+    
     /**
      * Search for response comments
      * @return {@link FeedbackResponseCommentSearchResultBundle}
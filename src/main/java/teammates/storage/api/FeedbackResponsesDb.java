@@ -3,15 +3,22 @@ package teammates.storage.api;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
 import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
 import javax.jdo.Query;
 
+import org.datanucleus.store.appengine.query.JDOCursorHelper;
+
+import com.google.appengine.api.datastore.Cursor;
+
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponsesPageBundle;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
@@ -20,6 +27,13 @@ import teammates.common.util.Utils;
 import teammates.storage.entity.FeedbackResponse;
 
 public class FeedbackResponsesDb extends EntitiesDb {
+    
+    /*
+     * Continuation tokens of in-section pages record which of the two
+     * underlying queries (by giver section, then by receiver section) to resume.
+     */
+    private static final String GIVER_SECTION_CURSOR_PREFIX = "giver:";
+    private static final String RECEIVER_SECTION_CURSOR_PREFIX = "receiver:";
 
     private static final Logger log = Utils.getLogger();
 
@@ -371,6 +385,125 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
     
+    /**
+     * Gets one page of at most {@code pageSize} responses for the session.
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null. 
+     * @param cursor the continuation token of a previous page, 
+     *         or null to start from the first page.
+     * @return An empty page if no such responses are found.
+     */
+    public FeedbackResponsesPageBundle getFeedbackResponsesForSessionPage(
+            String feedbackSessionName, String courseId, String cursor, int pageSize) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        List<FeedbackResponse> frList =
+                getFeedbackResponseEntitiesForSessionPage(feedbackSessionName, courseId, cursor, pageSize);
+        
+        return new FeedbackResponsesPageBundle(toFeedbackResponseAttributes(frList),
+                                               getNextPageCursor(frList, pageSize));
+    }
+
+    /**
+     * Gets one page of at most {@code pageSize} responses given by or to the section.
+     * Responses given by the section are returned first, followed by responses
+     * given to the section from other sections.
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null. 
+     * @param cursor the continuation token of a previous page, 
+     *         or null to start from the first page.
+     * @return An empty page if no such responses are found.
+     */
+    public FeedbackResponsesPageBundle getFeedbackResponsesForSessionInSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+
+        List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
+        String receiverSectionCursor = null;
+        
+        if (cursor == null || cursor.startsWith(GIVER_SECTION_CURSOR_PREFIX)) {
+            String giverSectionCursor = (cursor == null) 
+                                        ? null 
+                                        : cursor.substring(GIVER_SECTION_CURSOR_PREFIX.length());
+            List<FeedbackResponse> giverSectionList = getFeedbackResponseEntitiesForSessionFromSectionPage(
+                    feedbackSessionName, courseId, section, giverSectionCursor, pageSize);
+            fraList.addAll(toFeedbackResponseAttributes(giverSectionList));
+            
+            String nextGiverSectionCursor = getNextPageCursor(giverSectionList, pageSize);
+            if (nextGiverSectionCursor != null) {
+                return new FeedbackResponsesPageBundle(fraList, GIVER_SECTION_CURSOR_PREFIX + nextGiverSectionCursor);
+            }
+        } else {
+            Assumption.assertTrue(cursor.startsWith(RECEIVER_SECTION_CURSOR_PREFIX));
+            receiverSectionCursor = cursor.substring(RECEIVER_SECTION_CURSOR_PREFIX.length());
+        }
+        
+        // fill the rest of the page with responses given to the section from other sections
+        int remainingPageSize = pageSize - fraList.size();
+        List<FeedbackResponse> receiverSectionList = getFeedbackResponseEntitiesForSessionToSectionPage(
+                feedbackSessionName, courseId, section, receiverSectionCursor, remainingPageSize);
+        for (FeedbackResponse fr : receiverSectionList) {
+            if (!section.equals(fr.getGiverSection())) {
+                fraList.add(new FeedbackResponseAttributes(fr));
+            }
+        }
+        
+        String nextReceiverSectionCursor = getNextPageCursor(receiverSectionList, remainingPageSize);
+        return new FeedbackResponsesPageBundle(fraList, 
+                                               (nextReceiverSectionCursor == null) 
+                                               ? null 
+                                               : RECEIVER_SECTION_CURSOR_PREFIX + nextReceiverSectionCursor);
+    }
+
+    /**
+     * Gets one page of at most {@code pageSize} responses given by the section.
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null. 
+     * @param cursor the continuation token of a previous page, 
+     *         or null to start from the first page.
+     * @return An empty page if no such responses are found.
+     */
+    public FeedbackResponsesPageBundle getFeedbackResponsesForSessionFromSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+
+        List<FeedbackResponse> frList = getFeedbackResponseEntitiesForSessionFromSectionPage(
+                feedbackSessionName, courseId, section, cursor, pageSize);
+
+        return new FeedbackResponsesPageBundle(toFeedbackResponseAttributes(frList),
+                                               getNextPageCursor(frList, pageSize));
+    }
+
+    /**
+     * Gets one page of at most {@code pageSize} responses given to the section.
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null. 
+     * @param cursor the continuation token of a previous page, 
+     *         or null to start from the first page.
+     * @return An empty page if no such responses are found.
+     */
+    public FeedbackResponsesPageBundle getFeedbackResponsesForSessionToSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+
+        List<FeedbackResponse> frList = getFeedbackResponseEntitiesForSessionToSectionPage(
+                feedbackSessionName, courseId, section, cursor, pageSize);
+
+        return new FeedbackResponsesPageBundle(toFeedbackResponseAttributes(frList),
+                                               getNextPageCursor(frList, pageSize));
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null. 
@@ -466,6 +599,55 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
 
+    /**
+     *  Preconditions: <br>
+     * * All parameters are non-null.
+     *  @return An empty list if no such responses are found.
+     */
+    public List<FeedbackResponseAttributes> getFeedbackResponsesFromGiverForSession(
+            String giverEmail, String feedbackSessionName, String courseId) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverEmail);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        List<FeedbackResponse> frList = 
+                getFeedbackResponseEntitiesFromGiverForSession(giverEmail, feedbackSessionName, courseId);
+        List<FeedbackResponseAttributes> fraList = 
+                new ArrayList<FeedbackResponseAttributes>();
+
+        for (FeedbackResponse fr : frList) {
+            if (!JDOHelper.isDeleted(fr)) {
+                fraList.add(new FeedbackResponseAttributes(fr));
+            }
+        }
+
+        return fraList;
+    }
+
+    /**
+     * Optimized to return the FeedbackResponse entities, so that they can be
+     * passed to {@link #saveFeedbackResponsesOptimized}. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return An empty list if no such responses are found.
+     */
+    public List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForSessionOptimized(
+            String giverEmail, String feedbackSessionName, String courseId) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverEmail);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        List<FeedbackResponse> frList = new ArrayList<FeedbackResponse>();
+        for (FeedbackResponse fr : getFeedbackResponseEntitiesFromGiverForSession(giverEmail, feedbackSessionName, courseId)) {
+            if (!JDOHelper.isDeleted(fr)) {
+                frList.add(fr);
+            }
+        }
+        return frList;
+    }
+
     /**
      *  Preconditions: <br>
      * * All parameters are non-null.
@@ -491,6 +673,80 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
 
+    /**
+     * Checks for responses with a keys-only query, without loading any of them.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public boolean hasFeedbackResponsesForQuestion(String feedbackQuestionId) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
+
+        Query q = getPM().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackQuestionIdParam");
+        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam");
+
+        return isAnyFeedbackResponseFound(q, feedbackQuestionId);
+    }
+
+    /**
+     * Checks for responses with a keys-only query, without loading any of them.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public boolean hasFeedbackResponsesFromGiverForQuestion(String feedbackQuestionId, String giverEmail) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverEmail);
+
+        Query q = getPM().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackQuestionIdParam, String giverEmailParam");
+        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && giverEmail == giverEmailParam");
+
+        return isAnyFeedbackResponseFound(q, feedbackQuestionId, giverEmail);
+    }
+
+    /**
+     * Checks for responses with a keys-only query, without loading any of them.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public boolean hasFeedbackResponsesFromGiverForSession(
+            String giverEmail, String feedbackSessionName, String courseId) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverEmail);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        Query q = getPM().newQuery(FeedbackResponse.class);
+        q.declareParameters("String giverEmailParam, String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("giverEmail == giverEmailParam && feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+
+        return isAnyFeedbackResponseFound(q, giverEmail, feedbackSessionName, courseId);
+    }
+
+    /**
+     * Gets one page of at most {@code pageSize} responses from the giver for the session.
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null. 
+     * @param cursor the continuation token of a previous page, 
+     *         or null to start from the first page.
+     * @return An empty page if no such responses are found.
+     */
+    public FeedbackResponsesPageBundle getFeedbackResponsesFromGiverForSessionPage(
+            String giverEmail, String feedbackSessionName, String courseId, String cursor, int pageSize) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverEmail);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        List<FeedbackResponse> frList = getFeedbackResponseEntitiesFromGiverForSessionPage(
+                giverEmail, feedbackSessionName, courseId, cursor, pageSize);
+        
+        return new FeedbackResponsesPageBundle(toFeedbackResponseAttributes(frList),
+                                               getNextPageCursor(frList, pageSize));
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null. 
@@ -539,6 +795,53 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
     
+    /**
+     * Optimized to return the FeedbackResponse entities, so that changes to
+     * them can be written back in a batch with
+     * {@link #deleteFeedbackResponseEntitiesOptimized} and
+     * {@link #commitOutstandingChanges()}. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return The responses in the course given by or to any of {@code emails},
+     *         each response once. An empty list if no such responses are found.
+     */
+    public List<FeedbackResponse> getFeedbackResponseEntitiesForUsersInCourseOptimized(
+            String courseId, Collection<String> emails) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
+        
+        Map<String, FeedbackResponse> responsesById = new LinkedHashMap<String, FeedbackResponse>();
+        for (String email : emails) {
+            for (FeedbackResponse fr : getFeedbackResponseEntitiesFromGiverForCourse(courseId, email)) {
+                if (!JDOHelper.isDeleted(fr)) {
+                    responsesById.put(fr.getId(), fr);
+                }
+            }
+            for (FeedbackResponse fr : getFeedbackResponseEntitiesForReceiverForCourse(courseId, email)) {
+                if (!JDOHelper.isDeleted(fr)) {
+                    responsesById.put(fr.getId(), fr);
+                }
+            }
+        }
+        return new ArrayList<FeedbackResponse>(responsesById.values());
+    }
+    
+    /**
+     * Deletes all of {@code responsesToDelete} in one batch. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null and were read in the current request.
+     */
+    public void deleteFeedbackResponseEntitiesOptimized(List<FeedbackResponse> responsesToDelete) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, responsesToDelete);
+        
+        for (FeedbackResponse fr : responsesToDelete) {
+            log.info(new FeedbackResponseAttributes(fr).getBackupIdentifier());
+        }
+        getPM().deletePersistentAll(responsesToDelete);
+        getPM().flush();
+    }
+    
     /**
      * Updates the feedback response identified by {@code newAttributes.getId()} 
      * For the remaining parameters, the existing value is preserved 
@@ -587,12 +890,73 @@ public class FeedbackResponsesDb extends EntitiesDb {
                     ERROR_UPDATE_NON_EXISTENT + newAttributes.toString());
         }
         
+        setUpdatableFields(fr, newAttributes);
+                
+        log.info(newAttributes.getBackupIdentifier());
+        getPM().close();
+    }
+    
+    private void setUpdatableFields(FeedbackResponse fr, FeedbackResponseAttributes newAttributes) {
         fr.setAnswer(newAttributes.responseMetaData);
         fr.setRecipientEmail(newAttributes.recipientEmail);
         fr.setGiverSection(newAttributes.giverSection);
         fr.setRecipientSection(newAttributes.recipientSection);
-                
-        log.info(newAttributes.getBackupIdentifier());
+    }
+    
+    /**
+     * Optimized to take in the FeedbackResponse entities that the responses may
+     * replace, and to write all the changes in batches. <br>
+     * A response in {@code responsesToSave} updates the entity in
+     * {@code existingResponses} that has the same ID, if any, and is created
+     * otherwise. Entities in {@code existingResponses} whose ID is in
+     * {@code responseIdsToDelete} are deleted. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null. <br>
+     * * {@code existingResponses} were read in the current request. <br>
+     * * No two responses in {@code responsesToSave} have the same ID, and
+     *   none of their IDs is in {@code responseIdsToDelete}.
+     */
+    public void saveFeedbackResponsesOptimized(List<FeedbackResponseAttributes> responsesToSave,
+            List<FeedbackResponse> existingResponses, Collection<String> responseIdsToDelete)
+            throws InvalidParametersException {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, responsesToSave);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, existingResponses);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, responseIdsToDelete);
+        
+        for (FeedbackResponseAttributes response : responsesToSave) {
+            response.sanitizeForSaving();
+            if (!response.isValid()) {
+                throw new InvalidParametersException(response.getInvalidityInfo());
+            }
+        }
+        
+        Map<String, FeedbackResponse> existingResponsesById = new HashMap<String, FeedbackResponse>();
+        List<FeedbackResponse> responsesToDelete = new ArrayList<FeedbackResponse>();
+        for (FeedbackResponse fr : existingResponses) {
+            if (JDOHelper.isDeleted(fr)) {
+                continue;
+            }
+            existingResponsesById.put(fr.getId(), fr);
+            if (responseIdsToDelete.contains(fr.getId())) {
+                responsesToDelete.add(fr);
+            }
+        }
+        
+        List<FeedbackResponse> responsesToCreate = new ArrayList<FeedbackResponse>();
+        for (FeedbackResponseAttributes response : responsesToSave) {
+            FeedbackResponse newResponse = (FeedbackResponse) response.toEntity();
+            FeedbackResponse fr = existingResponsesById.get(newResponse.getId());
+            if (fr == null) {
+                responsesToCreate.add(newResponse);
+            } else {
+                setUpdatableFields(fr, response);
+            }
+            log.info(response.getBackupIdentifier());
+        }
+        
+        getPM().deletePersistentAll(responsesToDelete);
+        getPM().makePersistentAll(responsesToCreate);
         getPM().close();
     }
     
@@ -636,25 +1000,31 @@ public class FeedbackResponsesDb extends EntitiesDb {
     }
     
     private FeedbackResponse getFeedbackResponseEntity(String feedbackResponseId) {
-        Query q = getPM().newQuery(FeedbackResponse.class);
-        q.declareParameters("String feedbackResponseIdParam");
-        q.setFilter("feedbackResponseId == feedbackResponseIdParam");
-        
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> FeedbackResponseList =
-            (List<FeedbackResponse>) q.execute(feedbackResponseId);
-        
-        if (FeedbackResponseList.isEmpty() || JDOHelper.isDeleted(FeedbackResponseList.get(0))) {
+        try {
+            FeedbackResponse fr = getPM().getObjectById(FeedbackResponse.class, feedbackResponseId);
+            return JDOHelper.isDeleted(fr) ? null : fr;
+        } catch (JDOObjectNotFoundException je) {
+            return null;
+        } catch (IllegalArgumentException iae) {
             return null;
         }
-    
-        return FeedbackResponseList.get(0);
     }
 
         
     private FeedbackResponse getFeedbackResponseEntity(
             String feedbackQuestionId, String giverEmail, String receiver) {
         
+        // Responses are normally keyed by question, giver and receiver, and the key
+        // lookup also finds responses created moments ago. The query is still needed
+        // for responses whose recipient was changed after they were created.
+        FeedbackResponse fr = getFeedbackResponseEntity(
+                feedbackQuestionId + "%" + giverEmail + "%" + receiver);
+        if (fr != null && feedbackQuestionId.equals(fr.getFeedbackQuestionId())
+                && giverEmail.equals(fr.getGiverEmail())
+                && receiver.equals(fr.getRecipientEmail())) {
+            return fr;
+        }
+        
         Query q = getPM().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackQuestionIdParam, " +
                 "String giverEmailParam, String receiverParam");
@@ -872,6 +1242,130 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return  queryResponses;
     }
     
+    private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionPage(
+            String feedbackSessionName, String courseId, String cursor, int pageSize) {
+        
+        Query q = getPM().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+        setQueryPage(q, cursor, pageSize);
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> FeedbackResponseList =
+            (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId);
+        
+        return FeedbackResponseList;
+    }
+
+    private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionFromSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+
+        Query q = getPM().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam && giverSection == sectionParam");
+        setQueryPage(q, cursor, pageSize);
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> queryResponses =
+            (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
+
+        return  queryResponses;
+    }
+
+    private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionToSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+
+        Query q = getPM().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam && receiverSection == sectionParam");
+        setQueryPage(q, cursor, pageSize);
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> queryResponses =
+            (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
+
+        return  queryResponses;
+    }
+
+    private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForSessionPage(
+            String giverEmail, String feedbackSessionName, String courseId, String cursor, int pageSize) {
+
+        Query q = getPM().newQuery(FeedbackResponse.class);
+        q.declareParameters("String giverEmailParam, String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("giverEmail == giverEmailParam && feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+        setQueryPage(q, cursor, pageSize);
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> FeedbackResponseList =
+            (List<FeedbackResponse>) q.execute(giverEmail, feedbackSessionName, courseId);
+        
+        return FeedbackResponseList;
+    }
+    
+    /**
+     * @return true if {@code cursor} can be passed to the page methods for all
+     *         the responses of a session, or for those from or to a section,
+     *         i.e. it is a web-safe datastore cursor. A cursor of another query
+     *         is not detected.
+     */
+    public boolean isValidPageCursor(String cursor) {
+        if (cursor == null) {
+            return false;
+        }
+        try {
+            Cursor.fromWebSafeString(cursor);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Limits the query to {@code pageSize} results, starting from the
+     * position marked by {@code cursor} if it is not null.
+     */
+    private void setQueryPage(Query q, String cursor, int pageSize) {
+        if (cursor != null) {
+            Map<String, Object> extensionMap = new HashMap<String, Object>();
+            extensionMap.put(JDOCursorHelper.CURSOR_EXTENSION, Cursor.fromWebSafeString(cursor));
+            q.setExtensions(extensionMap);
+        }
+        q.setRange(0, pageSize);
+    }
+    
+    /**
+     * @return the web-safe cursor pointing after the last result of the page,
+     *         or null if the page is not full (i.e. there are no more results).
+     */
+    private String getNextPageCursor(List<FeedbackResponse> page, int pageSize) {
+        if (page.size() < pageSize) {
+            return null;
+        }
+        Cursor cursor = JDOCursorHelper.getCursor(page);
+        return (cursor == null) ? null : cursor.toWebSafeString();
+    }
+    
+    /**
+     * Runs {@code q} for the key of at most one response. Selecting only the
+     * key makes it a keys-only query, so the answers are not read at all.
+     */
+    private boolean isAnyFeedbackResponseFound(Query q, Object... parameters) {
+        q.setResult("feedbackResponseId");
+        q.setRange(0, 1);
+
+        List<?> keys = (List<?>) q.executeWithArray(parameters);
+
+        return !keys.isEmpty();
+    }
+
+    private List<FeedbackResponseAttributes> toFeedbackResponseAttributes(List<FeedbackResponse> frList) {
+        List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponse fr : frList) {
+            fraList.add(new FeedbackResponseAttributes(fr));
+        }
+        return fraList;
+    }
+    
     private List<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForQuestion(
             String feedbackQuestionId, String receiver) {
 
@@ -958,6 +1452,20 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return FeedbackResponseList.values(); 
     }
     
+    private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForSession(
+            String giverEmail, String feedbackSessionName, String courseId) {
+
+        Query q = getPM().newQuery(FeedbackResponse.class);
+        q.declareParameters("String giverEmailParam, String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("giverEmail == giverEmailParam && feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> FeedbackResponseList =
+            (List<FeedbackResponse>) q.execute(giverEmail, feedbackSessionName, courseId);
+        
+        return FeedbackResponseList;
+    }
+
     private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForSessionWithinRange(
             String giverEmail, String feedbackSessionName, String courseId, long range) {
 
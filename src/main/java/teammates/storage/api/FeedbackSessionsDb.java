@@ -4,12 +4,17 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
 import javax.jdo.Query;
 
 import teammates.common.datatransfer.EntityAttributes;
@@ -21,12 +26,17 @@ import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.TimeHelper;
 import teammates.common.util.Utils;
+import teammates.storage.datastore.SharedCache;
 import teammates.storage.entity.FeedbackSession;
+import teammates.storage.entity.FeedbackSessionRespondant;
 
 public class FeedbackSessionsDb extends EntitiesDb {
     
     public static final String ERROR_UPDATE_NON_EXISTENT = "Trying to update non-existent Feedback Session : ";
     private static final Logger log = Utils.getLogger();
+    
+    /** Same as {@link FeedbackSessionAttributes#getEntityTypeAsString()} */
+    private static final String CACHE_KIND = "Feedback Session";
 
     public void createFeedbackSessions(Collection<FeedbackSessionAttributes> feedbackSessionsToAdd) throws InvalidParametersException{
         List<EntityAttributes> feedbackSessionsToUpdate = createEntities(feedbackSessionsToAdd);
@@ -111,13 +121,21 @@ public class FeedbackSessionsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
+        String cacheKey = SharedCache.makeKey(CACHE_KIND, courseId, "session|" + feedbackSessionName);
+        FeedbackSessionAttributes cachedSession = SharedCache.get(cacheKey);
+        if (cachedSession != null) {
+            return cachedSession;
+        }
+        
         FeedbackSession fs = getFeedbackSessionEntity(feedbackSessionName, courseId);
         
         if (fs == null) {
             log.info("Trying to get non-existent Session: " + feedbackSessionName + "/" + courseId);
             return null;
         }
-        return new FeedbackSessionAttributes(fs);    
+        FeedbackSessionAttributes session = new FeedbackSessionAttributes(fs);
+        SharedCache.put(cacheKey, session);
+        return session;    
         
     }
     
@@ -247,6 +265,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
                 
         log.info(newAttributes.getBackupIdentifier());
         getPM().close();
+        invalidateSharedCache(newAttributes);
     }
 
     public void addInstructorRespondant(String email, FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
@@ -257,158 +276,246 @@ public class FeedbackSessionsDb extends EntitiesDb {
     }
 
     public void addInstructorRespondants(List<String> emails, FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
+        addRespondants(emails, feedbackSession, true);
+    }
 
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
-
-        feedbackSession.sanitizeForSaving();
+    public void updateInstructorRespondant(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
+        updateRespondant(oldEmail, newEmail, feedbackSession, true);
+    }
 
-        if(!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
+    public void clearInstructorRespondants(FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
+        clearRespondants(feedbackSession, true);
+    }
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if(fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
+    public void addStudentRespondant(String email, FeedbackSessionAttributes feedbackSession) throws EntityDoesNotExistException, InvalidParametersException {
 
-        fs.getRespondingInstructorList().addAll(emails);
-        
-        log.info(feedbackSession.getBackupIdentifier());
-        getPM().close();
+        List<String> emails = new ArrayList<String>();
+        emails.add(email);
+        addStudentRespondants(emails, feedbackSession);
     }
 
-    public void updateInstructorRespondant(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
+    public void deleteInstructorRespondant(String email, FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
+        deleteRespondant(email, feedbackSession, true);
+    }
 
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, oldEmail);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newEmail);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
+    public void addStudentRespondants(List<String> emails, FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
+        addRespondants(emails, feedbackSession, false);
+    }
 
-        feedbackSession.sanitizeForSaving();
+    public void updateStudentRespondant(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
+        updateRespondant(oldEmail, newEmail, feedbackSession, false);
+    }
 
-        if(!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
+    public void clearStudentRespondants(FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
+        clearRespondants(feedbackSession, false);
+    }
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if(fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
+    public void deleteStudentRespondant(String email, FeedbackSessionAttributes feedbackSession) throws EntityDoesNotExistException, InvalidParametersException {
+        deleteRespondant(email, feedbackSession, false);
+    }
 
-        if(fs.getRespondingInstructorList().contains(oldEmail)){
-            fs.getRespondingInstructorList().remove(oldEmail);
-            fs.getRespondingInstructorList().add(newEmail);
-        }
-       
-        log.info(feedbackSession.getBackupIdentifier());
-        getPM().close();
+    /**
+     * @return the emails of the instructors who have responded to the session.
+     *         Includes those recorded in the session entity itself (by
+     *         earlier versions of the app) and those recorded separately.
+     */
+    public Set<String> getInstructorRespondants(FeedbackSessionAttributes feedbackSession) {
+        return getRespondants(feedbackSession, true);
     }
 
-    public void clearInstructorRespondants(FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
+    /**
+     * @return the emails of the students who have responded to the session.
+     *         Includes those recorded in the session entity itself (by
+     *         earlier versions of the app) and those recorded separately.
+     */
+    public Set<String> getStudentRespondants(FeedbackSessionAttributes feedbackSession) {
+        return getRespondants(feedbackSession, false);
+    }
 
+    /**
+     * @return the number of students and instructors who have responded to the
+     *         session, counted as {@link #getStudentRespondants} and
+     *         {@link #getInstructorRespondants} would count them, with one query.
+     */
+    public int getNumberOfRespondants(FeedbackSessionAttributes feedbackSession) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
+        
+        List<FeedbackSessionAttributes> sessions = new ArrayList<FeedbackSessionAttributes>();
+        sessions.add(feedbackSession);
+        return countRespondants(sessions, getRespondantEntitiesForSession(
+                feedbackSession.feedbackSessionName, feedbackSession.courseId))
+                .get(feedbackSession.feedbackSessionName);
+    }
+    
+    /**
+     * Counts the respondants of the given sessions of a course as 
+     * {@link #getNumberOfRespondants} does, with one query for all the sessions.
+     * @return the number of respondants of each session, by session name
+     */
+    public Map<String, Integer> getNumberOfRespondantsForCourse(String courseId,
+            List<FeedbackSessionAttributes> sessionsInCourse) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, sessionsInCourse);
+        
+        return countRespondants(sessionsInCourse, getRespondantEntitiesForCourse(courseId));
+    }
 
-        feedbackSession.sanitizeForSaving();
+    public void deleteRespondantsForSession(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
-        if(!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
+        getPM().deletePersistentAll(getRespondantEntitiesForSession(feedbackSessionName, courseId));
+        getPM().flush();
+    }
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if(fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
+    /*
+     * Respondants are written as separate entities instead of being added to
+     * the session entity, so that concurrent submissions to a session do not
+     * contend for the session's entity group. Respondants recorded in the
+     * session entity by earlier versions are still read, and are removed from
+     * it when needed, so that no migration is required.
+     */
+
+    private void addRespondants(List<String> emails, FeedbackSessionAttributes feedbackSession,
+            boolean isInstructor) throws InvalidParametersException, EntityDoesNotExistException {
 
-        fs.getRespondingInstructorList().clear();
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
+        verifyRespondantsCanBeUpdated(feedbackSession);
+
+        List<FeedbackSessionRespondant> respondants = new ArrayList<FeedbackSessionRespondant>();
+        for (String email : emails) {
+            respondants.add(new FeedbackSessionRespondant(feedbackSession.feedbackSessionName,
+                                                          feedbackSession.courseId, email, isInstructor));
+        }
+        // the keys are fixed, so writing a respondant again just overwrites it
+        getPM().makePersistentAll(respondants);
 
         log.info(feedbackSession.getBackupIdentifier());
         getPM().close();
     }
 
-    public void addStudentRespondant(String email, FeedbackSessionAttributes feedbackSession) throws EntityDoesNotExistException, InvalidParametersException {
+    private void updateRespondant(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession,
+            boolean isInstructor) throws InvalidParametersException, EntityDoesNotExistException {
 
-        List<String> emails = new ArrayList<String>();
-        emails.add(email);
-        addStudentRespondants(emails, feedbackSession);
-    }
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, oldEmail);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newEmail);
+        verifyRespondantsCanBeUpdated(feedbackSession);
+
+        FeedbackSessionRespondant respondant = getRespondantEntity(feedbackSession.feedbackSessionName,
+                                                                   feedbackSession.courseId, oldEmail, isInstructor);
+        if (respondant != null) {
+            getPM().deletePersistent(respondant);
+            getPM().makePersistent(new FeedbackSessionRespondant(feedbackSession.feedbackSessionName,
+                                                                 feedbackSession.courseId, newEmail, isInstructor));
+        }
 
-    public void deleteInstructorRespondant(String email, FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
+        boolean isSessionChanged = false;
+        if (getLegacyRespondants(feedbackSession, isInstructor).contains(oldEmail)) {
+            Set<String> legacyRespondants = getLegacyRespondants(getSessionEntity(feedbackSession), isInstructor);
+            legacyRespondants.remove(oldEmail);
+            legacyRespondants.add(newEmail);
+            isSessionChanged = true;
+        }
 
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
+        log.info(feedbackSession.getBackupIdentifier());
+        getPM().close();
+        if (isSessionChanged) {
+            invalidateSharedCache(feedbackSession);
+        }
+    }
 
-        feedbackSession.sanitizeForSaving();
+    private void clearRespondants(FeedbackSessionAttributes feedbackSession, boolean isInstructor)
+            throws InvalidParametersException, EntityDoesNotExistException {
 
-        if(!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
+        verifyRespondantsCanBeUpdated(feedbackSession);
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
+        getPM().deletePersistentAll(getRespondantEntitiesForSession(feedbackSession.feedbackSessionName,
+                                                                    feedbackSession.courseId, isInstructor));
 
-        fs.getRespondingInstructorList().remove(email);
+        boolean isSessionChanged = false;
+        if (!getLegacyRespondants(feedbackSession, isInstructor).isEmpty()) {
+            getLegacyRespondants(getSessionEntity(feedbackSession), isInstructor).clear();
+            isSessionChanged = true;
+        }
 
         log.info(feedbackSession.getBackupIdentifier());
         getPM().close();
+        if (isSessionChanged) {
+            invalidateSharedCache(feedbackSession);
+        }
     }
 
-    public void addStudentRespondants(List<String> emails, FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
-
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
+    private void deleteRespondant(String email, FeedbackSessionAttributes feedbackSession, boolean isInstructor)
+            throws InvalidParametersException, EntityDoesNotExistException {
 
-        feedbackSession.sanitizeForSaving();
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
+        verifyRespondantsCanBeUpdated(feedbackSession);
 
-        if(!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
+        FeedbackSessionRespondant respondant = getRespondantEntity(feedbackSession.feedbackSessionName,
+                                                                   feedbackSession.courseId, email, isInstructor);
+        if (respondant != null) {
+            getPM().deletePersistent(respondant);
         }
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if(fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
+        boolean isSessionChanged = false;
+        if (getLegacyRespondants(feedbackSession, isInstructor).contains(email)) {
+            getLegacyRespondants(getSessionEntity(feedbackSession), isInstructor).remove(email);
+            isSessionChanged = true;
         }
 
-        fs.getRespondingStudentList().addAll(emails);
-
         log.info(feedbackSession.getBackupIdentifier());
         getPM().close();
+        if (isSessionChanged) {
+            invalidateSharedCache(feedbackSession);
+        }
     }
 
-    public void updateStudentRespondant(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
-
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, oldEmail);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newEmail);
+    private Set<String> getRespondants(FeedbackSessionAttributes feedbackSession, boolean isInstructor) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
 
-        feedbackSession.sanitizeForSaving();
-
-        if(!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
+        Set<String> respondants = new HashSet<String>(getLegacyRespondants(feedbackSession, isInstructor));
+        for (FeedbackSessionRespondant respondant : getRespondantEntitiesForSession(
+                feedbackSession.feedbackSessionName, feedbackSession.courseId, isInstructor)) {
+            respondants.add(respondant.getEmail());
         }
+        return respondants;
+    }
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if(fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
+    private Map<String, Integer> countRespondants(List<FeedbackSessionAttributes> sessions,
+            List<FeedbackSessionRespondant> respondantEntities) {
+        Map<String, Set<String>> studentRespondants = new HashMap<String, Set<String>>();
+        Map<String, Set<String>> instructorRespondants = new HashMap<String, Set<String>>();
+        for (FeedbackSessionAttributes session : sessions) {
+            studentRespondants.put(session.feedbackSessionName,
+                                   new HashSet<String>(getLegacyRespondants(session, false)));
+            instructorRespondants.put(session.feedbackSessionName,
+                                      new HashSet<String>(getLegacyRespondants(session, true)));
         }
-
-        if(fs.getRespondingStudentList().contains(oldEmail)){
-            fs.getRespondingStudentList().remove(oldEmail);
-            fs.getRespondingStudentList().add(newEmail);
+        
+        for (FeedbackSessionRespondant respondant : respondantEntities) {
+            Set<String> respondants = respondant.isInstructor()
+                                      ? instructorRespondants.get(respondant.getFeedbackSessionName())
+                                      : studentRespondants.get(respondant.getFeedbackSessionName());
+            if (respondants != null) {
+                respondants.add(respondant.getEmail());
+            }
         }
         
-        log.info(feedbackSession.getBackupIdentifier());
-        getPM().close();
+        Map<String, Integer> numberOfRespondants = new HashMap<String, Integer>();
+        for (FeedbackSessionAttributes session : sessions) {
+            numberOfRespondants.put(session.feedbackSessionName,
+                                    studentRespondants.get(session.feedbackSessionName).size()
+                                    + instructorRespondants.get(session.feedbackSessionName).size());
+        }
+        return numberOfRespondants;
     }
 
-    public void clearStudentRespondants(FeedbackSessionAttributes feedbackSession) throws InvalidParametersException, EntityDoesNotExistException {
+    /**
+     * Checks the session the same way as an update of the session would,
+     * without writing to it.
+     */
+    private void verifyRespondantsCanBeUpdated(FeedbackSessionAttributes feedbackSession)
+            throws InvalidParametersException, EntityDoesNotExistException {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
 
@@ -418,40 +525,28 @@ public class FeedbackSessionsDb extends EntitiesDb {
             throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
         }
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if(fs == null) {
+        if (getFeedbackSession(feedbackSession.courseId, feedbackSession.feedbackSessionName) == null) {
             throw new EntityDoesNotExistException(
                     ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
         }
-
-        fs.getRespondingStudentList().clear();
-
-        log.info(feedbackSession.getBackupIdentifier());
-        getPM().close();
     }
 
-
-    public void deleteStudentRespondant(String email, FeedbackSessionAttributes feedbackSession) throws EntityDoesNotExistException, InvalidParametersException {
-
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
-
-        feedbackSession.sanitizeForSaving();
-
-        if(!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
-
+    private FeedbackSession getSessionEntity(FeedbackSessionAttributes feedbackSession)
+            throws EntityDoesNotExistException {
         FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
         if (fs == null) {
             throw new EntityDoesNotExistException(
                     ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
         }
-        
-        fs.getRespondingStudentList().remove(email);
+        return fs;
+    }
 
-        log.info(feedbackSession.getBackupIdentifier());
-        getPM().close();
+    private Set<String> getLegacyRespondants(FeedbackSessionAttributes feedbackSession, boolean isInstructor) {
+        return isInstructor ? feedbackSession.respondingInstructorList : feedbackSession.respondingStudentList;
+    }
+
+    private Set<String> getLegacyRespondants(FeedbackSession fs, boolean isInstructor) {
+        return isInstructor ? fs.getRespondingInstructorList() : fs.getRespondingStudentList();
     }
     
     public void deleteFeedbackSessionsForCourses(List<String> courseIds){
@@ -460,7 +555,11 @@ public class FeedbackSessionsDb extends EntitiesDb {
         List<FeedbackSession> feedbackSessionList = getFeedbackSessionEntitiesForCourses(courseIds);
         
         getPM().deletePersistentAll(feedbackSessionList);
+        getPM().deletePersistentAll(getRespondantEntitiesForCourses(courseIds));
         getPM().flush();
+        for (String courseId : courseIds) {
+            SharedCache.invalidate(CACHE_KIND, courseId);
+        }
     }
     
     private List<FeedbackSession> getFeedbackSessionEntitiesForCourses(List<String> courseIds) {
@@ -472,6 +571,60 @@ public class FeedbackSessionsDb extends EntitiesDb {
         return feedbackSessionList;
     }
     
+    private List<FeedbackSessionRespondant> getRespondantEntitiesForCourses(List<String> courseIds) {
+        Query q = getPM().newQuery(FeedbackSessionRespondant.class);
+        q.setFilter(":p.contains(courseId)");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackSessionRespondant> respondantList = (List<FeedbackSessionRespondant>) q.execute(courseIds);
+        return respondantList;
+    }
+    
+    private List<FeedbackSessionRespondant> getRespondantEntitiesForCourse(String courseId) {
+        Query q = getPM().newQuery(FeedbackSessionRespondant.class);
+        q.declareParameters("String courseIdParam");
+        q.setFilter("courseId == courseIdParam");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackSessionRespondant> respondantList = (List<FeedbackSessionRespondant>) q.execute(courseId);
+        return respondantList;
+    }
+    
+    private List<FeedbackSessionRespondant> getRespondantEntitiesForSession(String feedbackSessionName, String courseId) {
+        Query q = getPM().newQuery(FeedbackSessionRespondant.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackSessionRespondant> respondantList =
+                (List<FeedbackSessionRespondant>) q.execute(feedbackSessionName, courseId);
+        return respondantList;
+    }
+    
+    private List<FeedbackSessionRespondant> getRespondantEntitiesForSession(String feedbackSessionName,
+            String courseId, boolean isInstructor) {
+        Query q = getPM().newQuery(FeedbackSessionRespondant.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam, boolean isInstructorParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam"
+                    + " && isInstructor == isInstructorParam");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackSessionRespondant> respondantList =
+                (List<FeedbackSessionRespondant>) q.execute(feedbackSessionName, courseId, isInstructor);
+        return respondantList;
+    }
+    
+    private FeedbackSessionRespondant getRespondantEntity(String feedbackSessionName, String courseId,
+            String email, boolean isInstructor) {
+        try {
+            FeedbackSessionRespondant respondant = getPM().getObjectById(FeedbackSessionRespondant.class,
+                    FeedbackSessionRespondant.makeId(feedbackSessionName, courseId, email, isInstructor));
+            return JDOHelper.isDeleted(respondant) ? null : respondant;
+        } catch (JDOObjectNotFoundException je) {
+            return null;
+        }
+    }
+    
     private List<FeedbackSession> getAllFeedbackSessionEntities() {
         
         Query q = getPM().newQuery(FeedbackSession.class);
@@ -524,24 +677,27 @@ public class FeedbackSessionsDb extends EntitiesDb {
     
     private FeedbackSession getFeedbackSessionEntity(String feedbackSessionName, String courseId) {
         
-        Query q = getPM().newQuery(FeedbackSession.class);
-        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
-
-        @SuppressWarnings("unchecked")
-        List<FeedbackSession> feedbackSessionList =
-                (List<FeedbackSession>) q.execute(feedbackSessionName, courseId);
-        
-        if (feedbackSessionList.isEmpty() || JDOHelper.isDeleted(feedbackSessionList.get(0))) {
+        // The key of a session is derived from its name and course, so it is
+        // looked up by key; unlike a query, this finds a session that was just created.
+        try {
+            FeedbackSession fs = getPM().getObjectById(FeedbackSession.class,
+                                                       feedbackSessionName + "%" + courseId);
+            return JDOHelper.isDeleted(fs) ? null : fs;
+        } catch (JDOObjectNotFoundException je) {
+            return null;
+        } catch (IllegalArgumentException iae) {
             return null;
         }
-    
-        return feedbackSessionList.get(0);
     }
 
     @Override
     protected Object getEntity(EntityAttributes attributes) {
         FeedbackSessionAttributes feedbackSessionToGet = (FeedbackSessionAttributes) attributes;
         return getFeedbackSessionEntity(feedbackSessionToGet.feedbackSessionName, feedbackSessionToGet.courseId);
+    }
+    
+    @Override
+    protected String getSharedCacheScope(EntityAttributes attributes) {
+        return ((FeedbackSessionAttributes) attributes).courseId;
     }    
 }
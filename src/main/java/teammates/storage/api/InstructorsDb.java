@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.logging.Logger;
 
 import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
 import javax.jdo.Query;
 
 import com.google.appengine.api.search.Results;
@@ -25,6 +26,8 @@ import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
 import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
+import teammates.storage.datastore.RequestCache;
+import teammates.storage.datastore.SharedCache;
 import teammates.storage.entity.Instructor;
 import teammates.storage.search.InstructorSearchDocument;
 import teammates.storage.search.InstructorSearchQuery;
@@ -38,6 +41,9 @@ public class InstructorsDb extends EntitiesDb{
     
     private static final Logger log = Utils.getLogger();
     
+    /** Same as {@link InstructorAttributes#getEntityTypeAsString()} */
+    private static final String CACHE_KIND = "Instructor";
+    
     
     /* =========================================================================
      * Methods related to Google Search API
@@ -54,6 +60,21 @@ public class InstructorsDb extends EntitiesDb{
         }
     }
     
+    /**
+     * Unlike {@link #putDocument(InstructorAttributes)}, instructors without
+     * a key are skipped instead of being read again.
+     */
+    public void putDocuments(List<InstructorAttributes> instructors){
+        List<InstructorSearchDocument> documents = new ArrayList<InstructorSearchDocument>();
+        for (InstructorAttributes instructor : instructors) {
+            // defensive coding for legacy data
+            if (instructor.key != null) {
+                documents.add(new InstructorSearchDocument(instructor));
+            }
+        }
+        putDocuments(Const.SearchIndex.INSTRUCTOR, documents);
+    }
+    
     public void deleteDocument(InstructorAttributes instructorToDelete){
         if(instructorToDelete.key == null){
             InstructorAttributes instructor = this.getInstructorForEmail(instructorToDelete.courseId, instructorToDelete.email);
@@ -150,6 +171,12 @@ public class InstructorsDb extends EntitiesDb{
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
     
+        String cacheKey = RequestCache.makeKey("email", courseId, email);
+        InstructorAttributes cachedInstructor = RequestCache.get(CACHE_KIND, cacheKey);
+        if (cachedInstructor != null) {
+            return new InstructorAttributes(cachedInstructor);
+        }
+        
         Instructor i = getInstructorEntityForEmail(courseId, email);
     
         if (i == null) {
@@ -157,7 +184,9 @@ public class InstructorsDb extends EntitiesDb{
             return null;
         }
     
-        return new InstructorAttributes(i);
+        InstructorAttributes instructor = new InstructorAttributes(i);
+        RequestCache.put(CACHE_KIND, cacheKey, instructor);
+        return new InstructorAttributes(instructor);
     }
 
     
@@ -169,6 +198,12 @@ public class InstructorsDb extends EntitiesDb{
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
     
+        String cacheKey = RequestCache.makeKey("googleId", courseId, googleId);
+        InstructorAttributes cachedInstructor = RequestCache.get(CACHE_KIND, cacheKey);
+        if (cachedInstructor != null) {
+            return new InstructorAttributes(cachedInstructor);
+        }
+        
         Instructor i = getInstructorEntityForGoogleId(courseId, googleId);
     
         if (i == null) {
@@ -176,7 +211,9 @@ public class InstructorsDb extends EntitiesDb{
             return null;
         }
     
-        return new InstructorAttributes(i);
+        InstructorAttributes instructor = new InstructorAttributes(i);
+        RequestCache.put(CACHE_KIND, cacheKey, instructor);
+        return new InstructorAttributes(instructor);
     }
     
     /**
@@ -249,15 +286,22 @@ public class InstructorsDb extends EntitiesDb{
         
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
+        String cacheKey = SharedCache.makeKey(CACHE_KIND, courseId, "instructorsForCourse");
+        ArrayList<InstructorAttributes> cachedInstructors = SharedCache.get(cacheKey);
+        if (cachedInstructors != null) {
+            return cachedInstructors;
+        }
+        
         List<Instructor> instructorList = getInstructorEntitiesForCourse(courseId);
         
-        List<InstructorAttributes> instructorDataList = new ArrayList<InstructorAttributes>();
+        ArrayList<InstructorAttributes> instructorDataList = new ArrayList<InstructorAttributes>();
         for (Instructor i : instructorList) {
             if(!JDOHelper.isDeleted(i)){
                 instructorDataList.add(new InstructorAttributes(i));
             }
         }
         
+        SharedCache.put(cacheKey, instructorDataList);
         return instructorDataList;
     }
     
@@ -309,12 +353,14 @@ public class InstructorsDb extends EntitiesDb{
         instructorToUpdate.setIsDisplayedToStudents(instructorAttributesToUpdate.isDisplayedToStudents);
         instructorToUpdate.setDisplayedName(instructorAttributesToUpdate.displayedName);
         instructorToUpdate.setInstructorPrivilegeAsText(instructorAttributesToUpdate.instructorPrivilegesAsText);
+        RequestCache.invalidate(CACHE_KIND);
         
         //TODO: make courseId+email the non-modifiable values
         
         putDocument(new InstructorAttributes(instructorToUpdate));
         log.info(instructorAttributesToUpdate.getBackupIdentifier());
         getPM().close();
+        invalidateSharedCache(instructorAttributesToUpdate);
     }
     
     /**
@@ -347,11 +393,13 @@ public class InstructorsDb extends EntitiesDb{
         instructorToUpdate.setRole(instructorAttributesToUpdate.role);
         instructorToUpdate.setDisplayedName(instructorAttributesToUpdate.displayedName);
         instructorToUpdate.setInstructorPrivilegeAsText(instructorAttributesToUpdate.instructorPrivilegesAsText);
+        RequestCache.invalidate(CACHE_KIND);
         
         //TODO: make courseId+email the non-modifiable values
         putDocument(new InstructorAttributes(instructorToUpdate));
         log.info(instructorAttributesToUpdate.getBackupIdentifier());
         getPM().close();
+        invalidateSharedCache(instructorAttributesToUpdate);
     }
     
     /**
@@ -374,6 +422,8 @@ public class InstructorsDb extends EntitiesDb{
 
         getPM().deletePersistent(instructorToDelete);
         getPM().flush();
+        RequestCache.invalidate(CACHE_KIND);
+        SharedCache.invalidate(CACHE_KIND, courseId);
   
         // Check delete operation persisted
         if(Config.PERSISTENCE_CHECK_DURATION > 0){
@@ -412,6 +462,10 @@ public class InstructorsDb extends EntitiesDb{
         
         getPM().deletePersistentAll(instructorsToDelete);
         getPM().flush();       
+        RequestCache.invalidate(CACHE_KIND);
+        for (String courseId : courseIds) {
+            SharedCache.invalidate(CACHE_KIND, courseId);
+        }
     }
     
     /**
@@ -423,13 +477,18 @@ public class InstructorsDb extends EntitiesDb{
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
 
         List<Instructor> instructorList = getInstructorEntitiesForGoogleId(googleId);
+        List<InstructorAttributes> instructorsToDelete = new ArrayList<InstructorAttributes>();
         
         for(Instructor instructor : instructorList){        
-            deleteDocument(new InstructorAttributes(instructor)); 
+            InstructorAttributes instructorToDelete = new InstructorAttributes(instructor);
+            deleteDocument(instructorToDelete); 
+            instructorsToDelete.add(instructorToDelete);
         } 
         
         getPM().deletePersistentAll(instructorList);
         getPM().flush();
+        RequestCache.invalidate(CACHE_KIND);
+        invalidateSharedCache(instructorsToDelete);
       
     }
     
@@ -448,7 +507,8 @@ public class InstructorsDb extends EntitiesDb{
         }        
         getPM().deletePersistentAll(instructorList);
         getPM().flush();
-        
+        RequestCache.invalidate(CACHE_KIND);
+        SharedCache.invalidate(CACHE_KIND, courseId);
         
     }
     
@@ -471,6 +531,21 @@ public class InstructorsDb extends EntitiesDb{
     
     private Instructor getInstructorEntityForEmail(String courseId, String email) {
         
+        // Instructors are keyed by email and course, and the key lookup also finds
+        // instructors created moments ago. The query is still needed for instructors
+        // whose email was changed after they were created.
+        try {
+            Instructor instructor = getPM().getObjectById(Instructor.class, email + '%' + courseId);
+            if (!JDOHelper.isDeleted(instructor) && email.equals(instructor.getEmail())
+                    && courseId.equals(instructor.getCourseId())) {
+                return instructor;
+            }
+        } catch (JDOObjectNotFoundException je) {
+            // fall back to the query
+        } catch (IllegalArgumentException iae) {
+            // fall back to the query
+        }
+        
         Query q = getPM().newQuery(Instructor.class);
         q.declareParameters("String courseIdParam, String emailParam");
         q.setFilter("courseId == courseIdParam && email == emailParam");
@@ -589,6 +664,11 @@ public class InstructorsDb extends EntitiesDb{
         return getInstructorEntityForEmail(instructorToGet.courseId, instructorToGet.email);
     }
     
+    @Override
+    protected String getSharedCacheScope(EntityAttributes attributes) {
+        return ((InstructorAttributes) attributes).courseId;
+    }
+    
 
 }
 
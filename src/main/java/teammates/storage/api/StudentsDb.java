@@ -2,12 +2,15 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
 import javax.jdo.Query;
 
 import teammates.common.datatransfer.EntityAttributes;
@@ -23,6 +26,8 @@ import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
 import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
+import teammates.storage.datastore.RequestCache;
+import teammates.storage.datastore.SharedCache;
 import teammates.storage.entity.Student;
 import teammates.storage.search.StudentSearchDocument;
 import teammates.storage.search.StudentSearchQuery;
@@ -40,12 +45,29 @@ public class StudentsDb extends EntitiesDb {
 
     public static final String ERROR_UPDATE_EMAIL_ALREADY_USED = "Trying to update to an email that is already used by: ";
     
+    /** Same as {@link StudentAttributes#getEntityTypeAsString()} */
+    private static final String CACHE_KIND = "Student";
+    
+    /**
+     * Kind under which the keys of the students created in the current request
+     * are remembered. Not invalidated by writes, unlike {@link #CACHE_KIND}.
+     */
+    private static final String CREATED_CACHE_KIND = "Student.created";
+    
     private static final Logger log = Utils.getLogger();
 
     public void putDocument(StudentAttributes student){
         putDocument(Const.SearchIndex.STUDENT, new StudentSearchDocument(student));
     }
     
+    public void putDocuments(List<StudentAttributes> students){
+        List<StudentSearchDocument> documents = new ArrayList<StudentSearchDocument>();
+        for (StudentAttributes student : students) {
+            documents.add(new StudentSearchDocument(student));
+        }
+        putDocuments(Const.SearchIndex.STUDENT, documents);
+    }
+    
     public StudentSearchResultBundle search(String queryString, String googleId, String cursorString){
         if(queryString.trim().isEmpty())
             return new StudentSearchResultBundle();
@@ -121,6 +143,20 @@ public class StudentsDb extends EntitiesDb {
         createStudent(student, false);
     }
 
+    /**
+     * Also remembers the key of the new student for the rest of the request.
+     * Students have generated keys, so they are found by querying, and a query
+     * may not see a student created moments ago; the remembered key lets
+     * {@link #getStudentForEmail(String, String)} find the student anyway.
+     */
+    @Override
+    public Object createEntity(EntityAttributes entityToAdd)
+            throws InvalidParametersException, EntityAlreadyExistsException {
+        Student student = (Student) super.createEntity(entityToAdd);
+        rememberCreatedStudent(student);
+        return student;
+    }
+
     public void createStudent(StudentAttributes student, boolean hasDocument)
             throws InvalidParametersException, EntityAlreadyExistsException {
         StudentAttributes createdStudent = new StudentAttributes((Student)createEntity(student));
@@ -129,6 +165,90 @@ public class StudentsDb extends EntitiesDb {
         }
     }
 
+    /**
+     * Creates {@code studentsToCreate} and, for each student in
+     * {@code studentsToUpdate}, updates the name, comments, team and section of
+     * the existing student with the same email. The students of the course are
+     * read once and all the changes are written in a single batch. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null and all students are in {@code courseId}.
+     */
+    public void createAndUpdateStudents(String courseId, List<StudentAttributes> studentsToCreate,
+            List<StudentAttributes> studentsToUpdate, boolean hasDocument)
+            throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, studentsToCreate);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, studentsToUpdate);
+        
+        for (StudentAttributes student : studentsToCreate) {
+            student.sanitizeForSaving();
+            if (!student.isValid()) {
+                throw new InvalidParametersException(student.getInvalidityInfo());
+            }
+        }
+        for (StudentAttributes student : studentsToUpdate) {
+            if (!student.isValid()) {
+                throw new InvalidParametersException(student.getInvalidityInfo());
+            }
+        }
+        
+        Map<String, Student> existingStudents = new HashMap<String, Student>();
+        for (Student student : getStudentEntitiesForCourse(courseId)) {
+            if (!JDOHelper.isDeleted(student)) {
+                existingStudents.put(student.getEmail(), student);
+            }
+        }
+        
+        List<Student> createdStudents = new ArrayList<Student>();
+        for (StudentAttributes student : studentsToCreate) {
+            if (existingStudents.containsKey(student.email)) {
+                String error = String.format(ERROR_CREATE_ENTITY_ALREADY_EXISTS, student.getEntityTypeAsString())
+                        + student.getIdentificationString();
+                log.info(error);
+                throw new EntityAlreadyExistsException(error);
+            }
+            createdStudents.add(student.toEntity());
+            log.info(student.getBackupIdentifier());
+        }
+        
+        List<Student> updatedStudents = new ArrayList<Student>();
+        for (StudentAttributes student : studentsToUpdate) {
+            Student studentToUpdate = existingStudents.get(student.email);
+            if (studentToUpdate == null) {
+                throw new EntityDoesNotExistException(ERROR_UPDATE_NON_EXISTENT_STUDENT
+                        + courseId + "/" + student.email);
+            }
+            studentToUpdate.setName(Sanitizer.sanitizeForHtml(student.name));
+            studentToUpdate.setLastName(Sanitizer.sanitizeName(StringHelper.splitName(student.name)[1]));
+            studentToUpdate.setComments(Sanitizer.sanitizeForHtml(student.comments));
+            studentToUpdate.setTeamName(Sanitizer.sanitizeForHtml(student.team));
+            studentToUpdate.setSectionName(Sanitizer.sanitizeForHtml(student.section));
+            updatedStudents.add(studentToUpdate);
+        }
+        
+        getPM().makePersistentAll(createdStudents);
+        getPM().flush();
+        
+        for (Student student : createdStudents) {
+            rememberCreatedStudent(student);
+        }
+        if (hasDocument) {
+            List<StudentAttributes> studentsToIndex = new ArrayList<StudentAttributes>();
+            for (Student student : createdStudents) {
+                studentsToIndex.add(new StudentAttributes(student));
+            }
+            for (Student student : updatedStudents) {
+                studentsToIndex.add(new StudentAttributes(student));
+            }
+            putDocuments(studentsToIndex);
+        }
+        
+        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        getPM().close();
+        RequestCache.invalidate(CACHE_KIND);
+        SharedCache.invalidate(CACHE_KIND, courseId);
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -140,6 +260,12 @@ public class StudentsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
     
+        String cacheKey = RequestCache.makeKey("email", courseId, email);
+        StudentAttributes cachedStudent = RequestCache.get(CACHE_KIND, cacheKey);
+        if (cachedStudent != null) {
+            return new StudentAttributes(cachedStudent);
+        }
+        
         Student s = getStudentEntityForEmail(courseId, email);
 
         if (s == null) {
@@ -147,7 +273,9 @@ public class StudentsDb extends EntitiesDb {
             return null;
         }
     
-        return new StudentAttributes(s);
+        StudentAttributes student = new StudentAttributes(s);
+        RequestCache.put(CACHE_KIND, cacheKey, student);
+        return new StudentAttributes(student);
     }
 
     /**
@@ -159,6 +287,12 @@ public class StudentsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
+        String cacheKey = RequestCache.makeKey("googleId", courseId, googleId);
+        StudentAttributes cachedStudent = RequestCache.get(CACHE_KIND, cacheKey);
+        if (cachedStudent != null) {
+            return new StudentAttributes(cachedStudent);
+        }
+        
         Query q = getPM().newQuery(Student.class);
         q.declareParameters("String googleIdParam, String courseIdParam");
         q.setFilter("ID == googleIdParam && courseID == courseIdParam");
@@ -169,7 +303,9 @@ public class StudentsDb extends EntitiesDb {
         if (studentList.isEmpty() || JDOHelper.isDeleted(studentList.get(0))) {
             return null;
         } else {
-            return new StudentAttributes(studentList.get(0));
+            StudentAttributes student = new StudentAttributes(studentList.get(0));
+            RequestCache.put(CACHE_KIND, cacheKey, student);
+            return new StudentAttributes(student);
         }
     }
     
@@ -237,9 +373,15 @@ public class StudentsDb extends EntitiesDb {
     public List<StudentAttributes> getStudentsForCourse(String courseId) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
+        String cacheKey = SharedCache.makeKey(CACHE_KIND, courseId, "studentsForCourse");
+        ArrayList<StudentAttributes> cachedStudents = SharedCache.get(cacheKey);
+        if (cachedStudents != null) {
+            return cachedStudents;
+        }
+        
         List<Student> studentList = getStudentEntitiesForCourse(courseId);
         
-        List<StudentAttributes> studentDataList = new ArrayList<StudentAttributes>();
+        ArrayList<StudentAttributes> studentDataList = new ArrayList<StudentAttributes>();
     
         for (Student s : studentList) {
             if (!JDOHelper.isDeleted(s)) {
@@ -247,6 +389,7 @@ public class StudentsDb extends EntitiesDb {
             }
         }
     
+        SharedCache.put(cacheKey, studentDataList);
         return studentDataList;
     }
     
@@ -389,6 +532,7 @@ public class StudentsDb extends EntitiesDb {
         student.setGoogleId(Sanitizer.sanitizeForHtml(newGoogleID));
         student.setTeamName(Sanitizer.sanitizeForHtml(newTeamName));
         student.setSectionName(Sanitizer.sanitizeForHtml(newSectionName));
+        RequestCache.invalidate(CACHE_KIND);
         
         if(hasDocument){
             putDocument(new StudentAttributes(student));   
@@ -396,6 +540,7 @@ public class StudentsDb extends EntitiesDb {
         
         log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
         getPM().close();
+        SharedCache.invalidate(CACHE_KIND, courseId);
     }
 
     //TODO: add an updateStudent(StudentAttributes) version and make the above private
@@ -431,6 +576,8 @@ public class StudentsDb extends EntitiesDb {
        
         getPM().deletePersistent(studentToDelete);
         getPM().flush();
+        RequestCache.invalidate(CACHE_KIND);
+        SharedCache.invalidate(CACHE_KIND, courseId);
     
         // Check delete operation persisted
         if(Config.PERSISTENCE_CHECK_DURATION > 0){
@@ -469,14 +616,20 @@ public class StudentsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
 
         List<Student> studentList = getStudentEntitiesForGoogleId(googleId);
+        List<StudentAttributes> studentsToDelete = new ArrayList<StudentAttributes>();
+        for(Student student : studentList){
+            studentsToDelete.add(new StudentAttributes(student));
+        }
         
         if(hasDocument){
-            for(Student student : studentList){
-                deleteDocument(new StudentAttributes(student));
+            for(StudentAttributes student : studentsToDelete){
+                deleteDocument(student);
             }
         }
         getPM().deletePersistentAll(studentList);
         getPM().flush();
+        RequestCache.invalidate(CACHE_KIND);
+        invalidateSharedCache(studentsToDelete);
     }
 
     /**
@@ -505,6 +658,8 @@ public class StudentsDb extends EntitiesDb {
         }
         getPM().deletePersistentAll(studentList);
         getPM().flush();
+        RequestCache.invalidate(CACHE_KIND);
+        SharedCache.invalidate(CACHE_KIND, courseId);
     }
 
     public void deleteStudentsForCourses(List<String> courseIds){
@@ -515,6 +670,10 @@ public class StudentsDb extends EntitiesDb {
         
         getPM().deletePersistentAll(studentsToDelete);
         getPM().flush();
+        RequestCache.invalidate(CACHE_KIND);
+        for (String courseId : courseIds) {
+            SharedCache.invalidate(CACHE_KIND, courseId);
+        }
     }
     
     public void verifyStudentExists(String courseId, String email) 
@@ -530,6 +689,22 @@ public class StudentsDb extends EntitiesDb {
 
     private Student getStudentEntityForEmail(String courseId, String email) {
         
+        Long createdKey = RequestCache.get(CREATED_CACHE_KIND, RequestCache.makeKey(courseId, email));
+        if (createdKey != null) {
+            try {
+                Student student = getPM().getObjectById(Student.class, createdKey);
+                if (JDOHelper.isDeleted(student)) {
+                    return null;
+                }
+                if (courseId.equals(student.getCourseId()) && email.equals(student.getEmail())) {
+                    return student;
+                }
+                // the email was changed after the student was created
+            } catch (JDOObjectNotFoundException je) {
+                return null;
+            }
+        }
+        
         Query q = getPM().newQuery(Student.class);
         q.declareParameters("String courseIdParam, String emailParam");
         q.setFilter("courseID == courseIdParam && email == emailParam");
@@ -544,6 +719,12 @@ public class StudentsDb extends EntitiesDb {
         return studentList.get(0);
     }
 
+    private void rememberCreatedStudent(Student student) {
+        RequestCache.put(CREATED_CACHE_KIND,
+                         RequestCache.makeKey(student.getCourseId(), student.getEmail()),
+                         student.getRegistrationKey());
+    }
+
     private List<Student> getStudentEntitiesForCourse(String courseId) {
         Query q = getPM().newQuery(Student.class);
         q.declareParameters("String courseIdParam");
@@ -614,6 +795,11 @@ public class StudentsDb extends EntitiesDb {
         return getStudentForEmail(studentToGet.course, studentToGet.email);
     }
     
+    @Override
+    protected String getSharedCacheScope(EntityAttributes attributes) {
+        return ((StudentAttributes) attributes).course;
+    }
+    
 
 }
 
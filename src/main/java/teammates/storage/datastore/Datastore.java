@@ -7,6 +7,7 @@ import javax.jdo.PersistenceManager;
 import javax.jdo.PersistenceManagerFactory;
 import javax.jdo.Transaction;
 
+import teammates.common.util.DatastoreCallCounter;
 import teammates.common.util.Utils;
 
 //TODO: we might not really need this class. To be reconsidered.
@@ -21,6 +22,7 @@ public class Datastore {
     private static final ThreadLocal<PersistenceManager> PER_THREAD_PM = new ThreadLocal<PersistenceManager>();
 
     public static void initialize() {
+        DatastoreCallCounter.install();
         if (PMF == null) {
             PMF = JDOHelper
                     .getPersistenceManagerFactory("transactions-optional");
@@ -48,6 +50,8 @@ public class Datastore {
 
     public static void finishRequest() {
 
+        RequestCache.finishRequest();
+        
         PersistenceManager pm = PER_THREAD_PM.get();
         
         if (pm == null) {
@@ -25,7 +25,13 @@ public final class DatastoreFilter implements javax.servlet.Filter {
         //There was a Datastore.finishRequest() here inside a finally clause.
         //  It was removed at 4.19 because some requests span multiple entity
         //  groups. We are not allowed to apply transactions to such requests.
-        chain.doFilter(request, response);
+        //  The request cache is still scoped to the request.
+        RequestCache.startRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestCache.finishRequest();
+        }
 
     }
 
@@ -0,0 +1,88 @@
+package teammates.storage.datastore;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembers entities read from the datastore during the current request, so
+ * that a request looking up the same course, instructor or student many times
+ * only goes to the datastore once. <br>
+ * The cache only works between {@link #startRequest()} and
+ * {@link #finishRequest()} (called by {@link DatastoreFilter}); outside a
+ * request (e.g. in tests and client scripts) every method is a no-op. <br>
+ * Entries are grouped by entity kind. Storage classes must call
+ * {@link #invalidate(String)} for a kind whenever they write entities of that
+ * kind, and must not hand out the cached objects themselves to callers.
+ */
+public class RequestCache {
+
+    private static final ThreadLocal<Map<String, Map<String, Object>>> PER_THREAD_CACHE =
+            new ThreadLocal<Map<String, Map<String, Object>>>();
+
+    public static void startRequest() {
+        PER_THREAD_CACHE.set(new HashMap<String, Map<String, Object>>());
+    }
+
+    public static void finishRequest() {
+        PER_THREAD_CACHE.remove();
+    }
+
+    public static boolean isActive() {
+        return PER_THREAD_CACHE.get() != null;
+    }
+
+    /**
+     * @return the object cached for {@code key} in {@code kind}, or null if
+     *         there is none or no request is active.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(String kind, String key) {
+        Map<String, Object> entries = getEntries(kind, false);
+        return entries == null ? null : (T) entries.get(key);
+    }
+
+    /**
+     * Does nothing if {@code value} is null or no request is active.
+     */
+    public static void put(String kind, String key, Object value) {
+        Map<String, Object> entries = getEntries(kind, true);
+        if (entries != null && value != null) {
+            entries.put(key, value);
+        }
+    }
+
+    /**
+     * Removes all cached objects of the given kind.
+     */
+    public static void invalidate(String kind) {
+        Map<String, Map<String, Object>> cache = PER_THREAD_CACHE.get();
+        if (cache != null) {
+            cache.remove(kind);
+        }
+    }
+
+    /**
+     * Builds a cache key out of the values that identify an entity.
+     */
+    public static String makeKey(String... parts) {
+        StringBuilder key = new StringBuilder();
+        for (String part : parts) {
+            // the length prefix keeps ("a|b", "c") and ("a", "b|c") apart
+            key.append(part == null ? -1 : part.length()).append('|').append(part).append('|');
+        }
+        return key.toString();
+    }
+
+    private static Map<String, Object> getEntries(String kind, boolean isCreatedIfMissing) {
+        Map<String, Map<String, Object>> cache = PER_THREAD_CACHE.get();
+        if (cache == null) {
+            return null;
+        }
+        Map<String, Object> entries = cache.get(kind);
+        if (entries == null && isCreatedIfMissing) {
+            entries = new HashMap<String, Object>();
+            cache.put(kind, entries);
+        }
+        return entries;
+    }
+}
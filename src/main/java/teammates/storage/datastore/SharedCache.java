@@ -0,0 +1,135 @@
+package teammates.storage.datastore;
+
+import java.io.Serializable;
+import java.util.logging.Logger;
+
+import teammates.common.util.Utils;
+
+import com.google.appengine.api.memcache.Expiration;
+import com.google.appengine.api.memcache.MemcacheService;
+import com.google.appengine.api.memcache.MemcacheService.SetPolicy;
+import com.google.appengine.api.memcache.MemcacheServiceFactory;
+
+/**
+ * Keeps data read from the datastore in memcache so that it can be reused
+ * by later requests, possibly served by other instances. <br>
+ * Entries are grouped by entity kind and by a scope (usually a course ID).
+ * Every (kind, scope) pair has a version number stored in memcache, and the
+ * version is part of the key of every entry. {@link #invalidate(String, String)}
+ * only bumps the version, which makes all entries of that scope unreachable
+ * at once; the old entries are left for memcache to evict. <br>
+ * Storage classes must invalidate a scope <em>after</em> a write to it has
+ * reached the datastore. Queries may not see a write until a moment after it
+ * reached the datastore, so nothing is cached for a scope during the few
+ * seconds after it was invalidated. <br>
+ * Memcache failures are treated as cache misses.
+ */
+public class SharedCache {
+
+    /** Upper bound on how long an entry can outlive a write that did not invalidate it. */
+    private static final int EXPIRATION_SECONDS = 60 * 60;
+
+    /** How long query results may still miss a write after it reached the datastore. */
+    private static final int SETTLE_SECONDS = 5;
+
+    private static final Logger log = Utils.getLogger();
+
+    private static final MemcacheService memcache = MemcacheServiceFactory.getMemcacheService();
+
+    /**
+     * Builds the key of an entry in the given kind and scope, using the
+     * current version of the scope. Get the key <em>before</em> reading the
+     * data to cache from the datastore, so that data read before a concurrent
+     * write is stored under the version that the write makes unreachable.
+     * @return null if memcache cannot be used right now, or if the scope was
+     *         written to within the last few seconds.
+     */
+    public static String makeKey(String kind, String scope, String key) {
+        if (isSettling(kind, scope)) {
+            return null;
+        }
+        Object version = getVersion(kind, scope);
+        return version == null ? null : RequestCache.makeKey(kind, scope, version.toString(), key);
+    }
+
+    /**
+     * @return the value cached under {@code cacheKey} (as returned by
+     *         {@link #makeKey(String, String, String)}), or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(String cacheKey) {
+        if (cacheKey == null) {
+            return null;
+        }
+        try {
+            return (T) memcache.get(cacheKey);
+        } catch (Exception e) {
+            log.warning("Could not read " + cacheKey + " from memcache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Does nothing if {@code cacheKey} or {@code value} is null, or if the
+     * value cannot be stored.
+     */
+    public static void put(String cacheKey, Serializable value) {
+        if (cacheKey == null || value == null) {
+            return;
+        }
+        try {
+            memcache.put(cacheKey, value, Expiration.byDeltaSeconds(EXPIRATION_SECONDS));
+        } catch (Exception e) {
+            // most likely a value over the memcache size limit; the data is just not cached
+            log.warning("Could not write " + cacheKey + " to memcache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Makes all values cached for the given kind and scope unreachable.
+     */
+    public static void invalidate(String kind, String scope) {
+        try {
+            memcache.increment(makeVersionKey(kind, scope), 1L, System.currentTimeMillis());
+            memcache.put(makeSettlingKey(kind, scope), Boolean.TRUE,
+                         Expiration.byDeltaSeconds(SETTLE_SECONDS));
+        } catch (Exception e) {
+            log.severe("Could not invalidate " + kind + " for " + scope + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isSettling(String kind, String scope) {
+        try {
+            return memcache.contains(makeSettlingKey(kind, scope));
+        } catch (Exception e) {
+            log.warning("Could not read cache state of " + kind + ": " + e.getMessage());
+            return true;
+        }
+    }
+
+    private static Object getVersion(String kind, String scope) {
+        String versionKey = makeVersionKey(kind, scope);
+        try {
+            Object version = memcache.get(versionKey);
+            if (version == null) {
+                // Start from a value that was never used before, so that entries
+                // written under an evicted version cannot become reachable again.
+                memcache.put(versionKey, System.currentTimeMillis(), null,
+                             SetPolicy.ADD_ONLY_IF_NOT_PRESENT);
+                version = memcache.get(versionKey);
+            }
+            return version;
+        } catch (Exception e) {
+            log.warning("Could not read cache version of " + kind + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String makeVersionKey(String kind, String scope) {
+        return "version|" + RequestCache.makeKey(kind, scope);
+    }
+
+    private static String makeSettlingKey(String kind, String scope) {
+        return "settling|" + RequestCache.makeKey(kind, scope);
+    }
+}
@@ -0,0 +1,117 @@
+package teammates.storage.entity;
+
+import java.util.Date;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Represents the number of students, unregistered students, teams and
+ * sections of a course. <br>
+ * These are counted once and then kept up to date as students are added,
+ * changed and removed, so that they can be shown without loading the
+ * students of the course.
+ */
+@PersistenceCapable
+public class CourseStatistics {
+    
+    @PrimaryKey
+    @Persistent
+    private String courseId;
+    
+    @Persistent
+    @Extension(vendorName="datanucleus", key="gae.unindexed", value="true")
+    private Integer studentsTotal;
+    
+    @Persistent
+    @Extension(vendorName="datanucleus", key="gae.unindexed", value="true")
+    private Integer unregisteredTotal;
+    
+    @Persistent
+    @Extension(vendorName="datanucleus", key="gae.unindexed", value="true")
+    private Integer teamsTotal;
+    
+    @Persistent
+    @Extension(vendorName="datanucleus", key="gae.unindexed", value="true")
+    private Integer sectionsTotal;
+    
+    /* the number of students in each team of each section, in JSON format */
+    @Persistent
+    @Extension(vendorName="datanucleus", key="gae.unindexed", value="true")
+    private Text teamSizes;
+    
+    /* when the statistics were last counted from the students of the course */
+    @Persistent
+    private Date recomputedAt;
+    
+    public CourseStatistics(String courseId, int studentsTotal, int unregisteredTotal,
+            int teamsTotal, int sectionsTotal, Text teamSizes, Date recomputedAt) {
+        this.setCourseId(courseId);
+        this.setStudentsTotal(studentsTotal);
+        this.setUnregisteredTotal(unregisteredTotal);
+        this.setTeamsTotal(teamsTotal);
+        this.setSectionsTotal(sectionsTotal);
+        this.setTeamSizes(teamSizes);
+        this.setRecomputedAt(recomputedAt);
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(String courseId) {
+        this.courseId = courseId.trim();
+    }
+
+    public int getStudentsTotal() {
+        return studentsTotal;
+    }
+
+    public void setStudentsTotal(int studentsTotal) {
+        this.studentsTotal = studentsTotal;
+    }
+
+    public int getUnregisteredTotal() {
+        return unregisteredTotal;
+    }
+
+    public void setUnregisteredTotal(int unregisteredTotal) {
+        this.unregisteredTotal = unregisteredTotal;
+    }
+
+    public int getTeamsTotal() {
+        return teamsTotal;
+    }
+
+    public void setTeamsTotal(int teamsTotal) {
+        this.teamsTotal = teamsTotal;
+    }
+
+    public int getSectionsTotal() {
+        return sectionsTotal;
+    }
+
+    public void setSectionsTotal(int sectionsTotal) {
+        this.sectionsTotal = sectionsTotal;
+    }
+
+    public Text getTeamSizes() {
+        return teamSizes;
+    }
+
+    public void setTeamSizes(Text teamSizes) {
+        this.teamSizes = teamSizes;
+    }
+
+    public Date getRecomputedAt() {
+        return recomputedAt;
+    }
+
+    public void setRecomputedAt(Date recomputedAt) {
+        this.recomputedAt = recomputedAt;
+    }
+}
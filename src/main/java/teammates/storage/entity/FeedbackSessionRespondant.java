@@ -0,0 +1,68 @@
+package teammates.storage.entity;
+
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Records that a user has responded to a feedback session. <br>
+ * There is one of these per respondant instead of a list in the
+ * {@link FeedbackSession}, so that users submitting at the same time do not
+ * all write to the same entity. The key is derived from the session and the
+ * respondant, which makes writing the same respondant again harmless.
+ */
+@PersistenceCapable
+public class FeedbackSessionRespondant {
+
+    // Format is feedbackSessionName%courseId%email%(instructor|student)
+    @PrimaryKey
+    @Persistent
+    private transient String respondantId;
+
+    @Persistent
+    private String feedbackSessionName;
+
+    @Persistent
+    private String courseId;
+
+    @Persistent
+    private String email;
+
+    @Persistent
+    private boolean isInstructor;
+
+    public FeedbackSessionRespondant(String feedbackSessionName, String courseId,
+            String email, boolean isInstructor) {
+        this.feedbackSessionName = feedbackSessionName;
+        this.courseId = courseId;
+        this.email = email;
+        this.isInstructor = isInstructor;
+        this.respondantId = makeId(feedbackSessionName, courseId, email, isInstructor);
+    }
+
+    public static String makeId(String feedbackSessionName, String courseId,
+            String email, boolean isInstructor) {
+        return feedbackSessionName + "%" + courseId + "%" + email + "%"
+               + (isInstructor ? "instructor" : "student");
+    }
+
+    public String getId() {
+        return respondantId;
+    }
+
+    public String getFeedbackSessionName() {
+        return feedbackSessionName;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public boolean isInstructor() {
+        return isInstructor;
+    }
+}
@@ -33,7 +33,7 @@ public class CommentSearchDocument extends SearchDocument {
     protected void prepareData() {
         if(comment == null) return;
         
-        course = logic.getCourse(comment.courseId);
+        course = getCourse(comment.courseId);
         
         giverAsInstructor = logic.
                 getInstructorForEmail(comment.courseId, comment.giverEmail);
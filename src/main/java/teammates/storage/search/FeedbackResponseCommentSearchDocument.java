@@ -49,7 +49,7 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
         
         relatedResponse = logic.getFeedbackResponse(comment.feedbackResponseId);
         
-        course = logic.getCourse(comment.courseId);
+        course = getCourse(comment.courseId);
         
         giverAsInstructor = logic.
                 getInstructorForEmail(comment.courseId, comment.giverEmail);
@@ -1,7 +1,10 @@
 package teammates.storage.search;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Logger;
 
+import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.util.Utils;
 import teammates.logic.api.Logic;
 
@@ -16,15 +19,34 @@ public abstract class SearchDocument {
     
     protected Logic logic;
     
+    private Map<String, CourseAttributes> courses;
+    
     public SearchDocument() {
         logic = new Logic();
     }
     
     public Document build() {
+        return build(new HashMap<String, CourseAttributes>());
+    }
+    
+    /**
+     * Builds the document, looking up courses in {@code courses} first and
+     * adding the courses it reads to it. Documents built with the same map
+     * read each course only once.
+     */
+    public Document build(Map<String, CourseAttributes> courses) {
+        this.courses = courses;
         prepareData();
         return toDocument();
     }
     
+    protected CourseAttributes getCourse(String courseId) {
+        if (!courses.containsKey(courseId)) {
+            courses.put(courseId, logic.getCourse(courseId));
+        }
+        return courses.get(courseId);
+    }
+    
     protected abstract void prepareData();
     
     protected abstract Document toDocument();
@@ -1,16 +1,22 @@
 package teammates.storage.search;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 import teammates.common.util.Config;
+import teammates.common.util.Const;
 import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
 
 import com.google.appengine.api.search.Index;
 import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.IndexSpec;
+import com.google.appengine.api.search.OperationResult;
 import com.google.appengine.api.search.PutException;
 import com.google.appengine.api.search.PutResponse;
 import com.google.appengine.api.search.Query;
@@ -45,13 +51,72 @@ public class SearchManager {
             if (!isSuccessful) {
                 elapsedTime += ThreadHelper.WAIT_DURATION;
             }
-            log.info("TEST");
         }
         if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
             log.severe(String.format(ERROR_EXCEED_DURATION, document, indexName));
         }
     }
     
+    /*
+     * Create or update the search documents for the given documents and index.
+     * Documents are put in batches of the largest size the Search API allows,
+     * all batches at the same time. Only the documents that could not be put
+     * are retried, one by one.
+     */
+    public static void putDocuments(String indexName, List<Document> documents){
+        Index index = getIndex(indexName);
+        int batchSize = Const.SystemParams.MAX_NUM_OF_INPUT_FOR_APP_ENGINE_BATCH;
+        
+        List<List<Document>> batches = new ArrayList<List<Document>>();
+        List<Future<PutResponse>> pendingPuts = new ArrayList<Future<PutResponse>>();
+        for (int start = 0; start < documents.size(); start += batchSize) {
+            List<Document> batch = documents.subList(start, Math.min(start + batchSize, documents.size()));
+            batches.add(batch);
+            pendingPuts.add(index.putAsync(batch));
+        }
+        
+        List<Document> failedDocuments = new ArrayList<Document>();
+        for (int i = 0; i < batches.size(); i++) {
+            List<Document> batch = batches.get(i);
+            List<OperationResult> results = getPutResults(pendingPuts.get(i), indexName);
+            if (results == null) {
+                failedDocuments.addAll(batch);
+                continue;
+            }
+            for (int j = 0; j < batch.size(); j++) {
+                if (j >= results.size() || results.get(j).getCode() != StatusCode.OK) {
+                    failedDocuments.add(batch.get(j));
+                }
+            }
+        }
+        
+        for (Document document : failedDocuments) {
+            putDocument(indexName, document);
+        }
+    }
+    
+    /**
+     * @return the result of each document of the batch, in the order they were
+     *         given, or null if no result is known for any of them.
+     */
+    private static List<OperationResult> getPutResults(Future<PutResponse> pendingPut, String indexName) {
+        try {
+            return pendingPut.get().getResults();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PutException) {
+                return ((PutException) e.getCause()).getResults();
+            }
+            log.warning("Failed to put a batch of documents into search index " + indexName + ": " + e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warning("Interrupted while putting a batch of documents into search index " + indexName);
+            return null;
+        } catch (PutException e) {
+            return e.getResults();
+        }
+    }
+    
     private static boolean tryPutDocument(String indexName, Document document){
         Index index = getIndex(indexName);
         try {
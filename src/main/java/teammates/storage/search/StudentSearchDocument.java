@@ -21,7 +21,7 @@ public class StudentSearchDocument extends SearchDocument {
         if(student == null) 
             return;
         
-        course = logic.getCourse(student.course);
+        course = getCourse(student.course);
     }
 
     @Override
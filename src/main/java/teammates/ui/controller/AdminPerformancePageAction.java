@@ -0,0 +1,32 @@
+package teammates.ui.controller;
+
+import teammates.common.util.ActionMetrics;
+import teammates.common.util.Const;
+import teammates.logic.api.GateKeeper;
+
+/**
+ * Shows the latency and datastore use of each action, as recorded by the
+ * {@link ControllerServlet} of the instance serving this page.
+ */
+public class AdminPerformancePageAction extends Action {
+
+    @Override
+    protected ActionResult execute() {
+        
+        new GateKeeper().verifyAdminPrivileges(account);
+        
+        AdminPerformancePageData data = new AdminPerformancePageData(account);
+        
+        if (getRequestParamAsBoolean(Const.ParamsNames.ADMIN_PERFORMANCE_RESET)) {
+            ActionMetrics.reset();
+            statusToUser.add("The metrics of this instance have been reset.");
+            statusToAdmin = "Admin Performance Page Reset";
+        } else {
+            statusToAdmin = "Admin Performance Page Load";
+        }
+        
+        data.metrics = ActionMetrics.getAll();
+        
+        return createShowPageResult(Const.ViewURIs.ADMIN_PERFORMANCE, data);
+    }
+}
@@ -0,0 +1,16 @@
+package teammates.ui.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.util.ActionMetrics;
+
+public class AdminPerformancePageData extends PageData {
+    
+    public List<ActionMetrics> metrics = new ArrayList<ActionMetrics>();
+
+    public AdminPerformancePageData(AccountAttributes account) {
+        super(account);
+    }
+}
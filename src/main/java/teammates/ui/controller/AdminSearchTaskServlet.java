@@ -1,7 +1,6 @@
 package teammates.ui.controller;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -9,14 +8,10 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import teammates.common.datatransfer.InstructorAttributes;
-import teammates.common.datatransfer.StudentAttributes;
-import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.util.Const;
 import teammates.common.util.Utils;
 import teammates.logic.core.CoursesLogic;
-import teammates.logic.core.InstructorsLogic;
-import teammates.logic.core.StudentsLogic;
 import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Field;
 import com.google.appengine.api.search.GetRequest;
@@ -52,24 +47,14 @@ public class AdminSearchTaskServlet extends HttpServlet {
 
 
     /**
-     * Indexes student and instructor entries to build the table for search
+     * Schedules one task per course to index its students, instructors and
+     * comments in batches, so that courses are indexed in parallel
      */
     private void buildNewSearchIndexes() {
         
-        /**
-         * Retrieve all students
-         */
-        @SuppressWarnings("deprecation") //This method is deprecated to prevent unintended usage. This is an intended usage       
-        List<StudentAttributes> students = StudentsLogic.inst().getAllStudents();
-        Iterator<StudentAttributes> it = students.iterator();
-        
-        /**
-         *  add all students into document
-         */
-        
-        while (it.hasNext()){            
-            StudentAttributes student = it.next();
-            StudentsLogic.inst().putDocument(student);
+        List<CourseAttributes> courses = CoursesLogic.inst().getAllCourses();
+        for (CourseAttributes course : courses) {
+            CoursesLogic.inst().scheduleSearchDocumentsRebuild(course.id);
         }
         
     }
@@ -13,11 +13,14 @@ import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.NullPostParameterException;
 import teammates.common.exception.PageNotFoundException;
 import teammates.common.exception.UnauthorizedAccessException;
+import teammates.common.util.ActionMetrics;
 import teammates.common.util.ActivityLogEntry;
 import teammates.common.util.Const;
+import teammates.common.util.DatastoreCallCounter;
 import teammates.common.util.HttpRequestHelper;
 import teammates.common.util.Utils;
 import teammates.logic.api.Logic;
+import teammates.logic.core.TaskQueuesLogic;
 
 import com.google.appengine.api.datastore.DatastoreTimeoutException;
 import com.google.apphosting.api.DeadlineExceededException;
@@ -41,22 +44,31 @@ public class ControllerServlet extends HttpServlet {
     public final void doPost(HttpServletRequest req, HttpServletResponse resp)
             throws IOException, ServletException {
 
+        long startTime = System.currentTimeMillis();
+        long renderMillis = 0;
+        String actionName = null;
+        DatastoreCallCounter.startCounting();
+        
         try{
             /* We are using the Template Method Design Pattern here.
              * This method contains the high level logic of the the request processing.
              * Concrete details of the processing steps are to be implemented by child
              * classes, based on request-specific needs.
              */
-            long startTime = System.currentTimeMillis();
-            
             log.info("Request received : " + req.getRequestURL().toString()
                     + ":" + HttpRequestHelper.printRequestParameters(req));
             log.info("User agent : " + req.getHeader("User-Agent"));
             
             Action c = new ActionFactory().getAction(req);
+            actionName = c.getClass().getSimpleName();
             if (c.isValidUser()) {
                 ActionResult actionResult = c.executeAndPostProcess();
+                // add the tasks of the action before the result is sent, so that
+                // the action fails if they cannot be added
+                TaskQueuesLogic.flushBufferedTasks();
+                long renderStartTime = System.currentTimeMillis();
                 actionResult.send(req, resp);
+                renderMillis = System.currentTimeMillis() - renderStartTime;
             } else {
                 resp.sendRedirect(c.getAuthenticationRedirectUrl());
             }
@@ -114,7 +126,14 @@ public class ControllerServlet extends HttpServlet {
             log.severe(ActivityLogEntry.generateSystemErrorReportLogMessage(req, email)); 
             cleanUpStatusMessageInSession(req);
             resp.sendRedirect(Const.ViewURIs.ERROR_PAGE);
-        }  
+        } finally {
+            // requests to unknown URLs are not recorded, so that they cannot fill up the metrics
+            if (actionName != null) {
+                ActionMetrics.record(actionName, System.currentTimeMillis() - startTime, renderMillis,
+                                     DatastoreCallCounter.getNumberOfCalls(), DatastoreCallCounter.getMillis());
+            }
+            DatastoreCallCounter.stopCounting();
+        }
         
     }
     
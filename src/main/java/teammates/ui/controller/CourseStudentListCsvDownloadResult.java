@@ -0,0 +1,62 @@
+package teammates.ui.controller;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.util.Assumption;
+import teammates.logic.api.Logic;
+
+/**
+ * A {@link FileDownloadResult} for the student list of a course in CSV format.
+ * The CSV rows are written while the file is being sent, 
+ * instead of being built in memory by the {@link Action}.
+ */
+public class CourseStudentListCsvDownloadResult extends FileDownloadResult {
+    
+    private Logic logic;
+    private String courseId;
+    private String googleId;
+
+    public CourseStudentListCsvDownloadResult(
+            String destination, AccountAttributes account,
+            Map<String, String[]> parametersFromPreviousRequest, List<String> status, 
+            String fileName, Logic logic, String courseId, String googleId) {
+        super(destination, account, parametersFromPreviousRequest, status);
+        this.fileName = fileName;
+        this.logic = logic;
+        this.courseId = courseId;
+        this.googleId = googleId;
+    }
+    
+    @Override
+    protected void writeFileContent(Writer writer) throws IOException {
+        try {
+            logic.writeCourseStudentListAsCsv(courseId, googleId, writer);
+        } catch (EntityDoesNotExistException e) {
+            // The existence of the course is verified by the action before this result is created
+            Assumption.fail("Course was deleted while its student list was being downloaded: " 
+                            + e.getMessage());
+        }
+    }
+    
+    /**
+     * Generates the whole file in memory. Use only for small courses (e.g. in tests),
+     * as {@link #send} streams the content without keeping it.
+     */
+    @Override
+    public String getFileContent() {
+        StringWriter writer = new StringWriter();
+        try {
+            writeFileContent(writer);
+        } catch (IOException e) {
+            Assumption.fail("StringWriter should not throw IOException");
+        }
+        return writer.toString();
+    }
+    
+}
@@ -15,9 +15,7 @@ import teammates.common.datatransfer.FeedbackQuestionBundle;
 import teammates.common.datatransfer.FeedbackQuestionType;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
-import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
-import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.HttpRequestHelper;
@@ -66,6 +64,8 @@ public abstract class FeedbackQuestionSubmissionEditSaveAction extends Action {
         Set<String> emailSet = data.bundle.getRecipientEmails(feedbackQuestionId);
         emailSet.add("");
         ArrayList<String> responsesRecipients = new ArrayList<String>();
+        List<FeedbackResponseAttributes> responsesToSave = new ArrayList<FeedbackResponseAttributes>();
+        List<FeedbackResponseAttributes> responsesToDelete = new ArrayList<FeedbackResponseAttributes>();
         
         for(int responseIndx = 0; responseIndx < numOfResponsesToGet; responseIndx++) {
             FeedbackResponseAttributes response = extractFeedbackResponseData(requestParameters, 1, responseIndx, questionDetails);
@@ -73,7 +73,7 @@ public abstract class FeedbackQuestionSubmissionEditSaveAction extends Action {
             
             if(response.responseMetaData.getValue().isEmpty()){
                 //deletes the response since answer is empty.
-                saveResponse(response);
+                addResponseToSave(response, responsesToSave, responsesToDelete);
             } else {
                 response.giverEmail = userEmailForCourse;
                 response.giverSection = userSectionForCourse;
@@ -89,13 +89,21 @@ public abstract class FeedbackQuestionSubmissionEditSaveAction extends Action {
         
         if(errors.isEmpty()) {
             for(FeedbackResponseAttributes response : responsesForQuestion) {
-                saveResponse(response);
+                addResponseToSave(response, responsesToSave, responsesToDelete);
             }
         } else {
             statusToUser.addAll(errors);
             isError = true;
         }
         
+        List<String> saveErrors = logic.saveFeedbackResponsesFromGiver(userEmailForCourse, feedbackSessionName,
+                                                                       courseId, responsesToSave, responsesToDelete);
+        if (!saveErrors.isEmpty()) {
+            statusToUser.addAll(saveErrors);
+            isError = true;
+            statusToAdmin = Const.ACTION_RESULT_FAILURE + " : " + saveErrors;
+        }
+        
         if (isError == false) {
             statusToUser.add(Const.StatusMessages.FEEDBACK_RESPONSES_SAVED);
         }
@@ -113,27 +121,21 @@ public abstract class FeedbackQuestionSubmissionEditSaveAction extends Action {
         return createSpecificShowPageResult();
     }
     
-    private void saveResponse(FeedbackResponseAttributes response)
-            throws EntityDoesNotExistException {
-        if (response.getId() != null) {
-            // Delete away response if any empty fields
-            if (response.responseMetaData.getValue().isEmpty() || 
+    /**
+     * Adds the response to the responses to save, or to the responses to
+     * delete if it has an empty field.
+     */
+    private void addResponseToSave(FeedbackResponseAttributes response,
+            List<FeedbackResponseAttributes> responsesToSave,
+            List<FeedbackResponseAttributes> responsesToDelete) {
+        if (response.responseMetaData.getValue().isEmpty() || 
                 response.recipientEmail.isEmpty()) {
-                logic.deleteFeedbackResponse(response);
-                return;
-            }
-            try {
-                logic.updateFeedbackResponse(response);
-            } catch (EntityAlreadyExistsException | InvalidParametersException e) {
-                setStatusForException(e);
-            }
-        } else if (!response.responseMetaData.getValue().isEmpty() &&
-                    !response.recipientEmail.isEmpty()){
-            try {
-                logic.createFeedbackResponse(response);
-            } catch (EntityAlreadyExistsException | InvalidParametersException e) {
-                setStatusForException(e);
+            // Delete away response if any empty fields
+            if (response.getId() != null) {
+                responsesToDelete.add(response);
             }
+        } else {
+            responsesToSave.add(response);
         }
     }
     
@@ -0,0 +1,68 @@
+package teammates.ui.controller;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.util.Assumption;
+import teammates.logic.api.Logic;
+
+/**
+ * A {@link FileDownloadResult} for the results of a feedback session in CSV format.
+ * The CSV rows are generated question by question while the file is being sent, 
+ * instead of being built in memory by the {@link Action}.
+ */
+public class FeedbackSessionResultsCsvDownloadResult extends FileDownloadResult {
+    
+    private Logic logic;
+    private String courseId;
+    private String feedbackSessionName;
+    private String instructorEmail;
+    private String section;
+
+    public FeedbackSessionResultsCsvDownloadResult(
+            String destination, AccountAttributes account,
+            Map<String, String[]> parametersFromPreviousRequest, List<String> status, 
+            String fileName, Logic logic, String courseId, String feedbackSessionName,
+            String instructorEmail, String section) {
+        super(destination, account, parametersFromPreviousRequest, status);
+        this.fileName = fileName;
+        this.logic = logic;
+        this.courseId = courseId;
+        this.feedbackSessionName = feedbackSessionName;
+        this.instructorEmail = instructorEmail;
+        this.section = section;
+    }
+    
+    @Override
+    protected void writeFileContent(Writer writer) throws IOException {
+        try {
+            logic.writeFeedbackSessionResultSummaryAsCsv(courseId, feedbackSessionName, 
+                                                         instructorEmail, section, writer);
+        } catch (EntityDoesNotExistException e) {
+            // The existence of the session is verified by the action before this result is created
+            Assumption.fail("Feedback session was deleted while its results were being downloaded: " 
+                            + e.getMessage());
+        }
+    }
+    
+    /**
+     * Generates the whole file in memory. Use only for small results (e.g. in tests),
+     * as {@link #send} streams the content without keeping it.
+     */
+    @Override
+    public String getFileContent() {
+        StringWriter writer = new StringWriter();
+        try {
+            writeFileContent(writer);
+        } catch (IOException e) {
+            Assumption.fail("StringWriter should not throw IOException");
+        }
+        return writer.toString();
+    }
+    
+}
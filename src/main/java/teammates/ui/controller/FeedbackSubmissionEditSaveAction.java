@@ -14,9 +14,7 @@ import teammates.common.datatransfer.FeedbackResponseDetails;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionQuestionsBundle;
 import teammates.common.datatransfer.StudentAttributes;
-import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
-import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.HttpRequestHelper;
@@ -57,6 +55,9 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
             return createSpecificRedirectResult();
         }
         
+        List<FeedbackResponseAttributes> responsesToSave = new ArrayList<FeedbackResponseAttributes>();
+        List<FeedbackResponseAttributes> responsesToDelete = new ArrayList<FeedbackResponseAttributes>();
+        
         int numOfQuestionsToGet = data.bundle.questionResponseBundle.size();
         for(int questionIndx = 1; questionIndx <= numOfQuestionsToGet; questionIndx++) {
             String totalResponsesForQuestion = getRequestParamValue(Const.ParamsNames.FEEDBACK_QUESTION_RESPONSETOTAL + "-" + questionIndx);
@@ -100,7 +101,7 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
                 
                 if(response.responseMetaData.getValue().isEmpty()){
                     //deletes the response since answer is empty
-                    saveResponse(response);
+                    addResponseToSave(response, responsesToSave, responsesToDelete);
                 } else {
                     response.giverEmail = userEmailForCourse;
                     response.giverSection = userSectionForCourse;
@@ -116,7 +117,7 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
             
             if(errors.isEmpty()) {
                 for(FeedbackResponseAttributes response : responsesForQuestion) {
-                    saveResponse(response);
+                    addResponseToSave(response, responsesToSave, responsesToDelete);
                 }
             } else {
                 statusToUser.addAll(errors);
@@ -125,6 +126,14 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
             
         }
         
+        List<String> saveErrors = logic.saveFeedbackResponsesFromGiver(userEmailForCourse, feedbackSessionName,
+                                                                       courseId, responsesToSave, responsesToDelete);
+        if (!saveErrors.isEmpty()) {
+            statusToUser.addAll(saveErrors);
+            isError = true;
+            statusToAdmin = Const.ACTION_RESULT_FAILURE + " : " + saveErrors;
+        }
+        
         if (!isError) {
             statusToUser.add(Const.StatusMessages.FEEDBACK_RESPONSES_SAVED);
         }
@@ -140,27 +149,22 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
         return createSpecificRedirectResult();
     }
 
-    private void saveResponse(FeedbackResponseAttributes response)
-            throws EntityDoesNotExistException {
-        if (response.getId() != null) {
-            // Delete away response if any empty fields
-            if (response.responseMetaData.getValue().isEmpty() || 
+    /**
+     * Adds the response to the responses to save, or to the responses to
+     * delete if it has an empty field. All of them are saved together at the
+     * end of the request.
+     */
+    private void addResponseToSave(FeedbackResponseAttributes response,
+            List<FeedbackResponseAttributes> responsesToSave,
+            List<FeedbackResponseAttributes> responsesToDelete) {
+        if (response.responseMetaData.getValue().isEmpty() || 
                 response.recipientEmail.isEmpty()) {
-                logic.deleteFeedbackResponse(response);
-                return;
-            }
-            try {
-                logic.updateFeedbackResponse(response);
-            } catch (EntityAlreadyExistsException | InvalidParametersException e) {
-                setStatusForException(e);
-            }
-        } else if (!response.responseMetaData.getValue().isEmpty() &&
-                    !response.recipientEmail.isEmpty()){
-            try {
-                logic.createFeedbackResponse(response);
-            } catch (EntityAlreadyExistsException | InvalidParametersException e) {
-                setStatusForException(e);
+            // Delete away response if any empty fields
+            if (response.getId() != null) {
+                responsesToDelete.add(response);
             }
+        } else {
+            responsesToSave.add(response);
         }
     }
     
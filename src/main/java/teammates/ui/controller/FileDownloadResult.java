@@ -2,6 +2,7 @@ package teammates.ui.controller;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +42,15 @@ public class FileDownloadResult extends ActionResult {
         resp.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + ".csv\"");
         PrintWriter writer = resp.getWriter();
         writer.write("\uFEFF");
+        writeFileContent(writer);
+    }
+    
+    /**
+     * Writes the content of the file (excluding the byte order mark) to {@code writer}.
+     * Subclasses that generate the content on the fly can override this
+     * instead of holding the whole file in {@code fileContent}.
+     */
+    protected void writeFileContent(Writer writer) throws IOException {
         writer.append(fileContent);
     }
     
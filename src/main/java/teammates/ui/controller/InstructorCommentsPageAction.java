@@ -83,8 +83,8 @@ public class InstructorCommentsPageAction extends Action {
         data.nextPageLink = nextPageLink;
         int numberOfPendingComments = 0;
         if(!courseId.isEmpty()){
-            numberOfPendingComments = logic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).size() 
-                    + logic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING).size();
+            numberOfPendingComments = logic.getNumberOfCommentsForSendingState(courseId, CommentSendingState.PENDING) 
+                    + logic.getNumberOfFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING);
         }
         data.numberOfPendingComments = numberOfPendingComments;
         
@@ -5,7 +5,6 @@ import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
-import teammates.common.util.StringHelper;
 import teammates.logic.api.GateKeeper;
 
 /**
@@ -32,7 +31,7 @@ public class InstructorCourseDetailsPageAction extends Action {
 
         
         if(isHtmlTableNeeded){
-            data.studentListHtmlTableAsString = StringHelper.csvToHtmlTable(logic.getCourseStudentListAsCsv(courseId, account.googleId));            
+            data.studentListHtmlTableAsString = logic.getCourseStudentListAsHtmlTable(courseId, account.googleId);
             statusToAdmin = "instructorCourseDetails Page Ajax Html table Load<br>" 
                           + "Viewing Student List Table for Course <span class=\"bold\">[" + courseId + "]</span>";
             return createAjaxResult(Const.ViewURIs.INSTRUCTOR_COURSE_DETAILS, data);
@@ -16,12 +16,13 @@ public class InstructorCourseStudentListDownloadAction extends Action {
                 logic.getInstructorForGoogleId(courseId, account.googleId),
                 logic.getCourse(courseId));
         
-        String fileContent = logic.getCourseStudentListAsCsv(courseId, account.googleId);
         String fileName = courseId + "_studentList";
         
         statusToAdmin = "Students data for Course "+ courseId + " was downloaded";
         
-        return createFileDownloadResult(fileName, fileContent);
+        return new CourseStudentListCsvDownloadResult(
+                "filedownload", account, requestParameters, statusToUser,
+                fileName, logic, courseId, account.googleId);
     }
 
 }
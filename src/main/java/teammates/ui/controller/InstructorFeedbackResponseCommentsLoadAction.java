@@ -44,8 +44,8 @@ public class InstructorFeedbackResponseCommentsLoadAction extends Action {
         data.instructorEmail = instructor.email;
         data.currentInstructor = instructor;
         data.roster = roster;
-        data.numberOfPendingComments = logic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).size() 
-                + logic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING).size();
+        data.numberOfPendingComments = logic.getNumberOfCommentsForSendingState(courseId, CommentSendingState.PENDING) 
+                + logic.getNumberOfFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING);
         return createShowPageResult(Const.ViewURIs.INSTRUCTOR_FEEDBACK_RESPONSE_COMMENTS_LOAD, data);
     }
 
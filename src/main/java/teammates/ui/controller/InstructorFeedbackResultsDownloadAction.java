@@ -3,7 +3,6 @@ package teammates.ui.controller;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
-import teammates.common.exception.ExceedingRangeException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.logic.api.GateKeeper;
@@ -28,27 +27,20 @@ public class InstructorFeedbackResultsDownloadAction extends Action {
                 session,
                 !isCreatorOnly);
         
-        String fileContent = "";
         String fileName = "";
-        try {
-            if(section == null || section.equals("All")){
-                fileContent = logic.getFeedbackSessionResultSummaryAsCsv(courseId, feedbackSessionName, instructor.email);
-                fileName = courseId + "_" + feedbackSessionName;
-                statusToAdmin = "Summary data for Feedback Session " + feedbackSessionName + " in Course " + courseId + " was downloaded";
-            } else {
-                fileContent = logic.getFeedbackSessionResultSummaryInSectionAsCsv(courseId, feedbackSessionName, instructor.email, section);
-                fileName = courseId + "_" + feedbackSessionName + "_" + section;
-                statusToAdmin = "Summary data for Feedback Session " + feedbackSessionName + " in Course " + courseId + " within " + section + " was downloaded";
-            } 
-        } catch (ExceedingRangeException e){
-            statusToUser.add("There are too many responses. Please download the feedback results by section");
-            isError = true;
-            RedirectResult result = createRedirectResult(Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_PAGE);
-            result.addResponseParam(Const.ParamsNames.COURSE_ID, courseId);
-            result.addResponseParam(Const.ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionName);
-            return result;
+        if(section == null || section.equals("All")){
+            section = null;
+            fileName = courseId + "_" + feedbackSessionName;
+            statusToAdmin = "Summary data for Feedback Session " + feedbackSessionName + " in Course " + courseId + " was downloaded";
+        } else {
+            fileName = courseId + "_" + feedbackSessionName + "_" + section;
+            statusToAdmin = "Summary data for Feedback Session " + feedbackSessionName + " in Course " + courseId + " within " + section + " was downloaded";
         }
         
-        return createFileDownloadResult(fileName, fileContent);
+        // The CSV content is generated while the result is being sent, 
+        // so that large sessions need not be downloaded by section.
+        return new FeedbackSessionResultsCsvDownloadResult(
+                "filedownload", account, requestParameters, statusToUser,
+                fileName, logic, courseId, feedbackSessionName, instructor.email, section);
     }
 }
@@ -105,9 +105,23 @@ public class InstructorFeedbackResultsPageAction extends Action {
         }
         data.sections = logic.getSectionNamesForCourse(courseId);
         String questionNumStr = getRequestParamValue(Const.ParamsNames.FEEDBACK_QUESTION_NUMBER);
+        
+        // an empty cursor requests the first page of responses, and so does
+        // a malformed one (e.g. an edited link)
+        String cursor = getRequestParamValue(Const.ParamsNames.FEEDBACK_RESULTS_CURSOR);
+        boolean isPaged = cursor != null;
+        if (cursor != null && (cursor.isEmpty() || !logic.isValidFeedbackResponsesPageCursor(cursor))) {
+            cursor = null;
+        }
+        
         if (data.selectedSection.equals(ALL_SECTION_OPTION) && questionNumStr == null) {
-            data.bundle = logic.getFeedbackSessionResultsForInstructorWithinRangeFromView(
-                    feedbackSessionName, courseId, data.instructor.email, queryRange, data.sortType);
+            if (isPaged) {
+                data.bundle = logic.getFeedbackSessionResultsForInstructorPageFromView(
+                        feedbackSessionName, courseId, data.instructor.email, cursor, queryRange, data.sortType);
+            } else {
+                data.bundle = logic.getFeedbackSessionResultsForInstructorWithinRangeFromView(
+                        feedbackSessionName, courseId, data.instructor.email, queryRange, data.sortType);
+            }
         } else if (data.sortType.equals("question")) {
             if(questionNumStr == null){
                 data.bundle = logic.getFeedbackSessionResultsForInstructorInSection(
@@ -121,16 +135,30 @@ public class InstructorFeedbackResultsPageAction extends Action {
             }
         } else if (data.sortType.equals("giver-question-recipient")
                 || data.sortType.equals("giver-recipient-question")) {
-            data.bundle = logic
-                    .getFeedbackSessionResultsForInstructorFromSectionWithinRange(
-                            feedbackSessionName, courseId,
-                            data.instructor.email, data.selectedSection, DEFAULT_SECTION_QUERY_RANGE);
+            if (isPaged) {
+                data.bundle = logic
+                        .getFeedbackSessionResultsForInstructorFromSectionPage(
+                                feedbackSessionName, courseId,
+                                data.instructor.email, data.selectedSection, cursor, DEFAULT_SECTION_QUERY_RANGE);
+            } else {
+                data.bundle = logic
+                        .getFeedbackSessionResultsForInstructorFromSectionWithinRange(
+                                feedbackSessionName, courseId,
+                                data.instructor.email, data.selectedSection, DEFAULT_SECTION_QUERY_RANGE);
+            }
         } else if (data.sortType.equals("recipient-question-giver")
                 || data.sortType.equals("recipient-giver-question")) {
-            data.bundle = logic
-                    .getFeedbackSessionResultsForInstructorToSectionWithinRange(
-                            feedbackSessionName, courseId,
-                            data.instructor.email, data.selectedSection, DEFAULT_SECTION_QUERY_RANGE);
+            if (isPaged) {
+                data.bundle = logic
+                        .getFeedbackSessionResultsForInstructorToSectionPage(
+                                feedbackSessionName, courseId,
+                                data.instructor.email, data.selectedSection, cursor, DEFAULT_SECTION_QUERY_RANGE);
+            } else {
+                data.bundle = logic
+                        .getFeedbackSessionResultsForInstructorToSectionWithinRange(
+                                feedbackSessionName, courseId,
+                                data.instructor.email, data.selectedSection, DEFAULT_SECTION_QUERY_RANGE);
+            }
         }
 
         if (data.bundle == null) {
@@ -9,6 +9,7 @@ import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
 import teammates.common.util.TimeHelper;
+import teammates.common.util.Url;
 
 public class InstructorFeedbackResultsPageData extends PageData {
     public static final String EXCEEDING_RESPONSES_ERROR_MESSAGE = "Sorry, we could not retrieve results. "
@@ -37,6 +38,21 @@ public class InstructorFeedbackResultsPageData extends PageData {
         startIndex = -1;
     }
     
+    /**
+     * @param cursor continuation token of the page to show, or an empty string
+     *         for the first page of responses
+     * @return link to the current view of the results, showing one page of responses
+     */
+    public String getInstructorFeedbackResultsPageLink(String cursor) {
+        String link = getInstructorFeedbackSessionResultsLink(courseId, feedbackSessionName);
+        link = Url.addParamToUrl(link, Const.ParamsNames.FEEDBACK_RESULTS_SORTTYPE, sortType);
+        link = Url.addParamToUrl(link, Const.ParamsNames.FEEDBACK_RESULTS_GROUPBYSECTION, selectedSection);
+        link = Url.addParamToUrl(link, Const.ParamsNames.FEEDBACK_RESULTS_GROUPBYTEAM, groupByTeam);
+        link = Url.addParamToUrl(link, Const.ParamsNames.FEEDBACK_RESULTS_SHOWSTATS, showStats);
+        link = Url.addParamToUrl(link, Const.ParamsNames.FEEDBACK_RESULTS_CURSOR, cursor);
+        return link;
+    }
+    
     @Override
     public String getInstructorFeedbackSessionPublishAndUnpublishAction(FeedbackSessionAttributes session, boolean isHome, InstructorAttributes instructor) {
         boolean hasPublish = !session.isWaitingToOpen() && !session.isPublished();
@@ -64,8 +64,8 @@ public class InstructorHomePageAction extends Action {
             String courseId = course.course.id;
             InstructorAttributes instructor = logic.getInstructorForGoogleId(courseId, account.googleId);
             data.instructors.put(courseId, instructor);
-            int numberOfPendingCommentsForThisCourse = logic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).size() 
-                    + logic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING).size();
+            int numberOfPendingCommentsForThisCourse = logic.getNumberOfCommentsForSendingState(courseId, CommentSendingState.PENDING) 
+                    + logic.getNumberOfFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING);
             data.numberOfPendingComments.put(courseId, numberOfPendingCommentsForThisCourse);
             
             EvaluationAttributes.sortEvaluationsByDeadlineDescending(course.evaluations);
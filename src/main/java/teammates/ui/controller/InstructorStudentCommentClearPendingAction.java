@@ -65,7 +65,7 @@ public class InstructorStudentCommentClearPendingAction extends Action {
     }
     
     private int getPendingCommentsSize(String courseId) throws EntityDoesNotExistException{
-        return logic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).size()
-                + logic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING).size();
+        return logic.getNumberOfCommentsForSendingState(courseId, CommentSendingState.PENDING)
+                + logic.getNumberOfFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING);
     }
 }
@@ -52,6 +52,12 @@
                     .contains("AdminSessionsPage") ? "active" : ""%>">
                     <a href="<%=Const.ActionURIs.ADMIN_SESSIONS_PAGE%>">Sessions</a>
                 </li>
+                
+                <li
+                    class="<%=data.getClass().toString()
+                    .contains("AdminPerformancePage") ? "active" : ""%>">
+                    <a href="<%=Const.ActionURIs.ADMIN_PERFORMANCE_PAGE%>">Performance</a>
+                </li>
 
                 <li
                     class="<%=data.getClass().toString()
@@ -0,0 +1,107 @@
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" %>
+
+<%@ page import="teammates.common.util.ActionMetrics" %>
+<%@ page import="teammates.common.util.Const" %>
+<%@ page import="teammates.ui.controller.AdminPerformancePageData"%>
+<%@ page import="static teammates.ui.controller.PageData.sanitizeForHtml" %>
+
+<%
+    AdminPerformancePageData data = (AdminPerformancePageData)request.getAttribute("data");
+%>
+<!DOCTYPE html>
+<html>
+<head>
+    <link rel="shortcut icon" href="/favicon.png">
+    <meta http-equiv="Content-Type" content="text/html; charset=UTF-8">
+    <meta http-equiv="X-UA-Compatible" content="IE=edge">
+    <meta name="viewport" content="width=device-width, initial-scale=1">
+    <title>TEAMMATES - Administrator</title>
+    <!-- Bootstrap core CSS -->
+    <link href="/bootstrap/css/bootstrap.min.css" rel="stylesheet">
+    <!-- Bootstrap theme -->
+    <link href="/bootstrap/css/bootstrap-theme.min.css" rel="stylesheet">
+    <link rel="stylesheet" href="/stylesheets/teammatesCommon.css" type="text/css" media="screen">
+    <script type="text/javascript" src="/js/googleAnalytics.js"></script>
+    <script type="text/javascript" src="/js/jquery-minified.js"></script>
+    <script type="text/javascript" src="/js/common.js"></script>
+    <jsp:include page="../enableJS.jsp"></jsp:include>
+    <!-- Bootstrap core JavaScript ================================================== -->
+    <script src="/bootstrap/js/bootstrap.min.js"></script>
+    <!-- HTML5 shim and Respond.js IE8 support of HTML5 elements and media queries -->
+    <!--[if lt IE 9]>
+        <script src="https://oss.maxcdn.com/libs/html5shiv/3.7.0/html5shiv.js"></script>
+        <script src="https://oss.maxcdn.com/libs/respond.js/1.4.2/respond.min.js"></script>
+    <![endif]-->
+</head>
+
+<body>
+    <div id="frameTop">
+    <jsp:include page="<%=Const.ViewURIs.ADMIN_HEADER%>" />
+    </div>
+    <div id="frameBody">
+        <div id="frameBodyWrapper" class="container">
+            <div id="topOfPage"></div>
+            <div id="headerOperation" class="page-header">
+                <h1>Performance</h1>
+            </div>
+            <p class="text-muted">
+                Requests served by this instance since it started or was last reset.
+                Times are in milliseconds; percentiles are approximate.
+                Other instances keep their own metrics.
+            </p>
+            <form method="post" action="<%=Const.ActionURIs.ADMIN_PERFORMANCE_PAGE%>">
+                <input type="hidden" name="<%=Const.ParamsNames.ADMIN_PERFORMANCE_RESET%>" value="true">
+                <input id="btnResetMetrics" class="btn btn-default" type="submit" value="Reset">
+            </form>
+            <br>
+            <jsp:include page="<%=Const.ViewURIs.STATUS_MESSAGE%>" />
+            <div class="table-responsive">
+                <table class="table table-bordered table-striped" id="metricsTable">
+                    <thead>
+                        <tr>
+                            <th>Action</th>
+                            <th>Requests</th>
+                            <th>p50</th>
+                            <th>p95</th>
+                            <th>p99</th>
+                            <th>Max</th>
+                            <th>Average</th>
+                            <th>Average Rendering</th>
+                            <th>Average Datastore</th>
+                            <th>Datastore Calls per Request</th>
+                            <th>Max Datastore Calls</th>
+                        </tr>
+                    </thead>
+                    <tbody>
+                    <%
+                        for (ActionMetrics metrics : data.metrics) {
+                    %>
+                        <tr>
+                            <td><%=sanitizeForHtml(metrics.getActionName())%></td>
+                            <td><%=metrics.getNumberOfRequests()%></td>
+                            <td><%=metrics.getPercentileMillis(50)%></td>
+                            <td><%=metrics.getPercentileMillis(95)%></td>
+                            <td><%=metrics.getPercentileMillis(99)%></td>
+                            <td><%=metrics.getMaxMillis()%></td>
+                            <td><%=metrics.getAverageMillis()%></td>
+                            <td><%=metrics.getAverageRenderMillis()%></td>
+                            <td><%=metrics.getAverageDatastoreMillis()%></td>
+                            <td><%=String.format("%.1f", metrics.getAverageDatastoreCalls())%></td>
+                            <td><%=metrics.getMaxDatastoreCalls()%></td>
+                        </tr>
+                    <%
+                        }
+                    %>
+                    </tbody>
+                </table>
+            </div>
+            <br>
+            <br>
+        </div>
+    </div>
+
+    <div id="frameBottom">
+        <jsp:include page="<%=Const.ViewURIs.FOOTER%>" />
+    </div>
+</body>
+</html>
@@ -476,7 +476,7 @@
                                         FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
                                         List<FeedbackResponseAttributes> responseEntries = responsesFromGiverForQuestion.getValue();
                                         
-                                        List<String> possibleRecipientsForQuestion = data.bundle.getPossibleRecipients(question, giverEmail);
+                                        List<String> possibleRecipientsForQuestion = new ArrayList<String>(data.bundle.getPossibleRecipients(question, giverEmail));
                 %>
                         <div class="panel panel-info">
                             <div class="panel-heading">Question <%=question.questionNumber%>: <span class="text-preserve-space"><%
@@ -2,6 +2,7 @@
 
 <%@ page import="java.util.Map"%>
 <%@ page import="java.util.List"%>
+<%@ page import="java.util.ArrayList"%>
 <%@ page import="teammates.common.util.Const"%>
 <%@ page import="teammates.common.datatransfer.FeedbackParticipantType"%>
 <%@ page import="teammates.common.datatransfer.FeedbackSessionResponseStatus"%>
@@ -141,7 +142,7 @@
                                 <%
                                     if (responseEntries.getValue().size() > 0) {
                                         
-                                      List<String> possibleGivers = data.bundle.getPossibleGivers(question);
+                                      List<String> possibleGivers = new ArrayList<String>(data.bundle.getPossibleGivers(question));
                                       
                                       List<String> possibleReceivers = null;
                                       boolean isNewGiver = true;
@@ -208,10 +209,10 @@
                                                             
                                                   if (question.giverType == FeedbackParticipantType.TEAMS) {
                                                      possibleGivers.remove(data.bundle.getFullNameFromRoster(responseEntry.giverEmail));
-                                                     possibleReceivers = data.bundle.getPossibleRecipients(question, data.bundle.getFullNameFromRoster(responseEntry.giverEmail));
+                                                     possibleReceivers = new ArrayList<String>(data.bundle.getPossibleRecipients(question, data.bundle.getFullNameFromRoster(responseEntry.giverEmail)));
                                                   } else {
                                                      possibleGivers.remove(responseEntry.giverEmail);
-                                                     possibleReceivers = data.bundle.getPossibleRecipients(question, responseEntry.giverEmail);
+                                                     possibleReceivers = new ArrayList<String>(data.bundle.getPossibleRecipients(question, responseEntry.giverEmail));
                                                   }
                                                             
                                                             
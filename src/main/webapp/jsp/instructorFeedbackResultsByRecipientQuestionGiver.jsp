@@ -432,7 +432,7 @@
                         FeedbackQuestionAttributes question = responsesForRecipientForQuestion.getKey();
                         FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
 
-                        List<String> possibleGiversToRecipient = data.bundle.getPossibleGivers(question, targetEmail);
+                        List<String> possibleGiversToRecipient = new ArrayList<String>(data.bundle.getPossibleGivers(question, targetEmail));
                         
                         List<FeedbackResponseAttributes> responseEntries = responsesForRecipientForQuestion.getValue();
                 %>
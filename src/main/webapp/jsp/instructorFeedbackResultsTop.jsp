@@ -83,6 +83,21 @@
                     data-target="#fsResultsTableWindow"
                     onclick="submitFormAjax()"> click here </span>
             </div>
+            <% if (!showAll && data.selectedSection.equals("All")) { %>
+            <div class="row">
+                <span class="help-block align-center">
+                    Too many responses to show at once?
+                    <a id="pagedResultsLink" href="<%=data.getInstructorFeedbackResultsPageLink("")%>">View them one page at a time</a>
+                </span>
+            </div>
+            <% } else if (data.bundle.nextPageCursor != null) { %>
+            <div class="row">
+                <span class="help-block align-center">
+                    More responses are available.
+                    <a id="nextPageLink" href="<%=data.getInstructorFeedbackResultsPageLink(data.bundle.nextPageCursor)%>">View the next page</a>
+                </span>
+            </div>
+            <% } %>
 
         </div>
       </div>
@@ -0,0 +1,64 @@
+package teammates.test.cases.common;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.util.ActionMetrics;
+import teammates.test.cases.BaseTestCase;
+
+public class ActionMetricsTest extends BaseTestCase {
+
+    @Test
+    public void testRecord() {
+        ActionMetrics.reset();
+        assertTrue(ActionMetrics.getAll().isEmpty());
+
+        ______TS("metrics are kept per action, the most costly action first");
+
+        for (int i = 1; i <= 100; i++) {
+            ActionMetrics.record("SlowAction", i * 10, 5, i % 10, 2);
+        }
+        ActionMetrics.record("FastAction", 1, 0, 1, 1);
+
+        List<ActionMetrics> all = ActionMetrics.getAll();
+        assertEquals(2, all.size());
+        assertEquals("SlowAction", all.get(0).getActionName());
+        assertEquals("FastAction", all.get(1).getActionName());
+
+        ______TS("averages and maxima");
+
+        ActionMetrics slow = all.get(0);
+        assertEquals(100, slow.getNumberOfRequests());
+        assertEquals(505, slow.getAverageMillis());
+        assertEquals(1000, slow.getMaxMillis());
+        assertEquals(5, slow.getAverageRenderMillis());
+        assertEquals(4.5, slow.getAverageDatastoreCalls(), 0.001);
+        assertEquals(9, slow.getMaxDatastoreCalls());
+        assertEquals(2, slow.getAverageDatastoreMillis());
+
+        ______TS("percentiles are the upper bounds of their buckets");
+
+        long p50 = slow.getPercentileMillis(50);
+        assertTrue(p50 >= 500 && p50 < 500 * 1.5);
+        long p95 = slow.getPercentileMillis(95);
+        assertTrue(p95 >= 950 && p95 <= 1000);
+        assertEquals(1000, slow.getPercentileMillis(100));
+        assertEquals(1, all.get(1).getPercentileMillis(99));
+
+        ______TS("the returned metrics are copies");
+
+        ActionMetrics.record("SlowAction", 10, 0, 0, 0);
+        assertEquals(100, slow.getNumberOfRequests());
+        assertEquals(101, ActionMetrics.getAll().get(0).getNumberOfRequests());
+    }
+
+    @AfterMethod
+    public void caseTearDown() {
+        ActionMetrics.reset();
+    }
+}
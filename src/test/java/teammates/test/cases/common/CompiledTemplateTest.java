@@ -0,0 +1,48 @@
+package teammates.test.cases.common;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.CompiledTemplate;
+import teammates.test.cases.BaseTestCase;
+
+public class CompiledTemplateTest extends BaseTestCase {
+
+    @Test
+    public void testFill() {
+        Map<String, String> values = new HashMap<String, String>();
+        values.put("userName", "Alice");
+        values.put("courseId", "CS101");
+
+        ______TS("template without placeholders");
+
+        assertEquals("Hello", new CompiledTemplate("Hello").fill(values));
+        assertEquals("", new CompiledTemplate("").fill(values));
+
+        ______TS("placeholders anywhere, possibly many times");
+
+        CompiledTemplate template = new CompiledTemplate("${userName}, join ${courseId}.${courseId}");
+        assertEquals("Alice, join CS101.CS101", template.fill(values));
+
+        ______TS("placeholders without a value are kept");
+
+        template = new CompiledTemplate("Dear ${userName}, ${status} $ {not} ${");
+        assertEquals("Dear Alice, ${status} $ {not} ${", template.fill(values));
+
+        ______TS("placeholders in values are not filled in");
+
+        values.put("userName", "${courseId} $1 \\");
+        assertEquals("Dear ${courseId} $1 \\, ${status} $ {not} ${", template.fill(values));
+    }
+
+    @Test
+    public void testOf() {
+        String template = "Hi ${userName}";
+        assertSame(CompiledTemplate.of(template), CompiledTemplate.of(template));
+    }
+}
@@ -1,6 +1,7 @@
 package teammates.test.cases.common;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.testng.annotations.Test;
@@ -73,7 +74,33 @@ public class CourseRosterTest extends BaseTestCase{
         assertEquals(roster.getInstructorForEmail("ins1@email.com").name, "John");
         assertEquals(roster.getInstructorForEmail("ins2@email.com").email, "ins2@email.com");
         assertEquals(roster.getInstructorForEmail("ins2@email.com").name, "Jean");
-        
+
+
+        ______TS("precomputed sorted lists and exclusion views");
+
+        assertEquals(Arrays.asList("team 1", "team 2"), roster.getSortedTeams());
+        assertEquals(Arrays.asList("team 2"), roster.getSortedTeamsExcluding("team 1"));
+        assertEquals(Arrays.asList("team 1", "team 2"), roster.getSortedTeamsExcluding("non-existent team"));
+
+        assertEquals(Arrays.asList("ins1@email.com", "ins2@email.com"), roster.getSortedInstructorEmails());
+        assertEquals(Arrays.asList("ins1@email.com"), roster.getSortedInstructorEmailsExcluding("ins2@email.com"));
+
+        assertEquals(Arrays.asList("s1@gmail.com", "s2@gmail.com"), roster.getSortedTeamMemberEmails("team 1"));
+        assertEquals(Arrays.asList("s2@gmail.com"), roster.getSortedTeamMemberEmailsExcluding("team 1", "s1@gmail.com"));
+        assertTrue(roster.getSortedTeamMemberEmails("non-existent team").isEmpty());
+
+        assertEquals(Arrays.asList("s1@gmail.com", "s2@gmail.com", "s3@gmail.com"), roster.getSortedStudentEmails());
+        assertEquals(Arrays.asList("s1@gmail.com", "s3@gmail.com"), roster.getSortedStudentEmailsExcluding("s2@gmail.com"));
+        assertEquals(Arrays.asList("s1@gmail.com", "s2@gmail.com", "s3@gmail.com"),
+                     roster.getSortedStudentEmailsExcluding("non-existent@gmail.com"));
+
+        try {
+            roster.getSortedStudentEmails().remove("s1@gmail.com");
+            signalFailureToDetectException();
+        } catch (UnsupportedOperationException e) {
+            assertEquals(3, roster.getSortedStudentEmails().size());
+        }
+
     }
 
     private List<StudentAttributes> createStudentList(String... studentData) {
@@ -13,8 +13,10 @@ import org.testng.annotations.Test;
 
 import com.google.appengine.api.datastore.Text;
 
+import teammates.common.datatransfer.FeedbackMcqQuestionDetails;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
 import teammates.common.datatransfer.FeedbackQuestionType;
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
@@ -192,6 +194,36 @@ public class FeedbackQuestionAttributesTest extends BaseTestCase {
         
     }
     
+    @Test
+    public void testGetQuestionDetails() {
+        
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.questionMetaData = new Text("text question");
+        question.questionType = FeedbackQuestionType.TEXT;
+        
+        ______TS("details are parsed once and reused");
+        
+        FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+        assertEquals("text question", questionDetails.questionText);
+        assertSame(questionDetails, question.getQuestionDetails());
+        
+        ______TS("details are parsed again after the metadata changes");
+        
+        question.questionMetaData = new Text("changed text question");
+        assertEquals("changed text question", question.getQuestionDetails().questionText);
+        
+        FeedbackMcqQuestionDetails mcqDetails = new FeedbackMcqQuestionDetails();
+        mcqDetails.questionText = "mcq question";
+        question.questionType = FeedbackQuestionType.MCQ;
+        question.setQuestionDetails(mcqDetails);
+        assertTrue(question.getQuestionDetails() instanceof FeedbackMcqQuestionDetails);
+        assertEquals("mcq question", question.getQuestionDetails().questionText);
+        
+        ______TS("parsed details are not part of the JSON");
+        
+        assertFalse(question.getJsonString().contains("questionDetails"));
+    }
+    
     @AfterClass
     public static void classTearDown() throws Exception {
         printTestClassFooter();
@@ -1,7 +1,9 @@
 package teammates.test.cases.common;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
 import static org.testng.AssertJUnit.assertTrue;
 
 import java.util.ArrayList;
@@ -9,6 +11,9 @@ import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.appengine.api.datastore.Text;
+
+import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseDetails;
 import teammates.common.datatransfer.FeedbackConstantSumQuestionDetails;
 import teammates.common.datatransfer.FeedbackConstantSumResponseDetails;
@@ -177,4 +182,42 @@ public class FeedbackResponseDetailsTest extends BaseTestCase {
         assertEquals("[0, 0]", responseDetails.getAnswerString());
 
     }
+    
+    @Test
+    public void testGetResponseDetailsFromAttributes() throws Exception {
+        
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes();
+        response.feedbackQuestionType = FeedbackQuestionType.MCQ;
+        response.setResponseDetails(createMcqResponseDetails("mcq option"));
+        
+        ______TS("details are parsed once and reused");
+        
+        FeedbackResponseDetails responseDetails = response.getResponseDetails();
+        assertEquals("mcq option", responseDetails.getAnswerString());
+        assertSame(responseDetails, response.getResponseDetails());
+        
+        ______TS("details are parsed again after the metadata changes");
+        
+        response.setResponseDetails(createMcqResponseDetails("other option"));
+        assertEquals("other option", response.getResponseDetails().getAnswerString());
+        
+        ______TS("missing response");
+        
+        response.responseMetaData = null;
+        assertNull(response.getResponseDetails());
+        
+        ______TS("parsed details are not part of the JSON");
+        
+        response.responseMetaData = new Text("text answer");
+        response.feedbackQuestionType = FeedbackQuestionType.TEXT;
+        assertEquals("text answer", response.getResponseDetails().getAnswerString());
+        assertFalse(response.getJsonString().contains("responseDetails"));
+    }
+    
+    private FeedbackResponseDetails createMcqResponseDetails(String answer) {
+        return FeedbackResponseDetails.createResponseDetails(
+                new String[] { answer },
+                FeedbackQuestionType.MCQ,
+                new FeedbackMcqQuestionDetails());
+    }
 }
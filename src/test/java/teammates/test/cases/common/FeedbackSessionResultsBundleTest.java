@@ -0,0 +1,447 @@
+package teammates.test.cases.common;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionResponseStatus;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.test.cases.BaseTestCase;
+
+/**
+ * Checks that the views of a {@link FeedbackSessionResultsBundle} sort the
+ * responses in the same order as comparing their names, teams, sections and
+ * questions one after another, as the comparators of the bundle did before
+ * they compared precomputed ranks.
+ */
+public class FeedbackSessionResultsBundleTest extends BaseTestCase {
+
+    private static final String COURSE_ID = "FSRBundleT.course";
+    private static final String SESSION_NAME = "First session";
+
+    private Map<String, FeedbackQuestionAttributes> questions;
+    private Map<String, String> emailNameTable;
+    private Map<String, String> emailTeamNameTable;
+    private Map<String, boolean[]> visibilityTable;
+    private List<FeedbackResponseAttributes> responses;
+
+    @Test
+    public void testSortedViews() {
+
+        ______TS("students, anonymous, team and class recipients, missing names and sections");
+
+        FeedbackSessionResultsBundle bundle = createBundle();
+        verifyComparators(bundle);
+        verifyViews(bundle);
+
+        ______TS("views of the same bundle again");
+
+        verifyViews(bundle);
+    }
+
+    @Test
+    public void testSortedViewsAfterBundleChanged() {
+
+        FeedbackSessionResultsBundle bundle = createBundle();
+        verifyViews(bundle);
+
+        ______TS("response replaced");
+
+        FeedbackQuestionAttributes question = questions.get("question1");
+        FeedbackResponseAttributes newResponse = createResponse(question, "carol@e.tmt", "Section B",
+                                                                "alice@e.tmt", "Section A", true);
+        bundle.responses.set(0, newResponse);
+        verifyComparators(bundle);
+        verifyViews(bundle);
+
+        ______TS("response added");
+
+        bundle.responses.add(createResponse(question, "dave@e.tmt", "Section B", "bob@e.tmt", "Section A", true));
+        verifyComparators(bundle);
+        verifyViews(bundle);
+
+        ______TS("section of a response changed");
+
+        // the only response from this giver, so that the views keep all the giver's responses together
+        bundle.responses.get(6).giverSection = "Section Z";
+        verifyComparators(bundle);
+        verifyViews(bundle);
+
+        ______TS("names changed");
+
+        bundle.emailNameTable.put("alice@e.tmt", "Zoe");
+        bundle.emailNameTable.put("bob@e.tmt", "Adam");
+        verifyViews(bundle);
+        verifyComparators(bundle);
+
+        ______TS("team changed");
+
+        bundle.emailTeamNameTable.put("dave@e.tmt", "Team A1");
+        verifyViews(bundle);
+        verifyComparators(bundle);
+
+        ______TS("responses list replaced");
+
+        bundle.responses = new ArrayList<FeedbackResponseAttributes>(bundle.responses.subList(2, 8));
+        verifyViews(bundle);
+        verifyComparators(bundle);
+    }
+
+    @Test
+    public void testSortResponsesNotInBundle() {
+
+        FeedbackSessionResultsBundle bundle = createBundle();
+        verifyViews(bundle);
+
+        // responses of another bundle, with names and sections that this bundle has not ranked
+        FeedbackQuestionAttributes question = questions.get("question1");
+        List<FeedbackResponseAttributes> otherResponses = new ArrayList<FeedbackResponseAttributes>(bundle.responses);
+        otherResponses.add(createResponse(question, "frank@e.tmt", "Section D", "alice@e.tmt", "Section A", true));
+        otherResponses.add(createResponse(question, "alice@e.tmt", "Section A", "frank@e.tmt", "Section 0", true));
+        otherResponses.add(createResponse(question, "grace@e.tmt", "Section D", "frank@e.tmt", "Section 0", true));
+        bundle.emailNameTable.put("frank@e.tmt", "Frank");
+        bundle.emailNameTable.put("grace@e.tmt", "Aaron");
+        bundle.emailTeamNameTable.put("frank@e.tmt", "Team D1");
+        bundle.emailTeamNameTable.put("grace@e.tmt", "Team 0");
+
+        for (Map.Entry<Comparator<FeedbackResponseAttributes>, Comparator<FeedbackResponseAttributes>> comparators
+                : getComparators(bundle).entrySet()) {
+            List<FeedbackResponseAttributes> expected = new ArrayList<FeedbackResponseAttributes>(otherResponses);
+            Collections.sort(expected, comparators.getValue());
+            List<FeedbackResponseAttributes> sorted = new ArrayList<FeedbackResponseAttributes>(otherResponses);
+            Collections.sort(sorted, comparators.getKey());
+            assertEquals(expected, sorted);
+        }
+    }
+
+    private void verifyComparators(FeedbackSessionResultsBundle bundle) {
+        for (Map.Entry<Comparator<FeedbackResponseAttributes>, Comparator<FeedbackResponseAttributes>> comparators
+                : getComparators(bundle).entrySet()) {
+            assertEquals(sort(bundle, comparators.getValue()), sort(bundle, comparators.getKey()));
+        }
+    }
+
+    private void verifyViews(FeedbackSessionResultsBundle bundle) {
+
+        List<FeedbackResponseAttributes> expected = new ArrayList<FeedbackResponseAttributes>();
+        for (Collection<FeedbackResponseAttributes> responsesForQuestion
+                : getResponsesByQuestion(bundle, sort(bundle, giverRecipient(bundle))).values()) {
+            expected.addAll(responsesForQuestion);
+        }
+        assertEquals(expected, flatten(bundle.getQuestionResponseMap()));
+
+        assertEquals(sort(bundle, new ReferenceComparator(bundle, Field.RECIPIENT_TEAM, Field.QUESTION,
+                                                          Field.RECIPIENT_NAME, Field.GIVER_TEAM, Field.GIVER_NAME)),
+                     flattenNested(bundle.getQuestionResponseMapByRecipientTeam()));
+        assertEquals(sort(bundle, new ReferenceComparator(bundle, Field.GIVER_TEAM, Field.QUESTION,
+                                                          Field.GIVER_NAME, Field.RECIPIENT_TEAM, Field.RECIPIENT_NAME)),
+                     flattenNested(bundle.getQuestionResponseMapByGiverTeam()));
+
+        assertEquals(sort(bundle, new ReferenceComparator(bundle, Field.RECIPIENT_SECTION, Field.RECIPIENT_NAME,
+                                                          Field.QUESTION, Field.GIVER_TEAM, Field.GIVER_NAME)),
+                     flattenNested(bundle.getResponsesSortedByRecipientQuestionGiver(false)));
+        assertEquals(sort(bundle, new ReferenceComparator(bundle, Field.RECIPIENT_SECTION, Field.RECIPIENT_TEAM,
+                                                          Field.RECIPIENT_NAME, Field.QUESTION, Field.GIVER_TEAM,
+                                                          Field.GIVER_NAME)),
+                     flattenNested(bundle.getResponsesSortedByRecipientQuestionGiver(true)));
+
+        assertEquals(sort(bundle, new ReferenceComparator(bundle, Field.GIVER_SECTION, Field.GIVER_NAME,
+                                                          Field.QUESTION, Field.RECIPIENT_TEAM, Field.RECIPIENT_NAME)),
+                     flattenNested(bundle.getResponsesSortedByGiverQuestionRecipient(false)));
+        assertEquals(sort(bundle, new ReferenceComparator(bundle, Field.GIVER_SECTION, Field.GIVER_TEAM,
+                                                          Field.GIVER_NAME, Field.QUESTION, Field.RECIPIENT_TEAM,
+                                                          Field.RECIPIENT_NAME)),
+                     flattenNested(bundle.getResponsesSortedByGiverQuestionRecipient(true)));
+
+        assertEquals(sort(bundle, new ReferenceComparator(bundle, Field.RECIPIENT_SECTION, Field.RECIPIENT_NAME,
+                                                          Field.GIVER_NAME, Field.QUESTION)),
+                     flattenNested(bundle.getResponsesSortedByRecipient()));
+        assertEquals(sort(bundle, new ReferenceComparator(bundle, Field.RECIPIENT_SECTION, Field.RECIPIENT_TEAM,
+                                                          Field.RECIPIENT_NAME, Field.GIVER_NAME, Field.QUESTION)),
+                     flattenNested(bundle.getResponsesSortedByRecipient(true)));
+
+        assertEquals(sort(bundle, new ReferenceComparator(bundle, Field.GIVER_SECTION, Field.GIVER_NAME,
+                                                          Field.RECIPIENT_NAME, Field.QUESTION)),
+                     flattenNested(bundle.getResponsesSortedByGiver()));
+        assertEquals(sort(bundle, new ReferenceComparator(bundle, Field.GIVER_SECTION, Field.GIVER_TEAM,
+                                                          Field.GIVER_NAME, Field.RECIPIENT_NAME, Field.QUESTION)),
+                     flattenNested(bundle.getResponsesSortedByGiver(true)));
+    }
+
+    /**
+     * @return each comparator of the bundle, mapped to the reference comparator of the same fields
+     */
+    private Map<Comparator<FeedbackResponseAttributes>, Comparator<FeedbackResponseAttributes>> getComparators(
+            FeedbackSessionResultsBundle bundle) {
+        Map<Comparator<FeedbackResponseAttributes>, Comparator<FeedbackResponseAttributes>> comparators =
+                new HashMap<Comparator<FeedbackResponseAttributes>, Comparator<FeedbackResponseAttributes>>();
+        comparators.put(bundle.compareByGiverRecipient, giverRecipient(bundle));
+        comparators.put(bundle.compareByGiverRecipientQuestion, new ReferenceComparator(bundle,
+                Field.GIVER_SECTION, Field.GIVER_NAME, Field.RECIPIENT_NAME, Field.QUESTION));
+        comparators.put(bundle.compareByTeamGiverRecipientQuestion, new ReferenceComparator(bundle,
+                Field.GIVER_SECTION, Field.GIVER_TEAM, Field.GIVER_NAME, Field.RECIPIENT_NAME, Field.QUESTION));
+        comparators.put(bundle.compareByRecipientGiverQuestion, new ReferenceComparator(bundle,
+                Field.RECIPIENT_SECTION, Field.RECIPIENT_NAME, Field.GIVER_NAME, Field.QUESTION));
+        comparators.put(bundle.compareByTeamRecipientGiverQuestion, new ReferenceComparator(bundle,
+                Field.RECIPIENT_SECTION, Field.RECIPIENT_TEAM, Field.RECIPIENT_NAME, Field.GIVER_NAME, Field.QUESTION));
+        comparators.put(bundle.compareByGiverQuestionTeamRecipient, new ReferenceComparator(bundle,
+                Field.GIVER_SECTION, Field.GIVER_NAME, Field.QUESTION, Field.RECIPIENT_TEAM, Field.RECIPIENT_NAME));
+        comparators.put(bundle.compareByTeamGiverQuestionTeamRecipient, new ReferenceComparator(bundle,
+                Field.GIVER_SECTION, Field.GIVER_TEAM, Field.GIVER_NAME, Field.QUESTION, Field.RECIPIENT_TEAM,
+                Field.RECIPIENT_NAME));
+        comparators.put(bundle.compareByRecipientQuestionTeamGiver, new ReferenceComparator(bundle,
+                Field.RECIPIENT_SECTION, Field.RECIPIENT_NAME, Field.QUESTION, Field.GIVER_TEAM, Field.GIVER_NAME));
+        comparators.put(bundle.compareByTeamRecipientQuestionTeamGiver, new ReferenceComparator(bundle,
+                Field.RECIPIENT_SECTION, Field.RECIPIENT_TEAM, Field.RECIPIENT_NAME, Field.QUESTION,
+                Field.GIVER_TEAM, Field.GIVER_NAME));
+        comparators.put(bundle.compareByTeamQuestionRecipientTeamGiver, new ReferenceComparator(bundle,
+                Field.RECIPIENT_TEAM, Field.QUESTION, Field.RECIPIENT_NAME, Field.GIVER_TEAM, Field.GIVER_NAME));
+        comparators.put(bundle.compareByTeamQuestionGiverTeamRecipient, new ReferenceComparator(bundle,
+                Field.GIVER_TEAM, Field.QUESTION, Field.GIVER_NAME, Field.RECIPIENT_TEAM, Field.RECIPIENT_NAME));
+        return comparators;
+    }
+
+    private ReferenceComparator giverRecipient(FeedbackSessionResultsBundle bundle) {
+        return new ReferenceComparator(bundle, Field.GIVER_NAME, Field.RECIPIENT_NAME);
+    }
+
+    private static List<FeedbackResponseAttributes> sort(FeedbackSessionResultsBundle bundle,
+            Comparator<FeedbackResponseAttributes> comparator) {
+        List<FeedbackResponseAttributes> sorted = new ArrayList<FeedbackResponseAttributes>(bundle.responses);
+        Collections.sort(sorted, comparator);
+        return sorted;
+    }
+
+    private static Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> getResponsesByQuestion(
+            FeedbackSessionResultsBundle bundle, List<FeedbackResponseAttributes> sortedResponses) {
+        List<FeedbackQuestionAttributes> sortedQuestions =
+                new ArrayList<FeedbackQuestionAttributes>(bundle.questions.values());
+        Collections.sort(sortedQuestions);
+
+        Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> responsesByQuestion =
+                new LinkedHashMap<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>();
+        for (FeedbackQuestionAttributes question : sortedQuestions) {
+            responsesByQuestion.put(question, new ArrayList<FeedbackResponseAttributes>());
+        }
+        for (FeedbackResponseAttributes response : sortedResponses) {
+            responsesByQuestion.get(bundle.questions.get(response.feedbackQuestionId)).add(response);
+        }
+        return responsesByQuestion;
+    }
+
+    private static List<FeedbackResponseAttributes> flatten(
+            Map<?, List<FeedbackResponseAttributes>> responses) {
+        List<FeedbackResponseAttributes> flattened = new ArrayList<FeedbackResponseAttributes>();
+        for (List<FeedbackResponseAttributes> responsesInGroup : responses.values()) {
+            flattened.addAll(responsesInGroup);
+        }
+        return flattened;
+    }
+
+    private static <K> List<FeedbackResponseAttributes> flattenNested(
+            Map<String, Map<K, List<FeedbackResponseAttributes>>> responses) {
+        List<FeedbackResponseAttributes> flattened = new ArrayList<FeedbackResponseAttributes>();
+        for (Map<K, List<FeedbackResponseAttributes>> responsesInGroup : responses.values()) {
+            flattened.addAll(flatten(responsesInGroup));
+        }
+        return flattened;
+    }
+
+    /**
+     * Creates a bundle with responses between students in different sections
+     * and teams, to the class, to a team, from a team, between anonymous
+     * students, and from a student with no name and no section.
+     */
+    private FeedbackSessionResultsBundle createBundle() {
+        questions = new HashMap<String, FeedbackQuestionAttributes>();
+        emailNameTable = new HashMap<String, String>();
+        emailTeamNameTable = new HashMap<String, String>();
+        visibilityTable = new HashMap<String, boolean[]>();
+        responses = new ArrayList<FeedbackResponseAttributes>();
+
+        List<StudentAttributes> students = Arrays.asList(
+                createStudent("Section A", "Team A1", "Alice", "alice@e.tmt"),
+                createStudent("Section A", "Team A1", "Bob", "bob@e.tmt"),
+                createStudent("Section B", "Team B1", "carol", "carol@e.tmt"),
+                createStudent("Section B", "Team B2", "Dave", "dave@e.tmt"));
+        CourseRoster roster = new CourseRoster(students, new ArrayList<InstructorAttributes>());
+
+        emailNameTable.put(Const.GENERAL_QUESTION, Const.USER_IS_NOBODY);
+        emailTeamNameTable.put(Const.GENERAL_QUESTION, "");
+        emailNameTable.put("Team B1", "Team B1");
+        emailTeamNameTable.put("Team B1", "");
+        emailNameTable.put("alice@e.tmt" + Const.TEAM_OF_EMAIL_OWNER, "Team A1");
+        emailTeamNameTable.put("alice@e.tmt" + Const.TEAM_OF_EMAIL_OWNER, "");
+        emailNameTable.put("carol@e.tmt" + Const.TEAM_OF_EMAIL_OWNER, "Team B1");
+        emailTeamNameTable.put("carol@e.tmt" + Const.TEAM_OF_EMAIL_OWNER, "");
+
+        FeedbackQuestionAttributes toStudents = createQuestion(1, FeedbackParticipantType.STUDENTS,
+                                                               FeedbackParticipantType.STUDENTS);
+        FeedbackQuestionAttributes toClass = createQuestion(2, FeedbackParticipantType.STUDENTS,
+                                                            FeedbackParticipantType.NONE);
+        FeedbackQuestionAttributes toTeams = createQuestion(3, FeedbackParticipantType.STUDENTS,
+                                                            FeedbackParticipantType.TEAMS);
+        FeedbackQuestionAttributes fromTeams = createQuestion(4, FeedbackParticipantType.TEAMS,
+                                                              FeedbackParticipantType.STUDENTS);
+
+        responses.add(createResponse(toStudents, "alice@e.tmt", "Section A", "bob@e.tmt", "Section A", true));
+        responses.add(createResponse(toStudents, "bob@e.tmt", "Section A", "alice@e.tmt", "Section A", true));
+        responses.add(createResponse(toStudents, "carol@e.tmt", "Section B", "dave@e.tmt", "Section B", true));
+        responses.add(createResponse(toStudents, "dave@e.tmt", "Section B", "carol@e.tmt", "Section B", true));
+        responses.add(createResponse(toStudents, "bob@e.tmt", "Section A", "carol@e.tmt", "Section B", true));
+        responses.add(createResponse(toStudents, "alice@e.tmt", "Section A", "dave@e.tmt", "Section B", false));
+        responses.add(createResponse(toStudents, "eve@e.tmt", null, "alice@e.tmt", "Section A", true));
+        responses.add(createResponse(toClass, "dave@e.tmt", "Section B", Const.GENERAL_QUESTION,
+                                     Const.DEFAULT_SECTION, true));
+        responses.add(createResponse(toClass, "alice@e.tmt", "Section A", Const.GENERAL_QUESTION,
+                                     Const.DEFAULT_SECTION, true));
+        responses.add(createResponse(toTeams, "bob@e.tmt", "Section A", "Team B1", "Section B", true));
+        responses.add(createResponse(toTeams, "dave@e.tmt", "Section B", "Team B1", "Section B", true));
+        responses.add(createResponse(fromTeams, "alice@e.tmt", "Section A", "carol@e.tmt", "Section B", true));
+        responses.add(createResponse(fromTeams, "carol@e.tmt", "Section B", "alice@e.tmt", "Section A", true));
+
+        return new FeedbackSessionResultsBundle(createSession(), responses, questions, emailNameTable,
+                new HashMap<String, String>(emailNameTable), emailTeamNameTable, visibilityTable,
+                new FeedbackSessionResponseStatus(), roster,
+                new HashMap<String, List<FeedbackResponseCommentAttributes>>());
+    }
+
+    private StudentAttributes createStudent(String section, String team, String name, String email) {
+        emailNameTable.put(email, name);
+        emailTeamNameTable.put(email, team);
+        return new StudentAttributes(section, team, name, email, "", COURSE_ID);
+    }
+
+    private FeedbackQuestionAttributes createQuestion(int questionNumber, FeedbackParticipantType giverType,
+            FeedbackParticipantType recipientType) {
+        List<FeedbackParticipantType> showTo = new ArrayList<FeedbackParticipantType>();
+        showTo.add(FeedbackParticipantType.INSTRUCTORS);
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes(SESSION_NAME, COURSE_ID,
+                "instructor@e.tmt", null, questionNumber, FeedbackQuestionType.TEXT, giverType,
+                recipientType, Const.MAX_POSSIBLE_RECIPIENTS, showTo, showTo, showTo);
+        question.setId("question" + questionNumber);
+        questions.put(question.getId(), question);
+        return question;
+    }
+
+    private FeedbackResponseAttributes createResponse(FeedbackQuestionAttributes question,
+            String giverEmail, String giverSection, String recipientEmail, String recipientSection,
+            boolean isVisible) {
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes(SESSION_NAME, COURSE_ID,
+                question.getId(), question.questionType, giverEmail, giverSection,
+                recipientEmail, recipientSection, null);
+        response.setId(question.getId() + "%" + giverEmail + "%" + recipientEmail);
+        visibilityTable.put(response.getId(), new boolean[] {isVisible, isVisible});
+        return response;
+    }
+
+    private FeedbackSessionAttributes createSession() {
+        FeedbackSessionAttributes session = new FeedbackSessionAttributes();
+        session.feedbackSessionName = SESSION_NAME;
+        session.courseId = COURSE_ID;
+        return session;
+    }
+
+    private enum Field {
+        GIVER_SECTION, RECIPIENT_SECTION, GIVER_TEAM, RECIPIENT_TEAM, GIVER_NAME, RECIPIENT_NAME, QUESTION
+    }
+
+    /**
+     * Compares responses on the given fields one after another, looking up
+     * their values in the bundle as the comparators of the bundle used to.
+     * Names and sections that are missing, which those comparators could not
+     * compare, come before all others.
+     */
+    private static class ReferenceComparator implements Comparator<FeedbackResponseAttributes> {
+
+        private final FeedbackSessionResultsBundle bundle;
+        private final Field[] fields;
+
+        ReferenceComparator(FeedbackSessionResultsBundle bundle, Field... fields) {
+            this.bundle = bundle;
+            this.fields = fields;
+        }
+
+        @Override
+        public int compare(FeedbackResponseAttributes r1, FeedbackResponseAttributes r2) {
+            for (Field field : fields) {
+                int order = compare(field, r1, r2);
+                if (order != 0) {
+                    return order;
+                }
+            }
+            return 0;
+        }
+
+        private int compare(Field field, FeedbackResponseAttributes r1, FeedbackResponseAttributes r2) {
+            switch (field) {
+            case GIVER_SECTION:
+                return compareNullFirst(r1.giverSection, r2.giverSection);
+            case RECIPIENT_SECTION:
+                return compareNullFirst(r1.recipientSection, r2.recipientSection);
+            case GIVER_TEAM:
+                return getTeamOrName(r1.giverEmail).compareTo(getTeamOrName(r2.giverEmail));
+            case RECIPIENT_TEAM:
+                return getTeamOrName(r1.recipientEmail).compareTo(getTeamOrName(r2.recipientEmail));
+            case GIVER_NAME:
+                return compareNames(bundle.emailNameTable.get(r1.giverEmail),
+                                    bundle.emailNameTable.get(r2.giverEmail));
+            case RECIPIENT_NAME:
+                return compareNames(bundle.emailNameTable.get(r1.recipientEmail),
+                                    bundle.emailNameTable.get(r2.recipientEmail));
+            default:
+                FeedbackQuestionAttributes q1 = bundle.questions.get(r1.feedbackQuestionId);
+                FeedbackQuestionAttributes q2 = bundle.questions.get(r2.feedbackQuestionId);
+                return q1.compareTo(q2);
+            }
+        }
+
+        private String getTeamOrName(String email) {
+            String teamName = bundle.getTeamNameForEmail(email);
+            return teamName.equals("") ? bundle.getNameForEmail(email) : teamName;
+        }
+
+        // class feedback first, team responses last
+        private static int compareNames(String n1, String n2) {
+            if (n1 == null || n2 == null) {
+                return compareNullFirst(n1, n2);
+            }
+            int order = Integer.compare(getNamePriority(n1), getNamePriority(n2));
+            return order == 0 ? n1.compareTo(n2) : order;
+        }
+
+        private static int getNamePriority(String name) {
+            if (name.equals(Const.USER_IS_NOBODY)) {
+                return -1;
+            }
+            return name.equals(Const.USER_IS_TEAM) ? 1 : 0;
+        }
+
+        private static int compareNullFirst(String s1, String s2) {
+            if (s1 == null || s2 == null) {
+                return s1 == null ? (s2 == null ? 0 : -1) : 1;
+            }
+            return s1.compareTo(s2);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package teammates.test.cases.common;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
 
+import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 
 import org.testng.annotations.Test;
@@ -124,6 +126,16 @@ public class StringHelperTest extends BaseTestCase {
         
         decrptedMsg = StringHelper.decrypt(StringHelper.encrypt(msg));
         assertEquals(msg, decrptedMsg);
+        
+        // the ciphers are reused, and must still work after a failure
+        assertEquals(StringHelper.encrypt(msg), StringHelper.encrypt(msg));
+        try {
+            StringHelper.decrypt("abcd");
+            signalFailureToDetectException();
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof GeneralSecurityException);
+        }
+        assertEquals(msg, StringHelper.decrypt(StringHelper.encrypt(msg)));
     }
     
     @Test
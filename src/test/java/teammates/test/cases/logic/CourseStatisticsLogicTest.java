@@ -0,0 +1,163 @@
+package teammates.test.cases.logic;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseStatisticsAttributes;
+import teammates.common.datatransfer.CourseStats;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.logic.automated.CourseStatisticsRecomputeAction;
+import teammates.logic.core.CourseStatisticsLogic;
+import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.StudentsLogic;
+import teammates.storage.api.CourseStatisticsDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class CourseStatisticsLogicTest extends BaseComponentTestCase {
+    
+    private static CourseStatisticsLogic courseStatisticsLogic = CourseStatisticsLogic.inst();
+    private static StudentsLogic studentsLogic = StudentsLogic.inst();
+    private static CoursesLogic coursesLogic = CoursesLogic.inst();
+    private static CourseStatisticsDb courseStatisticsDb = new CourseStatisticsDb();
+    
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreTypicalDataInDatastore();
+    }
+    
+    @Test
+    public void testCourseStatisticsFollowStudentChanges() throws Exception {
+        
+        String courseId = "idOfTypicalCourse1";
+        
+        ______TS("typical case: statistics are kept from the creation of the course");
+        
+        verifyCourseStats(5, 0, 2, 2, courseStatisticsLogic.getCourseStats(courseId));
+        verifyStatisticsMatchStudents(courseId);
+        
+        ______TS("student moved to another team and section");
+        
+        StudentAttributes student5 = studentsLogic.getStudentForEmail(courseId, "student5InCourse1@gmail.tmt");
+        student5.team = "Team 1.1";
+        student5.section = "Section 1";
+        studentsLogic.updateStudentCascadeWithoutDocument(student5.email, student5);
+        
+        verifyCourseStats(5, 0, 1, 1, courseStatisticsLogic.getCourseStats(courseId));
+        verifyStatisticsMatchStudents(courseId);
+        
+        ______TS("student google id reset");
+        
+        studentsLogic.resetStudentGoogleId("student1InCourse1@gmail.tmt", courseId, false);
+        
+        verifyCourseStats(5, 1, 1, 1, courseStatisticsLogic.getCourseStats(courseId));
+        verifyStatisticsMatchStudents(courseId);
+        
+        ______TS("student created in a new team and section");
+        
+        StudentAttributes newStudent = new StudentAttributes("Section 2", "Team 2.1", "New Student", 
+                                                             "newStudent@gmail.tmt", "", courseId);
+        studentsLogic.createStudentCascadeWithoutDocument(newStudent);
+        
+        verifyCourseStats(6, 2, 2, 2, courseStatisticsLogic.getCourseStats(courseId));
+        verifyStatisticsMatchStudents(courseId);
+        
+        ______TS("last student of a team and section deleted");
+        
+        studentsLogic.deleteStudentCascadeWithoutDocument(courseId, newStudent.email);
+        
+        verifyCourseStats(5, 1, 1, 1, courseStatisticsLogic.getCourseStats(courseId));
+        verifyStatisticsMatchStudents(courseId);
+        
+        ______TS("enrollment with a modified and a new student");
+        
+        String enrollLines = "Section | Team | Name | Email" + Const.EOL
+                + "Section 1 | Team 1.3 | student2 In Course1 | student2InCourse1@gmail.tmt" + Const.EOL
+                + "Section 3 | Team 3.1 | Enrolled Student | enrolledStudent@gmail.tmt";
+        studentsLogic.enrollStudentsWithoutDocument(enrollLines, courseId);
+        
+        verifyCourseStats(6, 2, 3, 2, courseStatisticsLogic.getCourseStats(courseId));
+        verifyStatisticsMatchStudents(courseId);
+    }
+    
+    @Test
+    public void testCourseStatisticsOfNewCourse() throws Exception {
+        
+        String courseId = "CSLogicT.new-course";
+        
+        ______TS("a new course has empty statistics");
+        
+        coursesLogic.createCourse(courseId, "New Course");
+        assertNotNull(courseStatisticsDb.getCourseStatistics(courseId));
+        verifyCourseStats(0, 0, 0, 0, courseStatisticsLogic.getCourseStats(courseId));
+        
+        ______TS("the first student of a new course is counted");
+        
+        StudentAttributes student = new StudentAttributes("Section 1", "Team 1.1", "First Student", 
+                                                          "firstStudent@gmail.tmt", "", courseId);
+        studentsLogic.createStudentCascadeWithoutDocument(student);
+        
+        verifyCourseStats(1, 1, 1, 1, courseStatisticsLogic.getCourseStats(courseId));
+        
+        coursesLogic.deleteCourseCascade(courseId);
+    }
+    
+    @Test
+    public void testRecomputeCourseStatistics() throws Exception {
+        
+        String courseId = "idOfTypicalCourse2";
+        int numberOfStudents = studentsLogic.getStudentsForCourse(courseId).size();
+        
+        ______TS("statistics that drifted are counted again");
+        
+        CourseStatisticsAttributes driftedStatistics = 
+                new CourseStatisticsAttributes(courseId, new ArrayList<StudentAttributes>());
+        driftedStatistics.studentsTotal = numberOfStudents + 3;
+        driftedStatistics.teamsTotal = 10;
+        courseStatisticsDb.putCourseStatistics(driftedStatistics);
+        
+        HashMap<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(Const.ParamsNames.COURSE_ID, courseId);
+        assertEquals(true, new CourseStatisticsRecomputeAction(paramMap).execute());
+        
+        assertEquals(numberOfStudents, courseStatisticsLogic.getCourseStats(courseId).studentsTotal);
+        verifyStatisticsMatchStudents(courseId);
+        
+        ______TS("statistics of a deleted course are deleted");
+        
+        String deletedCourseId = "CSLogicT.deleted-course";
+        courseStatisticsDb.putCourseStatistics(
+                new CourseStatisticsAttributes(deletedCourseId, new ArrayList<StudentAttributes>()));
+        
+        paramMap.put(Const.ParamsNames.COURSE_ID, deletedCourseId);
+        assertEquals(true, new CourseStatisticsRecomputeAction(paramMap).execute());
+        
+        assertNull(courseStatisticsDb.getCourseStatistics(deletedCourseId));
+    }
+    
+    private void verifyCourseStats(int studentsTotal, int unregisteredTotal, int teamsTotal, 
+            int sectionsTotal, CourseStats actual) {
+        assertEquals(studentsTotal, actual.studentsTotal);
+        assertEquals(unregisteredTotal, actual.unregisteredTotal);
+        assertEquals(teamsTotal, actual.teamsTotal);
+        assertEquals(sectionsTotal, actual.sectionsTotal);
+    }
+    
+    private void verifyStatisticsMatchStudents(String courseId) {
+        CourseStatisticsAttributes counted = 
+                new CourseStatisticsAttributes(courseId, studentsLogic.getStudentsForCourse(courseId));
+        CourseStatisticsAttributes actual = courseStatisticsDb.getCourseStatistics(courseId);
+        
+        verifyCourseStats(counted.studentsTotal, counted.unregisteredTotal, counted.teamsTotal,
+                          counted.sectionsTotal, actual.toCourseStats());
+        assertEquals(counted.teamSizes, actual.teamSizes);
+    }
+}
@@ -1,9 +1,11 @@
 package teammates.test.cases.logic;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNull;
 import static org.testng.AssertJUnit.assertTrue;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +29,7 @@ import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
+import teammates.common.util.StringHelper;
 import teammates.common.util.TimeHelper;
 import teammates.common.util.Utils;
 import teammates.logic.backdoor.BackDoorLogic;
@@ -80,6 +83,7 @@ public class CoursesLogicTest extends BaseComponentTestCase {
         testGetCourseDetailsListForInstructor();
         testGetCoursesSummaryWithoutStatsForInstructor();
         testGetCourseStudentListAsCsv();
+        testGetCourseStudentListAsHtmlTable();
         testHasIndicatedSections();
         testCreateCourse();
         testCreateCourseAndInstructor();
@@ -1114,6 +1118,48 @@ public class CoursesLogicTest extends BaseComponentTestCase {
         }
     }
 
+    public void testGetCourseStudentListAsHtmlTable() throws Exception {
+
+        ______TS("Typical case: same rows as the csv");
+        
+        InstructorAttributes instructor1OfCourse1 = dataBundle.instructors.get("instructor1OfCourse1");
+        
+        String instructorId = instructor1OfCourse1.googleId;
+        String courseId = instructor1OfCourse1.courseId;
+
+        String htmlTable = coursesLogic.getCourseStudentListAsHtmlTable(courseId, instructorId);
+        String csvString = coursesLogic.getCourseStudentListAsCsv(courseId, instructorId);
+        assertEquals(StringHelper.csvToHtmlTable(csvString), htmlTable);
+        
+        ______TS("Typical case: written csv is the same as the returned csv");
+        
+        StringWriter writer = new StringWriter();
+        coursesLogic.writeCourseStudentListAsCsv(courseId, instructorId, writer);
+        assertEquals(csvString, writer.toString());
+        
+        ______TS("Typical case: values are sanitized for html");
+        
+        StudentAttributes student = new StudentAttributes("Section 1", "Team 1.1", "Bold <b>name</b>", 
+                "boldName@gmail.tmt", "", courseId);
+        StudentsLogic.inst().createStudentCascadeWithoutDocument(student);
+        
+        htmlTable = coursesLogic.getCourseStudentListAsHtmlTable(courseId, instructorId);
+        AssertHelper.assertContains("<td>Bold &lt;b&gt;name&lt;&#x2f;b&gt;</td>", htmlTable);
+        assertFalse(htmlTable.contains("<b>"));
+        
+        StudentsLogic.inst().deleteStudentCascadeWithoutDocument(courseId, student.email);
+
+        ______TS("Failure case: non existent course");
+
+        try {
+            coursesLogic.getCourseStudentListAsHtmlTable("non-existent-course", instructorId);
+            signalFailureToDetectException();
+        } catch (EntityDoesNotExistException e) {
+            AssertHelper.assertContains("does not exist",
+                                         e.getMessage());
+        }
+    }
+
     public void testHasIndicatedSections() throws Exception {
 
         ______TS("Typical case: course with sections");
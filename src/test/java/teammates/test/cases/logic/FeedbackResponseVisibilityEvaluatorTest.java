@@ -0,0 +1,131 @@
+package teammates.test.cases.logic;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.UserType.Role;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.logic.core.FeedbackResponseVisibilityEvaluator;
+import teammates.logic.core.FeedbackResponsesLogic;
+import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.StudentsDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class FeedbackResponseVisibilityEvaluatorTest extends BaseComponentTestCase {
+
+    private static FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
+    private static FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreTypicalDataInDatastore();
+    }
+
+    @Test
+    public void testIsNameVisible() throws Exception {
+
+        ______TS("same result as FeedbackResponsesLogic.isNameVisibleTo for every user in the course");
+
+        String courseId = "idOfTypicalCourse1";
+        String sessionName = "First feedback session";
+
+        CourseRoster roster = new CourseRoster(
+                new StudentsDb().getStudentsForCourse(courseId),
+                new InstructorsDb().getInstructorsForCourse(courseId));
+        Map<String, FeedbackQuestionAttributes> questions = getQuestionsById(sessionName, courseId);
+        List<FeedbackResponseAttributes> responses =
+                frLogic.getFeedbackResponsesForSession(sessionName, courseId);
+        assertFalse(responses.isEmpty());
+
+        for (StudentAttributes student : roster.getStudents()) {
+            verifyNameVisibilityMatches(student.email, Role.STUDENT, questions, responses, roster);
+        }
+        for (InstructorAttributes instructor : roster.getInstructors()) {
+            verifyNameVisibilityMatches(instructor.email, Role.INSTRUCTOR, questions, responses, roster);
+        }
+
+        ______TS("null question");
+
+        FeedbackResponseVisibilityEvaluator visibility = new FeedbackResponseVisibilityEvaluator(
+                "student1InCourse1@gmail.tmt", Role.STUDENT, null, null, null, sessionName, roster);
+        assertFalse(visibility.isNameVisible(responses.get(0), null, true));
+    }
+
+    @Test
+    public void testIsResponseVisible() throws Exception {
+
+        String courseId = "idOfTypicalCourse1";
+        String sessionName = "First feedback session";
+
+        CourseRoster roster = new CourseRoster(
+                new StudentsDb().getStudentsForCourse(courseId),
+                new InstructorsDb().getInstructorsForCourse(courseId));
+        Map<String, FeedbackQuestionAttributes> questions = getQuestionsById(sessionName, courseId);
+        List<FeedbackResponseAttributes> responses =
+                frLogic.getFeedbackResponsesForSession(sessionName, courseId);
+
+        ______TS("giver can always see own response");
+
+        for (FeedbackResponseAttributes response : responses) {
+            FeedbackResponseVisibilityEvaluator visibility = new FeedbackResponseVisibilityEvaluator(
+                    response.giverEmail, Role.STUDENT, null, null, null, sessionName, roster);
+            assertTrue(visibility.isResponseVisible(response, questions.get(response.feedbackQuestionId)));
+        }
+
+        ______TS("instructor sees responses shown to instructors");
+
+        InstructorAttributes instructor = roster.getInstructorForEmail("instructor1@course1.tmt");
+        FeedbackResponseVisibilityEvaluator visibility = new FeedbackResponseVisibilityEvaluator(
+                instructor.email, Role.INSTRUCTOR, null, null, instructor, sessionName, roster);
+        for (FeedbackResponseAttributes response : responses) {
+            FeedbackQuestionAttributes question = questions.get(response.feedbackQuestionId);
+            if (question.isResponseVisibleTo(FeedbackParticipantType.INSTRUCTORS)) {
+                assertTrue(visibility.isResponseVisible(response, question));
+            }
+        }
+    }
+
+    private void verifyNameVisibilityMatches(String userEmail, Role role,
+            Map<String, FeedbackQuestionAttributes> questions,
+            List<FeedbackResponseAttributes> responses, CourseRoster roster) {
+        FeedbackResponseVisibilityEvaluator visibility = new FeedbackResponseVisibilityEvaluator(
+                userEmail, role, null, null, null, "First feedback session", roster);
+        for (FeedbackResponseAttributes response : responses) {
+            FeedbackQuestionAttributes question = questions.get(response.feedbackQuestionId);
+            assertEquals(frLogic.isNameVisibleTo(question, response, userEmail, role, true, roster),
+                         visibility.isNameVisible(response, question, true));
+            assertEquals(frLogic.isNameVisibleTo(question, response, userEmail, role, false, roster),
+                         visibility.isNameVisible(response, question, false));
+        }
+    }
+
+    private Map<String, FeedbackQuestionAttributes> getQuestionsById(String sessionName, String courseId)
+            throws Exception {
+        Map<String, FeedbackQuestionAttributes> questions = new HashMap<String, FeedbackQuestionAttributes>();
+        for (FeedbackQuestionAttributes question : fqLogic.getFeedbackQuestionsForSession(sessionName, courseId)) {
+            questions.put(question.getId(), question);
+        }
+        return questions;
+    }
+
+    @AfterClass
+    public static void classTearDown() throws Exception {
+        printTestClassFooter();
+    }
+}
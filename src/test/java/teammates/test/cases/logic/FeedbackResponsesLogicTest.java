@@ -22,10 +22,12 @@ import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.UserType;
 import teammates.common.datatransfer.UserType.Role;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.util.Const;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponseCommentsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
@@ -61,6 +63,8 @@ public class FeedbackResponsesLogicTest extends BaseComponentTestCase {
         testUpdateFeedbackResponsesForChangingEmail();
         testDeleteFeedbackResponsesForStudent();
         testSpecialCharactersInTeamName();
+        testSaveFeedbackResponsesFromGiver();
+        testAdjustFeedbackResponsesForEnrollments();
     }
 
     public void testSpecialCharactersInTeamName() throws Exception {
@@ -221,6 +225,77 @@ public class FeedbackResponsesLogicTest extends BaseComponentTestCase {
         }
     }
     
+    public void testSaveFeedbackResponsesFromGiver() throws Exception {
+        
+        removeAndRestoreTypicalDataInDatastore();
+        String giverEmail = "student1InCourse1@gmail.tmt";
+        List<FeedbackResponseAttributes> responsesToSave = new ArrayList<FeedbackResponseAttributes>();
+        List<FeedbackResponseAttributes> responsesToDelete = new ArrayList<FeedbackResponseAttributes>();
+        
+        ______TS("success: updates, recipient changes and creates in one batch");
+        
+        FeedbackResponseAttributes updatedResponse = getResponseFromDatastore("response1ForQ1S1C1");
+        updatedResponse.responseMetaData = new Text("Updated in batch");
+        responsesToSave.add(updatedResponse);
+        
+        FeedbackResponseAttributes movedResponse = getResponseFromDatastore("response2ForQ2S1C1");
+        movedResponse.recipientEmail = "student3InCourse1@gmail.tmt";
+        responsesToSave.add(movedResponse);
+        
+        FeedbackResponseAttributes newResponse = new FeedbackResponseAttributes(movedResponse);
+        newResponse.setId(null);
+        newResponse.recipientEmail = "student4InCourse1@gmail.tmt";
+        responsesToSave.add(newResponse);
+        
+        List<String> errors = frLogic.saveFeedbackResponsesFromGiver(giverEmail, updatedResponse.feedbackSessionName,
+                                                                     updatedResponse.courseId, responsesToSave,
+                                                                     responsesToDelete);
+        
+        assertTrue(errors.isEmpty());
+        assertEquals("Updated in batch", frLogic.getFeedbackResponse(updatedResponse.getId())
+                                                .responseMetaData.getValue());
+        assertNull(frLogic.getFeedbackResponse(movedResponse.feedbackQuestionId, giverEmail,
+                                               "student2InCourse1@gmail.tmt"));
+        assertNotNull(frLogic.getFeedbackResponse(movedResponse.feedbackQuestionId, giverEmail,
+                                                  "student3InCourse1@gmail.tmt"));
+        assertNotNull(frLogic.getFeedbackResponse(movedResponse.feedbackQuestionId, giverEmail,
+                                                  "student4InCourse1@gmail.tmt"));
+        
+        ______TS("failure: recipient changed to one that another kept response has");
+        
+        movedResponse = frLogic.getFeedbackResponse(movedResponse.feedbackQuestionId, giverEmail,
+                                                    "student3InCourse1@gmail.tmt");
+        movedResponse.recipientEmail = "student4InCourse1@gmail.tmt";
+        responsesToSave.clear();
+        responsesToSave.add(movedResponse);
+        
+        errors = frLogic.saveFeedbackResponsesFromGiver(giverEmail, movedResponse.feedbackSessionName,
+                                                        movedResponse.courseId, responsesToSave, responsesToDelete);
+        
+        assertEquals(1, errors.size());
+        assertEquals(Const.StatusMessages.FEEDBACK_RESPONSE_RECIPIENT_ALREADY_EXISTS, errors.get(0));
+        assertNotNull(frLogic.getFeedbackResponse(movedResponse.feedbackQuestionId, giverEmail,
+                                                  "student3InCourse1@gmail.tmt"));
+        
+        ______TS("success: deletes only the giver's own responses");
+        
+        FeedbackResponseAttributes otherGiversResponse = getResponseFromDatastore("response1ForQ2S1C1");
+        responsesToSave.clear();
+        responsesToDelete.add(frLogic.getFeedbackResponse(movedResponse.feedbackQuestionId, giverEmail,
+                                                          "student4InCourse1@gmail.tmt"));
+        responsesToDelete.add(otherGiversResponse);
+        
+        errors = frLogic.saveFeedbackResponsesFromGiver(giverEmail, movedResponse.feedbackSessionName,
+                                                        movedResponse.courseId, responsesToSave, responsesToDelete);
+        
+        assertTrue(errors.isEmpty());
+        assertNull(frLogic.getFeedbackResponse(movedResponse.feedbackQuestionId, giverEmail,
+                                               "student4InCourse1@gmail.tmt"));
+        assertNotNull(frLogic.getFeedbackResponse(otherGiversResponse.getId()));
+        
+        removeAndRestoreTypicalDataInDatastore();
+    }
+    
     public void testUpdateFeedbackResponsesForChangingTeam() throws Exception {
         
         ______TS("standard update team case");
@@ -271,6 +346,90 @@ public class FeedbackResponsesLogicTest extends BaseComponentTestCase {
         
     }
     
+    public void testAdjustFeedbackResponsesForEnrollments() throws Exception {
+        
+        removeAndRestoreTypicalDataInDatastore();
+        
+        StudentAttributes studentToUpdate = typicalBundle.students.get("student4InCourse1");
+        String nonTeamQuestionId = getQuestionFromDatastore("qn1InSession1InCourse1").getId();
+        FeedbackResponseAttributes nonTeamResponse = new FeedbackResponseAttributes("First feedback session",
+                                                        "idOfTypicalCourse1", nonTeamQuestionId,
+                                                        FeedbackQuestionType.TEXT, studentToUpdate.email, studentToUpdate.section,
+                                                        studentToUpdate.email, studentToUpdate.section, new Text("New Response to self"));
+        frLogic.createFeedbackResponse(nonTeamResponse);
+        
+        ______TS("changed student is neither giver nor recipient: response is left alone");
+        
+        StudentAttributes student1InCourse1 = typicalBundle.students.get("student1InCourse1");
+        StudentAttributes student2InCourse1 = typicalBundle.students.get("student2InCourse1");
+        FeedbackResponseAttributes responseToTeamMember = getResponseFromDatastore("response1ForQ2S2C1");
+        
+        List<StudentEnrollDetails> enrollmentList = new ArrayList<StudentEnrollDetails>();
+        enrollmentList.add(new StudentEnrollDetails(StudentAttributes.UpdateStatus.MODIFIED, student1InCourse1.course,
+                student1InCourse1.email, student1InCourse1.team, student1InCourse1.team + "tmp",
+                student1InCourse1.section, student1InCourse1.section + "tmp"));
+        frLogic.adjustFeedbackResponsesForEnrollments(student1InCourse1.course,
+                responseToTeamMember.feedbackSessionName, enrollmentList);
+        
+        assertEquals(responseToTeamMember.getId(), frLogic.getFeedbackResponse(responseToTeamMember.feedbackQuestionId,
+                responseToTeamMember.giverEmail, responseToTeamMember.recipientEmail).getId());
+        
+        ______TS("recipient changed team: response to own team member is deleted");
+        
+        enrollmentList.clear();
+        enrollmentList.add(new StudentEnrollDetails(StudentAttributes.UpdateStatus.MODIFIED, student2InCourse1.course,
+                student2InCourse1.email, student2InCourse1.team, student2InCourse1.team + "tmp",
+                student2InCourse1.section, student2InCourse1.section + "tmp"));
+        frLogic.adjustFeedbackResponsesForEnrollments(student2InCourse1.course,
+                responseToTeamMember.feedbackSessionName, enrollmentList);
+        
+        assertNull(frLogic.getFeedbackResponse(responseToTeamMember.feedbackQuestionId,
+                responseToTeamMember.giverEmail, responseToTeamMember.recipientEmail));
+        
+        ______TS("unmodified students: nothing is adjusted");
+        
+        enrollmentList.clear();
+        enrollmentList.add(new StudentEnrollDetails(StudentAttributes.UpdateStatus.UNMODIFIED, studentToUpdate.course,
+                studentToUpdate.email, studentToUpdate.team, "Team 1.2", studentToUpdate.section, "Section 2"));
+        frLogic.adjustFeedbackResponsesForEnrollments(studentToUpdate.course, null, enrollmentList);
+        
+        FeedbackQuestionAttributes teamQuestion = getQuestionFromDatastore("team.members.feedback");
+        assertEquals(frLogic.getFeedbackResponsesForReceiverForQuestion(
+                teamQuestion.getId(), studentToUpdate.email).size(), 1);
+        
+        ______TS("team and section change: team responses deleted, others moved to the new section");
+        
+        enrollmentList.clear();
+        enrollmentList.add(new StudentEnrollDetails(StudentAttributes.UpdateStatus.MODIFIED, studentToUpdate.course,
+                studentToUpdate.email, studentToUpdate.team, "Team 1.2", studentToUpdate.section, "Section 2"));
+        frLogic.adjustFeedbackResponsesForEnrollments(studentToUpdate.course, null, enrollmentList);
+        
+        assertEquals(frLogic.getFeedbackResponsesForReceiverForQuestion(
+                teamQuestion.getId(), studentToUpdate.email).size(), 0);
+        assertEquals(frLogic.getFeedbackResponsesFromGiverForQuestion(
+                teamQuestion.getId(), studentToUpdate.email).size(), 0);
+        teamQuestion = getQuestionFromDatastore("team.feedback");
+        assertEquals(frLogic.getFeedbackResponsesFromGiverForQuestion(
+                teamQuestion.getId(), studentToUpdate.email).size(), 0);
+        
+        FeedbackResponseAttributes movedResponse = 
+                frLogic.getFeedbackResponse(nonTeamQuestionId, studentToUpdate.email, studentToUpdate.email);
+        assertEquals("Section 2", movedResponse.giverSection);
+        assertEquals("Section 2", movedResponse.recipientSection);
+        
+        ______TS("session given: responses in other sessions are left alone");
+        
+        enrollmentList.clear();
+        enrollmentList.add(new StudentEnrollDetails(StudentAttributes.UpdateStatus.MODIFIED, studentToUpdate.course,
+                studentToUpdate.email, "Team 1.2", "Team 1.2", "Section 2", "Section 3"));
+        frLogic.adjustFeedbackResponsesForEnrollments(studentToUpdate.course, "Second feedback session", enrollmentList);
+        
+        movedResponse = frLogic.getFeedbackResponse(nonTeamQuestionId, studentToUpdate.email, studentToUpdate.email);
+        assertEquals("Section 2", movedResponse.giverSection);
+        
+        removeAndRestoreTypicalDataInDatastore();
+    }
+    
     public void testUpdateFeedbackResponsesForChangingEmail() throws Exception {
         ______TS("standard update email case");
         
@@ -6,6 +6,7 @@ import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertNull;
 import static org.testng.AssertJUnit.assertTrue;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -48,7 +49,10 @@ import teammates.logic.backdoor.BackDoorLogic;
 import teammates.logic.core.Emails;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
+import teammates.logic.core.FeedbackSessionCompletionIndex;
 import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.logic.core.InstructorsLogic;
+import teammates.logic.core.StudentsLogic;
 import teammates.test.automated.FeedbackSessionPublishedReminderTest.FeedbackSessionPublishedCallback;
 import teammates.test.cases.BaseComponentUsingTaskQueueTestCase;
 import teammates.test.cases.BaseTaskQueueCallback;
@@ -62,6 +66,8 @@ public class FeedbackSessionsLogicTest extends BaseComponentUsingTaskQueueTestCa
     private static FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
     private static FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
     private static FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
+    private static StudentsLogic studentsLogic = StudentsLogic.inst();
+    private static InstructorsLogic instructorsLogic = InstructorsLogic.inst();
     private DataBundle dataBundle = getTypicalDataBundle();
     
     
@@ -1143,6 +1149,22 @@ public class FeedbackSessionsLogicTest extends BaseComponentUsingTaskQueueTestCa
         // checking comma inside cell
         assertEquals(exportLines[26], "\"Instructors\",\"Instructor1 Course1\",\"Instructor1 Course1\",\"instructor1@course1.tmt\",\"-\",\"-\",\"-\",\"-\",\"Good work, keep it up!\"");
         
+        ______TS("typical case: streamed export");
+        
+        StringWriter exportWriter = new StringWriter();
+        fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.feedbackSessionName, session.courseId, instructor.email, null, exportWriter);
+        assertEquals(export, exportWriter.toString());
+        
+        ______TS("typical case: streamed export within section");
+        
+        export = fsLogic.getFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.feedbackSessionName, session.courseId, instructor.email, "Section 1");
+        exportWriter = new StringWriter();
+        fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.feedbackSessionName, session.courseId, instructor.email, "Section 1", exportWriter);
+        assertEquals(export, exportWriter.toString());
+        
         ______TS("MCQ results");
         
         removeAndRestoreDatastoreFromJson("/FeedbackSessionQuestionTypeTest.json");
@@ -1789,6 +1811,23 @@ public class FeedbackSessionsLogicTest extends BaseComponentUsingTaskQueueTestCa
         
         assertTrue(fsLogic.isFeedbackSessionCompletedByInstructor(fs.feedbackSessionName, fs.courseId, instructor.email));
         
+        ______TS("success: completion index agrees with checking each question");
+        
+        fs = dataBundle.feedbackSessions.get("session1InCourse1");
+        FeedbackSessionCompletionIndex completionIndex =
+                fsLogic.getCompletionIndex(fs.feedbackSessionName, fs.courseId);
+        
+        for (InstructorAttributes instructorInCourse : instructorsLogic.getInstructorsForCourse(fs.courseId)) {
+            List<FeedbackQuestionAttributes> instructorQuestions = fqLogic.getFeedbackQuestionsForInstructor(
+                    fs.feedbackSessionName, fs.courseId, instructorInCourse.email);
+            boolean isCompleted = instructorQuestions.isEmpty();
+            for (FeedbackQuestionAttributes question : instructorQuestions) {
+                isCompleted |= fqLogic.isQuestionAnsweredByUser(question, instructorInCourse.email);
+            }
+            assertEquals(isCompleted, completionIndex.isCompletedByInstructor(instructorInCourse.email, true));
+            assertEquals(isCompleted, fsLogic.isFeedbackSessionCompletedByInstructor(
+                    fs.feedbackSessionName, fs.courseId, instructorInCourse.email));
+        }
     }
     
     public void testIsFeedbackSessionCompletedByStudent() throws Exception {
@@ -1811,6 +1850,24 @@ public class FeedbackSessionsLogicTest extends BaseComponentUsingTaskQueueTestCa
         fs = dataBundle.feedbackSessions.get("empty.session");
         
         assertTrue(fsLogic.isFeedbackSessionCompletedByStudent(fs.feedbackSessionName, fs.courseId, student.email));
+        
+        ______TS("success: completion index agrees with checking each question");
+        
+        fs = dataBundle.feedbackSessions.get("session1InCourse1");
+        FeedbackSessionCompletionIndex completionIndex =
+                fsLogic.getCompletionIndex(fs.feedbackSessionName, fs.courseId);
+        List<FeedbackQuestionAttributes> studentQuestions =
+                fqLogic.getFeedbackQuestionsForStudents(fs.feedbackSessionName, fs.courseId);
+        
+        for (StudentAttributes studentInCourse : studentsLogic.getStudentsForCourse(fs.courseId)) {
+            boolean isAnyQuestionAnswered = false;
+            for (FeedbackQuestionAttributes question : studentQuestions) {
+                isAnyQuestionAnswered |= fqLogic.isQuestionAnsweredByUser(question, studentInCourse.email);
+            }
+            assertEquals(isAnyQuestionAnswered, completionIndex.isCompletedByStudent(studentInCourse.email));
+            assertEquals(isAnyQuestionAnswered, fsLogic.isFeedbackSessionCompletedByStudent(
+                    fs.feedbackSessionName, fs.courseId, studentInCourse.email));
+        }
     }
     
     public void testIsFeedbackSessionFullyCompletedByStudent() throws Exception {
@@ -22,8 +22,6 @@ import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.CourseDetailsBundle;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.EvaluationAttributes;
-import teammates.common.datatransfer.FeedbackQuestionAttributes;
-import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionType;
 import teammates.common.datatransfer.StudentAttributes;
@@ -44,8 +42,6 @@ import teammates.logic.core.AccountsLogic;
 import teammates.logic.core.CoursesLogic;
 import teammates.logic.core.Emails;
 import teammates.logic.core.EvaluationsLogic;
-import teammates.logic.core.FeedbackQuestionsLogic;
-import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.logic.core.StudentsLogic;
 import teammates.logic.core.SubmissionsLogic;
@@ -92,7 +88,6 @@ public class StudentsLogicTest extends BaseComponentTestCase{
         testIsStudentsInSameTeam();
         
         testEnrollStudent();
-        testAdjustFeedbackResponseForEnrollments();
         testCreateStudentWithSubmissionAdjustment();
         testValidateSections();
         testupdateStudentCascadeWithoutDocument();
@@ -430,81 +425,6 @@ public class StudentsLogicTest extends BaseComponentTestCase{
         assertEquals("Student", KeyFactory.stringToKey(longKey).getKind());
     }
     
-    public void testAdjustFeedbackResponseForEnrollments() throws Exception {
-        
-        
-        
-        // the case below will not cause the response to be deleted
-        // because the studentEnrollDetails'email is not the same as giver or recipient
-        ______TS("adjust feedback response: no change of team");
-        
-        String course1Id = dataBundle.courses.get("typicalCourse1").id;
-        StudentAttributes student1InCourse1 = dataBundle.students.get("student1InCourse1");
-        StudentAttributes student2InCourse1 = dataBundle.students.get("student2InCourse1");
-        ArrayList<StudentEnrollDetails> enrollmentList = new ArrayList<StudentEnrollDetails>();
-        StudentEnrollDetails studentDetails1 = new StudentEnrollDetails(StudentAttributes.UpdateStatus.MODIFIED,
-                course1Id, student1InCourse1.email, student1InCourse1.team, student1InCourse1.team + "tmp", student1InCourse1.section, student1InCourse1.section + "tmp");
-        enrollmentList.add(studentDetails1);
-        
-        FeedbackResponseAttributes feedbackResponse1InBundle = dataBundle.feedbackResponses.get("response1ForQ2S2C1");
-        FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
-        FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
-        FeedbackQuestionAttributes feedbackQuestionInDb = fqLogic.getFeedbackQuestion(feedbackResponse1InBundle.feedbackSessionName, 
-                feedbackResponse1InBundle.courseId, Integer.parseInt(feedbackResponse1InBundle.feedbackQuestionId));
-        FeedbackResponseAttributes responseBefore = frLogic.getFeedbackResponse(feedbackQuestionInDb.getId(),
-                feedbackResponse1InBundle.giverEmail, feedbackResponse1InBundle.recipientEmail);
-        
-        studentsLogic.adjustFeedbackResponseForEnrollments(enrollmentList, responseBefore);
-        
-        FeedbackResponseAttributes responseAfter = frLogic.getFeedbackResponse(feedbackQuestionInDb.getId(), 
-                feedbackResponse1InBundle.giverEmail, feedbackResponse1InBundle.recipientEmail);
-        assertEquals(responseBefore.getId(), responseAfter.getId());
-        
-        
-        // the case below will not cause the response to be deleted
-        // because the studentEnrollDetails'email is not the same as giver or recipient
-        ______TS("adjust feedback response: unmodified status");
-        
-        enrollmentList = new ArrayList<StudentEnrollDetails>();
-        studentDetails1 = new StudentEnrollDetails(StudentAttributes.UpdateStatus.UNMODIFIED,
-                course1Id, student1InCourse1.email, student1InCourse1.team, student1InCourse1.team + "tmp", student1InCourse1.section, student1InCourse1.section + "tmp");
-        enrollmentList.add(studentDetails1);
-        
-        feedbackQuestionInDb = fqLogic.getFeedbackQuestion(feedbackResponse1InBundle.feedbackSessionName, 
-                feedbackResponse1InBundle.courseId, Integer.parseInt(feedbackResponse1InBundle.feedbackQuestionId));
-        responseBefore = frLogic.getFeedbackResponse(feedbackQuestionInDb.getId(),
-                feedbackResponse1InBundle.giverEmail, feedbackResponse1InBundle.recipientEmail);
-        
-        studentsLogic.adjustFeedbackResponseForEnrollments(enrollmentList, responseBefore);
-        
-        responseAfter = frLogic.getFeedbackResponse(feedbackQuestionInDb.getId(), 
-                feedbackResponse1InBundle.giverEmail, feedbackResponse1InBundle.recipientEmail);
-        assertEquals(responseBefore.getId(), responseAfter.getId());
-        
-        
-        // the code below will cause the feedback to be deleted because
-        // recipient's e-mail is the same as the one in studentEnrollDetails
-        // and the question's recipient's type is own team members
-        ______TS("adjust feedback response: delete after adjustment");
-        
-        studentDetails1 = new StudentEnrollDetails(StudentAttributes.UpdateStatus.MODIFIED,
-                course1Id, student2InCourse1.email, student1InCourse1.team, student1InCourse1.team + "tmp", student1InCourse1.section, student1InCourse1.section + "tmp");
-        enrollmentList = new ArrayList<StudentEnrollDetails>();
-        enrollmentList.add(studentDetails1);
-        
-        feedbackQuestionInDb = fqLogic.getFeedbackQuestion(feedbackResponse1InBundle.feedbackSessionName, 
-                feedbackResponse1InBundle.courseId, Integer.parseInt(feedbackResponse1InBundle.feedbackQuestionId));
-        responseBefore = frLogic.getFeedbackResponse(feedbackQuestionInDb.getId(),
-                feedbackResponse1InBundle.giverEmail, feedbackResponse1InBundle.recipientEmail);
-        
-        studentsLogic.adjustFeedbackResponseForEnrollments(enrollmentList, responseBefore);
-        
-        responseAfter = frLogic.getFeedbackResponse(feedbackQuestionInDb.getId(), 
-                feedbackResponse1InBundle.giverEmail, feedbackResponse1InBundle.recipientEmail);
-        assertEquals(null, responseAfter);
-        
-    }
-    
     public void testEnrollLinesChecking() throws Exception {
         String info;
         String enrollLines;
@@ -1,6 +1,7 @@
 package teammates.test.cases.logic;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertTrue;
 import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.fail;
@@ -74,12 +75,9 @@ public class SubmissionsAdjustmentTest extends
             assertTrue(paramMap.containsKey(ParamsNames.ENROLLMENT_DETAILS));
             assertNotNull(paramMap.get(ParamsNames.ENROLLMENT_DETAILS));
             
-            if (paramMap.containsKey(ParamsNames.EVALUATION_NAME)) {
-                assertNotNull(paramMap.get(ParamsNames.EVALUATION_NAME));
-            } else {
-                assertTrue(paramMap.containsKey(ParamsNames.FEEDBACK_SESSION_NAME));
-                assertNotNull(paramMap.get(ParamsNames.FEEDBACK_SESSION_NAME));
-            }
+            // one task covers all the sessions or evaluations of the course
+            assertFalse(paramMap.containsKey(ParamsNames.EVALUATION_NAME));
+            assertFalse(paramMap.containsKey(ParamsNames.FEEDBACK_SESSION_NAME));
             
             SubmissionsAdjustmentTaskQueueCallback.taskCount++;
             return Const.StatusCodes.TASK_QUEUE_RESPONSE_OK;
@@ -155,26 +153,25 @@ public class SubmissionsAdjustmentTest extends
         enrollLines = "Section | Team | Name | Email | Comment" + Const.EOL;
         enrollLines += newStudentLine + Const.EOL + "\t";
         
-        int counter = 0;
-        while(counter != 10){
-            SubmissionsAdjustmentTaskQueueCallback.resetTaskCount();
-            studentsInfo = studentsLogic.enrollStudentsWithoutDocument(enrollLines, course1.id);
+        SubmissionsAdjustmentTaskQueueCallback.resetTaskCount();
+        studentsInfo = studentsLogic.enrollStudentsWithoutDocument(enrollLines, course1.id);
         
-            //Check whether students are present in database
-            assertNotNull(studentsLogic.getStudentForEmail(course1.id, "s@g"));
+        //Check whether students are present in database
+        assertNotNull(studentsLogic.getStudentForEmail(course1.id, "s@g"));
 
-            //Verify no tasks sent to the task queue
-            if(SubmissionsAdjustmentTaskQueueCallback.verifyTaskCount(
-                    fsLogic.getFeedbackSessionsForCourse(course1.id).size() +
-                    evaluationsLogic.getEvaluationsForCourse(course1.id).size())){
-                break;
-            }
-            counter++;
+        //Verify one task per queue, however many sessions and evaluations there are
+        if(!SubmissionsAdjustmentTaskQueueCallback.verifyTaskCount(2)){
+            assertEquals(2, SubmissionsAdjustmentTaskQueueCallback.taskCount);
         }
         
-        assertEquals(SubmissionsAdjustmentTaskQueueCallback.taskCount,
-                    fsLogic.getFeedbackSessionsForCourse(course1.id).size() +
-                    evaluationsLogic.getEvaluationsForCourse(course1.id).size());     
+        ______TS("enroll the same students again: nothing to adjust");
+        
+        SubmissionsAdjustmentTaskQueueCallback.resetTaskCount();
+        studentsLogic.enrollStudentsWithoutDocument(enrollLines, course1.id);
+        
+        if(!SubmissionsAdjustmentTaskQueueCallback.verifyTaskCount(0)){
+            assertEquals(0, SubmissionsAdjustmentTaskQueueCallback.taskCount);
+        }
         
         
         ______TS("change an existing students email and verify update "
@@ -211,23 +208,12 @@ public class SubmissionsAdjustmentTest extends
         enrollLines = "Section | Team | Name | Email | Comment";
         enrollLines += studentInTeam1.toEnrollmentString();
         
-        counter = 0;
-        while(counter != 10){
-            SubmissionsAdjustmentTaskQueueCallback.resetTaskCount();
-            studentsInfo = studentsLogic.enrollStudentsWithoutDocument(enrollLines, studentInTeam1.course);
-            
-            //Verify scheduling of adjustment of responses
-            if(SubmissionsAdjustmentTaskQueueCallback.verifyTaskCount(
-                    fsLogic.getFeedbackSessionsForCourse(studentInTeam1.course).size() +
-                    evaluationsLogic.getEvaluationsForCourse(course1.id).size())){
-                break;
-            }
-            counter++;
-        }
-        if(counter == 10){
-            assertEquals(SubmissionsAdjustmentTaskQueueCallback.taskCount,
-                        fsLogic.getFeedbackSessionsForCourse(studentInTeam1.course).size() +
-                        evaluationsLogic.getEvaluationsForCourse(course1.id).size());
+        SubmissionsAdjustmentTaskQueueCallback.resetTaskCount();
+        studentsInfo = studentsLogic.enrollStudentsWithoutDocument(enrollLines, studentInTeam1.course);
+        
+        //Verify scheduling of adjustment of responses
+        if(!SubmissionsAdjustmentTaskQueueCallback.verifyTaskCount(2)){
+            assertEquals(2, SubmissionsAdjustmentTaskQueueCallback.taskCount);
         }
        
         
@@ -359,6 +345,15 @@ public class SubmissionsAdjustmentTest extends
         newNumberOfSubmissionsForEvaluation = submissionsLogic
                 .getSubmissionsForEvaluation(newStudent.course, evaluationName).size();
         assertEquals(20, newNumberOfSubmissionsForEvaluation);
+        
+        ______TS("no session or evaluation name: all of the course are adjusted");
+        
+        paramMap.remove(ParamsNames.EVALUATION_NAME);
+        
+        assertTrue(new FeedbackSubmissionAdjustmentAction(paramMap).execute());
+        assertTrue(new EvaluationSubmissionAdjustmentAction(paramMap).execute());
+        assertEquals(20, submissionsLogic
+                .getSubmissionsForEvaluation(newStudent.course, evaluationName).size());
     }
 
     private List<FeedbackResponseAttributes> getAllTeamResponsesForStudent(StudentAttributes student) {
@@ -0,0 +1,165 @@
+package teammates.test.cases.logic;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.HashMap;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Const.SystemParams;
+import teammates.logic.core.TaskQueuesLogic;
+import teammates.test.cases.BaseComponentUsingTaskQueueTestCase;
+import teammates.test.cases.BaseTaskQueueCallback;
+
+import com.google.appengine.api.urlfetch.URLFetchServicePb.URLFetchRequest;
+
+/**
+ * Checks the tasks that reach the local task queue. The local task queue does
+ * not run them in the default setup, and runs them through a callback when
+ * set up with one.
+ */
+public class TaskQueuesLogicTest extends BaseComponentUsingTaskQueueTestCase {
+
+    private static final String QUEUE = SystemParams.SEARCH_DOCUMENT_TASK_QUEUE;
+
+    private TaskQueuesLogic taskQueuesLogic = TaskQueuesLogic.inst();
+
+    @SuppressWarnings("serial")
+    public static class TaskQueuesLogicCallback extends BaseTaskQueueCallback {
+
+        @Override
+        public int execute(URLFetchRequest request) {
+            TaskQueuesLogicCallback.taskCount++;
+            return Const.StatusCodes.TASK_QUEUE_RESPONSE_OK;
+        }
+    }
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        gaeSimulation.tearDown();
+        gaeSimulation.setup();
+    }
+
+    @Test
+    public void testBuffering() {
+
+        ______TS("tasks are added right away when not buffering");
+
+        assertFalse(TaskQueuesLogic.isBuffering());
+        taskQueuesLogic.createAndAddTask(QUEUE, Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                         makeParams("TQLT.course0"));
+        assertEquals(1, gaeSimulation.getNumberOfTasksInQueue(QUEUE));
+
+        ______TS("buffered tasks are added at the end, once each");
+
+        TaskQueuesLogic.startBuffering();
+        assertTrue(TaskQueuesLogic.isBuffering());
+        for (int i = 1; i <= 250; i++) {
+            taskQueuesLogic.createAndAddTask(QUEUE, Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                             makeParams("TQLT.course" + i));
+            taskQueuesLogic.createAndAddTask(QUEUE, Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                             makeParams("TQLT.course" + i));
+        }
+        assertEquals(1, gaeSimulation.getNumberOfTasksInQueue(QUEUE));
+
+        TaskQueuesLogic.flushBufferedTasks();
+        assertFalse(TaskQueuesLogic.isBuffering());
+        assertEquals(251, gaeSimulation.getNumberOfTasksInQueue(QUEUE));
+
+        ______TS("a task with a different countdown is not a duplicate");
+
+        TaskQueuesLogic.startBuffering();
+        taskQueuesLogic.createAndAddTask(QUEUE, Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                         makeParams("TQLT.course1"));
+        taskQueuesLogic.createAndAddDeferredTask(QUEUE, Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                                 makeParams("TQLT.course1"), 1000);
+        taskQueuesLogic.createAndAddDeferredTask(QUEUE, Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                                 makeParams("TQLT.course1"), 1000);
+        taskQueuesLogic.createAndAddDeferredTask(QUEUE, Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                                 makeParams("TQLT.course1"), 2000);
+        TaskQueuesLogic.flushBufferedTasks();
+        assertEquals(254, gaeSimulation.getNumberOfTasksInQueue(QUEUE));
+
+        ______TS("the order of parameters does not matter, the order of values of a parameter does");
+
+        TaskQueuesLogic.startBuffering();
+        HashMap<String, String[]> params = new HashMap<String, String[]>();
+        params.put(ParamsNames.SUBMISSION_COURSE, new String[] { "TQLT.course" });
+        params.put(ParamsNames.SUBMISSION_REMIND_USERLIST, new String[] { "a", "b" });
+        taskQueuesLogic.createAndAddTaskMultisetParam(QUEUE, Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                                      params);
+        taskQueuesLogic.createAndAddTaskMultisetParam(QUEUE, Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                                      new HashMap<String, String[]>(params));
+        params.put(ParamsNames.SUBMISSION_REMIND_USERLIST, new String[] { "b", "a" });
+        taskQueuesLogic.createAndAddTaskMultisetParam(QUEUE, Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                                      params);
+        TaskQueuesLogic.flushBufferedTasks();
+        assertEquals(256, gaeSimulation.getNumberOfTasksInQueue(QUEUE));
+
+        ______TS("flushing without buffering does nothing");
+
+        TaskQueuesLogic.flushBufferedTasks();
+        assertEquals(256, gaeSimulation.getNumberOfTasksInQueue(QUEUE));
+
+        ______TS("a batch that cannot be added fails the flush, after the other batches are added");
+
+        TaskQueuesLogic.startBuffering();
+        taskQueuesLogic.createAndAddTask("TQLT-unknown-queue", Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                         makeParams("TQLT.course1"));
+        taskQueuesLogic.createAndAddTask(QUEUE, Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                         makeParams("TQLT.course257"));
+        try {
+            TaskQueuesLogic.flushBufferedTasks();
+            fail("Failure to add tasks was not reported");
+        } catch (RuntimeException e) {
+            // expected
+        }
+        assertFalse(TaskQueuesLogic.isBuffering());
+        assertEquals(257, gaeSimulation.getNumberOfTasksInQueue(QUEUE));
+    }
+
+    @Test
+    public void testBufferedTasksExecution() {
+        gaeSimulation.tearDown();
+        gaeSimulation.setupWithTaskQueueCallbackClass(TaskQueuesLogicCallback.class);
+
+        ______TS("buffered tasks are run by the local task queue after the flush, once each");
+
+        TaskQueuesLogicCallback.resetTaskCount();
+        TaskQueuesLogic.startBuffering();
+        for (int i = 1; i <= 2; i++) {
+            taskQueuesLogic.createAndAddTask(QUEUE, Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                             makeParams("TQLT.course" + i));
+            taskQueuesLogic.createAndAddTask(QUEUE, Const.ActionURIs.COURSE_SEARCH_DOCUMENTS_WORKER,
+                                             makeParams("TQLT.course" + i));
+        }
+        assertTrue(TaskQueuesLogicCallback.verifyTaskCount(0));
+
+        TaskQueuesLogic.flushBufferedTasks();
+        assertTrue(TaskQueuesLogicCallback.verifyTaskCount(2));
+        TaskQueuesLogicCallback.waitForTaskQueueExecution(2, 0);
+        assertEquals(2, TaskQueuesLogicCallback.taskCount);
+
+        gaeSimulation.tearDown();
+        gaeSimulation.setup();
+    }
+
+    private HashMap<String, String> makeParams(String courseId) {
+        HashMap<String, String> params = new HashMap<String, String>();
+        params.put(ParamsNames.COURSE_ID, courseId);
+        return params;
+    }
+
+    @AfterClass
+    public static void classTearDown() throws Exception {
+        printTestClassFooter();
+    }
+}
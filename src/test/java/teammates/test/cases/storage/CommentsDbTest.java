@@ -23,6 +23,7 @@ import com.google.appengine.api.datastore.Text;
 
 import teammates.common.datatransfer.CommentAttributes;
 import teammates.common.datatransfer.CommentRecipientType;
+import teammates.common.datatransfer.CommentSendingState;
 import teammates.common.datatransfer.CommentStatus;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -168,6 +169,46 @@ public class CommentsDbTest extends BaseComponentTestCase {
         assertEquals(retrievedComment.courseId, anotherRetrievedComment.courseId);
     }
 
+    @Test
+    public void testGetNumberOfCommentsForSendingState() 
+            throws InvalidParametersException, EntityAlreadyExistsException {
+        
+        String countCourseId = "CDT.countCourseId";
+        String[] pendingRecipients = { "CDT.pending1@mail.com", "CDT.pending2@mail.com" };
+        for (String pendingRecipient : pendingRecipients) {
+            CommentAttributes c = createNewComment();
+            c.courseId = countCourseId;
+            c.recipients = new HashSet<String>();
+            c.recipients.add(pendingRecipient);
+            c.sendingState = CommentSendingState.PENDING;
+            commentsDb.createEntity(c);
+        }
+        CommentAttributes sentComment = createNewComment();
+        sentComment.courseId = countCourseId;
+        commentsDb.createEntity(sentComment);
+        
+        ______TS("typical success case");
+        
+        assertEquals(2, commentsDb.getNumberOfCommentsForSendingState(countCourseId, CommentSendingState.PENDING));
+        assertEquals(1, commentsDb.getNumberOfCommentsForSendingState(countCourseId, CommentSendingState.SENT));
+        assertEquals(0, commentsDb.getNumberOfCommentsForSendingState(countCourseId, CommentSendingState.SENDING));
+        
+        ______TS("non-existent course");
+        
+        assertEquals(0, commentsDb.getNumberOfCommentsForSendingState("non-existent-course", CommentSendingState.PENDING));
+        
+        ______TS("null params");
+        
+        try {
+            commentsDb.getNumberOfCommentsForSendingState(null, CommentSendingState.PENDING);
+            this.signalFailureToDetectException("Assertion error not detected properly");
+        } catch (AssertionError e){
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getMessage());
+        }
+        
+        commentsDb.deleteCommentsForCourse(countCourseId);
+    }
+    
     @Test
     public void testUpdateComment() throws InvalidParametersException, EntityDoesNotExistException, EntityAlreadyExistsException {
 
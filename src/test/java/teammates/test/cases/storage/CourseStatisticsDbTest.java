@@ -0,0 +1,162 @@
+package teammates.test.cases.storage;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseStatisticsAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Const;
+import teammates.storage.api.CourseStatisticsDb;
+import teammates.test.cases.BaseComponentTestCase;
+import teammates.test.driver.AssertHelper;
+
+public class CourseStatisticsDbTest extends BaseComponentTestCase {
+
+    private CourseStatisticsDb courseStatisticsDb = new CourseStatisticsDb();
+    
+    @BeforeClass
+    public static void setupClass() throws Exception {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testPutAndGetCourseStatistics() throws Exception {
+        
+        ______TS("Success: create statistics");
+        
+        String courseId = "CSDbT.tPAGCS.course";
+        List<StudentAttributes> students = Arrays.asList(
+                createStudent("Section 1", "Team 1", "student1@gmail.tmt", "googleId1", courseId),
+                createStudent("Section 1", "Team 1", "student2@gmail.tmt", "", courseId),
+                createStudent("Section 2", "Team <2>", "student3@gmail.tmt", "", courseId));
+        courseStatisticsDb.putCourseStatistics(new CourseStatisticsAttributes(courseId, students));
+        
+        CourseStatisticsAttributes retrieved = courseStatisticsDb.getCourseStatistics(courseId);
+        assertEquals(3, retrieved.studentsTotal);
+        assertEquals(2, retrieved.unregisteredTotal);
+        assertEquals(2, retrieved.teamsTotal);
+        assertEquals(2, retrieved.sectionsTotal);
+        assertEquals(Integer.valueOf(2), retrieved.teamSizes.get("Section 1").get("Team 1"));
+        assertEquals(Integer.valueOf(1), retrieved.teamSizes.get("Section 2").get("Team &lt;2&gt;"));
+        
+        ______TS("Success: replace statistics");
+        
+        retrieved.removeStudent(students.get(2));
+        courseStatisticsDb.putCourseStatistics(retrieved);
+        
+        retrieved = courseStatisticsDb.getCourseStatistics(courseId);
+        assertEquals(2, retrieved.studentsTotal);
+        assertEquals(1, retrieved.unregisteredTotal);
+        assertEquals(1, retrieved.teamsTotal);
+        assertEquals(1, retrieved.sectionsTotal);
+        assertNull(retrieved.teamSizes.get("Section 2"));
+        
+        ______TS("Failure: get statistics that were never counted");
+        
+        assertNull(courseStatisticsDb.getCourseStatistics("CSDbT.non-existent-course"));
+        
+        ______TS("Failure: invalid course id");
+        
+        try {
+            courseStatisticsDb.putCourseStatistics(
+                    new CourseStatisticsAttributes("Invalid id", new ArrayList<StudentAttributes>()));
+            signalFailureToDetectException();
+        } catch (InvalidParametersException e) {
+            AssertHelper.assertContains("not acceptable to TEAMMATES as a Course ID", e.getMessage());
+        }
+        
+        ______TS("Failure: null parameters");
+        
+        try {
+            courseStatisticsDb.putCourseStatistics(null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getMessage());
+        }
+        
+        try {
+            courseStatisticsDb.getCourseStatistics(null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getMessage());
+        }
+        
+        courseStatisticsDb.deleteCourseStatistics(courseId);
+    }
+    
+    @Test
+    public void testUpdateCourseStatistics() throws Exception {
+        
+        String courseId = "CSDbT.tUCS.course";
+        StudentAttributes student1 = createStudent("Section 1", "Team 1", "student1@gmail.tmt", "", courseId);
+        StudentAttributes student2 = createStudent("Section 2", "Team 2", "student2@gmail.tmt", "", courseId);
+        List<StudentAttributes> noStudents = new ArrayList<StudentAttributes>();
+        
+        ______TS("Failure: no statistics to update");
+        
+        assertFalse(courseStatisticsDb.updateCourseStatistics(courseId, noStudents, Arrays.asList(student1)));
+        assertNull(courseStatisticsDb.getCourseStatistics(courseId));
+        
+        ______TS("Success: updates are applied to the saved statistics");
+        
+        courseStatisticsDb.putCourseStatistics(new CourseStatisticsAttributes(courseId, noStudents));
+        assertTrue(courseStatisticsDb.updateCourseStatistics(courseId, noStudents, Arrays.asList(student1)));
+        assertTrue(courseStatisticsDb.updateCourseStatistics(courseId, noStudents, Arrays.asList(student2)));
+        assertTrue(courseStatisticsDb.updateCourseStatistics(courseId, Arrays.asList(student1), noStudents));
+        
+        CourseStatisticsAttributes retrieved = courseStatisticsDb.getCourseStatistics(courseId);
+        assertEquals(1, retrieved.studentsTotal);
+        assertEquals(1, retrieved.unregisteredTotal);
+        assertEquals(1, retrieved.teamsTotal);
+        assertEquals(1, retrieved.sectionsTotal);
+        assertEquals(Integer.valueOf(1), retrieved.teamSizes.get("Section 2").get("Team 2"));
+        
+        courseStatisticsDb.deleteCourseStatistics(courseId);
+    }
+    
+    @Test
+    public void testDeleteCourseStatistics() throws Exception {
+        
+        String courseId1 = "CSDbT.tDCS.course1";
+        String courseId2 = "CSDbT.tDCS.course2";
+        List<StudentAttributes> noStudents = new ArrayList<StudentAttributes>();
+        courseStatisticsDb.putCourseStatistics(new CourseStatisticsAttributes(courseId1, noStudents));
+        courseStatisticsDb.putCourseStatistics(new CourseStatisticsAttributes(courseId2, noStudents));
+        
+        ______TS("Success: delete statistics of a course");
+        
+        courseStatisticsDb.deleteCourseStatistics(courseId1);
+        assertNull(courseStatisticsDb.getCourseStatistics(courseId1));
+        
+        ______TS("Success: delete statistics of courses, some without statistics");
+        
+        courseStatisticsDb.deleteCourseStatisticsForCourses(Arrays.asList(courseId1, courseId2));
+        assertNull(courseStatisticsDb.getCourseStatistics(courseId2));
+        
+        ______TS("Failure: null parameter");
+        
+        try {
+            courseStatisticsDb.deleteCourseStatistics(null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getMessage());
+        }
+    }
+    
+    private StudentAttributes createStudent(String section, String team, String email, 
+            String googleId, String courseId) {
+        StudentAttributes student = new StudentAttributes(section, team, "Student Name", email, "", courseId);
+        student.googleId = googleId;
+        return student;
+    }
+}
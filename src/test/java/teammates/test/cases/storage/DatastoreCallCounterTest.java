@@ -0,0 +1,53 @@
+package teammates.test.cases.storage;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.DatastoreCallCounter;
+import teammates.storage.api.CoursesDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class DatastoreCallCounterTest extends BaseComponentTestCase {
+
+    private CoursesDb coursesDb = new CoursesDb();
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testCounting() {
+
+        ______TS("calls are not counted before counting starts");
+
+        coursesDb.getCourse("DCCT.nonExistentCourse1");
+        assertEquals(0, DatastoreCallCounter.getNumberOfCalls());
+
+        ______TS("each round trip to the datastore is counted");
+
+        DatastoreCallCounter.startCounting();
+        coursesDb.getCourse("DCCT.nonExistentCourse2");
+        int callsForOneLookup = DatastoreCallCounter.getNumberOfCalls();
+        assertTrue(callsForOneLookup > 0);
+
+        coursesDb.getCourse("DCCT.nonExistentCourse3");
+        assertEquals(2 * callsForOneLookup, DatastoreCallCounter.getNumberOfCalls());
+
+        ______TS("calls are not counted after counting stops");
+
+        DatastoreCallCounter.stopCounting();
+        assertEquals(0, DatastoreCallCounter.getNumberOfCalls());
+        assertEquals(0, DatastoreCallCounter.getMillis());
+    }
+
+    @AfterClass
+    public static void classTearDown() throws Exception {
+        DatastoreCallCounter.stopCounting();
+        printTestClassFooter();
+    }
+}
@@ -4,6 +4,9 @@ import static org.testng.AssertJUnit.assertEquals;
 import static teammates.common.util.FieldValidator.COURSE_ID_ERROR_MESSAGE;
 import static teammates.common.util.FieldValidator.REASON_INCORRECT_FORMAT;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.CourseAttributes;
@@ -66,5 +69,51 @@ public class EntitiesDbTest extends BaseComponentTestCase {
             assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, a.getMessage());
         }
     }
+    
+    @Test
+    public void testCreateEntitiesWithoutExistenceCheck() throws Exception {
+        CoursesDb coursesDb = new CoursesDb();
+        
+        ______TS("success: all entities are created at once");
+        List<CourseAttributes> courses = new ArrayList<CourseAttributes>();
+        for (int i = 0; i < 3; i++) {
+            courses.add(new CourseAttributes("EntitiesDbTest.batch" + i, "Batch Course " + i));
+        }
+        coursesDb.createEntitiesWithoutExistenceCheck(courses);
+        for (CourseAttributes course : courses) {
+            TestHelper.verifyPresentInDatastore(course);
+        }
+        
+        ______TS("success: existing entities are overwritten");
+        courses.get(0).name = "Renamed Batch Course";
+        coursesDb.createEntitiesWithoutExistenceCheck(courses.subList(0, 1));
+        assertEquals("Renamed Batch Course", coursesDb.getCourse(courses.get(0).id).name);
+        
+        ______TS("fails: invalid parameters");
+        List<CourseAttributes> invalidCourses = new ArrayList<CourseAttributes>();
+        invalidCourses.add(new CourseAttributes("EntitiesDbTest.batch3", "Valid Course"));
+        invalidCourses.add(new CourseAttributes("invalid id spaces", "Invalid Course"));
+        try {
+            coursesDb.createEntitiesWithoutExistenceCheck(invalidCourses);
+            signalFailureToDetectException();
+        } catch (InvalidParametersException e) {
+            AssertHelper.assertContains(
+                    String.format(COURSE_ID_ERROR_MESSAGE, "invalid id spaces", REASON_INCORRECT_FORMAT), 
+                    e.getMessage());
+        }
+        TestHelper.verifyAbsentInDatastore(invalidCourses.get(0));
+        
+        for (CourseAttributes course : courses) {
+            coursesDb.deleteCourse(course.id);
+        }
+        
+        ______TS("fails: null parameter");
+        try {
+            coursesDb.createEntitiesWithoutExistenceCheck(null);
+            signalFailureToDetectException();
+        } catch (AssertionError a) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, a.getMessage());
+        }
+    }
 
 }
@@ -1,6 +1,7 @@
 package teammates.test.cases.storage;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNull;
 import static org.testng.AssertJUnit.assertTrue;
 
@@ -239,6 +240,22 @@ public class FeedbackQuestionsDbTest extends BaseComponentTestCase {
         
         assertTrue(fqDb.getFeedbackQuestionsForGiverType("Empty session", fqa.courseId, FeedbackParticipantType.STUDENTS).isEmpty());    
         
+        ______TS("checking for questions without loading them");
+        
+        assertTrue(fqDb.hasFeedbackQuestionsForGiverType(fqa.feedbackSessionName,
+                "testCourse", FeedbackParticipantType.INSTRUCTORS));
+        assertTrue(fqDb.hasFeedbackQuestionsForGiverType(fqa.feedbackSessionName,
+                fqa.courseId, FeedbackParticipantType.TEAMS));
+        assertFalse(fqDb.hasFeedbackQuestionsForGiverType("Empty session",
+                fqa.courseId, FeedbackParticipantType.STUDENTS));
+        
+        try {
+            fqDb.hasFeedbackQuestionsForGiverType(fqa.feedbackSessionName, fqa.courseId, null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+        
         deleteFeedbackQuestions(numOfQuestions[0] + numOfQuestions[1] + numOfQuestions[2] + numOfQuestions[3]);
     }
 
@@ -3,6 +3,7 @@ package teammates.test.cases.storage;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -15,6 +16,7 @@ import org.testng.annotations.Test;
 
 import com.google.appengine.api.datastore.Text;
 
+import teammates.common.datatransfer.CommentSendingState;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
@@ -59,6 +61,8 @@ public class FeedbackResponseCommentsDbTest extends BaseComponentTestCase {
         
         testGetFeedbackResponseCommentsForSession();
         
+        testGetNumberOfFeedbackResponseCommentsForSendingState();
+        
         testDeleteFeedbackResponseCommentsForResponse();
     }
     
@@ -233,6 +237,47 @@ public class FeedbackResponseCommentsDbTest extends BaseComponentTestCase {
                 actualFrcas);
     }
     
+    public void testGetNumberOfFeedbackResponseCommentsForSendingState() throws Exception {
+        
+        ______TS("null parameter");
+
+        try {
+            frcDb.getNumberOfFeedbackResponseCommentsForSendingState(null, "", CommentSendingState.PENDING);
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+
+        try {
+            frcDb.getNumberOfFeedbackResponseCommentsForSendingState("", "", null);
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+
+        ______TS("typical success case");
+        
+        int numberOfSentComments = frcDb.getFeedbackResponseCommentsForSendingState(
+                frcaData.courseId, frcaData.feedbackSessionName, CommentSendingState.SENT).size();
+        assertTrue(numberOfSentComments > 0);
+        assertEquals(numberOfSentComments, frcDb.getNumberOfFeedbackResponseCommentsForSendingState(
+                frcaData.courseId, frcaData.feedbackSessionName, CommentSendingState.SENT));
+        assertEquals(0, frcDb.getNumberOfFeedbackResponseCommentsForSendingState(
+                frcaData.courseId, frcaData.feedbackSessionName, CommentSendingState.PENDING));
+        
+        ______TS("comments are counted in their new state after an update");
+        
+        frcDb.updateFeedbackResponseComments(frcaData.courseId, frcaData.feedbackSessionName,
+                CommentSendingState.SENT, CommentSendingState.PENDING);
+        assertEquals(0, frcDb.getNumberOfFeedbackResponseCommentsForSendingState(
+                frcaData.courseId, frcaData.feedbackSessionName, CommentSendingState.SENT));
+        assertEquals(numberOfSentComments, frcDb.getNumberOfFeedbackResponseCommentsForSendingState(
+                frcaData.courseId, frcaData.feedbackSessionName, CommentSendingState.PENDING));
+        
+        frcDb.updateFeedbackResponseComments(frcaData.courseId, frcaData.feedbackSessionName,
+                CommentSendingState.PENDING, CommentSendingState.SENT);
+    }
+    
     public void testUpdateFeedbackResponseCommentsGiverEmail() throws InvalidParametersException, EntityAlreadyExistsException {
         FeedbackResponseCommentAttributes frcaDataOfNewGiver = dataBundle.feedbackResponseComments
                 .get("comment1FromT1C1ToR1Q3S1C1");
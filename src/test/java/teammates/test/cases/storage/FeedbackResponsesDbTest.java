@@ -1,10 +1,13 @@
 package teammates.test.cases.storage;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNull;
 import static org.testng.AssertJUnit.assertTrue;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -17,6 +20,7 @@ import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackResponseDetails;
 import teammates.common.datatransfer.FeedbackQuestionType;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponsesPageBundle;
 import teammates.common.datatransfer.FeedbackTextResponseDetails;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -424,6 +428,55 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         assertTrue(frDb.getFeedbackResponsesFromGiverForQuestion(questionId, "non-existentStudentInCourse1@gmail.tmt").isEmpty());        
     }
 
+    @Test
+    public void testHasFeedbackResponses() throws Exception {
+        
+        ______TS("standard success case");
+        
+        FeedbackResponseAttributes response = fras.get("response1ForQ1S1C1");
+        
+        assertTrue(frDb.hasFeedbackResponsesForQuestion(response.feedbackQuestionId));
+        assertTrue(frDb.hasFeedbackResponsesFromGiverForQuestion(response.feedbackQuestionId,
+                                                                 response.giverEmail));
+        assertTrue(frDb.hasFeedbackResponsesFromGiverForSession(response.giverEmail,
+                response.feedbackSessionName, response.courseId));
+        
+        ______TS("null params");
+        
+        try {
+            frDb.hasFeedbackResponsesForQuestion(null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+        
+        try {
+            frDb.hasFeedbackResponsesFromGiverForQuestion(response.feedbackQuestionId, null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+        
+        try {
+            frDb.hasFeedbackResponsesFromGiverForSession(response.giverEmail, null, response.courseId);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+        
+        ______TS("non-existent feedback question");
+        
+        assertFalse(frDb.hasFeedbackResponsesForQuestion("non-existent fq id"));
+        assertFalse(frDb.hasFeedbackResponsesFromGiverForQuestion("non-existent fq id", response.giverEmail));
+        
+        ______TS("non-existent giver");
+        
+        assertFalse(frDb.hasFeedbackResponsesFromGiverForQuestion(response.feedbackQuestionId,
+                                                                  "non-existentStudentInCourse1@gmail.tmt"));
+        assertFalse(frDb.hasFeedbackResponsesFromGiverForSession("non-existentStudentInCourse1@gmail.tmt",
+                response.feedbackSessionName, response.courseId));
+    }
+
     @Test
     public void testGetFeedbackResponsesFromGiverForQuestionInSection() throws Exception {
         
@@ -556,6 +609,87 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         assertTrue(frDb.getFeedbackResponsesForSessionWithinRange(feedbackSessionName, "non-existent courseId", 1).isEmpty());
     }
 
+    @Test
+    public void testGetFeedbackResponsesForSessionPage() throws Exception {
+
+        ______TS("standard success case");  
+        
+        String courseId = fras.get("response1ForQ1S1C1").courseId;
+        String feedbackSessionName = fras.get("response1ForQ1S1C1").feedbackSessionName;
+        
+        FeedbackResponsesPageBundle page = frDb.getFeedbackResponsesForSessionPage(feedbackSessionName, courseId, null, 4);
+        
+        assertEquals(4, page.responses.size());
+        assertTrue(page.hasNextPage());
+        
+        ______TS("continue from cursor");
+        
+        Set<String> responseIds = new HashSet<String>();
+        for (FeedbackResponseAttributes response : page.responses) {
+            responseIds.add(response.getId());
+        }
+        page = frDb.getFeedbackResponsesForSessionPage(feedbackSessionName, courseId, page.nextPageCursor, 4);
+        for (FeedbackResponseAttributes response : page.responses) {
+            responseIds.add(response.getId());
+        }
+        
+        assertEquals(2, page.responses.size());
+        assertFalse(page.hasNextPage());
+        assertEquals(6, responseIds.size());
+        
+        ______TS("null params");
+        
+        try {
+            frDb.getFeedbackResponsesForSessionPage(null, courseId, null, 5);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+        
+        ______TS("non-existent feedback session");
+        
+        page = frDb.getFeedbackResponsesForSessionPage("non-existent feedback session", courseId, null, 5);
+        assertTrue(page.responses.isEmpty());
+        assertFalse(page.hasNextPage());
+    }
+
+    @Test
+    public void testGetFeedbackResponsesForSessionInSectionPage() throws Exception {
+
+        ______TS("all pages together match the unpaged query");  
+        
+        String courseId = fras.get("response1ForQ1S1C1").courseId;
+        String feedbackSessionName = fras.get("response1ForQ1S1C1").feedbackSessionName;
+        
+        List<FeedbackResponseAttributes> allResponses = frDb.getFeedbackResponsesForSessionInSection(feedbackSessionName, courseId, "Section 1");
+        
+        List<FeedbackResponseAttributes> pagedResponses = new ArrayList<FeedbackResponseAttributes>();
+        String cursor = null;
+        do {
+            FeedbackResponsesPageBundle page = frDb.getFeedbackResponsesForSessionInSectionPage(
+                    feedbackSessionName, courseId, "Section 1", cursor, 2);
+            assertTrue(page.responses.size() <= 2);
+            pagedResponses.addAll(page.responses);
+            cursor = page.nextPageCursor;
+        } while (cursor != null);
+        
+        Set<String> responseIds = new HashSet<String>();
+        for (FeedbackResponseAttributes response : pagedResponses) {
+            responseIds.add(response.getId());
+        }
+        assertEquals(allResponses.size(), pagedResponses.size());
+        assertEquals(allResponses.size(), responseIds.size());
+        
+        ______TS("null params");
+        
+        try {
+            frDb.getFeedbackResponsesForSessionInSectionPage(feedbackSessionName, courseId, null, null, 2);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+    }
+
     @Test
     public void testGetFeedbackResponsesForSessionInSection() throws Exception {
 
@@ -9,6 +9,7 @@ import static teammates.common.util.FieldValidator.FEEDBACK_SESSION_NAME;
 import static teammates.common.util.FieldValidator.START_TIME_FIELD_NAME;
 import static teammates.common.util.FieldValidator.TIME_FRAME_ERROR_MESSAGE;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -274,6 +275,85 @@ public class FeedbackSessionsDbTest extends BaseComponentTestCase {
         TestHelper.verifyPresentInDatastore(modifiedSession);
     }
     
+    @Test
+    public void testRespondants() throws Exception {
+        FeedbackSessionAttributes fsa = getNewFeedbackSession();
+        fsa.feedbackSessionName = "fsRespondantsTest";
+        fsDb.deleteEntity(fsa);
+        fsDb.deleteRespondantsForSession(fsa.feedbackSessionName, fsa.courseId);
+        fsa.respondingStudentList.add("legacy@email.com");
+        fsDb.createEntity(fsa);
+        
+        ______TS("respondants recorded in the session are still read");
+        
+        assertEquals(1, fsDb.getStudentRespondants(fsa).size());
+        assertTrue(fsDb.getInstructorRespondants(fsa).isEmpty());
+        
+        ______TS("added respondants are read together with those in the session");
+        
+        fsDb.addStudentRespondant("student@email.com", fsa);
+        fsDb.addStudentRespondant("student@email.com", fsa);
+        fsDb.addInstructorRespondant("student@email.com", fsa);
+        Set<String> students = fsDb.getStudentRespondants(fsa);
+        assertEquals(2, students.size());
+        assertTrue(students.contains("legacy@email.com"));
+        assertTrue(students.contains("student@email.com"));
+        assertEquals(1, fsDb.getInstructorRespondants(fsa).size());
+        
+        ______TS("respondants of both kinds are counted together, for one session or a whole course");
+        
+        assertEquals(3, fsDb.getNumberOfRespondants(fsa));
+        List<FeedbackSessionAttributes> sessionsInCourse = new ArrayList<FeedbackSessionAttributes>();
+        sessionsInCourse.add(fsa);
+        assertEquals(Integer.valueOf(3),
+                     fsDb.getNumberOfRespondantsForCourse(fsa.courseId, sessionsInCourse)
+                         .get(fsa.feedbackSessionName));
+        
+        ______TS("adding respondants does not change the session entity");
+        
+        assertEquals(1, fsDb.getFeedbackSession(fsa.courseId, fsa.feedbackSessionName)
+                                .respondingStudentList.size());
+        
+        ______TS("email changes and deletions apply to both kinds of respondants");
+        
+        fsa = fsDb.getFeedbackSession(fsa.courseId, fsa.feedbackSessionName);
+        fsDb.updateStudentRespondant("legacy@email.com", "legacy.new@email.com", fsa);
+        fsa = fsDb.getFeedbackSession(fsa.courseId, fsa.feedbackSessionName);
+        fsDb.updateStudentRespondant("student@email.com", "student.new@email.com", fsa);
+        students = fsDb.getStudentRespondants(fsa);
+        assertEquals(2, students.size());
+        assertTrue(students.contains("legacy.new@email.com"));
+        assertTrue(students.contains("student.new@email.com"));
+        
+        fsDb.deleteStudentRespondant("legacy.new@email.com", fsa);
+        fsa = fsDb.getFeedbackSession(fsa.courseId, fsa.feedbackSessionName);
+        fsDb.deleteStudentRespondant("student.new@email.com", fsa);
+        assertTrue(fsDb.getStudentRespondants(fsa).isEmpty());
+        assertEquals(1, fsDb.getInstructorRespondants(fsa).size());
+        
+        ______TS("clearing respondants of one type leaves the other type alone");
+        
+        fsDb.addStudentRespondant("student@email.com", fsa);
+        fsDb.clearInstructorRespondants(fsa);
+        assertTrue(fsDb.getInstructorRespondants(fsa).isEmpty());
+        assertEquals(1, fsDb.getStudentRespondants(fsa).size());
+        
+        ______TS("session does not exist");
+        
+        FeedbackSessionAttributes nonexistantFs = getNewFeedbackSession();
+        nonexistantFs.feedbackSessionName = "non existant fs";
+        try {
+            fsDb.addStudentRespondant("student@email.com", nonexistantFs);
+            signalFailureToDetectException();
+        } catch (EntityDoesNotExistException e) {
+            AssertHelper.assertContains(FeedbackSessionsDb.ERROR_UPDATE_NON_EXISTENT, e.getLocalizedMessage());
+        }
+        
+        fsDb.deleteEntity(fsa);
+        fsDb.deleteRespondantsForSession(fsa.feedbackSessionName, fsa.courseId);
+        assertTrue(fsDb.getStudentRespondants(fsa).isEmpty());
+    }
+    
     private FeedbackSessionAttributes getNewFeedbackSession() {
         FeedbackSessionAttributes fsa = new FeedbackSessionAttributes();
         fsa.feedbackSessionType = FeedbackSessionType.STANDARD;
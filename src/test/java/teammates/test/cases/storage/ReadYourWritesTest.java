@@ -0,0 +1,212 @@
+package teammates.test.cases.storage;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.datatransfer.FeedbackTextQuestionDetails;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.exception.EntityAlreadyExistsException;
+import teammates.common.util.Const;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.api.FeedbackQuestionsDb;
+import teammates.storage.api.FeedbackSessionsDb;
+import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.StudentsDb;
+import teammates.storage.datastore.RequestCache;
+import teammates.test.cases.BaseComponentTestCase;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Checks that entities can be read back right after they are created, even
+ * when queries do not see the new entities yet.
+ */
+public class ReadYourWritesTest extends BaseComponentTestCase {
+
+    private static final String COURSE_ID = "ReadYourWritesTest.course";
+
+    private CoursesDb coursesDb = new CoursesDb();
+    private FeedbackQuestionsDb fqDb = new FeedbackQuestionsDb();
+    private FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
+    private FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
+    private InstructorsDb instructorsDb = new InstructorsDb();
+    private StudentsDb studentsDb = new StudentsDb();
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        gaeSimulation.tearDown();
+        gaeSimulation.setupWithEventuallyConsistentDatastore();
+    }
+
+    @Test
+    public void testCourse() throws Exception {
+
+        ______TS("a new course is found at once");
+
+        CourseAttributes course = new CourseAttributes(COURSE_ID, "Read Your Writes");
+        coursesDb.createEntity(course);
+        assertEquals("Read Your Writes", coursesDb.getCourse(COURSE_ID).name);
+
+        ______TS("a new course cannot be created twice");
+
+        try {
+            coursesDb.createEntity(course);
+            fail("Duplicate course was created");
+        } catch (EntityAlreadyExistsException e) {
+            // expected
+        }
+
+        ______TS("a new course can be updated and deleted at once");
+
+        course.isArchived = true;
+        coursesDb.updateCourse(course);
+        assertTrue(coursesDb.getCourse(COURSE_ID).isArchived);
+
+        coursesDb.deleteCourse(COURSE_ID);
+        assertNull(coursesDb.getCourse(COURSE_ID));
+    }
+
+    @Test
+    public void testFeedbackSession() throws Exception {
+
+        ______TS("a new session is found at once");
+
+        FeedbackSessionAttributes fsa = createSession("Read Your Writes Session");
+
+        assertNotNull(fsDb.getFeedbackSession(COURSE_ID, fsa.feedbackSessionName));
+    }
+
+    @Test
+    public void testFeedbackQuestion() throws Exception {
+        RequestCache.startRequest();
+
+        FeedbackSessionAttributes fsa = createSession("Read Your Writes Question Session");
+        FeedbackQuestionAttributes question = createQuestion(fsa);
+
+        ______TS("queries do not see the new question yet");
+
+        assertTrue(fqDb.getFeedbackQuestionsForCourse(COURSE_ID).isEmpty());
+
+        ______TS("questions copied in the same request get distinct numbers");
+
+        fqLogic.copyFeedbackQuestion(question.getId(), fsa.feedbackSessionName, COURSE_ID, fsa.creatorEmail);
+        fqLogic.copyFeedbackQuestion(question.getId(), fsa.feedbackSessionName, COURSE_ID, fsa.creatorEmail);
+
+        List<FeedbackQuestionAttributes> questions =
+                fqLogic.getFeedbackQuestionsForSession(fsa.feedbackSessionName, COURSE_ID);
+        assertEquals(3, questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            assertEquals(i + 1, questions.get(i).questionNumber);
+        }
+
+        ______TS("a question created in the same request is found by its number at once");
+
+        assertNotNull(fqDb.getFeedbackQuestion(fsa.feedbackSessionName, COURSE_ID, 3));
+    }
+
+    @Test
+    public void testInstructor() throws Exception {
+
+        ______TS("a new instructor is found at once");
+
+        String role = Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER;
+        InstructorAttributes instructor = new InstructorAttributes("ReadYourWritesTest.instr", COURSE_ID,
+                "Instructor", "instructor@email.tmt", role, InstructorAttributes.DEFAULT_DISPLAY_NAME,
+                new InstructorPrivileges(role));
+        instructorsDb.createEntity(instructor);
+
+        assertEquals("ReadYourWritesTest.instr",
+                     instructorsDb.getInstructorForEmail(COURSE_ID, instructor.email).googleId);
+    }
+
+    @Test
+    public void testStudent() throws Exception {
+        RequestCache.startRequest();
+
+        StudentAttributes student = new StudentAttributes("section", "team", "Student",
+                                                          "student@email.tmt", "", COURSE_ID);
+        studentsDb.createStudentWithoutDocument(student);
+
+        ______TS("queries do not see the new student yet");
+
+        assertTrue(studentsDb.getStudentsForCourse(COURSE_ID).isEmpty());
+
+        ______TS("a student created in the same request is found at once");
+
+        assertEquals("team", studentsDb.getStudentForEmail(COURSE_ID, student.email).team);
+
+        ______TS("a student deleted in the same request is gone at once");
+
+        studentsDb.deleteStudentWithoutDocument(COURSE_ID, student.email);
+        assertNull(studentsDb.getStudentForEmail(COURSE_ID, student.email));
+    }
+
+    private FeedbackSessionAttributes createSession(String feedbackSessionName) throws Exception {
+        FeedbackSessionAttributes fsa = new FeedbackSessionAttributes();
+        fsa.feedbackSessionType = FeedbackSessionType.STANDARD;
+        fsa.feedbackSessionName = feedbackSessionName;
+        fsa.courseId = COURSE_ID;
+        fsa.creatorEmail = "creator@email.tmt";
+        fsa.createdTime = new Date();
+        fsa.startTime = new Date();
+        fsa.endTime = new Date();
+        fsa.sessionVisibleFromTime = new Date();
+        fsa.resultsVisibleFromTime = new Date();
+        fsa.gracePeriod = 5;
+        fsa.instructions = new Text("Give feedback.");
+        fsDb.createEntity(fsa);
+        return fsa;
+    }
+
+    private FeedbackQuestionAttributes createQuestion(FeedbackSessionAttributes fsa) throws Exception {
+        FeedbackQuestionAttributes fqa = new FeedbackQuestionAttributes();
+        fqa.courseId = fsa.courseId;
+        fqa.creatorEmail = fsa.creatorEmail;
+        fqa.feedbackSessionName = fsa.feedbackSessionName;
+        fqa.giverType = FeedbackParticipantType.INSTRUCTORS;
+        fqa.recipientType = FeedbackParticipantType.SELF;
+        fqa.numberOfEntitiesToGiveFeedbackTo = 1;
+        fqa.questionNumber = -1;
+        fqa.questionType = FeedbackQuestionType.TEXT;
+        fqa.setQuestionDetails(new FeedbackTextQuestionDetails("Question text."));
+        fqa.showGiverNameTo = new ArrayList<FeedbackParticipantType>();
+        fqa.showRecipientNameTo = new ArrayList<FeedbackParticipantType>();
+        fqa.showResponsesTo = new ArrayList<FeedbackParticipantType>();
+        fqLogic.createFeedbackQuestion(fqa);
+        return fqDb.getFeedbackQuestion(fsa.feedbackSessionName, COURSE_ID, 1);
+    }
+
+    @AfterMethod
+    public void caseTearDown() {
+        RequestCache.finishRequest();
+    }
+
+    @AfterClass
+    public static void classTearDown() throws Exception {
+        gaeSimulation.tearDown();
+        gaeSimulation.setup();
+        printTestClassFooter();
+    }
+}
@@ -0,0 +1,91 @@
+package teammates.test.cases.storage;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.datastore.RequestCache;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class RequestCacheTest extends BaseComponentTestCase {
+
+    private CoursesDb coursesDb = new CoursesDb();
+
+    @Test
+    public void testCacheOperations() {
+
+        ______TS("no request active: nothing is cached");
+
+        assertFalse(RequestCache.isActive());
+        RequestCache.put("Kind", "key", "value");
+        assertNull(RequestCache.get("Kind", "key"));
+
+        ______TS("request active: values are cached per kind");
+
+        RequestCache.startRequest();
+        assertTrue(RequestCache.isActive());
+        RequestCache.put("Kind", "key", "value");
+        RequestCache.put("OtherKind", "key", "other value");
+        assertEquals("value", RequestCache.get("Kind", "key"));
+        assertEquals("other value", RequestCache.get("OtherKind", "key"));
+
+        ______TS("invalidating a kind leaves other kinds alone");
+
+        RequestCache.invalidate("Kind");
+        assertNull(RequestCache.get("Kind", "key"));
+        assertEquals("other value", RequestCache.get("OtherKind", "key"));
+
+        ______TS("keys built from different parts do not collide");
+
+        assertFalse(RequestCache.makeKey("a|b", "c").equals(RequestCache.makeKey("a", "b|c")));
+        assertFalse(RequestCache.makeKey(null, "a").equals(RequestCache.makeKey("null", "a")));
+
+        ______TS("finishing the request drops everything");
+
+        RequestCache.finishRequest();
+        assertFalse(RequestCache.isActive());
+        assertNull(RequestCache.get("OtherKind", "key"));
+    }
+
+    @Test
+    public void testCachedCourseLookup() throws Exception {
+        CourseAttributes c = new CourseAttributes("Computing101-cache", "Basic Computing");
+        coursesDb.deleteCourse(c.id);
+        coursesDb.createEntity(c);
+
+        RequestCache.startRequest();
+
+        ______TS("repeated lookups return equal but separate copies");
+
+        CourseAttributes first = coursesDb.getCourse(c.id);
+        CourseAttributes second = coursesDb.getCourse(c.id);
+        assertNotSame(first, second);
+        assertEquals(first.toString(), second.toString());
+
+        first.name = "changed by caller";
+        assertEquals("Basic Computing", coursesDb.getCourse(c.id).name);
+
+        ______TS("updates are visible to later lookups in the same request");
+
+        c.isArchived = true;
+        coursesDb.updateCourse(c);
+        assertTrue(coursesDb.getCourse(c.id).isArchived);
+
+        ______TS("deletes are visible to later lookups in the same request");
+
+        coursesDb.deleteCourse(c.id);
+        assertNull(coursesDb.getCourse(c.id));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        RequestCache.finishRequest();
+    }
+}
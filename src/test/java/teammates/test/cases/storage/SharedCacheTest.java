@@ -0,0 +1,92 @@
+package teammates.test.cases.storage;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.storage.api.StudentsDb;
+import teammates.storage.datastore.SharedCache;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class SharedCacheTest extends BaseComponentTestCase {
+
+    private StudentsDb studentsDb = new StudentsDb();
+
+    @BeforeClass
+    public static void setupClass() throws Exception {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testVersionedKeys() {
+
+        ______TS("values are found under the key they were put with");
+
+        String key = SharedCache.makeKey("Kind", "scope", "key");
+        SharedCache.put(key, "value");
+        assertEquals("value", SharedCache.get(key));
+        assertEquals(key, SharedCache.makeKey("Kind", "scope", "key"));
+
+        ______TS("invalidating a scope stops caching it for a while and leaves other scopes alone");
+
+        String otherScopeKey = SharedCache.makeKey("Kind", "other scope", "key");
+        SharedCache.put(otherScopeKey, "other value");
+
+        SharedCache.invalidate("Kind", "scope");
+        String newKey = SharedCache.makeKey("Kind", "scope", "key");
+        assertNull(newKey);
+        assertNull(SharedCache.get(newKey));
+        assertEquals("other value", SharedCache.get(SharedCache.makeKey("Kind", "other scope", "key")));
+
+        ______TS("null keys and values are ignored");
+
+        SharedCache.put(null, "value");
+        SharedCache.put(newKey, null);
+        assertNull(SharedCache.get(null));
+        assertNull(SharedCache.get(newKey));
+    }
+
+    @Test
+    public void testStudentsForCourseAreInvalidatedOnWrite() throws Exception {
+        String courseId = "SharedCacheTest.course";
+        studentsDb.deleteStudentsForCourse(courseId);
+
+        ______TS("cached list is rebuilt after a student is added");
+
+        assertTrue(studentsDb.getStudentsForCourse(courseId).isEmpty());
+        StudentAttributes student = new StudentAttributes("section", "team", "name",
+                                                          "cached-student@email.tmt", "", courseId);
+        studentsDb.createEntity(student);
+        List<StudentAttributes> students = studentsDb.getStudentsForCourse(courseId);
+        assertEquals(1, students.size());
+        assertEquals("team", students.get(0).team);
+
+        ______TS("cached list is rebuilt after a student is updated");
+
+        studentsDb.updateStudent(courseId, student.email, student.name, "new team", student.section,
+                                 student.email, student.googleId, student.comments);
+        assertEquals("new team", studentsDb.getStudentsForCourse(courseId).get(0).team);
+
+        ______TS("callers cannot change the cached list");
+
+        studentsDb.getStudentsForCourse(courseId).clear();
+        assertEquals(1, studentsDb.getStudentsForCourse(courseId).size());
+
+        ______TS("cached list is rebuilt after a student is deleted");
+
+        studentsDb.deleteStudent(courseId, student.email);
+        assertTrue(studentsDb.getStudentsForCourse(courseId).isEmpty());
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        printTestClassFooter();
+    }
+}
@@ -7,6 +7,10 @@ import static org.testng.AssertJUnit.assertTrue;
 import static teammates.common.util.FieldValidator.COURSE_ID_ERROR_MESSAGE;
 import static teammates.common.util.FieldValidator.REASON_INCORRECT_FORMAT;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -19,6 +23,7 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
 import teammates.storage.api.StudentsDb;
+import teammates.storage.search.SearchManager;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
 import teammates.test.util.TestHelper;
@@ -90,6 +95,99 @@ public class StudentsDbTest extends BaseComponentTestCase {
         }
     }
     
+    @Test
+    public void testCreateAndUpdateStudents() throws Exception {
+        String courseId = "StudentsDbTest.batch-course";
+        studentsDb.deleteStudentsForCourseWithoutDocument(courseId);
+        
+        StudentAttributes existing = new StudentAttributes("Section 1", "Team 1", "Existing Student",
+                                                           "existing@email.tmt", "", courseId);
+        studentsDb.createStudentWithoutDocument(existing);
+        
+        ______TS("success : students created and updated together");
+        
+        StudentAttributes created = new StudentAttributes("Section 1", "Team 1", "New Student",
+                                                          "new@email.tmt", "", courseId);
+        StudentAttributes updated = new StudentAttributes("Section 2", "Team 2", "Renamed Student",
+                                                          existing.email, "moved", courseId);
+        studentsDb.createAndUpdateStudents(courseId, Arrays.asList(created), Arrays.asList(updated), false);
+        
+        assertNotNull(studentsDb.getStudentForEmail(courseId, created.email));
+        StudentAttributes retrieved = studentsDb.getStudentForEmail(courseId, existing.email);
+        assertEquals("Renamed Student", retrieved.name);
+        assertEquals("Team 2", retrieved.team);
+        assertEquals("Section 2", retrieved.section);
+        assertEquals("moved", retrieved.comments);
+        assertEquals(2, studentsDb.getStudentsForCourse(courseId).size());
+        
+        ______TS("fail : creating a student that exists");
+        
+        try {
+            studentsDb.createAndUpdateStudents(courseId, Arrays.asList(created),
+                                               new ArrayList<StudentAttributes>(), false);
+            Assert.fail();
+        } catch (EntityAlreadyExistsException e) {
+            AssertHelper.assertContains(created.getIdentificationString(), e.getMessage());
+        }
+        
+        ______TS("fail : updating a student that does not exist");
+        
+        StudentAttributes nonExistent = new StudentAttributes("Section 1", "Team 1", "Nobody",
+                                                              "nobody@email.tmt", "", courseId);
+        try {
+            studentsDb.createAndUpdateStudents(courseId, new ArrayList<StudentAttributes>(),
+                                               Arrays.asList(nonExistent), false);
+            Assert.fail();
+        } catch (EntityDoesNotExistException e) {
+            AssertHelper.assertContains(StudentsDb.ERROR_UPDATE_NON_EXISTENT_STUDENT, e.getMessage());
+        }
+        
+        ______TS("fail : invalid student, nothing is written");
+        
+        StudentAttributes invalid = new StudentAttributes("Section 1", "Team 1", "Invalid",
+                                                          "invalid email", "", courseId);
+        StudentAttributes another = new StudentAttributes("Section 1", "Team 1", "Another",
+                                                          "another@email.tmt", "", courseId);
+        try {
+            studentsDb.createAndUpdateStudents(courseId, Arrays.asList(another, invalid),
+                                               new ArrayList<StudentAttributes>(), false);
+            Assert.fail();
+        } catch (InvalidParametersException e) {
+            assertNull(studentsDb.getStudentForEmail(courseId, another.email));
+        }
+        
+        studentsDb.deleteStudentsForCourseWithoutDocument(courseId);
+    }
+    
+    @Test
+    public void testPutDocuments() throws Exception {
+        String courseId = "StudentsDbTest.search-course";
+        studentsDb.deleteStudentsForCourseWithoutDocument(courseId);
+        
+        // one more student than fits in a single batch
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        for (int i = 0; i <= Const.SystemParams.MAX_NUM_OF_INPUT_FOR_APP_ENGINE_BATCH; i++) {
+            students.add(new StudentAttributes("Section 1", "Team 1", "Student " + i,
+                                               "student" + i + "@email.tmt", "", courseId));
+        }
+        studentsDb.createAndUpdateStudents(courseId, students, new ArrayList<StudentAttributes>(), false);
+        
+        ______TS("success : documents of all batches are put");
+        
+        List<StudentAttributes> createdStudents = studentsDb.getStudentsForCourse(courseId);
+        assertEquals(students.size(), createdStudents.size());
+        studentsDb.putDocuments(createdStudents);
+        for (StudentAttributes student : createdStudents) {
+            assertNotNull(SearchManager.getDocument(Const.SearchIndex.STUDENT, student.key));
+        }
+        
+        ______TS("success : nothing to put");
+        
+        studentsDb.putDocuments(new ArrayList<StudentAttributes>());
+        
+        studentsDb.deleteStudentsForCourse(courseId);
+    }
+    
     @Test
     public void testGetStudent() throws InvalidParametersException, EntityDoesNotExistException {
         int currentNumberOfStudent = studentsDb.getAllStudents().size();
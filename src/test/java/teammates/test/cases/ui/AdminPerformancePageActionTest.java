@@ -0,0 +1,57 @@
+package teammates.test.cases.ui;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.ActionMetrics;
+import teammates.common.util.Const;
+import teammates.ui.controller.AdminPerformancePageAction;
+import teammates.ui.controller.AdminPerformancePageData;
+import teammates.ui.controller.ShowPageResult;
+
+public class AdminPerformancePageActionTest extends BaseActionTest {
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        uri = Const.ActionURIs.ADMIN_PERFORMANCE_PAGE;
+    }
+    
+    @Test
+    public void testExecuteAndPostProcess() throws Exception{
+        
+        final String adminUserId = "admin.user";
+        gaeSimulation.loginAsAdmin(adminUserId);
+        ActionMetrics.reset();
+        ActionMetrics.record("InstructorHomePageAction", 100, 10, 5, 20);
+        
+        ______TS("case: view metrics");
+        
+        AdminPerformancePageAction action = getAction();
+        ShowPageResult result = (ShowPageResult) action.executeAndPostProcess();
+
+        assertEquals("/jsp/adminPerformance.jsp?error=false&user=admin.user", 
+                     result.getDestinationWithParams());
+        assertEquals(false, result.isError);
+        AdminPerformancePageData data = (AdminPerformancePageData) result.data;
+        assertEquals(1, data.metrics.size());
+        assertEquals("InstructorHomePageAction", data.metrics.get(0).getActionName());
+        
+        ______TS("case: reset metrics");
+        
+        action = getAction(Const.ParamsNames.ADMIN_PERFORMANCE_RESET, "true");
+        result = (ShowPageResult) action.executeAndPostProcess();
+        
+        assertEquals("The metrics of this instance have been reset.", result.getStatusMessage());
+        data = (AdminPerformancePageData) result.data;
+        assertTrue(data.metrics.isEmpty());
+    }
+
+    private AdminPerformancePageAction getAction(String... params) throws Exception {
+        return (AdminPerformancePageAction) (gaeSimulation.getActionObject(uri, params));
+    }
+    
+}
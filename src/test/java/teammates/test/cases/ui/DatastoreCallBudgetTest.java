@@ -0,0 +1,157 @@
+package teammates.test.cases.ui;
+
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.storage.datastore.RequestCache;
+import teammates.test.driver.DatastoreCallRecorder;
+import teammates.ui.controller.Action;
+
+/**
+ * Pins the number of datastore calls made by the busiest pages, so that a
+ * change making a call per student or per response (the N+1 problem) fails a
+ * test instead of slowing down production. <br>
+ * Identical calls made more than once also fail the test, as they are usually
+ * a sign of such a problem, unless they are listed in {@link #KNOWN_REPEATS}.
+ */
+public class DatastoreCallBudgetTest extends BaseActionTest {
+
+    private static final DataBundle dataBundle = getTypicalDataBundle();
+
+    /*
+     * Each budget is the number of calls the page makes for the typical data
+     * bundle, as printed by the test. A page may make up to BUDGET_MARGIN calls
+     * more or fewer, so that a stale budget fails the test just like a
+     * regression does. Lower a budget when a change makes the page cheaper;
+     * raise it only when the new calls are needed and do not grow with the
+     * number of students or responses.
+     */
+    private static final int BUDGET_MARGIN = 3;
+    private static final int INSTRUCTOR_HOME_PAGE_BUDGET = 36;
+    private static final int STUDENT_HOME_PAGE_BUDGET = 44;
+    private static final int INSTRUCTOR_RESULTS_PAGE_BUDGET = 44;
+    private static final int STUDENT_RESULTS_PAGE_BUDGET = 44;
+    private static final int INSTRUCTOR_SUBMISSION_PAGE_BUDGET = 52;
+    private static final int STUDENT_SUBMISSION_PAGE_BUDGET = 52;
+
+    /**
+     * The logged-in user's account, and their instructor and student records
+     * (queried by Google ID), are looked up when the action is created and
+     * again by its access checks, and the request cache does not keep them.
+     * Each of these must be repeated by at least one page, see
+     * {@link #testKnownRepeatsAreStillMade()}.
+     */
+    private static final String[] KNOWN_REPEATS = { "Account", "googleId" };
+
+    private static final Set<String> knownRepeatsMade = new HashSet<String>();
+
+    private final InstructorAttributes instructor = dataBundle.instructors.get("instructor1OfCourse1");
+    private final StudentAttributes student = dataBundle.students.get("student1InCourse1");
+    private final FeedbackSessionAttributes session = dataBundle.feedbackSessions.get("session1InCourse1");
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreTypicalDataInDatastore();
+    }
+
+    @Test
+    public void testHomePages() throws Exception {
+
+        ______TS("instructor home page");
+
+        gaeSimulation.loginAsInstructor(instructor.googleId);
+        verifyBudget(INSTRUCTOR_HOME_PAGE_BUDGET, Const.ActionURIs.INSTRUCTOR_HOME_PAGE);
+
+        ______TS("student home page");
+
+        gaeSimulation.loginAsStudent(student.googleId);
+        verifyBudget(STUDENT_HOME_PAGE_BUDGET, Const.ActionURIs.STUDENT_HOME_PAGE);
+    }
+
+    @Test
+    public void testResultsPages() throws Exception {
+
+        ______TS("instructor feedback results page");
+
+        gaeSimulation.loginAsInstructor(instructor.googleId);
+        verifyBudget(INSTRUCTOR_RESULTS_PAGE_BUDGET, Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_PAGE,
+                     Const.ParamsNames.COURSE_ID, session.courseId,
+                     Const.ParamsNames.FEEDBACK_SESSION_NAME, session.feedbackSessionName);
+
+        ______TS("student feedback results page");
+
+        gaeSimulation.loginAsStudent(student.googleId);
+        verifyBudget(STUDENT_RESULTS_PAGE_BUDGET, Const.ActionURIs.STUDENT_FEEDBACK_RESULTS_PAGE,
+                     Const.ParamsNames.COURSE_ID, session.courseId,
+                     Const.ParamsNames.FEEDBACK_SESSION_NAME, session.feedbackSessionName);
+    }
+
+    @Test
+    public void testSubmissionPages() throws Exception {
+
+        ______TS("instructor feedback submission page");
+
+        gaeSimulation.loginAsInstructor(instructor.googleId);
+        verifyBudget(INSTRUCTOR_SUBMISSION_PAGE_BUDGET, Const.ActionURIs.INSTRUCTOR_FEEDBACK_SUBMISSION_EDIT_PAGE,
+                     Const.ParamsNames.COURSE_ID, session.courseId,
+                     Const.ParamsNames.FEEDBACK_SESSION_NAME, session.feedbackSessionName);
+
+        ______TS("student feedback submission page");
+
+        gaeSimulation.loginAsStudent(student.googleId);
+        verifyBudget(STUDENT_SUBMISSION_PAGE_BUDGET, Const.ActionURIs.STUDENT_FEEDBACK_SUBMISSION_EDIT_PAGE,
+                     Const.ParamsNames.COURSE_ID, session.courseId,
+                     Const.ParamsNames.FEEDBACK_SESSION_NAME, session.feedbackSessionName);
+    }
+
+    @Test(dependsOnMethods = { "testHomePages", "testResultsPages", "testSubmissionPages" })
+    public void testKnownRepeatsAreStillMade() {
+        for (String knownRepeat : KNOWN_REPEATS) {
+            assertTrue("No page repeats calls matching " + knownRepeat + " any more; remove it from KNOWN_REPEATS",
+                       knownRepeatsMade.contains(knownRepeat));
+        }
+    }
+
+    /**
+     * Counts the calls made while creating and executing the action, within a
+     * request scope as set up by {@link teammates.storage.datastore.DatastoreFilter} in production.
+     */
+    private void verifyBudget(int budget, String actionUri, String... params) throws Exception {
+        DatastoreCallRecorder.start();
+        RequestCache.startRequest();
+        DatastoreCallRecorder.Calls calls;
+        try {
+            Action action = gaeSimulation.getActionObject(actionUri, params);
+            action.executeAndPostProcess();
+        } finally {
+            RequestCache.finishRequest();
+            calls = DatastoreCallRecorder.stop();
+        }
+
+        print(actionUri + ": " + calls);
+        calls.assertAbout(budget, BUDGET_MARGIN);
+        calls.assertNoRepeatedCalls(KNOWN_REPEATS);
+        for (String knownRepeat : KNOWN_REPEATS) {
+            if (calls.hasRepeatedCall(knownRepeat)) {
+                knownRepeatsMade.add(knownRepeat);
+            }
+        }
+    }
+
+    @AfterClass
+    public static void classTearDown() throws Exception {
+        printTestClassFooter();
+    }
+}
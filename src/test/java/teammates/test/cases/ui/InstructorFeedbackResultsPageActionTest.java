@@ -143,6 +143,30 @@ public class InstructorFeedbackResultsPageActionTest extends BaseActionTest {
         assertEquals("", result.getStatusMessage());
         assertFalse(result.isError);
         
+        ______TS("Successful Case: paged results, with a malformed cursor giving the first page");
+        
+        String[] paramsWithEmptyCursor = {
+                Const.ParamsNames.COURSE_ID, session.courseId,
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, session.feedbackSessionName,
+                Const.ParamsNames.FEEDBACK_RESULTS_CURSOR, ""
+        };
+        InstructorFeedbackResultsPageData firstPageData = getPageData(getAction(paramsWithEmptyCursor));
+        
+        for (String badCursor : new String[] { "not a cursor", "giver:", "receiver:%%%" }) {
+            String[] paramsWithBadCursor = {
+                    Const.ParamsNames.COURSE_ID, session.courseId,
+                    Const.ParamsNames.FEEDBACK_SESSION_NAME, session.feedbackSessionName,
+                    Const.ParamsNames.FEEDBACK_RESULTS_CURSOR, badCursor
+            };
+            action = getAction(paramsWithBadCursor);
+            result = action.executeAndPostProcess();
+            
+            assertFalse(result.isError);
+            InstructorFeedbackResultsPageData pageData = (InstructorFeedbackResultsPageData) ((ShowPageResult) result).data;
+            assertEquals(firstPageData.bundle.responses.size(), pageData.bundle.responses.size());
+            assertEquals(firstPageData.bundle.nextPageCursor, pageData.bundle.nextPageCursor);
+        }
+        
         ______TS("Successful Case: filtering of feedbackResponses for access control");
         // accessControl--filtering of the result is tested in FeedbackSessionsLogicTest, 
         // so the test here about filtering is not rigorous
@@ -154,6 +178,12 @@ public class InstructorFeedbackResultsPageActionTest extends BaseActionTest {
         assertEquals(true, pageData.bundle.responses.isEmpty());
     }
     
+    private InstructorFeedbackResultsPageData getPageData(InstructorFeedbackResultsPageAction action)
+            throws Exception {
+        ShowPageResult pageResult = (ShowPageResult) action.executeAndPostProcess();
+        return (InstructorFeedbackResultsPageData) pageResult.data;
+    }
+    
     private InstructorFeedbackResultsPageAction getAction(String[] params){
         return (InstructorFeedbackResultsPageAction) gaeSimulation.getActionObject(uri, params);
     }
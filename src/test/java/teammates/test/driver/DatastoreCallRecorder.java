@@ -0,0 +1,238 @@
+package teammates.test.driver;
+
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import teammates.common.util.DatastoreCallCounter;
+import teammates.common.util.DatastoreCallCounter.CallListener;
+
+/**
+ * Records the calls made to the simulated datastore by the test thread, so
+ * that tests can put an upper bound on the number of calls made by an action
+ * and find identical calls made more than once (e.g. the same query for
+ * every response, the N+1 problem). <br>
+ * The calls are the ones counted by {@link DatastoreCallCounter}, so every
+ * query, lookup and write is seen, whichever *Db class or persistence manager
+ * made it, and the calls recorded in a test are the calls counted for a
+ * request in production. Each call is one round trip to the datastore. <br>
+ * Usage: {@link #start()}, run the code under test, then check the
+ * {@link Calls} returned by {@link #stop()}.
+ */
+public class DatastoreCallRecorder implements CallListener {
+
+    private static final ThreadLocal<DatastoreCallRecorder> PER_THREAD_RECORDER =
+            new ThreadLocal<DatastoreCallRecorder>();
+
+    private final List<RecordedCall> recordedCalls = new ArrayList<RecordedCall>();
+
+    private DatastoreCallRecorder() {
+    }
+
+    /**
+     * Starts recording the datastore calls made by the current thread,
+     * forgetting the calls recorded before.
+     */
+    public static void start() {
+        // the GAE simulation replaces the delegate that the counter wraps every time it is set up
+        DatastoreCallCounter.install();
+        DatastoreCallRecorder recorder = new DatastoreCallRecorder();
+        PER_THREAD_RECORDER.set(recorder);
+        DatastoreCallCounter.startCounting(recorder);
+    }
+
+    /**
+     * Stops recording.
+     * @return the calls recorded since {@link #start()}
+     */
+    public static Calls stop() {
+        DatastoreCallRecorder recorder = PER_THREAD_RECORDER.get();
+        PER_THREAD_RECORDER.remove();
+        DatastoreCallCounter.stopCounting();
+        return new Calls(recorder == null ? new ArrayList<RecordedCall>() : recorder.recordedCalls);
+    }
+
+    @Override
+    public void onCall(String methodName, byte[] request) {
+        recordedCalls.add(new RecordedCall(methodName, request));
+    }
+
+    private static class RecordedCall {
+
+        final String methodName;
+        final byte[] request;
+
+        RecordedCall(String methodName, byte[] request) {
+            this.methodName = methodName;
+            this.request = request == null ? new byte[0] : request.clone();
+        }
+
+        /** @return a key that is the same for two calls exactly when they are identical */
+        String getKey() {
+            StringBuilder key = new StringBuilder(methodName).append(':');
+            for (byte b : request) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        }
+
+        /**
+         * @return the method name followed by the readable parts of the
+         *         request, e.g. the kind, property names and string values.
+         */
+        String getDescription() {
+            StringBuilder description = new StringBuilder(methodName);
+            StringBuilder text = new StringBuilder();
+            for (byte b : request) {
+                if (b >= 0x20 && b < 0x7f) {
+                    text.append((char) b);
+                    continue;
+                }
+                if (text.length() >= 3) {
+                    description.append(' ').append(text);
+                }
+                text.setLength(0);
+            }
+            if (text.length() >= 3) {
+                description.append(' ').append(text);
+            }
+            return description.length() > 300 ? description.substring(0, 300) + "..." : description.toString();
+        }
+    }
+
+    /**
+     * The datastore calls recorded between {@link DatastoreCallRecorder#start()}
+     * and {@link DatastoreCallRecorder#stop()}.
+     */
+    public static class Calls {
+
+        private final List<RecordedCall> calls;
+
+        private Calls(List<RecordedCall> calls) {
+            this.calls = calls;
+        }
+
+        public int getNumberOfCalls() {
+            return calls.size();
+        }
+
+        /**
+         * @param methodName e.g. "RunQuery", "Get", "Put" or "Delete"
+         */
+        public int getNumberOfCalls(String methodName) {
+            int count = 0;
+            for (RecordedCall call : calls) {
+                if (call.methodName.equals(methodName)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * @return the description of each call that was made more than once,
+         *         with the number of times it was made.
+         */
+        public Map<String, Integer> getRepeatedCalls() {
+            Map<String, Integer> countsByKey = new LinkedHashMap<String, Integer>();
+            Map<String, String> descriptionsByKey = new LinkedHashMap<String, String>();
+            for (RecordedCall call : calls) {
+                String key = call.getKey();
+                Integer count = countsByKey.get(key);
+                countsByKey.put(key, count == null ? 1 : count + 1);
+                if (count == null) {
+                    descriptionsByKey.put(key, call.getDescription());
+                }
+            }
+
+            Map<String, Integer> repeatedCalls = new LinkedHashMap<String, Integer>();
+            for (Map.Entry<String, Integer> entry : countsByKey.entrySet()) {
+                if (entry.getValue() > 1) {
+                    repeatedCalls.put(descriptionsByKey.get(entry.getKey()), entry.getValue());
+                }
+            }
+            return repeatedCalls;
+        }
+
+        public void assertAtMost(int maxCalls) {
+            assertTrue("Expected at most " + maxCalls + " datastore calls, but there were " + this,
+                       getNumberOfCalls() <= maxCalls);
+        }
+
+        /**
+         * Checks that the number of calls is {@code expectedCalls}, give or take
+         * {@code margin}, so that an expected count that is no longer accurate
+         * fails as well as a regression does.
+         */
+        public void assertAbout(int expectedCalls, int margin) {
+            assertAtMost(expectedCalls + margin);
+            assertTrue("Expected about " + expectedCalls + " datastore calls, but there were only " + this
+                       + "; lower the expected number of calls to " + getNumberOfCalls(),
+                       getNumberOfCalls() >= expectedCalls - margin);
+        }
+
+        /**
+         * @return whether a call whose description contains {@code part} was
+         *         made more than once
+         */
+        public boolean hasRepeatedCall(String part) {
+            return containsAny(getRepeatedCalls().keySet(), part);
+        }
+
+        /**
+         * @param allowedRepeats parts of the descriptions of calls that are
+         *        allowed to be made more than once, e.g. a kind or a property name.
+         */
+        public void assertNoRepeatedCalls(String... allowedRepeats) {
+            List<String> unexpectedRepeats = new ArrayList<String>();
+            for (String description : getRepeatedCalls().keySet()) {
+                if (!containsAny(description, allowedRepeats)) {
+                    unexpectedRepeats.add(description);
+                }
+            }
+            assertTrue("Expected no identical datastore calls other than those allowed, but there were "
+                       + unexpectedRepeats + " in " + this,
+                       unexpectedRepeats.isEmpty());
+        }
+
+        private static boolean containsAny(Iterable<String> descriptions, String part) {
+            for (String description : descriptions) {
+                if (description.contains(part)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean containsAny(String description, String... parts) {
+            for (String part : parts) {
+                if (description.contains(part)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return the number of calls, and the calls made more than once
+         */
+        @Override
+        public String toString() {
+            StringBuilder summary = new StringBuilder();
+            summary.append(getNumberOfCalls()).append(" calls (")
+                   .append(getNumberOfCalls("RunQuery")).append(" queries, ")
+                   .append(getNumberOfCalls("Get")).append(" lookups)");
+            Map<String, Integer> repeatedCalls = getRepeatedCalls();
+            if (!repeatedCalls.isEmpty()) {
+                summary.append(", repeated calls:");
+                for (Map.Entry<String, Integer> entry : repeatedCalls.entrySet()) {
+                    summary.append("\n    ").append(entry.getValue()).append(" x ").append(entry.getKey());
+                }
+            }
+            return summary.toString();
+        }
+    }
+}
@@ -16,8 +16,10 @@ import teammates.ui.controller.Action;
 import teammates.ui.controller.ActionFactory;
 
 import com.google.appengine.api.taskqueue.dev.LocalTaskQueueCallback;
+import com.google.appengine.api.taskqueue.dev.QueueStateInfo;
 import com.google.appengine.tools.development.testing.LocalDatastoreServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalMailServiceTestConfig;
+import com.google.appengine.tools.development.testing.LocalMemcacheServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalSearchServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalServiceTestHelper;
 import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
@@ -55,17 +57,24 @@ public class GaeSimulation {
         LocalTaskQueueTestConfig localTasks = new LocalTaskQueueTestConfig();
         localTasks.setQueueXmlPath(Const.SystemParams.QUEUE_XML_PATH);
         
-        LocalUserServiceTestConfig localUserServices = new LocalUserServiceTestConfig();
-        LocalDatastoreServiceTestConfig localDatastore = new LocalDatastoreServiceTestConfig();
-        LocalMailServiceTestConfig localMail = new LocalMailServiceTestConfig();
-        LocalSearchServiceTestConfig localSearch = new LocalSearchServiceTestConfig();
-        localSearch.setPersistent(false);
-        helper = new LocalServiceTestHelper(localDatastore, localMail,    localUserServices, localTasks, localSearch);
-        helper.setUp();
+        setup(localTasks, new LocalDatastoreServiceTestConfig());
+    }
+    
+    /**
+     * Same as {@link #setup()}, but the simulated datastore behaves like the
+     * High Replication Datastore at its worst: writes are never visible to
+     * queries that are not ancestor queries, while lookups by key always see them.
+     */
+    public synchronized void setupWithEventuallyConsistentDatastore() {
+        System.out.println("Setting up GAE simulation with eventually consistent datastore");
         
-        Datastore.initialize();
+        LocalTaskQueueTestConfig localTasks = new LocalTaskQueueTestConfig();
+        localTasks.setQueueXmlPath(Const.SystemParams.QUEUE_XML_PATH);
         
-        sc = new ServletRunner().newClient();
+        LocalDatastoreServiceTestConfig localDatastore = new LocalDatastoreServiceTestConfig();
+        localDatastore.setDefaultHighRepJobPolicyUnappliedJobPercentage(100);
+        
+        setup(localTasks, localDatastore);
     }
     
     public synchronized void setupWithTaskQueueCallbackClass(
@@ -77,12 +86,17 @@ public class GaeSimulation {
                   .setCallbackClass(className)
                   .setDisableAutoTaskExecution(false);
         
+        setup(localTasks, new LocalDatastoreServiceTestConfig());
+    }
+    
+    private void setup(LocalTaskQueueTestConfig localTasks, LocalDatastoreServiceTestConfig localDatastore) {
         LocalUserServiceTestConfig localUserServices = new LocalUserServiceTestConfig();
-        LocalDatastoreServiceTestConfig localDatastore = new LocalDatastoreServiceTestConfig();
         LocalMailServiceTestConfig localMail = new LocalMailServiceTestConfig();
         LocalSearchServiceTestConfig localSearch = new LocalSearchServiceTestConfig();
         localSearch.setPersistent(false);
-        helper = new LocalServiceTestHelper(localDatastore, localMail,    localUserServices, localTasks, localSearch);
+        LocalMemcacheServiceTestConfig localMemcache = new LocalMemcacheServiceTestConfig();
+        helper = new LocalServiceTestHelper(localDatastore, localMail,    localUserServices, localTasks, localSearch,
+                                            localMemcache);
         helper.setUp();
         
         Datastore.initialize();
@@ -153,6 +167,16 @@ public class GaeSimulation {
         helper.setUp();
     }
 
+    /**
+     * @return the number of tasks waiting in the given queue. Only useful
+     *         when tasks are not executed automatically, as set up by {@link #setup()}.
+     */
+    public int getNumberOfTasksInQueue(String queueName) {
+        QueueStateInfo queueState = LocalTaskQueueTestConfig.getLocalTaskQueue()
+                                                            .getQueueStateInfo().get(queueName);
+        return queueState == null ? 0 : queueState.getCountTasks();
+    }
+
     public void tearDown() {
         try {
             if(helper != null ) {